@@ -9,11 +9,29 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import com.example.backend.batch.DemoContentResetScheduler;
 import com.example.backend.config.AppProperties;
 import com.example.backend.config.DemoResetProperties;
+import com.example.backend.config.MediaBatchProperties;
+import com.example.backend.config.MediaMultipartProperties;
+import com.example.backend.config.MediaOrphanCleanupProperties;
 import com.example.backend.config.MediaStorageProperties;
+import com.example.backend.config.MediaVariantProperties;
+import com.example.backend.config.PasswordHashingProperties;
+import com.example.backend.config.PresignedUrlCacheProperties;
+import com.example.backend.config.PrincipalCacheProperties;
+import com.example.backend.config.PublicCacheProperties;
+import com.example.backend.config.RateLimitProperties;
+import com.example.backend.config.RefreshTokenPurgeProperties;
+import com.example.backend.config.SyndicationProperties;
+import com.example.backend.config.TokenEpochProperties;
+import com.example.backend.config.VerifiedJwtCacheProperties;
 
 @SpringBootApplication
 @EnableScheduling
-@EnableConfigurationProperties({ MediaStorageProperties.class, AppProperties.class, DemoResetProperties.class })
+@EnableConfigurationProperties({ MediaStorageProperties.class, AppProperties.class, DemoResetProperties.class,
+        PublicCacheProperties.class, SyndicationProperties.class, PrincipalCacheProperties.class,
+        TokenEpochProperties.class, RefreshTokenPurgeProperties.class,
+        PasswordHashingProperties.class, VerifiedJwtCacheProperties.class,
+        RateLimitProperties.class, MediaVariantProperties.class, PresignedUrlCacheProperties.class,
+        MediaBatchProperties.class, MediaMultipartProperties.class, MediaOrphanCleanupProperties.class })
 public class BackendApplication {
 
     public static void main(String[] args) {
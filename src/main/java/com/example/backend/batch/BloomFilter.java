@@ -0,0 +1,91 @@
+package com.example.backend.batch;
+
+/**
+ * 文字列の Bloom filter（孤立オブジェクトの削除で、登録済みキーを一定のメモリで保持する）。
+ * <p>
+ * 追加したキーは必ず「含まれる」と判定する。含まれないキーを「含まれる」と判定する確率（偽陽性率）は、
+ * 想定件数まで追加した時点で作成時の指定値程度になる。
+ * </p>
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        long wordCount = Math.ceilDiv(bitCount, Long.SIZE);
+        if (wordCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Bloom filter too large: " + bitCount + " bits");
+        }
+        this.words = new long[(int) wordCount];
+        this.bitCount = wordCount * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * 想定件数・偽陽性率から大きさを決めて作成する。
+     *
+     * @param expectedInsertions 想定件数
+     * @param falsePositiveRate  偽陽性率（0 より大きく 1 未満）
+     * @return Bloom filter
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1: " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bits = Math.max(Long.SIZE, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * LN2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 使用するメモリ（バイト）。
+     *
+     * @return バイト数
+     */
+    long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    // FNV-1a（64bit）を SplitMix64 の finalizer で撹拌する（キーごとに byte[] を作らない）
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.backend.batch;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.entity.Post;
+import com.example.backend.event.PostContentRebuiltEvent;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.service.content.TipTapHtmlRenderer;
+import com.example.backend.service.search.PostSearchIndexer;
+
+/**
+ * 投稿本文HTMLの再生成バッチ。
+ * <p>
+ * HTMLが未生成（SQLシード投入分など）または旧バージョンのレンダラーで生成された投稿を、
+ * ID順に小分けのトランザクションで再生成する。全文検索ベクトルも同時に再生成する。更新日時は変更しない。
+ * 更新日時が変わらないため、各バッチのコミット後に {@link PostContentRebuiltEvent} を発行して
+ * 公開キャッシュの破棄とETagの更新を行わせる。
+ * 対象がなければ1クエリで終了するため、定期実行しても負荷はほぼない。
+ * </p>
+ *
+ * @see TipTapHtmlRenderer#VERSION
+ */
+@Component
+public class ContentHtmlRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentHtmlRebuildJob.class);
+    private static final int BATCH_SIZE = 100;
+
+    private final PostRepository postRepository;
+    private final TipTapHtmlRenderer htmlRenderer;
+    private final PostSearchIndexer postSearchIndexer;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ContentHtmlRebuildJob(PostRepository postRepository, TipTapHtmlRenderer htmlRenderer,
+            PostSearchIndexer postSearchIndexer, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher) {
+        this.postRepository = postRepository;
+        this.htmlRenderer = htmlRenderer;
+        this.postSearchIndexer = postSearchIndexer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(initialDelayString = "${app.content-html.rebuild-initial-delay:PT30S}", fixedDelayString = "${app.content-html.rebuild-fixed-delay:PT1H}")
+    public void rebuildStaleContentHtml() {
+        int rebuilt = rebuildAll();
+        if (rebuilt > 0) {
+            log.info("Content HTML rebuild: {} posts updated to renderer version {}", rebuilt,
+                    TipTapHtmlRenderer.VERSION);
+        }
+    }
+
+    /**
+     * 再生成対象がなくなるまで処理する。
+     *
+     * @return 更新した投稿数
+     */
+    public int rebuildAll() {
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            long cursor = afterId;
+            BatchResult result = transactionTemplate.execute(status -> rebuildBatch(cursor));
+            if (result == null || result.lastId() == null) {
+                return total;
+            }
+            if (!result.postIds().isEmpty()) {
+                eventPublisher.publishEvent(new PostContentRebuiltEvent(result.postIds(), result.slugs()));
+            }
+            total += result.postIds().size();
+            afterId = result.lastId();
+        }
+    }
+
+    private BatchResult rebuildBatch(long afterId) {
+        List<Post> posts = postRepository.findStaleContentHtml(TipTapHtmlRenderer.VERSION, afterId,
+                PageRequest.of(0, BATCH_SIZE));
+        if (posts.isEmpty()) {
+            return new BatchResult(Set.of(), Set.of(), null);
+        }
+        Set<Long> postIds = new LinkedHashSet<>();
+        Set<String> slugs = new LinkedHashSet<>();
+        for (Post post : posts) {
+            String html;
+            try {
+                html = htmlRenderer.render(post.getContentJson());
+            } catch (RuntimeException e) {
+                // 1件の失敗でバッチ全体を止めない（次回も対象に残る）
+                log.warn("Content HTML rebuild: failed for post {}: {}", post.getId(), e.getMessage());
+                continue;
+            }
+            if (postRepository.updateContentHtml(post.getId(), html, TipTapHtmlRenderer.VERSION) > 0) {
+                postSearchIndexer.index(post);
+                postIds.add(post.getId());
+                slugs.add(post.getSlug());
+            }
+        }
+        return new BatchResult(postIds, slugs, posts.get(posts.size() - 1).getId());
+    }
+
+    private record BatchResult(Set<Long> postIds, Set<String> slugs, Long lastId) {
+    }
+}
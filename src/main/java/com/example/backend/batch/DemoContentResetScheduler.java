@@ -23,10 +23,12 @@ import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 
 import com.example.backend.config.DemoResetProperties;
 import com.example.backend.config.MediaStorageProperties;
+import com.example.backend.event.ContentResetEvent;
 import com.example.backend.repository.UserRepository;
 
 import software.amazon.awssdk.core.sync.RequestBody;
@@ -63,17 +65,19 @@ public class DemoContentResetScheduler {
     private final DemoResetProperties demoResetProperties;
     private final ResourcePatternResolver resourcePatternResolver;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final AtomicBoolean running = new AtomicBoolean(false);
 
     public DemoContentResetScheduler(DataSource dataSource, S3Client s3Client,
             MediaStorageProperties mediaStorageProperties, DemoResetProperties demoResetProperties,
-            ResourceLoader resourceLoader, UserRepository userRepository) {
+            ResourceLoader resourceLoader, UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.dataSource = dataSource;
         this.s3Client = s3Client;
         this.mediaStorageProperties = mediaStorageProperties;
         this.demoResetProperties = demoResetProperties;
         this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -185,6 +189,7 @@ public class DemoContentResetScheduler {
 
     /**
      * 指定されたSQLスクリプトでDBを初期化。
+     * サービス層を経由しない変更のため、完了後に ContentResetEvent を発行してキャッシュを破棄させる。
      * 
      * @param scriptPath SQLスクリプトのクラスパス相対パス
      */
@@ -195,6 +200,8 @@ public class DemoContentResetScheduler {
         } catch (Exception ex) {
             throw new IllegalStateException(
                     "Failed to reset database using script " + scriptResource.getDescription(), ex);
+        } finally {
+            eventPublisher.publishEvent(new ContentResetEvent());
         }
     }
 
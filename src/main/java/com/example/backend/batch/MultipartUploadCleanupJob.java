@@ -0,0 +1,102 @@
+package com.example.backend.batch;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.config.MediaMultipartProperties;
+import com.example.backend.service.media.MediaStorage;
+import com.example.backend.service.media.MediaStorage.IncompleteUpload;
+import com.example.backend.service.media.MediaStorage.StorageException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 完了・中止されなかったマルチパートアップロードの中止バッチ。
+ * <p>
+ * 途中で放棄されたアップロードのパートはストレージ上に残り続け、容量として課金される。
+ * 開始から {@code app.media.multipart.stale-after} を過ぎたアップロードを中止し、パートを削除する。
+ * <ul>
+ * <li>1回の実行で中止する件数に上限を設け、残りは次回に持ち越す</li>
+ * <li>中止は冪等なため、複数ノードで同時に実行されても問題ない（ロックは取らない）</li>
+ * <li>1件の中止に失敗しても残りは続ける</li>
+ * </ul>
+ * バケットのライフサイクルルール（AbortIncompleteMultipartUpload）を設定できる環境では、そちらと併用してよい。
+ * </p>
+ *
+ * @see MediaStorage#listIncompleteUploads
+ */
+@Component
+public class MultipartUploadCleanupJob implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(MultipartUploadCleanupJob.class);
+
+    private final MediaStorage mediaStorage;
+    private final MediaMultipartProperties properties;
+    private final Clock clock;
+    private final AtomicLong aborted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public MultipartUploadCleanupJob(MediaStorage mediaStorage, MediaMultipartProperties properties, Clock clock) {
+        this.mediaStorage = mediaStorage;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${app.media.multipart.cleanup-initial-delay:PT5M}", fixedDelayString = "${app.media.multipart.cleanup-fixed-delay:PT1H}")
+    public void cleanupScheduled() {
+        try {
+            abortStale();
+        } catch (StorageException e) {
+            log.warn("Multipart upload cleanup: failed to list uploads: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 期限を過ぎた未完了のアップロードを中止する。
+     *
+     * @return 中止した件数
+     * @throws StorageException 未完了のアップロードの取得に失敗した場合
+     */
+    public int abortStale() {
+        Instant initiatedBefore = clock.instant().minus(properties.getStaleAfter());
+        List<IncompleteUpload> stale = mediaStorage.listIncompleteUploads(initiatedBefore,
+                Math.max(1, properties.getCleanupLimit()));
+        int count = 0;
+        for (IncompleteUpload upload : stale) {
+            try {
+                mediaStorage.abortMultipartUpload(upload.storageKey(), upload.uploadId());
+                count++;
+            } catch (StorageException e) {
+                failed.incrementAndGet();
+                log.warn("Multipart upload cleanup: failed to abort {} ({}): {}", upload.storageKey(),
+                        upload.uploadId(), e.getMessage());
+            }
+        }
+        aborted.addAndGet(count);
+        if (count > 0) {
+            log.info("Multipart upload cleanup: {} stale uploads aborted{}", count,
+                    stale.size() >= properties.getCleanupLimit() ? " (limit reached, continuing next run)" : "");
+        }
+        return count;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("media.multipart.aborted", aborted, AtomicLong::get)
+                .description("Stale multipart uploads aborted by the cleanup job")
+                .register(registry);
+        FunctionCounter.builder("media.multipart.abort.failures", failed, AtomicLong::get)
+                .description("Stale multipart uploads that could not be aborted")
+                .register(registry);
+    }
+}
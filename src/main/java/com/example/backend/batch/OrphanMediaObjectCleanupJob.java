@@ -0,0 +1,240 @@
+package com.example.backend.batch;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.example.backend.config.MediaOrphanCleanupProperties;
+import com.example.backend.config.MediaStorageProperties;
+import com.example.backend.repository.MediaObjectRepository;
+import com.example.backend.service.media.MediaStorage;
+import com.example.backend.service.media.MediaStorage.StorageException;
+import com.example.backend.service.media.MediaStorage.StoredObject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * どのメディアからも参照されていないストレージ上のオブジェクト（孤立オブジェクト）の削除バッチ。
+ * <p>
+ * 登録されなかった署名付きアップロードや、DBの行を削除したあとにストレージの削除に失敗したオブジェクトが残り続けるため、
+ * バケットを走査して削除する。バケットのキー数に比例するメモリを使わないよう、次の順に処理する。
+ * <ol>
+ * <li>メディア・縮小版のキーをカーソルで読み、Bloom filter を作る（大きさはDBの行数と偽陽性率で決まる）</li>
+ * <li>{@code app.media.key-prefix} 配下のオブジェクトをページ単位で走査し、Bloom filter にないキーのうち
+ * {@code grace-period} を過ぎたものを候補にする（偽陽性のキーは削除されずに残るだけ）</li>
+ * <li>候補が1000件たまるごとにDBで参照の有無を確認し、参照数 0 の行として確保してから DeleteObjects でまとめて削除する
+ * （確保後は同じキーの登録が失敗するため、走査中に登録されたオブジェクトは削除しない）</li>
+ * </ol>
+ * {@code dry-run} の間は削除・確保をせずに件数だけを報告する。結果はログ（INFO）とメトリクスで確認する。
+ * 参照数 0 のまま {@code grace-period} を過ぎた media_objects の行（削除済みの印）もここで削除する。
+ * </p>
+ *
+ * @see MediaObjectRepository
+ */
+@Component
+public class OrphanMediaObjectCleanupJob implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanMediaObjectCleanupJob.class);
+
+    private final MediaStorage mediaStorage;
+    private final MediaObjectRepository mediaObjectRepository;
+    private final MediaStorageProperties mediaProperties;
+    private final MediaOrphanCleanupProperties properties;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public OrphanMediaObjectCleanupJob(MediaStorage mediaStorage, MediaObjectRepository mediaObjectRepository,
+            MediaStorageProperties mediaProperties, MediaOrphanCleanupProperties properties, Clock clock) {
+        this.mediaStorage = mediaStorage;
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.mediaProperties = mediaProperties;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * 1回の実行結果。
+     *
+     * @param dryRun         削除せずに報告のみ行ったか
+     * @param scanned        走査したオブジェクト数
+     * @param referenced     参照されていたオブジェクト数（Bloom filter の偽陽性を含む）
+     * @param recent         {@code grace-period} を過ぎていないため残したオブジェクト数
+     * @param orphaned       孤立していたオブジェクト数
+     * @param deleted        削除したオブジェクト数
+     * @param failed         削除に失敗したオブジェクト数
+     * @param releasedPurged 削除した参照数 0 の行の数
+     * @param filterBytes    Bloom filter のメモリ（バイト）
+     * @param elapsed        所要時間
+     */
+    public record Report(boolean dryRun, long scanned, long referenced, long recent, long orphaned, long deleted,
+            long failed, int releasedPurged, long filterBytes, Duration elapsed) {
+    }
+
+    @Scheduled(initialDelayString = "${app.media.orphan-cleanup.initial-delay:PT30M}", fixedDelayString = "${app.media.orphan-cleanup.fixed-delay:PT24H}")
+    public void cleanupScheduled() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            run(properties.isDryRun());
+        } catch (StorageException e) {
+            log.warn("Orphan media cleanup: failed to list objects: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 孤立オブジェクトを探して削除する。
+     *
+     * @param dryRun true の場合は削除せずに件数だけを数える
+     * @return 実行結果（プレフィックス未設定・実行中のため実行しなかった場合は null）
+     * @throws StorageException オブジェクトの一覧の取得に失敗した場合
+     */
+    public Report run(boolean dryRun) {
+        String prefix = resolvePrefix();
+        if (prefix == null) {
+            log.warn("Orphan media cleanup: key prefix empty, skipping to avoid scanning the entire bucket");
+            return null;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("Orphan media cleanup already running, skipping this trigger");
+            return null;
+        }
+        try {
+            long startedAt = System.nanoTime();
+            BloomFilter registered = BloomFilter.create(mediaObjectRepository.countReferencedKeys(),
+                    properties.getFalsePositiveRate());
+            mediaObjectRepository.forEachReferencedKey(registered::put);
+
+            Instant modifiedBefore = clock.instant().minus(properties.getGracePeriod());
+            Tally tally = new Tally(dryRun);
+            mediaStorage.listObjects(prefix, page -> {
+                for (StoredObject object : page) {
+                    tally.scanned++;
+                    if (registered.mightContain(object.storageKey())) {
+                        tally.referenced++;
+                    } else if (object.lastModified() == null || !object.lastModified().isBefore(modifiedBefore)) {
+                        tally.recent++;
+                    } else {
+                        tally.candidates.add(object.storageKey());
+                        if (tally.candidates.size() >= MediaStorage.MAX_DELETE_BATCH) {
+                            flush(tally);
+                        }
+                    }
+                }
+            });
+            flush(tally);
+            int purged = dryRun ? 0 : mediaObjectRepository.purgeReleased(properties.getGracePeriod());
+
+            Report report = new Report(dryRun, tally.scanned, tally.referenced, tally.recent, tally.orphaned,
+                    tally.deleted, tally.failed, purged, registered.sizeInBytes(),
+                    Duration.ofNanos(System.nanoTime() - startedAt));
+            scanned.addAndGet(report.scanned());
+            deleted.addAndGet(report.deleted());
+            failed.addAndGet(report.failed());
+            log.info("Orphan media cleanup{}: {} scanned, {} referenced, {} within grace period, {} orphaned, "
+                    + "{} deleted, {} failed, {} released rows purged ({} KiB filter, {} ms)",
+                    dryRun ? " (dry run)" : "", report.scanned(), report.referenced(), report.recent(),
+                    report.orphaned(), report.deleted(), report.failed(), report.releasedPurged(),
+                    report.filterBytes() / 1024, report.elapsed().toMillis());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("media.orphans.scanned", scanned, AtomicLong::get)
+                .description("Storage objects scanned by the orphan cleanup job")
+                .register(registry);
+        FunctionCounter.builder("media.orphans.deleted", deleted, AtomicLong::get)
+                .description("Orphaned storage objects deleted")
+                .register(registry);
+        FunctionCounter.builder("media.orphans.delete.failures", failed, AtomicLong::get)
+                .description("Orphaned storage objects that could not be deleted")
+                .register(registry);
+    }
+
+    // Bloom filter にない候補をDBで確認し、確保できたものだけを削除する
+    private void flush(Tally tally) {
+        if (tally.candidates.isEmpty()) {
+            return;
+        }
+        Set<String> stillReferenced = mediaObjectRepository.findReferencedKeys(tally.candidates);
+        List<String> orphans = tally.candidates.stream().filter(key -> !stillReferenced.contains(key)).toList();
+        tally.candidates.clear();
+        tally.referenced += stillReferenced.size();
+        tally.orphaned += orphans.size();
+        if (tally.dryRun || orphans.isEmpty()) {
+            return;
+        }
+
+        boolean[] claimed = mediaObjectRepository.claimAll(orphans);
+        List<String> toDelete = new ArrayList<>(orphans.size());
+        for (int i = 0; i < orphans.size(); i++) {
+            if (claimed[i]) {
+                toDelete.add(orphans.get(i));
+            }
+        }
+        // 確保できなかったキーは確認後に登録された
+        tally.orphaned -= orphans.size() - toDelete.size();
+        tally.referenced += orphans.size() - toDelete.size();
+        try {
+            List<String> notDeleted = mediaStorage.deleteObjects(toDelete);
+            tally.deleted += toDelete.size() - notDeleted.size();
+            tally.failed += notDeleted.size();
+            if (!notDeleted.isEmpty()) {
+                log.warn("Orphan media cleanup: failed to delete {} objects (e.g. {})", notDeleted.size(),
+                        notDeleted.get(0));
+            }
+        } catch (StorageException e) {
+            // 確保した行は残るため、次回の実行で再び削除する
+            tally.failed += toDelete.size();
+            log.warn("Orphan media cleanup: failed to delete {} objects: {}", toDelete.size(), e.getMessage());
+        }
+    }
+
+    private String resolvePrefix() {
+        String prefix = mediaProperties.getKeyPrefix();
+        if (StringUtils.hasText(prefix)) {
+            prefix = prefix.replaceAll("^/+|/+$", "");
+        }
+        if (StringUtils.hasText(prefix)) {
+            return prefix + "/";
+        }
+        return properties.isScanWholeBucket() ? "" : null;
+    }
+
+    private static final class Tally {
+
+        private final boolean dryRun;
+        private final List<String> candidates = new ArrayList<>(MediaStorage.MAX_DELETE_BATCH);
+        private long scanned;
+        private long referenced;
+        private long recent;
+        private long orphaned;
+        private long deleted;
+        private long failed;
+
+        private Tally(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+    }
+}
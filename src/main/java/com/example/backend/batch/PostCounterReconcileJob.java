@@ -0,0 +1,66 @@
+package com.example.backend.batch;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.event.ContentResetEvent;
+import com.example.backend.repository.PostCounterRepository;
+
+/**
+ * タグ・カテゴリ別投稿数の照合バッチ。
+ * <p>
+ * 実データ（posts / post_tags）から投稿数を再集計し、集計表とのずれを修正する。
+ * サービス層を経由しない変更（SQLシード投入・デモリセット等）や、全ノード停止中に公開日時を迎えた予約投稿の計上漏れを補う。
+ * デモリセット完了後にも実行する。
+ * </p>
+ *
+ * @see com.example.backend.service.counter.PostCounterService
+ */
+@Component
+public class PostCounterReconcileJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PostCounterReconcileJob.class);
+
+    private final PostCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public PostCounterReconcileJob(PostCounterRepository counterRepository,
+            PlatformTransactionManager transactionManager, Clock clock) {
+        this.counterRepository = counterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${app.post-counts.reconcile-initial-delay:PT1M}", fixedDelayString = "${app.post-counts.reconcile-fixed-delay:PT1H}")
+    public void reconcileScheduled() {
+        int repaired = reconcile();
+        if (repaired > 0) {
+            log.warn("Post counters reconcile: {} rows repaired", repaired);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentReset(ContentResetEvent event) {
+        reconcile();
+    }
+
+    /**
+     * 投稿数を再集計して修正する。
+     *
+     * @return 修正した行数
+     */
+    public int reconcile() {
+        Integer repaired = transactionTemplate.execute(
+                status -> counterRepository.reconcile(LocalDateTime.now(clock)));
+        return repaired != null ? repaired : 0;
+    }
+}
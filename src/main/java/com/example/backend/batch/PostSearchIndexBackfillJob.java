@@ -0,0 +1,88 @@
+package com.example.backend.batch;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.entity.Post;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.PostSearchRepository;
+import com.example.backend.service.search.PostSearchIndexer;
+
+/**
+ * 全文検索ベクトルの作成バッチ。
+ * <p>
+ * 検索機能の追加前からある投稿や、SQLで直接投入した投稿（デモデータ等）は search_vector が NULL のため、
+ * ID順に小分けのトランザクションで作成する。本文HTML・更新日時には触れないため、公開APIの応答は変わらない。
+ * 並行して投稿が更新・索引された場合はそちらを優先する（作成済みのベクトルは上書きしない）。
+ * 対象がなければ1クエリで終了するため、定期実行しても負荷はほぼない。
+ * </p>
+ *
+ * @see PostSearchIndexer
+ */
+@Component
+public class PostSearchIndexBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndexBackfillJob.class);
+    private static final int BATCH_SIZE = 100;
+
+    private final PostRepository postRepository;
+    private final PostSearchRepository postSearchRepository;
+    private final PostSearchIndexer postSearchIndexer;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostSearchIndexBackfillJob(PostRepository postRepository, PostSearchRepository postSearchRepository,
+            PostSearchIndexer postSearchIndexer, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.postSearchRepository = postSearchRepository;
+        this.postSearchIndexer = postSearchIndexer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${app.search.backfill-initial-delay:PT30S}", fixedDelayString = "${app.search.backfill-fixed-delay:PT1H}")
+    public void backfillScheduled() {
+        int indexed = backfillAll();
+        if (indexed > 0) {
+            log.info("Search index backfill: {} posts indexed", indexed);
+        }
+    }
+
+    /**
+     * 未作成の検索ベクトルがなくなるまで処理する。
+     *
+     * @return 作成した投稿数
+     */
+    public int backfillAll() {
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            List<Long> ids = postSearchRepository.findUnindexedIds(afterId, BATCH_SIZE);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            Integer indexed = transactionTemplate.execute(status -> backfillBatch(ids));
+            total += indexed != null ? indexed : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int backfillBatch(List<Long> ids) {
+        int indexed = 0;
+        for (Post post : postRepository.findAllById(ids)) {
+            try {
+                if (postSearchIndexer.indexIfMissing(post)) {
+                    indexed++;
+                }
+            } catch (RuntimeException e) {
+                // 1件の失敗でバッチ全体を止めない（次回も対象に残る）
+                log.warn("Search index backfill: failed for post {}: {}", post.getId(), e.getMessage());
+            }
+        }
+        return indexed;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.backend.batch;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.config.RefreshTokenPurgeProperties;
+import com.example.backend.repository.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 期限切れ・失効済みリフレッシュトークンの削除バッチ。
+ * <p>
+ * ログイン・リフレッシュのたびに refresh_tokens へ行が追加されるため、期限切れの行と、猶予期間
+ * （{@code app.refresh-token-purge.revoked-grace}）を過ぎた失効済みの行を定期的に削除する。
+ * <ul>
+ * <li>小分けのトランザクションで削除し、バッチ間で待機する（長時間のロック・I/Oの占有を避ける）</li>
+ * <li>他のトランザクションがロック中の行は待たずに読み飛ばし、次回に回す</li>
+ * <li>1回の実行時間に上限を設け、残りは次回に持ち越す</li>
+ * <li>PostgreSQL のアドバイザリロックで、複数ノードのうち1ノードだけが実行する</li>
+ * </ul>
+ * </p>
+ *
+ * @see com.example.backend.repository.RefreshTokenRepository#purgeBatch
+ */
+@Component
+public class RefreshTokenPurgeJob implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    // アドバイザリロックのキー（他の用途と衝突しない任意の固定値）
+    private static final long LOCK_KEY = 0x5046_5254_5055_5247L;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final DataSource dataSource;
+    private final RefreshTokenPurgeProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final AtomicLong purged = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository, DataSource dataSource,
+            RefreshTokenPurgeProperties properties, PlatformTransactionManager transactionManager, Clock clock) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${app.refresh-token-purge.initial-delay:PT2M}", fixedDelayString = "${app.refresh-token-purge.fixed-delay:PT1H}")
+    public void purgeScheduled() {
+        purge();
+    }
+
+    /**
+     * 削除対象がなくなるか上限時間に達するまで削除する。
+     * 他ノードが実行中の場合は何もしない。
+     *
+     * @return 削除した行数（他ノードが実行中の場合は0）
+     */
+    public int purge() {
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, "SELECT pg_try_advisory_lock(?)")) {
+                log.debug("Refresh token purge: skipped, running on another node");
+                return 0;
+            }
+            try {
+                return purgeLocked();
+            } finally {
+                advisoryLock(lockConnection, "SELECT pg_advisory_unlock(?)");
+            }
+        } catch (SQLException e) {
+            log.warn("Refresh token purge: failed to acquire lock: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("auth.refresh_tokens.purged", purged, AtomicLong::get)
+                .description("Expired or revoked refresh tokens deleted by the purge job")
+                .register(registry);
+        Gauge.builder("auth.refresh_tokens.purge.last_run", lastRunMillis, AtomicLong::get)
+                .description("Duration of the last refresh token purge run")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private int purgeLocked() {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + properties.getMaxRunTime().toNanos();
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime revokedBefore = now.minus(properties.getRevokedGrace());
+        int batchSize = properties.getBatchSize();
+        int total = 0;
+        int batches = 0;
+        boolean exhausted = false;
+        while (System.nanoTime() < deadline) {
+            Integer deleted = transactionTemplate.execute(
+                    status -> refreshTokenRepository.purgeBatch(now, revokedBefore, batchSize));
+            int count = deleted != null ? deleted : 0;
+            total += count;
+            batches++;
+            if (count < batchSize) {
+                exhausted = true;
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        purged.addAndGet(total);
+        lastRunMillis.set(elapsed.toMillis());
+        if (total > 0 || !exhausted) {
+            log.info("Refresh token purge: {} rows deleted in {} batches, {} ms{}", total, batches,
+                    elapsed.toMillis(), exhausted ? "" : " (time budget reached, continuing next run)");
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        long millis = properties.getPause().toMillis();
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
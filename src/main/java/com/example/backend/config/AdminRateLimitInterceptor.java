@@ -0,0 +1,74 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.backend.exception.RateLimitExceededException;
+import com.example.backend.service.ratelimit.AdminRateLimiter;
+import com.example.backend.service.ratelimit.RateLimitCost;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 管理APIのユーザー別レート制限（/api/admin/** に登録）。
+ * <p>
+ * 認証後・コントローラー実行前に、ハンドラーの {@link RateLimitCost} 分のトークンを消費する。
+ * 応答には RateLimit-Limit / RateLimit-Remaining / RateLimit-Reset / RateLimit-Policy ヘッダーを付け、
+ * 超過時は 429 + Retry-After（{@link RateLimitExceededException}）。
+ * </p>
+ *
+ * @see AdminRateLimiter
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminRateLimitInterceptor implements HandlerInterceptor {
+
+    private final AdminRateLimiter adminRateLimiter;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (!adminRateLimiter.isEnabled() || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return true;
+        }
+        AdminRateLimiter.Decision decision = adminRateLimiter.tryConsume(authentication.getName(),
+                authentication.getAuthorities(), costOf(method));
+        if (decision == null) {
+            return true;
+        }
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.nanosToReset())));
+        response.setHeader("RateLimit-Policy", decision.limit() + ";w=" + decision.periodSeconds());
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException("Too many requests", Duration.ofNanos(decision.nanosToWait()));
+        }
+        return true;
+    }
+
+    private static int costOf(HandlerMethod method) {
+        RateLimitCost cost = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), RateLimitCost.class);
+        if (cost == null) {
+            cost = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), RateLimitCost.class);
+        }
+        return cost != null ? cost.value() : 1;
+    }
+
+    private static long toSeconds(long nanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L);
+    }
+}
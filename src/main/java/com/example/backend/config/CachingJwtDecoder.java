@@ -0,0 +1,31 @@
+package com.example.backend.config;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.example.backend.service.cache.VerifiedJwtCache;
+
+/**
+ * 検証済みJWTのキャッシュを前段に置いた {@link JwtDecoder}。
+ * <p>
+ * キャッシュにない（または期限切れの）トークンだけを委譲先で解析・検証する。
+ * </p>
+ *
+ * @see VerifiedJwtCache
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final VerifiedJwtCache cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, VerifiedJwtCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return cache.get(token, delegate::decode);
+    }
+}
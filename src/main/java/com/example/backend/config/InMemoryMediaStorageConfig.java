@@ -3,14 +3,20 @@ package com.example.backend.config;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.example.backend.service.cache.PresignedUrlCache;
+import com.example.backend.service.media.ContentHash;
 import com.example.backend.service.media.MediaStorage;
 
 @Configuration
@@ -18,14 +24,22 @@ import com.example.backend.service.media.MediaStorage;
 public class InMemoryMediaStorageConfig {
 
     @Bean
-    public MediaStorage inMemoryMediaStorage(Clock clock) {
-        return new InMemoryMediaStorage(clock);
+    public MediaStorage inMemoryMediaStorage(Clock clock, PresignedUrlCache presignedUrlCache) {
+        return presignedUrlCache.decorate(new InMemoryMediaStorage(clock));
     }
 
     static class InMemoryMediaStorage implements MediaStorage {
 
         private final Clock clock;
         private final Set<String> existingKeys = ConcurrentHashMap.newKeySet();
+        // キー → 最終更新日時（一覧用）
+        private final Map<String, Instant> lastModified = new ConcurrentHashMap<>();
+        // サーバー側で保存した内容（署名付きURL経由のアップロード分は内容を持たない）
+        private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+        // 署名付きURLの発行時に指定された内容のハッシュ
+        private final Map<String, String> declaredSha256 = new ConcurrentHashMap<>();
+        // 未完了のマルチパートアップロード（アップロードID → アップロード）
+        private final Map<String, IncompleteUpload> multipartUploads = new ConcurrentHashMap<>();
 
         InMemoryMediaStorage(Clock clock) {
             this.clock = clock;
@@ -33,8 +47,12 @@ public class InMemoryMediaStorageConfig {
 
         @Override
         public PresignedUpload createUploadUrl(String storageKey, String contentType, long contentLength,
-                Duration ttl) {
-            existingKeys.add(storageKey);
+                String contentSha256, Duration ttl) {
+            markExisting(storageKey);
+            if (contentSha256 != null) {
+                // S3 と同じく、指定したハッシュと一致する内容だけがアップロードされたとみなす
+                declaredSha256.put(storageKey, contentSha256);
+            }
             Instant expiresAt = Instant.now(clock).plus(ttl);
             return new PresignedUpload("http://localhost/mock-upload/" + storageKey,
                     Map.of("Content-Type", contentType), expiresAt, storageKey);
@@ -56,9 +74,104 @@ public class InMemoryMediaStorageConfig {
             }
         }
 
+        @Override
+        public String findContentSha256(String storageKey) {
+            ensureObjectExists(storageKey);
+            byte[] content = contents.get(storageKey);
+            return content != null ? ContentHash.sha256Hex(content) : declaredSha256.get(storageKey);
+        }
+
         @Override
         public void deleteObject(String storageKey) {
             existingKeys.remove(storageKey);
+            lastModified.remove(storageKey);
+            contents.remove(storageKey);
+            declaredSha256.remove(storageKey);
+        }
+
+        @Override
+        public byte[] getObject(String storageKey) {
+            if (!existingKeys.contains(storageKey)) {
+                throw new ObjectNotFoundException(storageKey);
+            }
+            return contents.getOrDefault(storageKey, new byte[0]);
+        }
+
+        @Override
+        public void putObject(String storageKey, String contentType, byte[] content) {
+            contents.put(storageKey, content.clone());
+            markExisting(storageKey);
+        }
+
+        @Override
+        public String createMultipartUpload(String storageKey, String contentType) {
+            String uploadId = UUID.randomUUID().toString();
+            multipartUploads.put(uploadId, new IncompleteUpload(storageKey, uploadId, Instant.now(clock)));
+            return uploadId;
+        }
+
+        @Override
+        public List<PresignedPart> createPartUploadUrls(String storageKey, String uploadId,
+                List<Integer> partNumbers, Duration ttl) {
+            Instant expiresAt = Instant.now(clock).plus(ttl);
+            return partNumbers.stream()
+                    .map(partNumber -> new PresignedPart(partNumber,
+                            "http://localhost/mock-upload/" + storageKey + "?uploadId=" + uploadId + "&partNumber=" + partNumber,
+                            expiresAt))
+                    .toList();
+        }
+
+        @Override
+        public void completeMultipartUpload(String storageKey, String uploadId, List<CompletedPart> parts) {
+            IncompleteUpload upload = multipartUploads.get(uploadId);
+            if (upload == null || !upload.storageKey().equals(storageKey)) {
+                throw new UploadNotFoundException(uploadId);
+            }
+            if (parts.isEmpty()) {
+                throw new StorageException("No parts to complete multipart upload: " + uploadId);
+            }
+            multipartUploads.remove(uploadId);
+            markExisting(storageKey);
+        }
+
+        @Override
+        public void abortMultipartUpload(String storageKey, String uploadId) {
+            multipartUploads.remove(uploadId);
+        }
+
+        @Override
+        public List<IncompleteUpload> listIncompleteUploads(Instant initiatedBefore, int limit) {
+            return multipartUploads.values().stream()
+                    .filter(upload -> upload.initiatedAt().isBefore(initiatedBefore))
+                    .sorted(Comparator.comparing(IncompleteUpload::initiatedAt))
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public void listObjects(String prefix, Consumer<List<StoredObject>> pageHandler) {
+            List<StoredObject> objects = lastModified.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(entry -> new StoredObject(entry.getKey(), entry.getValue()))
+                    .toList();
+            for (int from = 0; from < objects.size(); from += MAX_DELETE_BATCH) {
+                pageHandler.accept(objects.subList(from, Math.min(objects.size(), from + MAX_DELETE_BATCH)));
+            }
+        }
+
+        @Override
+        public List<String> deleteObjects(List<String> storageKeys) {
+            if (storageKeys.size() > MAX_DELETE_BATCH) {
+                throw new IllegalArgumentException("At most " + MAX_DELETE_BATCH + " keys can be deleted at once");
+            }
+            storageKeys.forEach(this::deleteObject);
+            return List.of();
+        }
+
+        private void markExisting(String storageKey) {
+            existingKeys.add(storageKey);
+            lastModified.put(storageKey, Instant.now(clock));
         }
     }
 }
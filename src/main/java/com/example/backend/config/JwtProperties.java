@@ -1,12 +1,16 @@
 package com.example.backend.config;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "app.jwt")
 public class JwtProperties {
     /**
-     * HS256 用のシークレット（32byte 以上を推奨。base64 文字列も可）
+     * HS256 用のシークレット（32byte 以上を推奨。base64 文字列も可）。
+     * ES256 へ移行中は、発行済みの HS256 トークンを検証するために残す（{@link #acceptHmac}）。
      */
     private String secret;
 
@@ -20,6 +24,27 @@ public class JwtProperties {
      */
     private Duration refreshTtl = Duration.ofDays(7);
 
+    /**
+     * 署名方式。ES256 の場合は {@link #activeKid} の鍵で署名し、公開鍵を /.well-known/jwks.json で公開する。
+     */
+    private SigningAlgorithm algorithm = SigningAlgorithm.HS256;
+
+    /**
+     * ES256 で署名に使う鍵の kid。
+     */
+    private String activeKid;
+
+    /**
+     * ES256 の鍵（ローテーション時は旧鍵を公開鍵のみで残し、発行済みトークンの期限切れ後に削除する）。
+     */
+    private List<SigningKey> keys = new ArrayList<>();
+
+    /**
+     * ES256 運用中も HS256 のトークンを受け付けるか（移行期間中、再ログインなしに切り替えるため）。
+     * シークレットが未設定の場合は受け付けない。
+     */
+    private boolean acceptHmac = true;
+
     public String getSecret() { return secret; }
     public void setSecret(String secret) { this.secret = secret; }
 
@@ -28,5 +53,49 @@ public class JwtProperties {
 
     public Duration getRefreshTtl() { return refreshTtl; }
     public void setRefreshTtl(Duration refreshTtl) { this.refreshTtl = refreshTtl; }
-}
 
+    public SigningAlgorithm getAlgorithm() { return algorithm; }
+    public void setAlgorithm(SigningAlgorithm algorithm) { this.algorithm = algorithm; }
+
+    public String getActiveKid() { return activeKid; }
+    public void setActiveKid(String activeKid) { this.activeKid = activeKid; }
+
+    public List<SigningKey> getKeys() { return keys; }
+    public void setKeys(List<SigningKey> keys) { this.keys = keys; }
+
+    public boolean isAcceptHmac() { return acceptHmac; }
+    public void setAcceptHmac(boolean acceptHmac) { this.acceptHmac = acceptHmac; }
+
+    public enum SigningAlgorithm {
+        HS256, ES256
+    }
+
+    /**
+     * ES256（P-256）の鍵。
+     */
+    public static class SigningKey {
+        /**
+         * JWT ヘッダーの kid。
+         */
+        private String kid;
+
+        /**
+         * 公開鍵（X.509 SubjectPublicKeyInfo の PEM または base64）。
+         */
+        private String publicKey;
+
+        /**
+         * 秘密鍵（PKCS#8 の PEM または base64）。署名に使う鍵のみ必要。
+         */
+        private String privateKey;
+
+        public String getKid() { return kid; }
+        public void setKid(String kid) { this.kid = kid; }
+
+        public String getPublicKey() { return publicKey; }
+        public void setPublicKey(String publicKey) { this.publicKey = publicKey; }
+
+        public String getPrivateKey() { return privateKey; }
+        public void setPrivateKey(String privateKey) { this.privateKey = privateKey; }
+    }
+}
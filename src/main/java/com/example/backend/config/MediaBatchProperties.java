@@ -0,0 +1,22 @@
+package com.example.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.media.batch")
+public class MediaBatchProperties {
+
+    /**
+     * 一括登録でストレージ上の存在確認（HEAD）を並行して行うスレッド数（全リクエストで共有）。
+     */
+    private int checkThreads = 8;
+
+    /**
+     * 存在確認の待ち行列の上限。超えた分は呼び出し元のスレッドで確認する。
+     */
+    private int queueCapacity = 200;
+}
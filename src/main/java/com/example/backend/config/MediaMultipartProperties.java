@@ -0,0 +1,39 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.media.multipart")
+public class MediaMultipartProperties {
+
+    /**
+     * パートのサイズ（5MB以上）。パート数が10000を超えるファイルは、10000パートに収まるよう大きくする。
+     */
+    private long partSize = 16L * 1024 * 1024;
+
+    /**
+     * マルチパートアップロードできるファイルの最大サイズ。
+     */
+    private long maxBytes = 5L * 1024 * 1024 * 1024;
+
+    /**
+     * 1回の要求で署名付きURLを発行するパート数の上限（残りはパートごとのURL発行APIで取得する）。
+     */
+    private int presignBatchSize = 100;
+
+    /**
+     * 完了・中止されずにこの期間を過ぎたアップロードは、削除バッチで中止する。
+     */
+    private Duration staleAfter = Duration.ofHours(24);
+
+    /**
+     * 削除バッチ1回で中止するアップロードの上限。超えた分は次回に持ち越す。
+     */
+    private int cleanupLimit = 1_000;
+}
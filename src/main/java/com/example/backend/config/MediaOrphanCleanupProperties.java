@@ -0,0 +1,40 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.media.orphan-cleanup")
+public class MediaOrphanCleanupProperties {
+
+    /**
+     * 孤立オブジェクトの削除バッチを定期実行するか。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 削除せずに件数だけを報告する（初回導入時は結果を確認してから無効にする）。
+     */
+    private boolean dryRun = true;
+
+    /**
+     * 最終更新からこの期間を過ぎていないオブジェクトは削除しない（アップロード後・登録前のものを残す）。
+     * 署名付きURLの有効期間・マルチパートアップロードの {@code stale-after} より長くすること。
+     */
+    private Duration gracePeriod = Duration.ofDays(2);
+
+    /**
+     * 登録済みキーの Bloom filter の偽陽性率（偽陽性のオブジェクトは削除されずに残るだけ）。
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * {@code app.media.key-prefix} が空の場合にバケット全体を走査するか（他の用途と共有するバケットでは無効のままにする）。
+     */
+    private boolean scanWholeBucket = false;
+}
@@ -0,0 +1,55 @@
+package com.example.backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.media.variants")
+public class MediaVariantProperties {
+
+    /**
+     * 登録後に縮小版を生成するか。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 生成する幅（px）。元画像より大きい幅は生成しない。
+     */
+    private List<Integer> widths = new ArrayList<>(List.of(320, 640, 1280));
+
+    /**
+     * 生成する形式（MIMEタイプ、優先順）。エンコーダーがない形式は起動時に除外する。
+     */
+    private List<String> formats = new ArrayList<>(List.of("image/avif", "image/webp", "image/jpeg"));
+
+    /**
+     * JPEG・WebP の品質（0.0〜1.0）。
+     */
+    private float quality = 0.8f;
+
+    /**
+     * 生成スレッド数。
+     */
+    private int threads = 2;
+
+    /**
+     * 生成待ちの上限（超えた分は生成しない）。
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * 縮小版を生成する元画像の最大バイト数。
+     */
+    private long maxSourceBytes = 30L * 1024 * 1024;
+
+    /**
+     * 縮小版を生成する元画像の最大画素数（展開後のメモリ使用量の上限）。
+     */
+    private long maxSourcePixels = 40_000_000L;
+}
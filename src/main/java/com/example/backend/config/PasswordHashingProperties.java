@@ -0,0 +1,39 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * BCrypt のコスト（4〜31）。保存済みのハッシュがこれより低いコストの場合、ログイン成功時に再ハッシュする。
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * ハッシュ計算のスレッド数。0以下の場合はCPUコア数。
+     */
+    private int threads = 0;
+
+    /**
+     * 待ち行列の上限。超えた要求は即座に 503 で拒否する。
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 待ち行列での最大待ち時間。超えた要求は 503 で拒否する。
+     */
+    private Duration maxQueueWait = Duration.ofSeconds(2);
+
+    /**
+     * 拒否時の Retry-After。
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
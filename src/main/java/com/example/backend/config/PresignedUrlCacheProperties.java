@@ -0,0 +1,28 @@
+package com.example.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.media.presign-cache")
+public class PresignedUrlCacheProperties {
+
+    /**
+     * 署名付きダウンロードURLのキャッシュを有効にするか。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大保持件数。
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * URLを使い回す期間（有効期間に対する割合、0〜1）。
+     * 0.5 の場合、15分のURLは発行から7分30秒まで使い回し、返すURLには常に半分以上の有効期間が残る。
+     */
+    private double reuseFraction = 0.5;
+}
@@ -0,0 +1,29 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.principal-cache")
+public class PrincipalCacheProperties {
+
+    /**
+     * 認証ユーザー（JWTのsubject単位）のキャッシュを有効にするか。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大保持件数。
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * 保持期間。他ノードでのユーザー変更はこの期間内に反映される。
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
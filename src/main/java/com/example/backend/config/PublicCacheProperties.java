@@ -0,0 +1,50 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.public-cache")
+public class PublicCacheProperties {
+
+    /**
+     * 公開APIのインプロセスキャッシュを有効にするか。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 一覧レスポンス（ページ単位）の最大保持件数。
+     */
+    private long listMaxSize = 1_000;
+
+    /**
+     * 詳細レスポンス（スラッグ単位）の最大保持件数。
+     */
+    private long detailMaxSize = 5_000;
+
+    /**
+     * イベントによる破棄漏れに備えた保険としての最大保持期間。
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * PostgreSQL の LISTEN で他ノードでの変更（ETagのバージョン）を即時に受け取るか。
+     * 無効の場合は定期再同期（{@code resync-interval}）でのみ反映される。
+     */
+    private boolean listen = true;
+
+    /**
+     * LISTEN 用の接続が切れた場合の再接続間隔。
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /**
+     * 通知の取りこぼしに備えた、DBからのバージョンの定期再同期の間隔。
+     */
+    private Duration resyncInterval = Duration.ofMinutes(1);
+}
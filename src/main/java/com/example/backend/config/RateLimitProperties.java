@@ -0,0 +1,149 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * レート制限を有効にするか。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 保持するバケット（ポリシー × クライアントIP）の最大数。超えた分は利用頻度の低いものから破棄する。
+     */
+    private long maxBuckets = 100_000;
+
+    /**
+     * 最後の利用からこの期間が過ぎたバケットを破棄する（ポリシーの期間より長くすること）。
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 信頼するリバースプロキシの段数。X-Forwarded-For の右からこの段数目をクライアントIPとみなす。
+     * 0 の場合は X-Forwarded-For を無視して接続元アドレスを使う（偽装されたヘッダーでバケットを分けられないように）。
+     */
+    private int trustedProxyHops = 0;
+
+    /**
+     * パス別のポリシー（先に一致したものを適用。どれにも一致しないパスは制限しない）。
+     */
+    private List<Policy> policies = new ArrayList<>(List.of(new Policy("/api/public/**", 100, Duration.ofMinutes(1))));
+
+    /**
+     * 複数ノードで共有するレート制限。
+     */
+    private Distributed distributed = new Distributed();
+
+    /**
+     * 管理APIのユーザー別レート制限。
+     */
+    private Admin admin = new Admin();
+
+    @Getter
+    @Setter
+    public static class Admin {
+
+        /**
+         * 管理APIのユーザー別レート制限を有効にするか。
+         */
+        private boolean enabled = true;
+
+        /**
+         * 補充の期間。
+         */
+        private Duration period = Duration.ofMinutes(1);
+
+        /**
+         * ロール別の期間あたりのトークン数（キーは ROLE_ を除いたロール名。割り当てのないロールは制限しない）。
+         */
+        private Map<String, Long> quotas = new LinkedHashMap<>(Map.of("ADMIN", 600L, "EDITOR", 300L, "AUTHOR", 120L));
+    }
+
+    @Getter
+    @Setter
+    public static class Distributed {
+
+        /**
+         * PostgreSQL の共有バケットで制限するか（false の場合はノードごとの制限）。
+         */
+        private boolean enabled = false;
+
+        /**
+         * 共有バケットから1回にまとめて確保するトークン数（DBへのアクセスはおよそこの回数に1回）。
+         * 大きいほどDB負荷は下がるが、ノード間で確保済みのまま使われない分だけ制限が甘く・厳しくなる。
+         */
+        private int prefetch = 10;
+
+        /**
+         * 確保したトークンの有効期間。過ぎた分は使わずに捨てる（アクセスの止まったノードが確保分を持ち越さないように）。
+         */
+        private Duration leaseTtl = Duration.ofSeconds(2);
+
+        /**
+         * 共有バケットの応答をリクエストスレッドで待つ上限。超えた場合はノードごとの制限で判定する。
+         */
+        private Duration timeout = Duration.ofMillis(50);
+
+        /**
+         * DBの失敗・タイムアウト後、共有バケットを使わずにノードごとの制限で判定する期間。
+         */
+        private Duration failureBackoff = Duration.ofSeconds(10);
+
+        /**
+         * 共有バケットへアクセスするスレッド数。
+         */
+        private int threads = 4;
+
+        /**
+         * 共有バケットへのアクセス待ちの上限（満杯の場合はノードごとの制限で判定）。
+         */
+        private int queueCapacity = 256;
+
+        /**
+         * 使われていない共有バケットを削除する間隔。
+         */
+        private Duration cleanupInterval = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /**
+         * 対象パス（Ant 形式、例: /api/public/**）。
+         */
+        private String pattern;
+
+        /**
+         * 期間あたりのリクエスト数。
+         */
+        private long capacity;
+
+        /**
+         * 補充の期間。
+         */
+        private Duration period = Duration.ofMinutes(1);
+
+        public Policy() {
+        }
+
+        public Policy(String pattern, long capacity, Duration period) {
+            this.pattern = pattern;
+            this.capacity = capacity;
+            this.period = period;
+        }
+    }
+}
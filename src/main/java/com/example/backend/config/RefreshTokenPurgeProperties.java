@@ -0,0 +1,34 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.refresh-token-purge")
+public class RefreshTokenPurgeProperties {
+
+    /**
+     * 1トランザクションで削除する最大行数。
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * バッチ間の待機時間（他のトランザクションにロック・I/Oを譲る）。
+     */
+    private Duration pause = Duration.ofMillis(200);
+
+    /**
+     * 失効済みトークンを残しておく期間（再利用検知のエラー応答を区別するため）。
+     */
+    private Duration revokedGrace = Duration.ofDays(1);
+
+    /**
+     * 1回の実行の上限時間。超えた分は次回に持ち越す。
+     */
+    private Duration maxRunTime = Duration.ofMinutes(5);
+}
@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.example.backend.service.cache.PresignedUrlCache;
 import com.example.backend.service.media.MediaStorage;
 import com.example.backend.service.media.S3MediaStorageService;
 
@@ -28,7 +29,8 @@ public class S3MediaStorageConfig {
     @Bean
     @org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean(MediaStorage.class)
     public MediaStorage mediaStorage(S3Client s3Client, S3Presigner s3Presigner, MediaStorageProperties properties,
-            Clock clock) {
-        return new S3MediaStorageService(s3Client, s3Presigner, properties, clock);
+            Clock clock, PresignedUrlCache presignedUrlCache) {
+        // 同じオブジェクトのダウンロードURLは使い回す（PresignedUrlCache）
+        return presignedUrlCache.decorate(new S3MediaStorageService(s3Client, s3Presigner, properties, clock));
     }
 }
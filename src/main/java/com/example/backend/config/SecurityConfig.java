@@ -1,16 +1,27 @@
 package com.example.backend.config;
 
+import com.example.backend.service.JwtKeyRing;
+import com.example.backend.service.JwtTokenService;
+import com.example.backend.service.cache.VerifiedJwtCache;
+import com.example.backend.service.ratelimit.RateLimiter;
+import com.example.backend.service.session.TokenEpochService;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,9 +30,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -31,7 +40,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final JwtProperties jwtProperties;
+    private final JwtKeyRing jwtKeyRing;
+    private final TokenEpochService tokenEpochService;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final VerifiedJwtCache verifiedJwtCache;
+    private final RateLimiter rateLimiter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -42,22 +55,36 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll() // 公開APIは認証不要
+                        .requestMatchers("/api/auth/logout-all").authenticated()
                         .requestMatchers("/api/auth/**").permitAll() // 認証APIは公開
+                        .requestMatchers("/sitemap.xml", "/sitemap-*.xml", "/feed.xml").permitAll() // クローラー・フィードリーダー向け
+                        .requestMatchers("/.well-known/jwks.json").permitAll() // エッジでのトークン検証用の公開鍵
                         .requestMatchers("/api/admin/**").authenticated()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // キャッシュ統計等のメトリクス
                         .anyRequest().authenticated())
                 // Authorization: Bearer <token> を検証
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
                 // Rate Limitingフィルタを追加
-                .addFilterBefore(new RateLimitFilter(),
+                .addFilterBefore(new RateLimitFilter(rateLimiter),
                         org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        SecretKey key = new SecretKeySpec(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        return NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        // ヘッダーの alg・kid で検証鍵を選ぶ（HS256 のシークレット、または ES256 の公開鍵）
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector((header, context) -> {
+            Key key = jwtKeyRing.verificationKey(header.getAlgorithm().getName(), header.getKeyID());
+            return key != null ? List.of(key) : List.of();
+        });
+        // 有効期限等のクレーム検証は NimbusJwtDecoder 側（JwtValidators）で行う
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        // 同じアクセストークンの再解析・署名検証を省く（VerifiedJwtCache）
+        return new CachingJwtDecoder(new NimbusJwtDecoder(processor), verifiedJwtCache);
     }
 
     @Bean
@@ -78,11 +105,18 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(passwordHashingProperties.getBcryptStrength());
     }
 
+    /**
+     * JWT → 認証情報の変換。
+     * <p>
+     * 変換前にトークン世代をメモリ上の世代表と照合し、失効済み（ログアウト・パスワード変更・利用停止後）のトークンは
+     * 401 で拒否する（DBは参照しない）。世代クレームを持たないトークンは世代0として扱う。
+     * </p>
+     */
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+    public Converter<Jwt, AbstractAuthenticationToken> jwtAuthenticationConverter() {
         JwtAuthenticationConverter conv = new JwtAuthenticationConverter();
         conv.setJwtGrantedAuthoritiesConverter(jwt -> {
             Collection<GrantedAuthority> authorities = new ArrayList<>();
@@ -101,7 +135,14 @@ public class SecurityConfig {
             }
             return authorities;
         });
-        return conv;
+        return jwt -> {
+            if (jwt.getClaims().get(JwtTokenService.USER_ID_CLAIM) instanceof Number userId
+                    && !tokenEpochService.isCurrent(userId.longValue(),
+                            JwtTokenService.tokenEpochOf(jwt.getClaims()))) {
+                throw new InvalidBearerTokenException("Token has been revoked");
+            }
+            return conv.convert(jwt);
+        };
     }
 
     private static String prefixRole(String role) {
@@ -0,0 +1,32 @@
+package com.example.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.syndication")
+public class SyndicationProperties {
+
+    /**
+     * フィードのタイトル。
+     */
+    private String feedTitle = "PostFlow";
+
+    /**
+     * フィードの説明。
+     */
+    private String feedDescription = "";
+
+    /**
+     * フィードに含める最新投稿の件数。
+     */
+    private int feedSize = 50;
+
+    /**
+     * サイトマップ1ファイルあたりの最大URL数（プロトコル上限は50,000）。
+     */
+    private int sitemapShardSize = 50_000;
+}
@@ -0,0 +1,30 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.token-epoch")
+public class TokenEpochProperties {
+
+    /**
+     * PostgreSQL の LISTEN で他ノードの世代変更を即時に受け取るか。
+     * 無効の場合は定期再同期（{@code resync-interval}）でのみ反映される。
+     */
+    private boolean listen = true;
+
+    /**
+     * LISTEN 用の接続が切れた場合の再接続間隔。
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /**
+     * 通知の取りこぼしに備えた、DBからの定期再同期の間隔。
+     */
+    private Duration resyncInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,22 @@
+package com.example.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.verified-jwt-cache")
+public class VerifiedJwtCacheProperties {
+
+    /**
+     * 検証済みJWTのキャッシュを有効にするか。
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大保持件数（各エントリはトークンの有効期限で破棄される）。
+     */
+    private long maxSize = 10_000;
+}
@@ -0,0 +1,21 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final AdminRateLimitInterceptor adminRateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // 管理APIのユーザー別レート制限（公開APIは RateLimitFilter でIP別に制限）
+        registry.addInterceptor(adminRateLimitInterceptor).addPathPatterns("/api/admin/**");
+    }
+}
@@ -6,6 +6,7 @@ import com.example.backend.dto.category.CategoryReorderRequestDto;
 import com.example.backend.service.CategoryService;
 import com.example.backend.entity.User;
 import com.example.backend.service.UserService;
+import com.example.backend.service.ratelimit.RateLimitCost;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -48,6 +49,7 @@ public class CategoryController {
      * @param jwt JWT認証情報（認可判定用）
      * @return カテゴリ一覧（投稿数付き）
      */
+    @RateLimitCost(3)
     @GetMapping
     public List<CategoryResponseDto> getCategories(@AuthenticationPrincipal Jwt jwt) {
         return categoryService.findAllWithPostCount();
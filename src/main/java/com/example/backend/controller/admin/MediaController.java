@@ -15,14 +15,25 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.backend.dto.media.MediaBatchPresignRequestDto;
+import com.example.backend.dto.media.MediaBatchPresignResponseDto;
+import com.example.backend.dto.media.MediaBatchRegisterRequestDto;
+import com.example.backend.dto.media.MediaBatchRegisterResponseDto;
 import com.example.backend.dto.media.MediaCreateRequestDto;
 import com.example.backend.dto.media.MediaDownloadResponseDto;
+import com.example.backend.dto.media.MediaMultipartAbortRequestDto;
+import com.example.backend.dto.media.MediaMultipartCompleteRequestDto;
+import com.example.backend.dto.media.MediaMultipartInitRequestDto;
+import com.example.backend.dto.media.MediaMultipartInitResponseDto;
+import com.example.backend.dto.media.MediaMultipartPartsRequestDto;
+import com.example.backend.dto.media.MediaMultipartPartsResponseDto;
 import com.example.backend.dto.media.MediaPresignRequestDto;
 import com.example.backend.dto.media.MediaPresignResponseDto;
 import com.example.backend.dto.media.MediaResponseDto;
 import com.example.backend.entity.User;
-import com.example.backend.repository.UserRepository;
 import com.example.backend.service.MediaService;
+import com.example.backend.service.UserService;
+import com.example.backend.service.ratelimit.RateLimitCost;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +47,8 @@ import lombok.RequiredArgsConstructor;
  * <ul>
  * <li>アップロード事前署名: S3/MinIO用presign URL発行</li>
  * <li>登録: presign後のメタ情報登録</li>
+ * <li>マルチパートアップロード: 開始・パートのURL発行・完了・中止（完了後は通常の登録）</li>
+ * <li>一括アップロード事前署名・一括登録: 最大100件をまとめて処理（登録結果は1件ずつ）</li>
  * <li>一覧: MIME/キーワード/ページング対応</li>
  * <li>詳細/ダウンロード: アクセス権チェック</li>
  * <li>削除: RBAC・参照整合性</li>
@@ -51,7 +64,7 @@ import lombok.RequiredArgsConstructor;
 public class MediaController {
 
     private final MediaService mediaService;
-    private final UserRepository userRepository;
+    private final UserService userService;
 
     /**
      * アップロード用の事前署名URLを発行。
@@ -68,7 +81,7 @@ public class MediaController {
     @PostMapping("/presign")
     public ResponseEntity<MediaPresignResponseDto> createPresign(@Valid @RequestBody MediaPresignRequestDto dto,
             @AuthenticationPrincipal Jwt jwt) {
-        User currentUser = requireUser(jwt);
+        User currentUser = userService.getCurrentUser(jwt);
         MediaPresignResponseDto res = mediaService.requestUpload(dto, currentUser);
         return ResponseEntity.ok(res);
     }
@@ -88,11 +101,127 @@ public class MediaController {
     @PostMapping
     public ResponseEntity<MediaResponseDto> register(@Valid @RequestBody MediaCreateRequestDto dto,
             @AuthenticationPrincipal Jwt jwt) {
-        User currentUser = requireUser(jwt);
+        User currentUser = userService.getCurrentUser(jwt);
         MediaResponseDto res = mediaService.register(dto, currentUser);
         return ResponseEntity.ok(res);
     }
 
+    /**
+     * マルチパートアップロードを開始。
+     * <p>
+     * 大きなファイルをパートに分けてアップロードするためのアップロードIDと、先頭のパートの署名付きURLを返す。
+     * </p>
+     *
+     * @param dto アップロードリクエスト情報
+     * @param jwt JWT認証情報
+     * @return アップロードID・パート情報
+     * @throws com.example.backend.exception.AccessDeniedException          認証・権限不足
+     * @throws org.springframework.web.bind.MethodArgumentNotValidException バリデーションエラー
+     */
+    @PostMapping("/multipart")
+    public ResponseEntity<MediaMultipartInitResponseDto> initiateMultipart(
+            @Valid @RequestBody MediaMultipartInitRequestDto dto, @AuthenticationPrincipal Jwt jwt) {
+        User currentUser = userService.getCurrentUser(jwt);
+        MediaMultipartInitResponseDto res = mediaService.initiateMultipartUpload(dto, currentUser);
+        return ResponseEntity.ok(res);
+    }
+
+    /**
+     * マルチパートアップロードのパートの署名付きURLを発行（残りのパート・再開用）。
+     *
+     * @param dto パート情報
+     * @param jwt JWT認証情報
+     * @return パートごとの署名付きURL
+     * @throws com.example.backend.exception.AccessDeniedException          認証・権限不足
+     * @throws org.springframework.web.bind.MethodArgumentNotValidException バリデーションエラー
+     */
+    @PostMapping("/multipart/parts")
+    public ResponseEntity<MediaMultipartPartsResponseDto> createMultipartPartUrls(
+            @Valid @RequestBody MediaMultipartPartsRequestDto dto, @AuthenticationPrincipal Jwt jwt) {
+        User currentUser = userService.getCurrentUser(jwt);
+        MediaMultipartPartsResponseDto res = mediaService.createPartUploadUrls(dto, currentUser);
+        return ResponseEntity.ok(res);
+    }
+
+    /**
+     * マルチパートアップロードを完了。
+     * <p>
+     * 完了後、通常の登録（POST /api/admin/media）でメタ情報を登録する。
+     * </p>
+     *
+     * @param dto アップロード済みのパート情報
+     * @param jwt JWT認証情報
+     * @return 204 No Content
+     * @throws com.example.backend.exception.AccessDeniedException          認証・権限不足
+     * @throws org.springframework.web.bind.MethodArgumentNotValidException バリデーションエラー
+     */
+    @PostMapping("/multipart/complete")
+    public ResponseEntity<Void> completeMultipart(@Valid @RequestBody MediaMultipartCompleteRequestDto dto,
+            @AuthenticationPrincipal Jwt jwt) {
+        User currentUser = userService.getCurrentUser(jwt);
+        mediaService.completeMultipartUpload(dto, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * マルチパートアップロードを中止。
+     *
+     * @param dto 中止するアップロード
+     * @param jwt JWT認証情報
+     * @return 204 No Content
+     * @throws com.example.backend.exception.AccessDeniedException          認証・権限不足
+     * @throws org.springframework.web.bind.MethodArgumentNotValidException バリデーションエラー
+     */
+    @PostMapping("/multipart/abort")
+    public ResponseEntity<Void> abortMultipart(@Valid @RequestBody MediaMultipartAbortRequestDto dto,
+            @AuthenticationPrincipal Jwt jwt) {
+        User currentUser = userService.getCurrentUser(jwt);
+        mediaService.abortMultipartUpload(dto, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 複数ファイルのアップロード用の事前署名URLをまとめて発行。
+     * <p>
+     * ギャラリー等の複数枚アップロードで、件数分のリクエストを1回にまとめる。
+     * </p>
+     *
+     * @param dto 一括アップロードリクエスト情報（最大100件）
+     * @param jwt JWT認証情報
+     * @return 事前署名URLレスポンス（リクエストと同じ順序）
+     * @throws com.example.backend.exception.AccessDeniedException          認証・権限不足
+     * @throws org.springframework.web.bind.MethodArgumentNotValidException バリデーションエラー
+     */
+    @RateLimitCost(5)
+    @PostMapping("/presign/batch")
+    public ResponseEntity<MediaBatchPresignResponseDto> createPresignBatch(
+            @Valid @RequestBody MediaBatchPresignRequestDto dto, @AuthenticationPrincipal Jwt jwt) {
+        User currentUser = userService.getCurrentUser(jwt);
+        MediaBatchPresignResponseDto res = mediaService.requestUploadBatch(dto.getItems(), currentUser);
+        return ResponseEntity.ok(res);
+    }
+
+    /**
+     * presign後の複数メディア情報をまとめて登録。
+     * <p>
+     * 登録できなかった項目はエラーコードを返し、他の項目は登録する（200）。
+     * </p>
+     *
+     * @param dto 一括登録リクエスト情報（最大100件）
+     * @param jwt JWT認証情報
+     * @return 項目ごとの登録結果（リクエストと同じ順序）
+     * @throws com.example.backend.exception.AccessDeniedException          認証・権限不足
+     * @throws org.springframework.web.bind.MethodArgumentNotValidException バリデーションエラー
+     */
+    @RateLimitCost(10)
+    @PostMapping("/batch")
+    public ResponseEntity<MediaBatchRegisterResponseDto> registerBatch(
+            @Valid @RequestBody MediaBatchRegisterRequestDto dto, @AuthenticationPrincipal Jwt jwt) {
+        User currentUser = userService.getCurrentUser(jwt);
+        MediaBatchRegisterResponseDto res = mediaService.registerBatch(dto.getItems(), currentUser);
+        return ResponseEntity.ok(res);
+    }
+
     /**
      * メディア一覧を取得。
      * <p>
@@ -106,13 +235,14 @@ public class MediaController {
      * @return メディアのページ
      * @throws com.example.backend.exception.AccessDeniedException 認証・権限不足
      */
+    @RateLimitCost(3)
     @GetMapping
     public Page<MediaResponseDto> list(
             @RequestParam(required = false) String mime,
             @RequestParam(required = false) String keyword,
             Pageable pageable,
             @AuthenticationPrincipal Jwt jwt) {
-        User currentUser = requireUser(jwt);
+        User currentUser = userService.getCurrentUser(jwt);
         return mediaService.list(mime, keyword, pageable, currentUser);
     }
 
@@ -131,7 +261,7 @@ public class MediaController {
     @GetMapping("/{id}")
     public ResponseEntity<MediaResponseDto> getById(@PathVariable Long id,
             @AuthenticationPrincipal Jwt jwt) {
-        User currentUser = requireUser(jwt);
+        User currentUser = userService.getCurrentUser(jwt);
         MediaResponseDto res = mediaService.getById(id, currentUser);
         return ResponseEntity.ok(res);
     }
@@ -151,7 +281,7 @@ public class MediaController {
     @GetMapping("/{id}/download")
     public ResponseEntity<MediaDownloadResponseDto> download(@PathVariable Long id,
             @AuthenticationPrincipal Jwt jwt) {
-        User currentUser = requireUser(jwt);
+        User currentUser = userService.getCurrentUser(jwt);
         MediaDownloadResponseDto res = mediaService.createDownloadUrl(id, currentUser);
         return ResponseEntity.ok(res);
     }
@@ -171,27 +301,8 @@ public class MediaController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id, @AuthenticationPrincipal Jwt jwt) {
-        User currentUser = requireUser(jwt);
+        User currentUser = userService.getCurrentUser(jwt);
         mediaService.delete(id, currentUser);
         return ResponseEntity.noContent().build();
     }
-
-    /**
-     * JWTから認証ユーザーを取得。
-     * <p>
-     * 認証情報が無い場合やユーザーが見つからない場合はAccessDeniedException。
-     * </p>
-     * 
-     * @param jwt JWT認証情報
-     * @return 認証済みユーザー
-     * @throws com.example.backend.exception.AccessDeniedException 認証失敗時
-     */
-    private User requireUser(Jwt jwt) {
-        if (jwt == null) {
-            throw new com.example.backend.exception.AccessDeniedException("Authentication required");
-        }
-        String email = jwt.getSubject();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new com.example.backend.exception.AccessDeniedException("Authentication required"));
-    }
 }
@@ -5,6 +5,7 @@ import com.example.backend.dto.post.PostResponseDto;
 import com.example.backend.service.PostService;
 import com.example.backend.entity.User;
 import com.example.backend.service.UserService;
+import com.example.backend.service.ratelimit.RateLimitCost;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -53,6 +54,7 @@ public class PostController {
      * @return 投稿のページ
      * @throws com.example.backend.exception.AccessDeniedException 認証・権限不足
      */
+    @RateLimitCost(5)
     @GetMapping
     public Page<PostResponseDto> getPosts(
             @RequestParam(required = false) String title,
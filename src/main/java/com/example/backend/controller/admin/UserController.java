@@ -1,6 +1,5 @@
 package com.example.backend.controller.admin;
 
-import com.example.backend.dto.user.UserMapper;
 import com.example.backend.dto.user.UserProfileResponseDto;
 import com.example.backend.dto.user.UserProfileUpdateRequestDto;
 import com.example.backend.dto.user.UserRequestDto;
@@ -12,6 +11,7 @@ import com.example.backend.entity.User;
 import com.example.backend.entity.UserStatus;
 import com.example.backend.security.UserPolicy;
 import com.example.backend.service.UserService;
+import com.example.backend.service.ratelimit.RateLimitCost;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -80,6 +80,7 @@ public class UserController {
      * @return ユーザー一覧ページ
      * @throws com.example.backend.exception.AccessDeniedException 権限不足
      */
+    @RateLimitCost(3)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<UserResponseDto>> getAllUsers(
@@ -219,8 +220,8 @@ public class UserController {
     @PreAuthorize("isAuthenticated()")
     public UserResponseDto getMe(
             @org.springframework.security.core.annotation.AuthenticationPrincipal org.springframework.security.oauth2.jwt.Jwt jwt) {
-        var user = userService.getCurrentUser(jwt);
-        return UserMapper.toResponseDto(user);
+        var currentUser = userService.getCurrentUser(jwt);
+        return userService.getMe(currentUser);
     }
 
     /**
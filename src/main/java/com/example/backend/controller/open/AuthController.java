@@ -9,6 +9,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
  * <ul>
  * <li>ログイン: JWTアクセストークン・リフレッシュトークン発行</li>
  * <li>リフレッシュ: 有効なリフレッシュトークンでアクセストークン再発行</li>
+ * <li>全端末ログアウト: 発行済みのアクセストークン・リフレッシュトークンを失効（要認証）</li>
  * </ul>
  * 
  * @see com.example.backend.service.AuthService
@@ -73,6 +76,25 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 全端末からログアウト。
+     * <p>
+     * 認証ユーザーのトークン世代を進め、発行済みのアクセストークン・リフレッシュトークンをすべて失効させる。
+     * </p>
+     * 
+     * @param jwt 認証済みJWT
+     * @return 204 No Content
+     * @throws com.example.backend.exception.AccessDeniedException 未認証の場合
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal Jwt jwt) {
+        if (jwt == null) {
+            throw new com.example.backend.exception.AccessDeniedException("Authentication required");
+        }
+        authService.logoutAll(jwt.getSubject());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * クライアントIPアドレスを解決。
      * <p>
@@ -0,0 +1,43 @@
+package com.example.backend.controller.open;
+
+import java.time.Duration;
+import java.util.Map;
+
+import com.example.backend.service.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * JWT 検証用の公開鍵（JWKS）のコントローラー。
+ * <p>
+ * 認証不要。エッジ（プロキシ・SSR）がアプリを経由せずに ES256 のトークンを検証できるよう、
+ * 署名中・ローテーション後の公開鍵を返す（HS256 運用時は空の鍵集合）。
+ * </p>
+ *
+ * @see com.example.backend.service.JwtKeyRing
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+    // 鍵の追加は切り替えより先に行う運用のため、短時間のキャッシュを許可
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final JwtKeyRing jwtKeyRing;
+
+    /**
+     * 公開鍵の JWKS を取得。
+     *
+     * @return JWKS（{@code {"keys": [...]}}）
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok().cacheControl(CACHE_CONTROL).contentType(JWK_SET).body(jwtKeyRing.publicJwks());
+    }
+}
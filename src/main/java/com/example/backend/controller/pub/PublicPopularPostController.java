@@ -0,0 +1,44 @@
+package com.example.backend.controller.pub;
+
+import com.example.backend.dto.post.PostPublicResponseDto;
+import com.example.backend.service.PublicPostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 人気投稿APIコントローラー。
+ * <p>
+ * 認証不要で閲覧数の多い公開投稿を取得可能。
+ * 投稿詳細（/api/public/posts/{slug}）と衝突しないよう、別のパスで公開する。
+ * </p>
+ *
+ * @see com.example.backend.service.PublicPostService
+ */
+@RestController
+@RequestMapping("/api/public/popular-posts")
+@RequiredArgsConstructor
+public class PublicPopularPostController {
+
+    private final PublicPostService publicPostService;
+
+    /**
+     * 閲覧数の多い公開投稿を取得。
+     * <p>
+     * 認証不要。閲覧数は数秒ごとに反映されるため、ETagは付与しない。
+     * </p>
+     *
+     * @param size 取得件数（最大50）
+     * @return 公開投稿のリスト（閲覧数降順）
+     */
+    @GetMapping
+    public ResponseEntity<List<PostPublicResponseDto>> getPopularPosts(
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(publicPostService.getPopularPosts(size));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.backend.controller.pub;
 
+import com.example.backend.dto.common.CursorSliceResponse;
 import com.example.backend.dto.post.PostPublicDetailResponseDto;
 import com.example.backend.dto.post.PostPublicResponseDto;
 import com.example.backend.service.PublicPostService;
@@ -10,14 +11,17 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * 公開投稿APIコントローラー。
  * <p>
- * 認証不要で公開投稿の一覧・詳細取得が可能。
+ * 認証不要で公開投稿の一覧・詳細の取得が可能。
+ * 全エンドポイントが強いETagを返し、If-None-Match が一致する場合は本文を生成せず304を返す。
  * </p>
  * 
  * @see com.example.backend.service.PublicPostService
+ * @see PublicPopularPostController
  */
 @RestController
 @RequestMapping("/api/public/posts")
@@ -36,28 +40,73 @@ public class PublicPostController {
      * @param tag        タグスラッグ（任意）
      * @param category   カテゴリスラッグ（任意）
      * @param categories カテゴリスラッグ複数（任意, カンマ区切り）
-     * @return 公開投稿のページ
+     * @param request    条件付きリクエスト判定用
+     * @return 公開投稿のページ（未変更時は304）
      */
     @GetMapping
     public ResponseEntity<Page<PostPublicResponseDto>> getPosts(
             @PageableDefault(size = 10, sort = "publishedAt", direction = Sort.Direction.DESC) Pageable pageable,
             @RequestParam(required = false) String tag,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String categories) {
-        return ResponseEntity.ok(publicPostService.getPublicPosts(pageable, tag, category, categories));
+            @RequestParam(required = false) String categories,
+            WebRequest request) {
+        String etag = publicPostService.getPublicPostsEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag)
+                .body(publicPostService.getPublicPosts(pageable, tag, category, categories));
+    }
+
+    /**
+     * 公開投稿一覧をカーソル方式で取得。
+     * <p>
+     * 認証不要。{@code cursor} パラメータ指定時に有効（空文字で先頭から）。
+     * 総件数を返さず、レスポンスの nextCursor で続きを取得する。無限スクロールやクローラ向け。
+     * </p>
+     *
+     * @param cursor     直前レスポンスの nextCursor
+     * @param size       取得件数（最大100）
+     * @param tag        タグスラッグ（任意）
+     * @param category   カテゴリスラッグ（任意）
+     * @param categories カテゴリスラッグ複数（任意, カンマ区切り）
+     * @param request    条件付きリクエスト判定用
+     * @return 公開投稿のスライス（未変更時は304）
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorSliceResponse<PostPublicResponseDto>> getPostsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String categories,
+            WebRequest request) {
+        String etag = publicPostService.getPublicPostsEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag)
+                .body(publicPostService.getPublicPostsByCursor(cursor, size, tag, category, categories));
     }
 
     /**
      * スラッグ指定で公開投稿詳細を取得。
      * <p>
-     * 認証不要。存在しない場合は404。
+     * 認証不要。存在しない場合は404。閲覧数は304の再検証も含めて記録する（ブラウザの再訪問も閲覧として数える）。
      * </p>
      * 
-     * @param slug 投稿スラッグ
-     * @return 投稿詳細（SEO/OGP情報含む）
+     * @param slug    投稿スラッグ
+     * @param request 条件付きリクエスト判定用
+     * @return 投稿詳細（SEO/OGP情報含む、未変更時は304）
      */
     @GetMapping("/{slug}")
-    public ResponseEntity<PostPublicDetailResponseDto> getPostBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(publicPostService.getPublicPostBySlug(slug));
+    public ResponseEntity<PostPublicDetailResponseDto> getPostBySlug(@PathVariable String slug,
+            WebRequest request) {
+        String etag = publicPostService.viewPublicPost(slug).orElse(null);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        PostPublicDetailResponseDto body = publicPostService.getPublicPostBySlug(slug);
+        return etag != null ? ResponseEntity.ok().eTag(etag).body(body) : ResponseEntity.ok(body);
     }
 }
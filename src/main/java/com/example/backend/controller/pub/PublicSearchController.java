@@ -0,0 +1,57 @@
+package com.example.backend.controller.pub;
+
+import com.example.backend.dto.post.PostSearchResultDto;
+import com.example.backend.service.PublicSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * 公開検索APIコントローラー。
+ * <p>
+ * 認証不要で公開投稿の全文検索が可能。ETagによる条件付きリクエストに対応。
+ * </p>
+ *
+ * @see com.example.backend.service.PublicSearchService
+ */
+@RestController
+@RequestMapping("/api/public/search")
+@RequiredArgsConstructor
+public class PublicSearchController {
+
+    private final PublicSearchService publicSearchService;
+
+    /**
+     * 公開投稿を全文検索。
+     * <p>
+     * 認証不要。関連度順。タグ・カテゴリでフィルタ可能。ページング対応（最大50件）。
+     * </p>
+     *
+     * @param q        検索語（空白区切りでAND、未指定・空の場合は空の結果）
+     * @param tag      タグスラッグ（任意）
+     * @param category カテゴリスラッグ（任意）
+     * @param pageable ページング情報（ソート指定は無視）
+     * @param request  条件付きリクエスト判定用
+     * @return 検索結果のページ（未変更時は304）
+     */
+    @GetMapping
+    public ResponseEntity<Page<PostSearchResultDto>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String category,
+            @PageableDefault(size = 10) Pageable pageable,
+            WebRequest request) {
+        String etag = publicSearchService.getSearchEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(publicSearchService.search(q, tag, category, pageable));
+    }
+}
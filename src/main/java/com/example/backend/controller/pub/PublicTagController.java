@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -28,13 +29,18 @@ public class PublicTagController {
     /**
      * 公開投稿に紐づくタグ一覧を取得。
      * <p>
-     * 認証不要。公開状態の投稿に紐づくタグのみ返却。
+     * 認証不要。公開状態の投稿に紐づくタグのみ返却。ETagによる条件付きリクエストに対応。
      * </p>
      * 
-     * @return 公開タグのリスト
+     * @param request 条件付きリクエスト判定用
+     * @return 公開タグのリスト（未変更時は304）
      */
     @GetMapping
-    public ResponseEntity<List<TagPublicResponseDto>> getTags() {
-        return ResponseEntity.ok(publicTagService.getPublicTags());
+    public ResponseEntity<List<TagPublicResponseDto>> getTags(WebRequest request) {
+        String etag = publicTagService.getPublicTagsEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(publicTagService.getPublicTags());
     }
 }
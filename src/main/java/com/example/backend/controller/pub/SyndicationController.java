@@ -0,0 +1,76 @@
+package com.example.backend.controller.pub;
+
+import com.example.backend.service.syndication.SyndicationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * サイトマップ・RSSフィードのコントローラー。
+ * <p>
+ * 認証不要。クローラー・フィードリーダー向けにXMLを返す。ETagによる条件付きリクエストに対応。
+ * </p>
+ *
+ * @see com.example.backend.service.syndication.SyndicationService
+ */
+@RestController
+@RequiredArgsConstructor
+public class SyndicationController {
+
+    private static final MediaType RSS_XML = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final SyndicationService syndicationService;
+
+    /**
+     * サイトマップ（件数が上限を超える場合はサイトマップインデックス）を取得。
+     *
+     * @param request 条件付きリクエスト判定用
+     * @return サイトマップXML（未変更時は304）
+     */
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> getSitemap(WebRequest request) {
+        String etag = syndicationService.getSitemapEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(XML).body(syndicationService.getSitemap());
+    }
+
+    /**
+     * 分割したサイトマップを取得。
+     *
+     * @param page    ファイル番号（1始まり）
+     * @param request 条件付きリクエスト判定用
+     * @return サイトマップXML（未変更時は304、範囲外は404）
+     */
+    @GetMapping("/sitemap-{page:\\d+}.xml")
+    public ResponseEntity<byte[]> getSitemapShard(@PathVariable int page, WebRequest request) {
+        String etag = syndicationService.getSitemapEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return syndicationService.getSitemapShard(page)
+                .map(body -> ResponseEntity.ok().eTag(etag).contentType(XML).body(body))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 最新の公開投稿のRSSフィードを取得。
+     *
+     * @param request 条件付きリクエスト判定用
+     * @return RSS 2.0 XML（未変更時は304）
+     */
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> getFeed(WebRequest request) {
+        String etag = syndicationService.getFeedEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(RSS_XML).body(syndicationService.getFeed());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.dto.common;
+
+import java.util.List;
+
+/**
+ * カーソル（キーセット）ページング用のレスポンス。
+ * <p>
+ * 総件数は返さない。{@code nextCursor} を次回リクエストの {@code cursor} に渡すと続きを取得できる。
+ * </p>
+ *
+ * @param content    取得した要素
+ * @param size       要求した件数
+ * @param hasNext    続きが存在するか
+ * @param nextCursor 続きを取得するためのカーソル（続きがなければnull）
+ */
+public record CursorSliceResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+}
@@ -0,0 +1,22 @@
+package com.example.backend.dto.media;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaBatchPresignRequestDto {
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid MediaPresignRequestDto> items;
+}
@@ -0,0 +1,33 @@
+package com.example.backend.dto.media;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaBatchRegisterResponseDto {
+    // リクエストと同じ順序
+    private List<Item> items;
+    private int registered;
+    private int failed;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        // リクエスト内の位置（0始まり）
+        private int index;
+        private String storageKey;
+        // 登録に成功した場合のみ
+        private MediaResponseDto media;
+        // 登録しなかった場合のエラーコード（例: error.media.storageKey.duplicate）
+        private String error;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.dto.media;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -39,4 +40,7 @@ public class MediaCreateRequestDto {
 
     @Size(max = 255)
     private String altText;
+    // presign時に指定した内容の SHA-256（任意）。登録済みのオブジェクトを共有する場合は必須
+    @Pattern(regexp = "^[0-9a-f]{64}$")
+    private String contentSha256;
 }
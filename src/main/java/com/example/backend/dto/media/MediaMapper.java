@@ -15,6 +15,7 @@ public class MediaMapper {
                 .width(media.getWidth())
                 .height(media.getHeight())
                 .altText(media.getAltText())
+                .contentSha256(media.getContentSha256())
                 .publicUrl(publicUrl)
                 .createdAt(media.getCreatedAt())
                 .createdBy(MediaResponseDto.CreatedBySummary.builder()
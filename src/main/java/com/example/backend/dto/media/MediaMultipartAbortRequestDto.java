@@ -0,0 +1,22 @@
+package com.example.backend.dto.media;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartAbortRequestDto {
+
+    @NotBlank
+    @Size(max = 255)
+    private String storageKey;
+
+    @NotBlank
+    private String uploadId;
+}
@@ -0,0 +1,49 @@
+package com.example.backend.dto.media;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartCompleteRequestDto {
+
+    @NotBlank
+    @Size(max = 255)
+    private String storageKey;
+
+    @NotBlank
+    private String uploadId;
+
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@Valid Part> parts;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Part {
+
+        @NotNull
+        @Min(1)
+        @Max(10000)
+        private Integer partNumber;
+
+        // パートのPUTの応答の ETag ヘッダー
+        @NotBlank
+        private String etag;
+    }
+}
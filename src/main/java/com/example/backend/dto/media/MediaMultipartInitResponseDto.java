@@ -0,0 +1,21 @@
+package com.example.backend.dto.media;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartInitResponseDto {
+    private String storageKey;
+    private String uploadId;
+    private long partSize;
+    private int partCount;
+    // 先頭から presign-batch-size 件まで。残りは /multipart/parts で取得する
+    private List<MediaMultipartPartDto> parts;
+}
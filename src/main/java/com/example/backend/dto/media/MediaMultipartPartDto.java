@@ -0,0 +1,18 @@
+package com.example.backend.dto.media;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartPartDto {
+    private int partNumber;
+    private String uploadUrl;
+    private Instant expiresAt;
+}
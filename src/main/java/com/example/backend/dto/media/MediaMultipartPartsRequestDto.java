@@ -0,0 +1,32 @@
+package com.example.backend.dto.media;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartPartsRequestDto {
+
+    @NotBlank
+    @Size(max = 255)
+    private String storageKey;
+
+    @NotBlank
+    private String uploadId;
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull @Min(1) @Max(10000) Integer> partNumbers;
+}
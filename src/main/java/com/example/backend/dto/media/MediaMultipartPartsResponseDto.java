@@ -0,0 +1,17 @@
+package com.example.backend.dto.media;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaMultipartPartsResponseDto {
+    // リクエストと同じ順序
+    private List<MediaMultipartPartDto> parts;
+}
@@ -3,6 +3,7 @@ package com.example.backend.dto.media;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -32,4 +33,7 @@ public class MediaPresignRequestDto {
 
     @Min(1)
     private Integer height;
+    // 内容の SHA-256（16進小文字、任意）。同じ内容のメディアがあればアップロードを省略する
+    @Pattern(regexp = "^[0-9a-f]{64}$")
+    private String contentSha256;
 }
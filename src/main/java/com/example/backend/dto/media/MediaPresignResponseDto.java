@@ -17,4 +17,7 @@ public class MediaPresignResponseDto {
     private String storageKey;
     private Instant expiresAt;
     private Map<String, String> headers;
+    // 同じ内容のメディアが登録済みの場合true（uploadUrl・headersはなし、storageKeyは既存のオブジェクト）
+    private boolean duplicate;
+    private MediaResponseDto existingMedia;
 }
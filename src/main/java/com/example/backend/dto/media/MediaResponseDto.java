@@ -20,6 +20,7 @@ public class MediaResponseDto {
     private Integer width;
     private Integer height;
     private String altText;
+    private String contentSha256;
     private String publicUrl;
     private LocalDateTime createdAt;
     private CreatedBySummary createdBy;
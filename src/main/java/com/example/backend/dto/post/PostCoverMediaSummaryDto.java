@@ -2,6 +2,8 @@ package com.example.backend.dto.post;
 
 import lombok.*;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,4 +13,8 @@ public class PostCoverMediaSummaryDto {
     private Integer width;
     private Integer height;
     private String altText;
+    // 縮小版の srcset（例: "https://.../uuid-w320.jpg 320w, ..."）。縮小版がない場合は null
+    private String srcset;
+    // 形式（MIMEタイプ）ごとの srcset。<picture> の <source type> 用
+    private Map<String, String> sources;
 }
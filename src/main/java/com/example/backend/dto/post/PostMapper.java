@@ -10,24 +10,32 @@ import com.example.backend.config.MediaStorageProperties;
 import com.example.backend.repository.CategoryRepository;
 import com.example.backend.repository.MediaRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.service.content.TipTapHtmlRenderer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class PostMapper {
 
+    // 縮小版の形式（圧縮率の高い順）
+    private static final List<String> SRCSET_FORMATS = List.of("image/avif", "image/webp", "image/jpeg");
+
     private final ObjectMapper objectMapper;
     private final UserRepository userRepository;
     private final MediaRepository mediaRepository;
     private final CategoryRepository categoryRepository;
     private final MediaStorageProperties mediaProperties;
     private final AppProperties appProperties;
+    private final TipTapHtmlRenderer htmlRenderer;
 
     public PostResponseDto toResponseDto(Post post) {
         return toResponseDto(post, true);
@@ -152,6 +160,15 @@ public class PostMapper {
         return dateTime.atOffset(ZoneOffset.UTC);
     }
 
+    // 保存済みHTMLが現行レンダラーのものならそのまま使用し、未生成・旧バージョンならその場で生成
+    private String resolveContentHtml(Post post) {
+        Integer version = post.getContentHtmlVersion();
+        if (post.getContentHtml() != null && version != null && version == TipTapHtmlRenderer.VERSION) {
+            return post.getContentHtml();
+        }
+        return htmlRenderer.render(post.getContentJson());
+    }
+
     // Build public URL for media
     private String buildPublicUrl(Media media) {
         if (mediaProperties.getPublicBaseUrl() == null) {
@@ -164,6 +181,37 @@ public class PostMapper {
         return base + media.getStorageKey();
     }
 
+    // 公開API用: カバー画像（縮小版があれば形式ごとの srcset を付ける）
+    private PostCoverMediaSummaryDto toCoverMediaSummary(Media media) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        String publicUrl = buildPublicUrl(media);
+        if (publicUrl != null) {
+            String base = publicUrl.substring(0, publicUrl.length() - media.getStorageKey().length());
+            for (String mime : SRCSET_FORMATS) {
+                String srcset = media.getVariants().stream()
+                        .filter(variant -> mime.equals(variant.getMime()))
+                        .map(variant -> base + variant.getStorageKey() + " " + variant.getWidth() + "w")
+                        .collect(Collectors.joining(", "));
+                if (!srcset.isEmpty()) {
+                    sources.put(mime, srcset);
+                }
+            }
+        }
+        // srcset は対応ブラウザの最も多い形式、sources は <picture> 用（圧縮率の高い順）
+        String srcset = null;
+        for (int i = SRCSET_FORMATS.size() - 1; i >= 0 && srcset == null; i--) {
+            srcset = sources.get(SRCSET_FORMATS.get(i));
+        }
+        return PostCoverMediaSummaryDto.builder()
+                .url(publicUrl)
+                .width(media.getWidth())
+                .height(media.getHeight())
+                .altText(media.getAltText() != null ? media.getAltText() : "")
+                .srcset(srcset)
+                .sources(sources.isEmpty() ? null : sources)
+                .build();
+    }
+
     // 公開API用: 一覧表示用DTO変換
     public PostPublicResponseDto toPublicResponseDto(Post post) {
 
@@ -173,12 +221,7 @@ public class PostMapper {
                 .title(post.getTitle())
                 .excerpt(post.getExcerpt())
                 .publishedAt(toOffsetDateTime(post.getPublishedAt()))
-                .coverMedia(post.getCoverMedia() != null ? PostCoverMediaSummaryDto.builder()
-                        .url(buildPublicUrl(post.getCoverMedia()))
-                        .width(post.getCoverMedia().getWidth())
-                        .height(post.getCoverMedia().getHeight())
-                        .altText(post.getCoverMedia().getAltText() != null ? post.getCoverMedia().getAltText() : "")
-                        .build() : null)
+                .coverMedia(post.getCoverMedia() != null ? toCoverMediaSummary(post.getCoverMedia()) : null)
                 .category(post.getCategory() != null ? CategorySummaryDto.builder()
                         .id(post.getCategory().getId())
                         .name(post.getCategory().getName())
@@ -196,24 +239,35 @@ public class PostMapper {
                 .build();
     }
 
+    // 公開API用: 全文検索結果DTO変換
+    public PostSearchResultDto toSearchResultDto(Post post, String snippet, double score) {
+        PostPublicResponseDto summary = toPublicResponseDto(post);
+        return PostSearchResultDto.builder()
+                .id(summary.getId())
+                .slug(summary.getSlug())
+                .title(summary.getTitle())
+                .excerpt(summary.getExcerpt())
+                .publishedAt(summary.getPublishedAt())
+                .coverMedia(summary.getCoverMedia())
+                .category(summary.getCategory())
+                .tags(summary.getTags())
+                .snippet(snippet)
+                .score(score)
+                .build();
+    }
+
     // 公開API用: 詳細表示用DTO変換（SEO/OGP情報含む）
     public PostPublicDetailResponseDto toPublicDetailResponseDto(Post post) {
 
-        String baseUrl = appProperties.getBaseUrl();
-
         return PostPublicDetailResponseDto.builder()
                 .id(post.getId())
                 .slug(post.getSlug())
                 .title(post.getTitle())
                 .excerpt(post.getExcerpt())
                 .contentJson(post.getContentJson())
+                .contentHtml(resolveContentHtml(post))
                 .publishedAt(toOffsetDateTime(post.getPublishedAt()))
-                .coverMedia(post.getCoverMedia() != null ? PostCoverMediaSummaryDto.builder()
-                        .url(buildPublicUrl(post.getCoverMedia()))
-                        .width(post.getCoverMedia().getWidth())
-                        .height(post.getCoverMedia().getHeight())
-                        .altText(post.getCoverMedia().getAltText() != null ? post.getCoverMedia().getAltText() : "")
-                        .build() : null)
+                .coverMedia(post.getCoverMedia() != null ? toCoverMediaSummary(post.getCoverMedia()) : null)
                 .category(post.getCategory() != null ? CategorySummaryDto.builder()
                         .id(post.getCategory().getId())
                         .name(post.getCategory().getName())
@@ -240,8 +294,12 @@ public class PostMapper {
                 .ogTitle(post.getTitle())
                 .ogDescription(post.getExcerpt())
                 .ogImage(post.getCoverMedia() != null ? buildPublicUrl(post.getCoverMedia()) : null)
-                .ogUrl(baseUrl + "/posts/" + post.getSlug())
+                .ogUrl(toPublicPostUrl(post.getSlug()))
                 .build();
     }
 
+    // 公開投稿のURL（OGP・サイトマップ・フィードで共通）
+    public String toPublicPostUrl(String slug) {
+        return appProperties.getBaseUrl() + "/posts/" + slug;
+    }
 }
@@ -17,6 +17,8 @@ public class PostPublicDetailResponseDto {
     private String title;
     private String excerpt;
     private String contentJson;
+    // contentJson を事前レンダリングしたサニタイズ済みHTML
+    private String contentHtml;
     private OffsetDateTime publishedAt;
     private PostCoverMediaSummaryDto coverMedia;
     private CategorySummaryDto category;
@@ -0,0 +1,27 @@
+package com.example.backend.dto.post;
+
+import lombok.*;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 公開API用の全文検索結果DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSearchResultDto {
+    private Long id;
+    private String slug;
+    private String title;
+    private String excerpt;
+    private OffsetDateTime publishedAt;
+    private PostCoverMediaSummaryDto coverMedia;
+    private CategorySummaryDto category;
+    private List<TagSummaryDto> tags;
+    // 一致箇所を <mark> で囲んだ抜粋（HTMLエスケープ済み）
+    private String snippet;
+    // 検索ランク（大きいほど関連度が高い）
+    private double score;
+}
@@ -1,19 +1,23 @@
 package com.example.backend.dto.tag;
 
 import com.example.backend.entity.Tag;
-import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.PostCounterRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class TagMapper {
-    private final PostRepository postRepository;
+    private final PostCounterRepository postCounterRepository;
 
     public TagResponseDto toResponseDto(Tag tag) {
-        // タグに関連する投稿数を取得
-        long postCount = postRepository.countByTags_Id(tag.getId());
+        // タグに関連する投稿数を集計表から取得
+        long postCount = postCounterRepository.find(PostCounterRepository.Kind.TAG, tag.getId()).total();
+        return toResponseDto(tag, postCount);
+    }
 
+    // 投稿数を取得済みの場合（一覧で一括取得したとき）
+    public TagResponseDto toResponseDto(Tag tag, long postCount) {
         return TagResponseDto.builder()
                 .id(tag.getId())
                 .name(tag.getName())
@@ -2,9 +2,12 @@ package com.example.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "media")
@@ -20,7 +23,8 @@ public class Media {
     @Column(nullable = false, length = 255)
     private String filename;
 
-    @Column(nullable = false, length = 255, unique = true)
+    // 同じ内容のメディアはオブジェクトを共有するため一意ではない（参照数は media_objects）
+    @Column(nullable = false, length = 255)
     private String storageKey;
 
     @Column(nullable = false, length = 100)
@@ -35,6 +39,10 @@ public class Media {
     @Column
     private Long bytes;
 
+    // ストレージで検証済みの内容の SHA-256（16進小文字、未検証は null）
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
     @Column(length = 255)
     private String altText;
 
@@ -45,4 +53,13 @@ public class Media {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
+
+    // 縮小版（MediaVariantService が登録後に生成）。一覧ではページ分をまとめて取得
+    @OneToMany(mappedBy = "media", fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @OrderBy("width ASC")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    private List<MediaVariant> variants = new ArrayList<>();
 }
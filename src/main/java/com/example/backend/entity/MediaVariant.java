@@ -0,0 +1,48 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 画像の縮小版（幅・形式ごとに1行）。
+ */
+@Entity
+@Table(name = "media_variants")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "media_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Media media;
+
+    @Column(nullable = false)
+    private Integer width;
+
+    @Column(nullable = false)
+    private Integer height;
+
+    @Column(nullable = false, length = 100)
+    private String mime;
+
+    // 内容を共有するメディアの縮小版は同じキーを使う
+    @Column(nullable = false, length = 255)
+    private String storageKey;
+
+    @Column(nullable = false)
+    private Long bytes;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
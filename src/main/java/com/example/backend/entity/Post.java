@@ -1,6 +1,7 @@
 package com.example.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import lombok.*;
@@ -10,13 +11,38 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * 投稿エンティティ。
+ * <p>
+ * 関連はすべてLAZY。用途ごとの取得計画（フェッチプラン）を名前付きエンティティグラフで定義する。
+ * <ul>
+ * <li>{@value #GRAPH_LIST}: 一覧用。ToOne関連（カバー画像・著者とアバター・カテゴリ）のみJOINで取得し、
+ * ページングをSQL側で行えるようにする。タグは {@link BatchSize} でページ分をまとめて取得。</li>
+ * <li>{@value #GRAPH_DETAIL}: 詳細用。一覧用に加えてタグもJOINで取得。</li>
+ * </ul>
+ * </p>
+ */
 @Entity
 @Table(name = "posts")
+@NamedEntityGraph(name = Post.GRAPH_LIST, attributeNodes = {
+        @NamedAttributeNode("coverMedia"),
+        @NamedAttributeNode(value = "author", subgraph = "author"),
+        @NamedAttributeNode("category")
+}, subgraphs = @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("avatarMedia")))
+@NamedEntityGraph(name = Post.GRAPH_DETAIL, attributeNodes = {
+        @NamedAttributeNode("coverMedia"),
+        @NamedAttributeNode(value = "author", subgraph = "author"),
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("tags")
+}, subgraphs = @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("avatarMedia")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Post {
+    public static final String GRAPH_LIST = "Post.list";
+    public static final String GRAPH_DETAIL = "Post.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -38,6 +64,14 @@ public class Post {
     @JdbcTypeCode(SqlTypes.JSON)
     private String contentJson;
 
+    // contentJson から生成したサニタイズ済みHTML（書き込み時に生成）
+    @Column(name = "content_html", columnDefinition = "TEXT")
+    private String contentHtml;
+
+    // contentHtml を生成したレンダラーのバージョン（再生成判定用）
+    @Column(name = "content_html_version")
+    private Integer contentHtmlVersion;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cover_media_id")
     private Media coverMedia;
@@ -53,7 +87,13 @@ public class Post {
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
 
+    // タグ・カテゴリの公開投稿数に計上済みか（PostCounterService が管理）
+    @Column(name = "published_counted", nullable = false)
+    @Builder.Default
+    private boolean publishedCounted = false;
+
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(name = "post_tags", joinColumns = @JoinColumn(name = "post_id"), inverseJoinColumns = @JoinColumn(name = "tag_id"))
     private List<Tag> tags;
 
@@ -58,6 +58,11 @@ public class User {
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
 
+    // トークン世代（TokenEpochRepository が SQL で加算するため、エンティティからは書き込まない）
+    @Column(name = "token_epoch", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private long tokenEpoch = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,19 @@
+package com.example.backend.event;
+
+import java.util.Set;
+
+/**
+ * カテゴリの作成・更新・削除・並び順変更を通知するイベント。
+ *
+ * @param categoryId カテゴリID
+ * @param slugs      変更前後のスラッグ
+ */
+public record CategoryChangedEvent(Long categoryId, Set<String> slugs) {
+
+    /**
+     * 変更前後のスラッグからイベントを生成（同一なら1件にまとめる）。
+     */
+    public static CategoryChangedEvent of(Long categoryId, String previousSlug, String currentSlug) {
+        return new CategoryChangedEvent(categoryId, PostChangedEvent.slugsOf(previousSlug, currentSlug));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.backend.event;
+
+/**
+ * デモリセット等でSQLスクリプトにより投稿データが一括で入れ替わったことを通知するイベント。
+ * <p>
+ * サービス層を経由しない変更のため、受信側は保持しているキャッシュを全破棄する。
+ * </p>
+ */
+public record ContentResetEvent() {
+}
@@ -0,0 +1,12 @@
+package com.example.backend.event;
+
+/**
+ * メディアの登録（アップロード済みオブジェクトのメタ情報保存）を通知するイベント。
+ * <p>
+ * 画像の縮小版の生成開始に利用。
+ * </p>
+ *
+ * @param mediaId メディアID
+ */
+public record MediaRegisteredEvent(Long mediaId) {
+}
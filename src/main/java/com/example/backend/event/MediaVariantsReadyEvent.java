@@ -0,0 +1,13 @@
+package com.example.backend.event;
+
+/**
+ * 画像の縮小版の生成完了を通知するイベント。
+ * <p>
+ * カバー画像の srcset が変わるため、公開キャッシュの破棄に利用。
+ * </p>
+ *
+ * @param mediaId    メディアID
+ * @param storageKey 元画像のストレージキー
+ */
+public record MediaVariantsReadyEvent(Long mediaId, String storageKey) {
+}
@@ -0,0 +1,17 @@
+package com.example.backend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 予約投稿が公開日時に到達し、公開APIから見えるようになったことを通知するイベント。
+ * <p>
+ * 書き込みを伴わずに公開範囲が変わるため、受信側は公開一覧に関わるキャッシュ等を更新する。
+ * {@link com.example.backend.service.publish.ScheduledPublicationEngine} が公開日時ちょうどに発行する。
+ * </p>
+ *
+ * @param postId      投稿ID
+ * @param slug        投稿スラッグ
+ * @param publishedAt 公開日時
+ */
+public record PostBecameVisibleEvent(Long postId, String slug, LocalDateTime publishedAt) {
+}
@@ -0,0 +1,46 @@
+package com.example.backend.event;
+
+import java.util.Set;
+
+/**
+ * 投稿の作成・更新・削除を通知するイベント。
+ * <p>
+ * slugs には変更前後のスラッグを含める（スラッグ変更時に旧URLのキャッシュも破棄するため）。
+ * published は変更前後のいずれかで公開中（公開APIから見える状態）だったかを表す。
+ * 下書きのみの変更では false になり、サイトマップ・フィード等の公開状態に依存するものは更新しなくてよい。
+ * </p>
+ *
+ * @param postId    投稿ID
+ * @param slugs     変更前後のスラッグ
+ * @param published 変更前後のいずれかで公開中だったか
+ */
+public record PostChangedEvent(Long postId, Set<String> slugs, boolean published) {
+
+    /**
+     * 公開状態が不明な変更（公開中として扱う）。
+     */
+    public PostChangedEvent(Long postId, Set<String> slugs) {
+        this(postId, slugs, true);
+    }
+
+    /**
+     * 変更前後のスラッグからイベントを生成（同一なら1件にまとめる）。
+     */
+    public static PostChangedEvent of(Long postId, String previousSlug, String currentSlug, boolean published) {
+        return new PostChangedEvent(postId, slugsOf(previousSlug, currentSlug), published);
+    }
+
+    /**
+     * 変更前後のスラッグからイベントを生成（公開中として扱う）。
+     */
+    public static PostChangedEvent of(Long postId, String previousSlug, String currentSlug) {
+        return of(postId, previousSlug, currentSlug, true);
+    }
+
+    static Set<String> slugsOf(String previousSlug, String currentSlug) {
+        if (previousSlug == null || previousSlug.equals(currentSlug)) {
+            return Set.of(currentSlug);
+        }
+        return Set.of(previousSlug, currentSlug);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.event;
+
+import java.util.Set;
+
+/**
+ * 投稿本文HTMLがバッチで再生成されたことを通知するイベント。
+ * <p>
+ * 更新日時を変えずに公開APIの本文が変わるため、受信側は該当投稿のキャッシュを破棄し、
+ * 投稿詳細のETagに使う参照バージョンを進める。再生成のトランザクションのコミット後に発行される。
+ * </p>
+ *
+ * @param postIds 再生成した投稿ID
+ * @param slugs   再生成した投稿のスラッグ
+ */
+public record PostContentRebuiltEvent(Set<Long> postIds, Set<String> slugs) {
+}
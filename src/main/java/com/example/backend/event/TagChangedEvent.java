@@ -0,0 +1,19 @@
+package com.example.backend.event;
+
+import java.util.Set;
+
+/**
+ * タグの作成・更新・削除を通知するイベント。
+ *
+ * @param tagId タグID
+ * @param slugs 変更前後のスラッグ
+ */
+public record TagChangedEvent(Long tagId, Set<String> slugs) {
+
+    /**
+     * 変更前後のスラッグからイベントを生成（同一なら1件にまとめる）。
+     */
+    public static TagChangedEvent of(Long tagId, String previousSlug, String currentSlug) {
+        return new TagChangedEvent(tagId, PostChangedEvent.slugsOf(previousSlug, currentSlug));
+    }
+}
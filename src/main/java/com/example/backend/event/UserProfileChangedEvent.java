@@ -0,0 +1,12 @@
+package com.example.backend.event;
+
+/**
+ * ユーザーのプロフィール（表示名・自己紹介・アバター等）変更や削除を通知するイベント。
+ * <p>
+ * 公開投稿詳細の著者情報に影響するため、公開キャッシュの破棄に利用。
+ * </p>
+ *
+ * @param userId ユーザーID
+ */
+public record UserProfileChangedEvent(Long userId) {
+}
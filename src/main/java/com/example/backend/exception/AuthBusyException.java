@@ -0,0 +1,19 @@
+package com.example.backend.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+
+public class AuthBusyException extends BaseException {
+
+    private final Duration retryAfter;
+
+    public AuthBusyException(String message, Duration retryAfter) {
+        super(message, "error.auth.busy", HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends BaseException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor, "error.cursor.invalid", HttpStatus.BAD_REQUEST);
+    }
+}
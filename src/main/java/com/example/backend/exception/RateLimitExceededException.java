@@ -0,0 +1,19 @@
+package com.example.backend.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+
+public class RateLimitExceededException extends BaseException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message, "error.rateLimit.exceeded", HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.example.backend.entity.Media;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * メディアの一括登録用リポジトリ。
+ * <p>
+ * media.id は IDENTITY のため JPA では INSERT をまとめられない。一括登録は JDBC のバッチ1回で行い、
+ * 採番された id・created_at を各エンティティに反映する。
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class MediaBatchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * メディアをまとめて INSERT する。
+     * <p>
+     * storage_key が重複した場合はバッチ全体が失敗する（呼び出し側で事前に確認すること）。
+     * </p>
+     *
+     * @param media 登録するメディア（id・createdAt は登録後に設定される）
+     */
+    public void insertAll(List<Media> media) {
+        if (media.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = media.stream()
+                .map(m -> new MapSqlParameterSource()
+                        .addValue("filename", m.getFilename())
+                        .addValue("storageKey", m.getStorageKey())
+                        .addValue("mime", m.getMime())
+                        .addValue("width", m.getWidth())
+                        .addValue("height", m.getHeight())
+                        .addValue("bytes", m.getBytes())
+                        .addValue("altText", m.getAltText())
+                        .addValue("createdBy", m.getCreatedBy().getId()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO media (filename, storage_key, mime, width, height, bytes, alt_text, created_by)
+                VALUES (:filename, :storageKey, :mime, :width, :height, :bytes, :altText, :createdBy)
+                """, batch, keyHolder, new String[] { "id", "created_at" });
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < media.size(); i++) {
+            Map<String, Object> generated = keys.get(i);
+            media.get(i).setId(((Number) generated.get("id")).longValue());
+            media.get(i).setCreatedAt(toLocalDateTime(generated.get("created_at")));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value instanceof LocalDateTime dateTime ? dateTime : null;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.backend.repository;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ストレージ上のオブジェクトの参照数（media_objects）のリポジトリ。
+ * <p>
+ * 同じ内容のメディアは1つのオブジェクトを共有するため、メディアの登録で参照数を増やし、削除で減らす。
+ * 参照数が 0 になったオブジェクトだけをストレージから削除する。
+ * 0 になった行は削除済みの印として残し、削除中のオブジェクトへの新たな参照は受け付けない
+ * （増減は行ロックで直列化される）。
+ * 孤立オブジェクトの削除も、削除前に行を参照数 0 で確保してから削除する（確保と登録は同じ行で直列化される）。
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class MediaObjectRepository {
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO media_objects (storage_key, ref_count) VALUES (:storageKey, 1)
+            ON CONFLICT (storage_key) DO UPDATE SET ref_count = media_objects.ref_count + 1, updated_at = now()
+            WHERE media_objects.ref_count > 0
+            """;
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO media_objects (storage_key, ref_count) VALUES (:storageKey, 0)
+            ON CONFLICT (storage_key) DO UPDATE SET updated_at = now()
+            WHERE media_objects.ref_count = 0
+            """;
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * オブジェクトへの参照を1つ増やす（行がなければ作成）。
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @return 参照できた場合true（削除済みのオブジェクトの場合false）
+     */
+    public boolean acquire(String storageKey) {
+        return jdbcTemplate.update(ACQUIRE_SQL, new MapSqlParameterSource("storageKey", storageKey)) > 0;
+    }
+
+    /**
+     * 複数のオブジェクトへの参照を1回のバッチで増やす。
+     *
+     * @param storageKeys ストレージ内の保存先キー
+     * @return キーごとに参照できたか（storageKeysと同じ順序）
+     */
+    public boolean[] acquireAll(List<String> storageKeys) {
+        SqlParameterSource[] batch = storageKeys.stream()
+                .map(storageKey -> new MapSqlParameterSource("storageKey", storageKey))
+                .toArray(SqlParameterSource[]::new);
+        int[] counts = storageKeys.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(ACQUIRE_SQL, batch);
+        boolean[] acquired = new boolean[storageKeys.size()];
+        for (int i = 0; i < counts.length; i++) {
+            // ドライバーが件数を返さない場合（SUCCESS_NO_INFO）は成功とみなす
+            acquired[i] = counts[i] != 0;
+        }
+        return acquired;
+    }
+
+    /**
+     * オブジェクトへの参照を1つ減らす。
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @return 残りの参照数（0 の場合は呼び出し元がオブジェクトを削除する。行がない場合も 0）
+     */
+    public int release(String storageKey) {
+        List<Integer> remaining = jdbcTemplate.queryForList("""
+                UPDATE media_objects SET ref_count = ref_count - 1, updated_at = now()
+                WHERE storage_key = :storageKey AND ref_count > 0
+                RETURNING ref_count
+                """, new MapSqlParameterSource("storageKey", storageKey), Integer.class);
+        return remaining.isEmpty() ? 0 : remaining.get(0);
+    }
+
+    /**
+     * メディア・縮小版が参照しているキーの数（重複を含む。Bloom filter の大きさの見積もり用）。
+     *
+     * @return 参照数
+     */
+    public long countReferencedKeys() {
+        Long count = jdbcTemplate.getJdbcOperations().queryForObject(
+                "SELECT (SELECT count(*) FROM media) + (SELECT count(*) FROM media_variants)", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * メディア・縮小版が参照しているキーを、全件を保持せずに1件ずつ渡す（前方専用カーソル）。
+     *
+     * @param action 1キーごとの処理（同じキーが複数回渡されることがある）
+     */
+    @Transactional(readOnly = true)
+    public void forEachReferencedKey(Consumer<String> action) {
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT storage_key FROM media UNION ALL SELECT storage_key FROM media_variants");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(rs.getString(1)));
+    }
+
+    /**
+     * 指定キーのうち、メディア・縮小版・参照数のいずれかで参照されているものを返す。
+     *
+     * @param storageKeys ストレージ内の保存先キー
+     * @return 参照されているキー
+     */
+    public Set<String> findReferencedKeys(Collection<String> storageKeys) {
+        if (storageKeys.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("""
+                SELECT storage_key FROM media WHERE storage_key IN (:storageKeys)
+                UNION SELECT storage_key FROM media_variants WHERE storage_key IN (:storageKeys)
+                UNION SELECT storage_key FROM media_objects WHERE ref_count > 0 AND storage_key IN (:storageKeys)
+                """, new MapSqlParameterSource("storageKeys", storageKeys), String.class));
+    }
+
+    /**
+     * 削除する孤立オブジェクトを参照数 0 の行として確保する（確保後は {@link #acquire} が失敗する）。
+     *
+     * @param storageKeys ストレージ内の保存先キー
+     * @return キーごとに確保できたか（参照されている場合false、storageKeysと同じ順序）
+     */
+    public boolean[] claimAll(List<String> storageKeys) {
+        SqlParameterSource[] batch = storageKeys.stream()
+                .map(storageKey -> new MapSqlParameterSource("storageKey", storageKey))
+                .toArray(SqlParameterSource[]::new);
+        int[] counts = storageKeys.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(CLAIM_SQL, batch);
+        boolean[] claimed = new boolean[storageKeys.size()];
+        for (int i = 0; i < counts.length; i++) {
+            claimed[i] = counts[i] != 0;
+        }
+        return claimed;
+    }
+
+    /**
+     * 参照数 0 のまま指定期間を過ぎた行（削除済みの印）を削除する。
+     *
+     * @param olderThan 最終更新からの経過期間
+     * @return 削除した行数
+     */
+    public int purgeReleased(Duration olderThan) {
+        return jdbcTemplate.update("""
+                DELETE FROM media_objects
+                WHERE ref_count = 0 AND updated_at < now() - make_interval(secs => :seconds)
+                """, new MapSqlParameterSource("seconds", (double) olderThan.toSeconds()));
+    }
+}
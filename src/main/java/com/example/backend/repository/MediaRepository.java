@@ -1,11 +1,25 @@
 package com.example.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import com.example.backend.entity.Media;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MediaRepository extends JpaRepository<Media, Long>, JpaSpecificationExecutor<Media> {
     boolean existsByStorageKey(String storageKey);
+
+    // 一括登録・一括presign用（指定キーのうち登録済みのもの）
+    @Query("SELECT m.storageKey FROM Media m WHERE m.storageKey IN :storageKeys")
+    List<String> findExistingStorageKeys(@Param("storageKeys") Collection<String> storageKeys);
+
+    // 内容の重複検出用（idx_media_content_sha256）
+    List<Media> findByContentSha256In(Collection<String> contentSha256s);
+
+    boolean existsByStorageKeyAndContentSha256(String storageKey, String contentSha256);
 }
@@ -0,0 +1,19 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import com.example.backend.entity.MediaVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MediaVariantRepository extends JpaRepository<MediaVariant, Long> {
+    List<MediaVariant> findByMediaIdOrderByWidthAsc(Long mediaId);
+
+    boolean existsByMediaId(Long mediaId);
+
+    boolean existsByStorageKey(String storageKey);
+
+    // 同じオブジェクトを共有する他のメディアの縮小版
+    List<MediaVariant> findByMediaStorageKeyAndMediaIdNot(String storageKey, Long mediaId);
+}
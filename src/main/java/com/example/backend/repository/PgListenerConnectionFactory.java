@@ -0,0 +1,37 @@
+package com.example.backend.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * LISTEN 専用の接続を開くファクトリ。
+ * <p>
+ * LISTEN の接続は張りっぱなしになるため、接続プールからは借りずに同じ接続先へ直接接続する。
+ * プールの接続を常時占有せず、LISTEN したままの接続がプールに戻って通知を溜め込むこともない。
+ * </p>
+ *
+ * @see PgNotificationListener
+ */
+@Component
+@RequiredArgsConstructor
+public class PgListenerConnectionFactory {
+
+    private final DataSourceProperties dataSourceProperties;
+
+    /**
+     * 接続プールを経由しない接続を開く（呼び出し元で閉じること）。
+     *
+     * @return 新しい接続
+     * @throws SQLException 接続に失敗した場合
+     */
+    public Connection open() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.backend.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PostgreSQL の LISTEN で他ノードからの通知（pg_notify）を受け取る専用スレッド。
+ * <p>
+ * 接続プールの外に専用の接続を1本開いて使い続け、切れた場合は {@code reconnectDelay} 後に再接続する。
+ * 接続のたびに {@code onConnected} を呼ぶため、呼び出し元はそこで接続していなかった間の変更をDBから取り込む。
+ * </p>
+ */
+public final class PgNotificationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PgNotificationListener.class);
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private final PgListenerConnectionFactory connectionFactory;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final Runnable onConnected;
+    private final Consumer<String> onNotification;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param connectionFactory 専用接続の接続元
+     * @param channel           LISTEN するチャネル
+     * @param reconnectDelay    接続が切れた場合の再接続間隔
+     * @param onConnected       接続（再接続）直後の処理
+     * @param onNotification    通知内容（payload）ごとの処理
+     */
+    public PgNotificationListener(PgListenerConnectionFactory connectionFactory, String channel,
+            Duration reconnectDelay, Runnable onConnected, Consumer<String> onNotification) {
+        this.connectionFactory = connectionFactory;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+        this.onConnected = onConnected;
+        this.onNotification = onNotification;
+    }
+
+    /**
+     * 受信スレッドを開始する（開始済みの場合は何もしない）。
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, channel.replace('_', '-') + "-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 受信スレッドを停止し、終了を待つ。
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public void stop() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+            thread = null;
+        }
+        if (current != null) {
+            current.interrupt();
+            current.join(POLL_TIMEOUT_MILLIS * 4L);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = connectionFactory.open();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                try {
+                    receive(connection.unwrap(PGConnection.class));
+                } catch (RuntimeException e) {
+                    // 処理側の失敗では接続は生きているため、LISTEN を解除してから閉じる
+                    unlisten(statement);
+                    throw e;
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("LISTEN {}: connection failed, reconnecting in {}: {}", channel, reconnectDelay,
+                        e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(PGConnection pgConnection) throws SQLException {
+        onConnected.run();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    onNotification.accept(notification.getParameter());
+                }
+            }
+        }
+    }
+
+    private void unlisten(Statement statement) {
+        try {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException e) {
+            log.debug("UNLISTEN {} failed: {}", channel, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * タグ・カテゴリ別投稿数（tag_post_counts / category_post_counts）のリポジトリ。
+ * <p>
+ * 加算はすべて差分の UPSERT で行い、同じ行を更新するトランザクション同士は行ロックで直列化される。
+ * 複数行を更新する場合は呼び出し側でID昇順に渡すこと（デッドロック回避）。
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostCounterRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 集計対象の種類。
+     */
+    public enum Kind {
+        TAG("tag_post_counts", "tag_id"),
+        CATEGORY("category_post_counts", "category_id");
+
+        private final String table;
+        private final String idColumn;
+
+        Kind(String table, String idColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+        }
+    }
+
+    /**
+     * 投稿数の差分。
+     *
+     * @param id        タグIDまたはカテゴリID
+     * @param total     総数の増減
+     * @param published 公開数の増減
+     */
+    public record Delta(Long id, long total, long published) {
+    }
+
+    /**
+     * 投稿数。
+     *
+     * @param total     総数
+     * @param published 公開数
+     */
+    public record Counts(long total, long published) {
+
+        public static final Counts ZERO = new Counts(0, 0);
+    }
+
+    /**
+     * 差分を加算（行がなければ作成）。
+     *
+     * @param kind   集計対象
+     * @param deltas 差分（ID昇順）
+     */
+    public void add(Kind kind, List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO " + kind.table + " (" + kind.idColumn + ", total_count, published_count)"
+                + " VALUES (:id, :total, :published)"
+                + " ON CONFLICT (" + kind.idColumn + ") DO UPDATE SET"
+                + " total_count = " + kind.table + ".total_count + EXCLUDED.total_count,"
+                + " published_count = " + kind.table + ".published_count + EXCLUDED.published_count";
+        SqlParameterSource[] batch = deltas.stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("id", delta.id())
+                        .addValue("total", delta.total())
+                        .addValue("published", delta.published()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    /**
+     * 指定IDの投稿数を取得。
+     *
+     * @param kind 集計対象
+     * @param id   タグIDまたはカテゴリID
+     * @return 投稿数（行がなければ0件）
+     */
+    public Counts find(Kind kind, Long id) {
+        return findAll(kind, List.of(id)).getOrDefault(id, Counts.ZERO);
+    }
+
+    /**
+     * 複数IDの投稿数を1クエリで取得。
+     *
+     * @param kind 集計対象
+     * @param ids  タグIDまたはカテゴリID
+     * @return IDごとの投稿数（行がないIDは含まない）
+     */
+    public Map<Long, Counts> findAll(Kind kind, Collection<Long> ids) {
+        Map<Long, Counts> result = new HashMap<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+        jdbcTemplate.query("SELECT " + kind.idColumn + " AS id, total_count, published_count FROM " + kind.table
+                + " WHERE " + kind.idColumn + " IN (:ids)", new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    result.put(rs.getLong("id"),
+                            new Counts(rs.getLong("total_count"), rs.getLong("published_count")));
+                });
+        return result;
+    }
+
+    /**
+     * 公開数に未計上の投稿を計上済みにする（予約投稿の公開時用）。
+     * <p>
+     * 複数ノードが同じ公開イベントを処理しても、更新に成功するのは1回だけ。
+     * </p>
+     *
+     * @param postId 投稿ID
+     * @param now    公開判定の基準時刻
+     * @return 計上済みにした場合true
+     */
+    public boolean markPublishedCounted(Long postId, LocalDateTime now) {
+        return jdbcTemplate.update("UPDATE posts SET published_counted = TRUE"
+                + " WHERE id = :id AND NOT published_counted AND status = 'PUBLISHED' AND published_at <= :now",
+                new MapSqlParameterSource("id", postId).addValue("now", now)) > 0;
+    }
+
+    /**
+     * 投稿のタグIDを取得。
+     *
+     * @param postId 投稿ID
+     * @return タグID（昇順）
+     */
+    public List<Long> findTagIds(Long postId) {
+        return jdbcTemplate.queryForList("SELECT tag_id FROM post_tags WHERE post_id = :id ORDER BY tag_id",
+                new MapSqlParameterSource("id", postId), Long.class);
+    }
+
+    /**
+     * 投稿のカテゴリIDを取得。
+     *
+     * @param postId 投稿ID
+     * @return カテゴリID（未設定なら空）
+     */
+    public Optional<Long> findCategoryId(Long postId) {
+        return jdbcTemplate.queryForList("SELECT category_id FROM posts WHERE id = :id AND category_id IS NOT NULL",
+                new MapSqlParameterSource("id", postId), Long.class).stream().findFirst();
+    }
+
+    /**
+     * 投稿数を実データから再集計し、ずれている行を修正する。
+     * <p>
+     * 集計表をロックしてから再集計するため、実行中の書き込みとの競合で結果がずれることはない
+     * （書き込み側は集計表の更新でロック解放を待つ）。
+     * 公開済みの目印は、他トランザクションが更新中の投稿を飛ばして（SKIP LOCKED）付け直す。
+     * </p>
+     *
+     * @param now 公開判定の基準時刻
+     * @return 修正した行数（目印の付け直し・削除を含む）
+     */
+    public int reconcile(LocalDateTime now) {
+        jdbcTemplate.getJdbcTemplate().execute(
+                "LOCK TABLE tag_post_counts, category_post_counts IN SHARE ROW EXCLUSIVE MODE");
+        MapSqlParameterSource params = new MapSqlParameterSource("now", now);
+        int repaired = jdbcTemplate.update("""
+                UPDATE posts SET published_counted = NOT published_counted
+                WHERE id IN (
+                    SELECT id FROM posts
+                    WHERE published_counted <> (status = 'PUBLISHED' AND published_at IS NOT NULL
+                                                AND published_at <= :now)
+                    FOR UPDATE SKIP LOCKED)
+                """, params);
+        repaired += jdbcTemplate.update("""
+                INSERT INTO tag_post_counts (tag_id, total_count, published_count)
+                SELECT t.id, COUNT(p.id), COUNT(p.id) FILTER (WHERE p.published_counted)
+                FROM tags t
+                LEFT JOIN post_tags pt ON pt.tag_id = t.id
+                LEFT JOIN posts p ON p.id = pt.post_id
+                GROUP BY t.id
+                HAVING COUNT(p.id) > 0 OR EXISTS (SELECT 1 FROM tag_post_counts c WHERE c.tag_id = t.id)
+                ON CONFLICT (tag_id) DO UPDATE SET
+                    total_count = EXCLUDED.total_count, published_count = EXCLUDED.published_count
+                WHERE tag_post_counts.total_count <> EXCLUDED.total_count
+                   OR tag_post_counts.published_count <> EXCLUDED.published_count
+                """, params);
+        repaired += jdbcTemplate.update("""
+                INSERT INTO category_post_counts (category_id, total_count, published_count)
+                SELECT c.id, COUNT(p.id), COUNT(p.id) FILTER (WHERE p.published_counted)
+                FROM categories c
+                LEFT JOIN posts p ON p.category_id = c.id
+                GROUP BY c.id
+                HAVING COUNT(p.id) > 0 OR EXISTS (SELECT 1 FROM category_post_counts cc WHERE cc.category_id = c.id)
+                ON CONFLICT (category_id) DO UPDATE SET
+                    total_count = EXCLUDED.total_count, published_count = EXCLUDED.published_count
+                WHERE category_post_counts.total_count <> EXCLUDED.total_count
+                   OR category_post_counts.published_count <> EXCLUDED.published_count
+                """, params);
+        return repaired;
+    }
+}
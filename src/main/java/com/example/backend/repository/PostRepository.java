@@ -3,31 +3,48 @@ package com.example.backend.repository;
 import com.example.backend.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post> {
     Optional<Post> findBySlug(String slug);
 
+    // 一覧用フェッチプランで検索（ToOne関連をJOINで取得、ページングはSQL側で実施）
+    @Override
+    @EntityGraph(Post.GRAPH_LIST)
+    Page<Post> findAll(Specification<Post> spec, Pageable pageable);
+
+    // 一覧用フェッチプランでID指定取得（全文検索結果の組み立て用）
+    @EntityGraph(Post.GRAPH_LIST)
+    List<Post> findListByIdIn(Collection<Long> ids);
+
+    // 詳細用フェッチプランで取得（タグ含む全関連を1クエリで取得）
+    @EntityGraph(Post.GRAPH_DETAIL)
+    Optional<Post> findDetailById(Long id);
+
     boolean existsByCoverMediaId(Long mediaId);
 
+    // 指定したメディアをカバー画像に使う、指定状態の投稿が存在するか判定（縮小版生成時のETag更新要否）
+    boolean existsByCoverMediaIdAndStatus(Long mediaId, Post.Status status);
+
     // 指定したタグIDを含む投稿が存在するか判定（タグ削除前チェック用）
     boolean existsByTags_Id(Long tagId);
 
-    // 指定したタグIDを含む投稿数をカウント
-    long countByTags_Id(Long tagId);
-
     // 指定したカテゴリIDを含む投稿が存在するか判定（カテゴリ削除前チェック用）
     boolean existsByCategoryId(Long categoryId);
 
-    // 指定したカテゴリIDの投稿数をカウント
-    long countByCategoryId(Long categoryId);
-
     // 公開API用: 公開済み投稿の一覧取得（公開日時降順）
     Page<Post> findByStatusAndPublishedAtBeforeOrderByPublishedAtDesc(
             Post.Status status, LocalDateTime now, Pageable pageable);
@@ -43,4 +60,46 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
     // 公開API用: スラッグによる公開済み投稿の詳細取得
     Optional<Post> findBySlugAndStatusAndPublishedAtBefore(
             String slug, Post.Status status, LocalDateTime now);
+
+    // ETag用: 公開済み投稿の版情報のみ取得（エンティティを読み込まない）
+    Optional<VersionView> findVersionBySlugAndStatusAndPublishedAtBefore(
+            String slug, Post.Status status, LocalDateTime now);
+
+    // 予約公開エンジン用: 公開日時が未来の公開済み投稿（予約投稿）を取得
+    @Query("SELECT p.id AS id, p.slug AS slug, p.publishedAt AS publishedAt FROM Post p"
+            + " WHERE p.status = 'PUBLISHED' AND p.publishedAt > :now")
+    List<ScheduleView> findScheduledAfter(@Param("now") LocalDateTime now);
+
+    // 予約公開エンジン用: 指定投稿の予約情報（予約投稿でなければ空）
+    @Query("SELECT p.id AS id, p.slug AS slug, p.publishedAt AS publishedAt FROM Post p"
+            + " WHERE p.id = :id AND p.status = 'PUBLISHED' AND p.publishedAt > :now")
+    Optional<ScheduleView> findScheduledById(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // HTML再生成用: 指定バージョン未満（未生成含む）の投稿をID順に取得
+    @Query("SELECT p FROM Post p WHERE p.id > :afterId"
+            + " AND (p.contentHtmlVersion IS NULL OR p.contentHtmlVersion < :version) ORDER BY p.id")
+    List<Post> findStaleContentHtml(@Param("version") int version, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    // HTML再生成用: 更新日時を変えずにHTMLのみ更新（並行する編集で新しくなっていれば何もしない）
+    @Modifying
+    @Query("UPDATE Post p SET p.contentHtml = :html, p.contentHtmlVersion = :version WHERE p.id = :id"
+            + " AND (p.contentHtmlVersion IS NULL OR p.contentHtmlVersion < :version)")
+    int updateContentHtml(@Param("id") Long id, @Param("html") String html, @Param("version") int version);
+
+    // 投稿の版情報（ID・更新日時）の射影
+    interface VersionView {
+        Long getId();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    // 予約投稿（ID・スラッグ・公開日時）の射影
+    interface ScheduleView {
+        Long getId();
+
+        String getSlug();
+
+        LocalDateTime getPublishedAt();
+    }
 }
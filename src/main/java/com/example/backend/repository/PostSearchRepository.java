@@ -0,0 +1,205 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 投稿の全文検索リポジトリ（PostgreSQL tsvector / GIN）。
+ * <p>
+ * posts.search_vector はエンティティにマッピングしていないため、更新・検索ともにJDBCで行う。
+ * 索引・検索語はいずれも {@link com.example.backend.service.search.SearchTokenizer} でトークン化済みのものを受け取り、
+ * tsvector / tsquery のリテラルを組み立てて型変換する。
+ * to_tsvector 等のパーサーはDBのロケール（LC_CTYPE=C 等）によってCJK文字を捨てるため使用しない。
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostSearchRepository {
+
+    private static final String FILTERS = """
+             WHERE p.search_vector @@ q.query
+               AND p.status = 'PUBLISHED' AND p.published_at <= :now
+            """;
+    private static final String TAG_FILTER = """
+               AND EXISTS (SELECT 1 FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+                           WHERE pt.post_id = p.id AND t.slug = :tag)
+            """;
+    private static final String CATEGORY_FILTER = """
+               AND EXISTS (SELECT 1 FROM categories c WHERE c.id = p.category_id AND c.slug = :category)
+            """;
+
+    // tsvector の位置情報の上限（PostgreSQL の制約）
+    private static final int MAX_POSITION = 16_383;
+    private static final int MAX_POSITIONS_PER_LEXEME = 256;
+    // フィールド間で空ける位置の数（タイトル末尾と抜粋先頭などがフレーズ検索（<->）で隣接一致しないように）
+    private static final int FIELD_GAP = 1;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 検索結果の1件（投稿IDとランク）。
+     */
+    public record Hit(Long id, double rank) {
+    }
+
+    /**
+     * 検索語。
+     *
+     * @param tokens 語のトークン（語内のトークンは隣接一致）
+     * @param prefix 前方一致で検索するか（1文字のCJK語など、バイグラムに一致しない語用）
+     */
+    public record Term(List<String> tokens, boolean prefix) {
+    }
+
+    /**
+     * 検索条件。
+     *
+     * @param terms    検索語（語同士はAND）
+     * @param tag      タグスラッグ（null可）
+     * @param category カテゴリスラッグ（null可）
+     * @param now      公開判定の基準時刻
+     */
+    public record Criteria(List<Term> terms, String tag, String category, LocalDateTime now) {
+    }
+
+    /**
+     * 検索ベクトルを更新（タイトル: A、抜粋: B、本文: C の重み付け）。
+     *
+     * @param postId  投稿ID
+     * @param title   タイトルのトークン
+     * @param excerpt 抜粋のトークン
+     * @param body    本文のトークン
+     */
+    public void updateSearchVector(Long postId, List<String> title, List<String> excerpt, List<String> body) {
+        jdbcTemplate.update("UPDATE posts SET search_vector = CAST(:vector AS tsvector) WHERE id = :id",
+                new MapSqlParameterSource()
+                        .addValue("id", postId)
+                        .addValue("vector", tsvector(title, excerpt, body)));
+    }
+
+    /**
+     * 検索ベクトルが未作成の場合のみ作成（作成バッチ用。並行して投稿が更新・索引された場合は上書きしない）。
+     *
+     * @param postId  投稿ID
+     * @param title   タイトルのトークン
+     * @param excerpt 抜粋のトークン
+     * @param body    本文のトークン
+     * @return 作成した場合は true
+     */
+    public boolean fillSearchVector(Long postId, List<String> title, List<String> excerpt, List<String> body) {
+        return jdbcTemplate.update(
+                "UPDATE posts SET search_vector = CAST(:vector AS tsvector) WHERE id = :id AND search_vector IS NULL",
+                new MapSqlParameterSource()
+                        .addValue("id", postId)
+                        .addValue("vector", tsvector(title, excerpt, body))) > 0;
+    }
+
+    /**
+     * 検索ベクトルが未作成の投稿IDをID順に取得。
+     *
+     * @param afterId このIDより後から取得
+     * @param limit   取得件数
+     * @return 投稿ID
+     */
+    public List<Long> findUnindexedIds(long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM posts WHERE search_vector IS NULL AND id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource().addValue("afterId", afterId).addValue("limit", limit), Long.class);
+    }
+
+    /**
+     * 公開済み投稿を全文検索（ランク降順、同順位は公開日時降順）。
+     *
+     * @param criteria 検索条件
+     * @param offset   取得開始位置
+     * @param limit    取得件数
+     * @return 検索結果
+     */
+    public List<Hit> search(Criteria criteria, long offset, int limit) {
+        MapSqlParameterSource params = parameters(criteria)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        String sql = "SELECT p.id, ts_rank_cd(p.search_vector, q.query) AS rank"
+                + " FROM posts p, (SELECT CAST(:query AS tsquery) AS query) q"
+                + where(criteria)
+                + " ORDER BY rank DESC, p.published_at DESC, p.id DESC LIMIT :limit OFFSET :offset";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new Hit(rs.getLong("id"), rs.getDouble("rank")));
+    }
+
+    /**
+     * 検索条件に一致する公開済み投稿数を取得。
+     *
+     * @param criteria 検索条件
+     * @return 件数
+     */
+    public long count(Criteria criteria) {
+        MapSqlParameterSource params = parameters(criteria);
+        String sql = "SELECT count(*) FROM posts p, (SELECT CAST(:query AS tsquery) AS query) q"
+                + where(criteria);
+        Long count = jdbcTemplate.queryForObject(sql, params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static MapSqlParameterSource parameters(Criteria criteria) {
+        return new MapSqlParameterSource()
+                .addValue("query", tsquery(criteria.terms()))
+                .addValue("now", criteria.now())
+                .addValue("tag", criteria.tag())
+                .addValue("category", criteria.category());
+    }
+
+    private static String where(Criteria criteria) {
+        return FILTERS
+                + (criteria.tag() != null ? TAG_FILTER : "")
+                + (criteria.category() != null ? CATEGORY_FILTER : "");
+    }
+
+    // トークンに出現位置と重みを付けた tsvector リテラルを生成（同一語の位置はまとめ、フィールド間は位置を空ける）
+    static String tsvector(List<String> title, List<String> excerpt, List<String> body) {
+        Map<String, List<String>> positions = new LinkedHashMap<>();
+        int position = 0;
+        for (WeightedTokens part : List.of(new WeightedTokens(title, 'A'), new WeightedTokens(excerpt, 'B'),
+                new WeightedTokens(body, 'C'))) {
+            if (position > 0 && !part.tokens().isEmpty()) {
+                position = Math.min(position + FIELD_GAP, MAX_POSITION);
+            }
+            for (String token : part.tokens()) {
+                position = Math.min(position + 1, MAX_POSITION);
+                List<String> list = positions.computeIfAbsent(token, key -> new ArrayList<>());
+                if (list.size() < MAX_POSITIONS_PER_LEXEME) {
+                    list.add(position + String.valueOf(part.weight()));
+                }
+            }
+        }
+        return positions.entrySet().stream()
+                .map(e -> quote(e.getKey()) + ':' + String.join(",", e.getValue()))
+                .collect(Collectors.joining(" "));
+    }
+
+    // 語内は隣接（<->）、語同士はAND（&）で結合した tsquery リテラルを生成
+    static String tsquery(List<Term> terms) {
+        return terms.stream()
+                .map(term -> term.prefix()
+                        ? quote(term.tokens().get(0)) + ":*"
+                        : "(" + term.tokens().stream().map(PostSearchRepository::quote)
+                                .collect(Collectors.joining(" <-> ")) + ")")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private static String quote(String lexeme) {
+        return "'" + lexeme.replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+
+    private record WeightedTokens(List<String> tokens, char weight) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.backend.repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 投稿閲覧数（post_view_counts）のリポジトリ。
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostViewCountRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 閲覧数の差分を1文でまとめて加算（行がなければ作成）。
+     * <p>
+     * 削除済みの投稿への差分は捨てる。複数ノードが同時に加算しても行ロックの取得順が揃うよう、投稿ID昇順で書き込む。
+     * </p>
+     *
+     * @param deltas 投稿IDごとの閲覧数の増分
+     * @param now    更新日時
+     * @return 加算した行数
+     */
+    public int addAll(Map<Long, Long> deltas, LocalDateTime now) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = deltas.keySet().toArray(Long[]::new);
+        Long[] counts = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            counts[i] = deltas.get(ids[i]);
+        }
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement("""
+                    INSERT INTO post_view_counts (post_id, view_count, updated_at)
+                    SELECT d.post_id, d.delta, ?
+                    FROM unnest(?, ?) AS d(post_id, delta)
+                    JOIN posts p ON p.id = d.post_id
+                    ORDER BY d.post_id
+                    ON CONFLICT (post_id) DO UPDATE SET
+                        view_count = post_view_counts.view_count + EXCLUDED.view_count,
+                        updated_at = EXCLUDED.updated_at
+                    """);
+            Array idArray = connection.createArrayOf("bigint", ids);
+            Array countArray = connection.createArrayOf("bigint", counts);
+            statement.setTimestamp(1, Timestamp.valueOf(now));
+            statement.setArray(2, idArray);
+            statement.setArray(3, countArray);
+            return statement;
+        });
+    }
+
+    /**
+     * 閲覧数の多い公開投稿のIDを取得。
+     *
+     * @param now   公開判定の基準時刻
+     * @param limit 最大件数
+     * @return 投稿ID（閲覧数降順、同数はID降順）
+     */
+    public List<Long> findPopularPublishedIds(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT v.post_id FROM post_view_counts v
+                JOIN posts p ON p.id = v.post_id
+                WHERE p.status = 'PUBLISHED' AND p.published_at <= ?
+                ORDER BY v.view_count DESC, v.post_id DESC
+                LIMIT ?
+                """, Long.class, Timestamp.valueOf(now), limit);
+    }
+
+    /**
+     * 投稿の閲覧数を取得。
+     *
+     * @param postId 投稿ID
+     * @return 閲覧数（未計上なら0）
+     */
+    public long find(Long postId) {
+        return jdbcTemplate.queryForList("SELECT view_count FROM post_view_counts WHERE post_id = ?", Long.class,
+                postId).stream().findFirst().orElse(0L);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 公開コンテンツのバージョン（public_content_version_seq・public_reference_version_seq・public_publication_version_seq）
+ * のリポジトリ。
+ * <p>
+ * シーケンスで採番するため、全ノードで値が重ならず、トランザクションをロールバックしても巻き戻らない。
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class PublicContentVersionRepository {
+
+    /**
+     * バージョンの更新を他ノードへ通知する PostgreSQL の通知チャネル。
+     */
+    public static final String CHANNEL = "public_content_version";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * コンテンツバージョン・参照バージョン・公開状態のバージョンの組。
+     *
+     * @param content     コンテンツバージョン
+     * @param reference   参照バージョン（進めなかった場合は 0）
+     * @param publication 公開状態のバージョン（進めなかった場合は 0）
+     */
+    public record Versions(long content, long reference, long publication) {
+    }
+
+    /**
+     * 次のバージョンを採番する（コンテンツバージョンは常に進める）。
+     *
+     * @param reference   参照バージョンも進める場合は true
+     * @param publication 公開状態のバージョンも進める場合は true
+     * @return 採番したバージョン
+     */
+    public Versions next(boolean reference, boolean publication) {
+        String sql = "SELECT nextval('public_content_version_seq'), "
+                + (reference ? "nextval('public_reference_version_seq')" : "0") + ", "
+                + (publication ? "nextval('public_publication_version_seq')" : "0");
+        return jdbcTemplate.queryForObject(sql,
+                (rs, rowNum) -> new Versions(rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+    }
+
+    /**
+     * 全ノードで最後に採番されたバージョンを取得。
+     *
+     * @return 現在のバージョン
+     */
+    public Versions find() {
+        return jdbcTemplate.queryForObject("SELECT c.last_value, r.last_value, p.last_value"
+                + " FROM public_content_version_seq c, public_reference_version_seq r,"
+                + " public_publication_version_seq p",
+                (rs, rowNum) -> new Versions(rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+    }
+
+    /**
+     * 他ノードへ通知（トランザクション中であればコミット時に配信される）。
+     *
+     * @param payload 通知内容
+     */
+    public void publish(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {
+        }, CHANNEL, payload);
+    }
+}
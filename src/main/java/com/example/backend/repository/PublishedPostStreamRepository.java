@@ -0,0 +1,93 @@
+package com.example.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 公開済み投稿を前方専用カーソルで順に読み出すリポジトリ（サイトマップ・フィード生成用）。
+ * <p>
+ * エンティティやページを組み立てず、必要な列だけを fetch size 単位で読み込んで1行ずつ渡す。
+ * PostgreSQL はトランザクション内（autocommit無効）でのみカーソルを使うため、読み取り専用トランザクションで実行する。
+ * </p>
+ */
+@Repository
+public class PublishedPostStreamRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String COLUMNS = "SELECT p.id, p.slug, p.title, p.excerpt, p.published_at, p.updated_at"
+            + " FROM posts p WHERE p.status = 'PUBLISHED' AND p.published_at <= :now";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PublishedPostStreamRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * 公開済み投稿の1行。
+     *
+     * @param id          投稿ID
+     * @param slug        スラッグ
+     * @param title       タイトル
+     * @param excerpt     抜粋（null可）
+     * @param publishedAt 公開日時
+     * @param updatedAt   更新日時（null可）
+     */
+    public record Row(Long id, String slug, String title, String excerpt, LocalDateTime publishedAt,
+            LocalDateTime updatedAt) {
+
+        /**
+         * 最終更新日時（更新日時がなければ公開日時）。
+         *
+         * @return 最終更新日時
+         */
+        public LocalDateTime lastModified() {
+            return updatedAt != null && updatedAt.isAfter(publishedAt) ? updatedAt : publishedAt;
+        }
+    }
+
+    /**
+     * 全公開済み投稿をID順に読み出す（サイトマップ用）。
+     *
+     * @param now    公開判定の基準時刻
+     * @param action 1行ごとの処理
+     */
+    @Transactional(readOnly = true)
+    public void forEachById(LocalDateTime now, Consumer<Row> action) {
+        stream(COLUMNS + " ORDER BY p.id", new MapSqlParameterSource("now", now), action);
+    }
+
+    /**
+     * 新しい順に指定件数の公開済み投稿を読み出す（フィード用）。
+     *
+     * @param now    公開判定の基準時刻
+     * @param limit  最大件数
+     * @param action 1行ごとの処理
+     */
+    @Transactional(readOnly = true)
+    public void forEachLatest(LocalDateTime now, int limit, Consumer<Row> action) {
+        stream(COLUMNS + " ORDER BY p.published_at DESC, p.id DESC LIMIT :limit",
+                new MapSqlParameterSource("now", now).addValue("limit", limit), action);
+    }
+
+    private void stream(String sql, MapSqlParameterSource params, Consumer<Row> action) {
+        jdbcTemplate.query(sql, params, rs -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            action.accept(new Row(rs.getLong("id"), rs.getString("slug"), rs.getString("title"),
+                    rs.getString("excerpt"), rs.getTimestamp("published_at").toLocalDateTime(),
+                    updatedAt != null ? updatedAt.toLocalDateTime() : null));
+        });
+    }
+}
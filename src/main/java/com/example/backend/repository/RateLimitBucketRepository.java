@@ -0,0 +1,77 @@
+package com.example.backend.repository;
+
+import java.time.Duration;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 複数ノードで共有するレート制限バケット（rate_limit_buckets）のリポジトリ。
+ * <p>
+ * 残量の補充・払い出しは1回の UPSERT で行い、同じバケットへの同時アクセスは行ロックで直列化される。
+ * 時刻はDBの現在時刻を使う（ノード間の時計のずれの影響を受けない）。
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class RateLimitBucketRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 払い出し結果。
+     *
+     * @param granted   払い出したトークン数（0〜要求数）
+     * @param remaining 払い出し後の残量（端数を含む）
+     */
+    public record Reservation(long granted, double remaining) {
+    }
+
+    // 補充後の残量（容量で頭打ち）
+    private static final String REFILLED = """
+            LEAST(:capacity, b.tokens + EXTRACT(EPOCH FROM (NOW() - b.updated_at)) * :refillPerSecond)""";
+
+    /**
+     * 補充したうえで、最大 {@code requested} 個のトークンを払い出す（残量が足りない場合は残っている整数分）。
+     * バケットがない場合は満タンの状態で作成する。
+     *
+     * @param bucketKey       バケットのキー
+     * @param capacity        容量
+     * @param refillPerSecond 1秒あたりの補充量
+     * @param requested       要求するトークン数
+     * @return 払い出し結果
+     */
+    public Reservation reserve(String bucketKey, long capacity, double refillPerSecond, long requested) {
+        String sql = """
+                INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, last_granted, updated_at)
+                VALUES (:bucketKey, :capacity - LEAST(:requested, :capacity), LEAST(:requested, :capacity), NOW())
+                ON CONFLICT (bucket_key) DO UPDATE SET
+                    last_granted = LEAST(:requested, FLOOR(%1$s))::BIGINT,
+                    tokens = %1$s - LEAST(:requested, FLOOR(%1$s)),
+                    updated_at = NOW()
+                RETURNING last_granted, tokens
+                """.formatted(REFILLED);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("bucketKey", bucketKey)
+                .addValue("capacity", (double) capacity)
+                .addValue("refillPerSecond", refillPerSecond)
+                .addValue("requested", requested);
+        return jdbcTemplate.queryForObject(sql, params,
+                (rs, rowNum) -> new Reservation(rs.getLong(1), rs.getDouble(2)));
+    }
+
+    /**
+     * 一定期間使われていないバケットを削除（満タンに戻っているため、削除しても制限の結果は変わらない）。
+     *
+     * @param idle 未使用とみなす期間
+     * @return 削除した行数
+     */
+    public int deleteIdle(Duration idle) {
+        return jdbcTemplate.update(
+                "DELETE FROM rate_limit_buckets WHERE updated_at < NOW() - make_interval(secs => :seconds)",
+                new MapSqlParameterSource("seconds", (double) idle.toSeconds()));
+    }
+}
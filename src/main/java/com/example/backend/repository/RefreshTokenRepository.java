@@ -2,6 +2,9 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,5 +17,23 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     // user.id 経由での参照
     List<RefreshToken> findByUserIdAndRevokedAtIsNull(Long userId);
 
+    // ユーザーの未失効トークンをまとめて失効（ログアウト・パスワード変更・利用停止時）
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id = :userId AND t.revokedAt IS NULL")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
     long deleteByExpiresAtBefore(LocalDateTime now);
+
+    // 期限切れ・猶予期間を過ぎた失効済みトークンを最大 limit 件削除（他のトランザクションがロック中の行は次回に回す）
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expires_at < :now OR revoked_at < :revokedBefore
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int purgeBatch(@Param("now") LocalDateTime now, @Param("revokedBefore") LocalDateTime revokedBefore,
+            @Param("limit") int limit);
 }
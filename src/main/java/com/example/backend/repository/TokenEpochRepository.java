@@ -0,0 +1,60 @@
+package com.example.backend.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ユーザーごとのトークン世代（users.token_epoch）のリポジトリ。
+ */
+@Repository
+@RequiredArgsConstructor
+public class TokenEpochRepository {
+
+    /**
+     * 世代の変更を他ノードへ通知する PostgreSQL の通知チャネル。
+     */
+    public static final String CHANNEL = "token_epoch";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 世代を1つ進める。
+     *
+     * @param userId ユーザーID
+     * @return 加算後の世代（ユーザーが存在しない場合は空）
+     */
+    public OptionalLong bump(Long userId) {
+        return jdbcTemplate.query("UPDATE users SET token_epoch = token_epoch + 1 WHERE id = ? RETURNING token_epoch",
+                rs -> rs.next() ? OptionalLong.of(rs.getLong(1)) : OptionalLong.empty(), userId);
+    }
+
+    /**
+     * 世代が0より大きいユーザーの世代を取得。
+     *
+     * @return ユーザーID → 世代
+     */
+    public Map<Long, Long> findAll() {
+        Map<Long, Long> epochs = new HashMap<>();
+        jdbcTemplate.query("SELECT id, token_epoch FROM users WHERE token_epoch > 0",
+                rs -> {
+                    epochs.put(rs.getLong(1), rs.getLong(2));
+                });
+        return epochs;
+    }
+
+    /**
+     * 他ノードへ通知（トランザクション中であればコミット時に配信される）。
+     *
+     * @param payload 通知内容
+     */
+    public void publish(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {
+        }, CHANNEL, payload);
+    }
+}
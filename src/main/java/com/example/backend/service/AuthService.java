@@ -6,11 +6,14 @@ import com.example.backend.dto.auth.LoginRequestDto;
 import com.example.backend.entity.RefreshToken;
 import com.example.backend.entity.User;
 import com.example.backend.entity.UserStatus;
+import com.example.backend.exception.AccessDeniedException;
 import com.example.backend.exception.AccountDisabledException;
 import com.example.backend.exception.InvalidRefreshTokenException;
 import com.example.backend.repository.RefreshTokenRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.service.JwtTokenService.TokenPair;
+import com.example.backend.service.password.PasswordHashingService;
+import com.example.backend.service.session.TokenEpochService;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -19,11 +22,11 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.HexFormat;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import com.example.backend.exception.InvalidCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * 認証サービス。
@@ -32,6 +35,7 @@ import org.springframework.transaction.annotation.Transactional;
  * <ul>
  * <li>ログイン: メール・パスワード認証、JWT発行、リフレッシュトークン保存</li>
  * <li>リフレッシュ: 有効なリフレッシュトークンでアクセストークン再発行、旧トークン失効</li>
+ * <li>全端末ログアウト: トークン世代を進め、発行済みトークンを失効</li>
  * <li>ハッシュ化: トークンのSHA-256ハッシュ化</li>
  * </ul>
  * 
@@ -39,21 +43,41 @@ import org.springframework.transaction.annotation.Transactional;
  * @see com.example.backend.repository.RefreshTokenRepository
  */
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtTokenService jwtTokenService;
     private final JwtProperties jwtProperties;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenEpochService tokenEpochService;
+    private final TransactionTemplate transactionTemplate;
     private final java.time.Clock clock;
 
+    public AuthService(UserRepository userRepository, RefreshTokenRepository refreshTokenRepository,
+            JwtTokenService jwtTokenService, JwtProperties jwtProperties,
+            PasswordHashingService passwordHashingService, TokenEpochService tokenEpochService,
+            PlatformTransactionManager transactionManager, java.time.Clock clock) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtTokenService = jwtTokenService;
+        this.jwtProperties = jwtProperties;
+        this.passwordHashingService = passwordHashingService;
+        this.tokenEpochService = tokenEpochService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
     /**
      * ログイン処理。
      * <p>
      * メール・パスワード認証し、JWTアクセストークン・リフレッシュトークンを発行。ユーザーがACTIVEでない場合は例外。
      * </p>
+     * <p>
+     * 照合（待ち時間を含め数百ミリ秒かかりうる）の間はDB接続を保持しない。ユーザーの読み取りは単発のクエリで行い、
+     * 照合後の最終ログイン日時・再ハッシュ・リフレッシュトークンの書き込みのみを短いトランザクションで行う。
+     * 照合中にパスワードが変更された場合は、照合したハッシュが古いため認証失敗とする。
+     * </p>
      * 
      * @param request   ログインリクエスト
      * @param userAgent ユーザーエージェント
@@ -61,26 +85,54 @@ public class AuthService {
      * @return 署名済みのアクセストークン・リフレッシュトークンDTO
      * @throws com.example.backend.exception.InvalidCredentialsException 認証失敗時
      * @throws com.example.backend.exception.AccountDisabledException    アカウント無効時
+     * @throws com.example.backend.exception.AuthBusyException           照合待ちが上限を超えた時
      */
-    @Transactional
     public AuthResponseDto login(LoginRequestDto request, String userAgent, String ipAddress) {
-        User user = userRepository.findByEmail(request.email())
+        User found = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password"));
+        String verifiedHash = found.getPasswordHash();
 
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
+        // 照合は専用スレッドで実行（過負荷時は AuthBusyException）。トランザクション外で待つ
+        var verification = passwordHashingService.verify(request.password(), verifiedHash);
+        if (!verification.matched()) {
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
+        return transactionTemplate.execute(status -> completeLogin(found.getId(), verifiedHash,
+                verification.upgradedHash(), userAgent, ipAddress));
+    }
+
+    /**
+     * 照合済みのログインを確定し、トークンを発行（ログインのトランザクション内で呼ぶ）。
+     *
+     * @param userId       照合したユーザーID
+     * @param verifiedHash 照合に使ったパスワードハッシュ
+     * @param upgradedHash 再ハッシュした値（不要な場合は null）
+     * @param userAgent    ユーザーエージェント
+     * @param ipAddress    IPアドレス
+     * @return 署名済みのアクセストークン・リフレッシュトークンDTO
+     */
+    private AuthResponseDto completeLogin(Long userId, String verifiedHash, String upgradedHash, String userAgent,
+            String ipAddress) {
+        // 照合中の削除・パスワード変更は認証失敗として扱う
+        User user = userRepository.findById(userId)
+                .filter(current -> verifiedHash.equals(current.getPasswordHash()))
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password"));
+
         // ステータスチェック: ACTIVE のユーザーのみログイン可能
         if (user.getStatus() != UserStatus.ACTIVE) {
             throw new AccountDisabledException("Account is disabled. Please contact an administrator.");
         }
 
-        // ログイン成功時に最終ログイン日時を更新
+        // ログイン成功時に最終ログイン日時を更新（コスト変更後の初回ログインではハッシュも更新）
+        if (upgradedHash != null) {
+            user.setPasswordHash(upgradedHash);
+        }
         user.setLastLoginAt(LocalDateTime.now(clock));
         userRepository.save(user);
 
-        TokenPair pair = jwtTokenService.issueTokens(user.getEmail(), List.of(user.getRole().name()));
+        TokenPair pair = jwtTokenService.issueTokens(user.getEmail(), List.of(user.getRole().name()), user.getId(),
+                user.getTokenEpoch());
 
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
@@ -143,12 +195,17 @@ public class AuthService {
             throw new AccountDisabledException("Account is disabled. Please contact an administrator.");
         }
 
+        // 世代チェック: ログアウト・パスワード変更等で世代が進む前に発行されたトークンは再発行不可
+        if (JwtTokenService.tokenEpochOf(verified.claims()) < user.getTokenEpoch()) {
+            throw new InvalidRefreshTokenException("Refresh token revoked");
+        }
+
         // ローテーション: 旧トークンは失効
         System.out.println("DEBUG: Revoking old token with ID: " + token.getId());
         token.setRevokedAt(LocalDateTime.now(clock));
         refreshTokenRepository.save(token);
         var roles = List.of(user.getRole().name());
-        var pair = jwtTokenService.issueTokens(user.getEmail(), roles);
+        var pair = jwtTokenService.issueTokens(user.getEmail(), roles, user.getId(), user.getTokenEpoch());
 
         System.out.println("DEBUG: Generated new refresh token: " + pair.refreshToken().substring(0, 20) + "...");
         System.out.println("DEBUG: New token hash: " + sha256Hex(pair.refreshToken()));
@@ -170,6 +227,22 @@ public class AuthService {
         return new AuthResponseDto(pair.accessToken(), pair.refreshToken(), "Bearer", expiresIn);
     }
 
+    /**
+     * 全端末からのログアウト。
+     * <p>
+     * トークン世代を進め、発行済みのアクセストークン・リフレッシュトークンをすべて失効させる。
+     * </p>
+     * 
+     * @param subject JWTのsubject（メールアドレス）
+     * @throws com.example.backend.exception.AccessDeniedException ユーザーが存在しない場合
+     */
+    @Transactional
+    public void logoutAll(String subject) {
+        User user = userRepository.findByEmail(subject)
+                .orElseThrow(() -> new AccessDeniedException("Authentication required"));
+        tokenEpochService.revokeAll(user.getId());
+    }
+
     /**
      * SHA-256ハッシュを計算。
      * <p>
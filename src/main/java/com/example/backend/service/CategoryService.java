@@ -6,15 +6,20 @@ import com.example.backend.dto.category.CategoryMapper;
 import com.example.backend.dto.category.CategoryReorderRequestDto;
 import com.example.backend.entity.Category;
 import com.example.backend.entity.User;
+import com.example.backend.event.CategoryChangedEvent;
 import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.PostCounterRepository;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.security.CategoryPolicy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +45,8 @@ public class CategoryService {
     private final CategoryMapper categoryMapper;
     private final CategoryPolicy categoryPolicy;
     private final PostRepository postRepository;
+    private final PostCounterRepository postCounterRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 全カテゴリを親子関係・sort_order順で取得。
@@ -59,16 +66,19 @@ public class CategoryService {
     /**
      * 全カテゴリを親子関係・sort_order順で取得（投稿数付き）。
      * <p>
-     * 各カテゴリに紐づく投稿数も付与。
+     * 各カテゴリに紐づく投稿数も付与（集計表から一括取得）。
      * </p>
      * 
      * @return カテゴリ一覧DTO（投稿数付き）
      */
     @Transactional(readOnly = true)
     public List<CategoryResponseDto> findAllWithPostCount() {
-        return categoryRepository.findAllOrderByParentAndSort().stream()
+        List<Category> categories = categoryRepository.findAllOrderByParentAndSort();
+        Map<Long, PostCounterRepository.Counts> counts = postCounterRepository.findAll(
+                PostCounterRepository.Kind.CATEGORY, categories.stream().map(Category::getId).toList());
+        return categories.stream()
                 .map(category -> {
-                    long postCount = postRepository.countByCategoryId(category.getId());
+                    long postCount = counts.getOrDefault(category.getId(), PostCounterRepository.Counts.ZERO).total();
                     return categoryMapper.toResponseDtoWithPostCount(category, (int) postCount);
                 })
                 .collect(Collectors.toList());
@@ -118,6 +128,7 @@ public class CategoryService {
         category.setSortOrder(maxSortOrder != null ? maxSortOrder + 1 : 0);
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId(), Set.of(saved.getSlug())));
         return categoryMapper.toResponseDto(saved);
     }
 
@@ -137,6 +148,7 @@ public class CategoryService {
     public Optional<CategoryResponseDto> update(Long id, CategoryRequestDto dto, User user) {
         categoryPolicy.checkUpdate(user.getRole(), null, null, user.getId());
         return categoryRepository.findById(id).map(category -> {
+            String previousSlug = category.getSlug();
             categoryMapper.applyToEntity(category, dto);
             if (dto.parentId() != null) {
                 Category parent = categoryRepository.findById(dto.parentId())
@@ -145,6 +157,7 @@ public class CategoryService {
             } else {
                 category.setParent(null);
             }
+            eventPublisher.publishEvent(CategoryChangedEvent.of(category.getId(), previousSlug, category.getSlug()));
             return categoryMapper.toResponseDto(category);
         });
     }
@@ -169,6 +182,7 @@ public class CategoryService {
             throw new com.example.backend.exception.CategoryInUseException(id);
         }
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), Set.of(category.getSlug())));
     }
 
     /**
@@ -191,6 +205,7 @@ public class CategoryService {
                             () -> new com.example.backend.exception.CategoryNotFoundException(request.getCategoryId()));
             category.setSortOrder(request.getNewSortOrder());
             categoryRepository.save(category);
+            eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), Set.of(category.getSlug())));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+package com.example.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.stereotype.Component;
+
+import com.example.backend.config.JwtProperties;
+import com.example.backend.config.JwtProperties.SigningAlgorithm;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JWTの署名・検証に使う鍵の集合。
+ * <p>
+ * 起動時に {@code app.jwt.*} から読み込み、設定不備は起動時に失敗させる。
+ * <ul>
+ * <li>HS256: 共有シークレットで署名・検証（従来の方式）</li>
+ * <li>ES256: {@code active-kid} の秘密鍵で署名し、ヘッダーに kid を付与。検証は kid で公開鍵を選ぶ</li>
+ * <li>鍵のローテーション: 新しい鍵を追加して {@code active-kid} を切り替え、旧鍵は公開鍵のみ残す</li>
+ * <li>HS256 からの移行: シークレットを残している間（{@code accept-hmac}）は発行済みの HS256 トークンも受け付け、
+ * リフレッシュ時に ES256 のトークンへ置き換わる</li>
+ * </ul>
+ * 公開鍵は {@link #publicJwks()} で JWKS として公開し、エッジ（プロキシ・SSR）がアプリを経由せずに検証できるようにする。
+ * </p>
+ *
+ * @see com.example.backend.controller.open.JwksController
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final String HS256 = "HS256";
+    private static final String ES256 = "ES256";
+
+    private final SigningAlgorithm algorithm;
+    private final SecretKey hmacKey;
+    private final String activeKid;
+    private final PrivateKey activePrivateKey;
+    private final Map<String, ECPublicKey> publicKeys;
+    private final Map<String, Object> publicJwks;
+
+    public JwtKeyRing(JwtProperties props) {
+        this.algorithm = props.getAlgorithm() != null ? props.getAlgorithm() : SigningAlgorithm.HS256;
+        String secret = props.getSecret();
+        boolean hasSecret = secret != null && !secret.isBlank();
+        if (algorithm == SigningAlgorithm.HS256 && !hasSecret) {
+            throw new IllegalStateException("JWT secret is not set (app.jwt.secret)");
+        }
+        // HS256 運用中、または ES256 への移行期間中のみ HS256 を受け付ける
+        boolean acceptHmac = algorithm == SigningAlgorithm.HS256 || (props.isAcceptHmac() && hasSecret);
+        // Resource Server 側 (Nimbus) と同じく UTF-8 バイト列をそのまま使う
+        this.hmacKey = acceptHmac ? Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)) : null;
+
+        Map<String, ECPublicKey> publics = new LinkedHashMap<>();
+        PrivateKey signing = null;
+        for (JwtProperties.SigningKey key : props.getKeys()) {
+            if (key.getKid() == null || key.getKid().isBlank() || key.getPublicKey() == null) {
+                throw new IllegalStateException("JWT signing key requires kid and public-key (app.jwt.keys)");
+            }
+            if (publics.put(key.getKid(), parsePublicKey(key.getKid(), key.getPublicKey())) != null) {
+                throw new IllegalStateException("Duplicate JWT key id: " + key.getKid());
+            }
+            if (key.getKid().equals(props.getActiveKid())) {
+                if (key.getPrivateKey() == null || key.getPrivateKey().isBlank()) {
+                    throw new IllegalStateException("Active JWT key has no private-key: " + key.getKid());
+                }
+                signing = parsePrivateKey(key.getKid(), key.getPrivateKey());
+                verifyPair(key.getKid(), signing, publics.get(key.getKid()));
+            }
+        }
+        if (algorithm == SigningAlgorithm.ES256 && signing == null) {
+            throw new IllegalStateException("app.jwt.active-kid must name a configured key with a private-key");
+        }
+        this.activeKid = algorithm == SigningAlgorithm.ES256 ? props.getActiveKid() : null;
+        this.activePrivateKey = algorithm == SigningAlgorithm.ES256 ? signing : null;
+        this.publicKeys = Collections.unmodifiableMap(publics);
+        this.publicJwks = buildJwks(publics);
+    }
+
+    /**
+     * 非対称鍵（ES256）で署名するか。
+     *
+     * @return ES256 の場合は true
+     */
+    public boolean isAsymmetric() {
+        return algorithm == SigningAlgorithm.ES256;
+    }
+
+    /**
+     * HS256 の署名鍵。
+     *
+     * @return 署名用SecretKey
+     * @throws IllegalStateException HS256 を受け付けない設定の場合
+     */
+    public SecretKey hmacKey() {
+        if (hmacKey == null) {
+            throw new IllegalStateException("HS256 is not enabled (app.jwt.secret)");
+        }
+        return hmacKey;
+    }
+
+    /**
+     * ES256 で署名に使う鍵の kid。
+     *
+     * @return kid（HS256 の場合は null）
+     */
+    public String activeKid() {
+        return activeKid;
+    }
+
+    /**
+     * ES256 の署名鍵。
+     *
+     * @return 秘密鍵（HS256 の場合は null）
+     */
+    public PrivateKey activePrivateKey() {
+        return activePrivateKey;
+    }
+
+    /**
+     * ヘッダーの alg・kid から検証鍵を選ぶ。
+     *
+     * @param alg ヘッダーの alg
+     * @param kid ヘッダーの kid
+     * @return 検証鍵（受け付けない組み合わせの場合は null）
+     */
+    public Key verificationKey(String alg, String kid) {
+        if (HS256.equals(alg)) {
+            return hmacKey;
+        }
+        if (ES256.equals(alg) && kid != null) {
+            return publicKeys.get(kid);
+        }
+        return null;
+    }
+
+    /**
+     * 公開鍵の JWKS（{@code {"keys": [...]}}、秘密鍵・シークレットは含まない）。
+     *
+     * @return JWKS の JSON オブジェクト
+     */
+    public Map<String, Object> publicJwks() {
+        return publicJwks;
+    }
+
+    private static Map<String, Object> buildJwks(Map<String, ECPublicKey> publics) {
+        List<JWK> jwks = new ArrayList<>();
+        publics.forEach((kid, key) -> jwks.add(new ECKey.Builder(Curve.P_256, key)
+                .keyID(kid)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.ES256)
+                .build()));
+        return Collections.unmodifiableMap(new JWKSet(jwks).toJSONObject(true));
+    }
+
+    private static ECPublicKey parsePublicKey(String kid, String encoded) {
+        try {
+            var key = KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(decodePem(encoded)));
+            if (!(key instanceof ECPublicKey ec) || ec.getParams().getCurve().getField().getFieldSize() != 256) {
+                throw new IllegalStateException("JWT key " + kid + " is not a P-256 public key");
+            }
+            return ec;
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid public-key for JWT key " + kid, e);
+        }
+    }
+
+    private static PrivateKey parsePrivateKey(String kid, String encoded) {
+        try {
+            var key = KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(decodePem(encoded)));
+            if (!(key instanceof ECPrivateKey)) {
+                throw new IllegalStateException("JWT key " + kid + " is not an EC private key");
+            }
+            return key;
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid private-key for JWT key " + kid, e);
+        }
+    }
+
+    // 秘密鍵と公開鍵の組み合わせ違いは、発行したトークンがすべて検証できなくなるため起動時に検出する
+    private static void verifyPair(String kid, PrivateKey privateKey, ECPublicKey publicKey) {
+        try {
+            byte[] probe = kid.getBytes(StandardCharsets.UTF_8);
+            Signature signer = Signature.getInstance("SHA256withECDSA");
+            signer.initSign(privateKey);
+            signer.update(probe);
+            byte[] signature = signer.sign();
+            Signature verifier = Signature.getInstance("SHA256withECDSA");
+            verifier.initVerify(publicKey);
+            verifier.update(probe);
+            if (!verifier.verify(signature)) {
+                throw new IllegalStateException("private-key and public-key of JWT key " + kid + " do not match");
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to verify JWT key " + kid, e);
+        }
+    }
+
+    private static byte[] decodePem(String encoded) {
+        String base64 = encoded.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.backend.service;
 
 import com.example.backend.config.JwtProperties;
+import com.example.backend.service.cache.VerifiedJwtCache;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import java.nio.charset.StandardCharsets;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import java.security.Key;
 import java.time.Instant;
 import java.time.Clock;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import javax.crypto.SecretKey;
+import java.util.Set;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.stereotype.Service;
 
 /**
@@ -22,8 +29,8 @@ import org.springframework.stereotype.Service;
  * アクセストークン・リフレッシュトークンの発行、検証、署名キー管理を提供。
  * <ul>
  * <li>トークン発行: subject/roles/有効期限付きJWT生成</li>
- * <li>検証: 署名・有効期限・クレーム検証</li>
- * <li>署名キー: HS256固定、キャッシュ付き</li>
+ * <li>検証: 署名・有効期限・クレーム検証（検証済みトークンは {@link VerifiedJwtCache} で共有）</li>
+ * <li>署名キー: HS256 または ES256（kid 付き、{@link JwtKeyRing}）</li>
  * </ul>
  * 
  * @see com.example.backend.config.JwtProperties
@@ -31,14 +38,23 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtTokenService {
     public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_EPOCH_CLAIM = "tep";
+
+    // Resource Server の Jwt が Instant を要求する日時のクレーム
+    private static final Set<String> TIME_CLAIMS = Set.of(JwtClaimNames.EXP, JwtClaimNames.IAT, JwtClaimNames.NBF);
 
     private final JwtProperties props;
     private final Clock clock;
-    private volatile SecretKey cachedKey; // 再計算を避ける簡易キャッシュ
+    private final VerifiedJwtCache verifiedJwtCache;
+    private final JwtKeyRing keyRing;
+    private volatile JwtParser cachedParser; // パーサーは不変のため使い回す
 
-    public JwtTokenService(JwtProperties props, Clock clock) {
+    public JwtTokenService(JwtProperties props, Clock clock, VerifiedJwtCache verifiedJwtCache, JwtKeyRing keyRing) {
         this.props = props;
         this.clock = clock;
+        this.verifiedJwtCache = verifiedJwtCache;
+        this.keyRing = keyRing;
     }
 
     public record TokenPair(String accessToken, String refreshToken) {
@@ -47,7 +63,7 @@ public class JwtTokenService {
     /**
      * アクセストークンを発行。
      * <p>
-     * subject/roles/有効期限付きのJWTをHS256署名で生成。
+     * subject/roles/有効期限付きのJWTを設定の方式（HS256 または ES256）で署名して生成。
      * </p>
      * 
      * @param subject トークンのサブジェクト
@@ -55,20 +71,36 @@ public class JwtTokenService {
      * @return 署名済みのアクセストークン文字列
      */
     public String generateAccessToken(String subject, Collection<String> roles) {
-        return generateToken(subject, roles, props.getAccessTtl().toSeconds());
+        return generateToken(subject, roles, Map.of(), props.getAccessTtl().toSeconds());
+    }
+
+    /**
+     * ユーザーID・トークン世代付きのアクセストークンを発行。
+     * <p>
+     * 世代が現在の世代より古いトークンは認証時に拒否される（{@link com.example.backend.service.session.TokenEpochService}）。
+     * </p>
+     * 
+     * @param subject    トークンのサブジェクト
+     * @param roles      ユーザーのロール
+     * @param userId     ユーザーID
+     * @param tokenEpoch 発行時点のトークン世代
+     * @return 署名済みのアクセストークン文字列
+     */
+    public String generateAccessToken(String subject, Collection<String> roles, Long userId, long tokenEpoch) {
+        return generateToken(subject, roles, epochClaims(userId, tokenEpoch), props.getAccessTtl().toSeconds());
     }
 
     /**
      * リフレッシュトークンを発行。
      * <p>
-     * subject/有効期限付きのJWTをHS256署名で生成。
+     * subject/有効期限付きのJWTを設定の方式（HS256 または ES256）で署名して生成。
      * </p>
      * 
      * @param subject トークンのサブジェクト
      * @return 署名済みのリフレッシュトークン文字列
      */
     public String generateRefreshToken(String subject) {
-        return generateToken(subject, List.of(), props.getRefreshTtl().toSeconds());
+        return generateToken(subject, List.of(), Map.of(), props.getRefreshTtl().toSeconds());
     }
 
     /**
@@ -87,6 +119,35 @@ public class JwtTokenService {
         return new TokenPair(access, refresh);
     }
 
+    /**
+     * ユーザーID・トークン世代付きのアクセストークン・リフレッシュトークンのペアを発行。
+     * <p>
+     * リフレッシュトークンにも世代を埋め込み、世代が進んだ後の再発行を拒否できるようにする。
+     * </p>
+     * 
+     * @param subject    トークンのサブジェクト
+     * @param roles      ユーザーのロール
+     * @param userId     ユーザーID
+     * @param tokenEpoch 発行時点のトークン世代
+     * @return 署名済みのアクセストークン・リフレッシュトークンペア
+     */
+    public TokenPair issueTokens(String subject, Collection<String> roles, Long userId, long tokenEpoch) {
+        Map<String, Object> claims = epochClaims(userId, tokenEpoch);
+        String access = generateToken(subject, roles, claims, props.getAccessTtl().toSeconds());
+        String refresh = generateToken(subject, List.of(), claims, props.getRefreshTtl().toSeconds());
+        return new TokenPair(access, refresh);
+    }
+
+    /**
+     * トークンに埋め込まれた世代を取得。
+     * 
+     * @param claims クレーム
+     * @return 世代（クレームがない場合は0）
+     */
+    public static long tokenEpochOf(Map<String, Object> claims) {
+        return claims.get(TOKEN_EPOCH_CLAIM) instanceof Number epoch ? epoch.longValue() : 0;
+    }
+
     /**
      * トークンを検証・解析。
      * <p>
@@ -99,20 +160,13 @@ public class JwtTokenService {
      * @throws io.jsonwebtoken.ExpiredJwtException        有効期限切れ時
      */
     public VerifiedToken verify(String token) {
-        Jws<Claims> claimsJws = Jwts.parser()
-                .verifyWith(signingKey())
-                .build()
-                .parseSignedClaims(token);
-        Claims claims = claimsJws.getPayload();
-        String subject = claims.getSubject();
+        Jwt jwt = verifiedJwtCache.get(token, this::parse);
         List<String> roles = null;
-        Object raw = claims.get(ROLES_CLAIM);
+        Object raw = jwt.getClaims().get(ROLES_CLAIM);
         if (raw instanceof List<?> list) {
             roles = list.stream().filter(Objects::nonNull).map(Object::toString).toList();
         }
-        Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
-        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
-        return new VerifiedToken(subject, roles, issuedAt, expiresAt, claims);
+        return new VerifiedToken(jwt.getSubject(), roles, jwt.getIssuedAt(), jwt.getExpiresAt(), jwt.getClaims());
     }
 
     /**
@@ -132,15 +186,17 @@ public class JwtTokenService {
     /**
      * トークンを生成。
      * <p>
-     * subject/roles/有効期限付きJWTをHS256署名で生成。
+     * subject/roles/有効期限付きJWTを設定の方式（HS256 または ES256）で署名して生成。
      * </p>
      * 
      * @param subject    トークンのサブジェクト
      * @param roles      ユーザーのロール
+     * @param claims     追加のクレーム
      * @param ttlSeconds 有効期限（秒）
      * @return 署名済みのトークン文字列
      */
-    private String generateToken(String subject, Collection<String> roles, long ttlSeconds) {
+    private String generateToken(String subject, Collection<String> roles, Map<String, Object> claims,
+            long ttlSeconds) {
         var now = Instant.now(clock);
         var exp = now.plusSeconds(ttlSeconds);
         var builder = Jwts.builder()
@@ -152,33 +208,62 @@ public class JwtTokenService {
         if (roles != null && !roles.isEmpty()) {
             builder.claim(ROLES_CLAIM, roles);
         }
+        claims.forEach(builder::claim);
+        if (keyRing.isAsymmetric()) {
+            // 検証側（Resource Server・エッジ）は kid で JWKS の公開鍵を選ぶ
+            return builder
+                    .header().keyId(keyRing.activeKid()).and()
+                    .signWith(keyRing.activePrivateKey(), Jwts.SIG.ES256)
+                    .compact();
+        }
         return builder
-                // Resource Server 側 (Nimbus) は HS256 を期待するため、署名も HS256 に固定
-                .signWith(signingKey(), io.jsonwebtoken.Jwts.SIG.HS256)
+                .signWith(keyRing.hmacKey(), Jwts.SIG.HS256)
                 .compact();
     }
 
     /**
-     * 署名キーを取得（キャッシュ付き）。
-     * <p>
-     * JWTのHS256署名に利用。app.jwt.secretが未設定の場合は例外。
-     * </p>
-     * 
-     * @return 署名用SecretKey
-     * @throws IllegalStateException シークレット未設定時
+     * トークンを解析・検証し、Resource Server 側と同じ形式（日時は {@link Instant}）に変換。
      */
-    private SecretKey signingKey() {
-        SecretKey key = cachedKey;
-        if (key != null)
-            return key;
-        String secret = props.getSecret();
-        if (secret == null || secret.isBlank()) {
-            throw new IllegalStateException("JWT secret is not set (app.jwt.secret)");
+    private Jwt parse(String token) {
+        Jws<Claims> claimsJws = parser().parseSignedClaims(token);
+        Map<String, Object> claims = new LinkedHashMap<>();
+        // exp/iat/nbf はエポック秒の数値のまま渡るため Instant に変換する
+        claimsJws.getPayload().forEach((name, value) -> claims.put(name, toClaimValue(name, value)));
+        return Jwt.withTokenValue(token)
+                .headers(headers -> headers.putAll(claimsJws.getHeader()))
+                .claims(values -> values.putAll(claims))
+                .build();
+    }
+
+    private static Object toClaimValue(String name, Object value) {
+        if (value instanceof Date date) {
+            return date.toInstant();
         }
-        // SecurityConfig 側の NimbusJwtDecoder も UTF-8 バイト列をそのまま使っているため、こちらも合わせる
-        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
-        key = Keys.hmacShaKeyFor(bytes);
-        cachedKey = key;
-        return key;
+        if (TIME_CLAIMS.contains(name) && value instanceof Number seconds) {
+            return Instant.ofEpochSecond(seconds.longValue());
+        }
+        return value;
+    }
+
+    private JwtParser parser() {
+        JwtParser parser = cachedParser;
+        if (parser == null) {
+            parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+                @Override
+                protected Key locate(JwsHeader header) {
+                    Key key = keyRing.verificationKey(header.getAlgorithm(), header.getKeyId());
+                    if (key == null) {
+                        throw new UnsupportedJwtException("Unsupported JWT algorithm or key id");
+                    }
+                    return key;
+                }
+            }).build();
+            cachedParser = parser;
+        }
+        return parser;
+    }
+
+    private static Map<String, Object> epochClaims(Long userId, long tokenEpoch) {
+        return Map.of(USER_ID_CLAIM, userId, TOKEN_EPOCH_CLAIM, tokenEpoch);
     }
 }
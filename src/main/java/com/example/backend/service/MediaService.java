@@ -3,67 +3,136 @@ package com.example.backend.service;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import com.example.backend.config.MediaMultipartProperties;
 import com.example.backend.config.MediaStorageProperties;
+import com.example.backend.dto.media.MediaBatchPresignResponseDto;
+import com.example.backend.dto.media.MediaBatchRegisterResponseDto;
 import com.example.backend.dto.media.MediaCreateRequestDto;
 import com.example.backend.dto.media.MediaDownloadResponseDto;
+import com.example.backend.dto.media.MediaMultipartAbortRequestDto;
+import com.example.backend.dto.media.MediaMultipartCompleteRequestDto;
+import com.example.backend.dto.media.MediaMultipartInitRequestDto;
+import com.example.backend.dto.media.MediaMultipartInitResponseDto;
+import com.example.backend.dto.media.MediaMultipartPartDto;
+import com.example.backend.dto.media.MediaMultipartPartsRequestDto;
+import com.example.backend.dto.media.MediaMultipartPartsResponseDto;
 import com.example.backend.dto.media.MediaPresignRequestDto;
 import com.example.backend.dto.media.MediaPresignResponseDto;
 import com.example.backend.dto.media.MediaResponseDto;
 import com.example.backend.dto.media.MediaMapper;
 import com.example.backend.entity.Media;
+import com.example.backend.entity.MediaVariant;
 import com.example.backend.entity.User;
+import com.example.backend.event.MediaRegisteredEvent;
 import com.example.backend.exception.MediaInUseException;
 import com.example.backend.exception.MediaNotFoundException;
+import com.example.backend.repository.MediaBatchRepository;
+import com.example.backend.repository.MediaObjectRepository;
 import com.example.backend.repository.MediaRepository;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.security.MediaPolicy;
+import com.example.backend.service.media.MediaObjectChecker;
 import com.example.backend.service.media.MediaStorage;
 import com.example.backend.service.media.MediaStorage.ObjectNotFoundException;
 import com.example.backend.service.media.MediaStorage.StorageException;
+import com.example.backend.service.media.MediaStorage.UploadNotFoundException;
 
-import lombok.RequiredArgsConstructor;
 
 /**
  * メディア管理サービス。
  * <p>
  * メディアのアップロード・登録・一覧・詳細・ダウンロードURL発行・削除を提供。全操作でRBAC・参照整合性・ストレージ整合性を考慮。
  * <ul>
- * <li>アップロード: presign URL発行、ストレージ一意キー生成</li>
- * <li>登録: presign後のメタ情報登録、存在検証</li>
+ * <li>アップロード: presign URL発行、ストレージ一意キー生成。内容の SHA-256 が指定され、同じ内容のメディアを
+ * 参照できる場合はURLを発行せずに既存のメディアを返す</li>
+ * <li>登録: presign後のメタ情報登録、存在検証（コミット後に縮小版を非同期で生成）。ストレージが検証した SHA-256 を記録し、
+ * 同じ内容のメディアはオブジェクトを共有する（参照数は media_objects）。同じキーの並行した登録は media_objects の行ロックで
+ * 直列化し、ロック取得後に重複を確認する（storageKey は一意制約を持たないため）</li>
+ * <li>マルチパートアップロード: 大きなファイルをパートに分け、並行・再開可能にアップロード（完了後に通常の登録）</li>
+ * <li>一括アップロード・一括登録: 件数分の往復をまとめる。一括登録は存在検証を並行して行い、1回のバッチでINSERT、
+ * 結果は1件ずつ返す</li>
  * <li>一覧: MIME/キーワード/ページング・RBAC対応</li>
  * <li>詳細/ダウンロード: アクセス権・一時URL発行</li>
- * <li>削除: 投稿参照時は例外(MediaInUseException)、ストレージ削除失敗時は通知</li>
+ * <li>削除: 投稿参照時は例外(MediaInUseException)、オブジェクトを参照するメディアがなくなった場合のみ縮小版も含めて
+ * ストレージから削除、失敗時は通知</li>
  * </ul>
  * 
  * @see com.example.backend.repository.MediaRepository
  * @see com.example.backend.security.MediaPolicy
  */
 @Service
-@RequiredArgsConstructor
 public class MediaService {
 
+    private static final String ERROR_DUPLICATE = "error.media.storageKey.duplicate";
+    private static final String ERROR_OBJECT_NOT_FOUND = "error.media.object.notFound";
+    private static final String ERROR_STORAGE_UNAVAILABLE = "error.media.storage.unavailable";
+
+    // S3 のマルチパートアップロードの制約
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+
     private final MediaRepository mediaRepository;
+    private final MediaBatchRepository mediaBatchRepository;
+    private final MediaObjectRepository mediaObjectRepository;
+    private final MediaObjectChecker mediaObjectChecker;
     private final PostRepository postRepository;
     private final MediaPolicy mediaPolicy;
     private final MediaStorage mediaStorage;
     private final MediaStorageProperties mediaProperties;
+    private final MediaMultipartProperties multipartProperties;
     private final Clock clock;
     private final MediaMapper mediaMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public MediaService(MediaRepository mediaRepository, MediaBatchRepository mediaBatchRepository,
+            MediaObjectRepository mediaObjectRepository, MediaObjectChecker mediaObjectChecker,
+            PostRepository postRepository, MediaPolicy mediaPolicy, MediaStorage mediaStorage,
+            MediaStorageProperties mediaProperties, MediaMultipartProperties multipartProperties, Clock clock,
+            MediaMapper mediaMapper, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.mediaRepository = mediaRepository;
+        this.mediaBatchRepository = mediaBatchRepository;
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.mediaObjectChecker = mediaObjectChecker;
+        this.postRepository = postRepository;
+        this.mediaPolicy = mediaPolicy;
+        this.mediaStorage = mediaStorage;
+        this.mediaProperties = mediaProperties;
+        this.multipartProperties = multipartProperties;
+        this.clock = clock;
+        this.mediaMapper = mediaMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * メディアアップロード用の事前署名URLを発行。
      * <p>
      * RBAC制御あり。ストレージ一意キー生成・presign URL発行。
+     * 内容の SHA-256 が指定され、同じ内容・サイズのメディアを参照できる場合はURLを発行せず、既存のメディアを返す
+     * （{@code duplicate=true}）。指定したハッシュはURLの署名に含め、異なる内容のアップロードはストレージが拒否する。
      * </p>
      * 
      * @param dto         アップロードリクエスト情報
@@ -75,60 +144,344 @@ public class MediaService {
     public MediaPresignResponseDto requestUpload(MediaPresignRequestDto dto, User currentUser) {
         mediaPolicy.checkCreate(currentUser.getRole(), currentUser.getId(), null, currentUser.getId());
 
+        Media existing = findDuplicates(List.of(dto), currentUser)[0];
+        if (existing != null) {
+            return toDuplicateResponse(existing);
+        }
         String storageKey = generateUniqueStorageKey(dto.getFilename());
         Duration ttl = resolveTtl();
-        var presign = mediaStorage.createUploadUrl(storageKey, dto.getMime(), dto.getBytes(), ttl);
+        var presign = mediaStorage.createUploadUrl(storageKey, dto.getMime(), dto.getBytes(), dto.getContentSha256(),
+                ttl);
+        return toPresignResponse(presign);
+    }
 
-        return MediaPresignResponseDto.builder()
-                .uploadUrl(presign.url())
-                .storageKey(presign.storageKey())
-                .headers(presign.headers())
-                .expiresAt(presign.expiresAt())
+    /**
+     * 複数ファイルのアップロード用の事前署名URLをまとめて発行。
+     * <p>
+     * RBAC制御あり。ストレージキーの重複確認・内容の重複検出はそれぞれ全件まとめて1クエリで行う。
+     * </p>
+     *
+     * @param items       アップロードリクエスト情報
+     * @param currentUser 操作ユーザー
+     * @return 事前署名URL情報（リクエストと同じ順序）
+     * @throws com.example.backend.exception.AccessDeniedException 権限不足
+     */
+    @Transactional
+    public MediaBatchPresignResponseDto requestUploadBatch(List<MediaPresignRequestDto> items, User currentUser) {
+        mediaPolicy.checkCreate(currentUser.getRole(), currentUser.getId(), null, currentUser.getId());
+
+        Media[] existing = findDuplicates(items, currentUser);
+        List<String> storageKeys = generateUniqueStorageKeys(
+                items.stream().map(MediaPresignRequestDto::getFilename).toList());
+        Duration ttl = resolveTtl();
+        List<MediaPresignResponseDto> responses = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            MediaPresignRequestDto item = items.get(i);
+            responses.add(existing[i] != null ? toDuplicateResponse(existing[i])
+                    : toPresignResponse(mediaStorage.createUploadUrl(storageKeys.get(i), item.getMime(),
+                            item.getBytes(), item.getContentSha256(), ttl)));
+        }
+        return MediaBatchPresignResponseDto.builder().items(responses).build();
+    }
+
+    /**
+     * マルチパートアップロードを開始。
+     * <p>
+     * RBAC制御あり。ストレージ一意キー生成・パートサイズの決定を行い、先頭から {@code presign-batch-size} 件の
+     * パートの署名付きURLを返す。全パートのアップロード後に {@link #completeMultipartUpload} で完了し、
+     * {@link #register} で登録する。
+     * </p>
+     *
+     * @param dto         アップロードリクエスト情報
+     * @param currentUser 操作ユーザー
+     * @return アップロードID・パート情報
+     * @throws com.example.backend.exception.AccessDeniedException 権限不足
+     * @throws java.lang.IllegalArgumentException                ファイルサイズが上限を超える場合
+     */
+    @Transactional(readOnly = true)
+    public MediaMultipartInitResponseDto initiateMultipartUpload(MediaMultipartInitRequestDto dto,
+            User currentUser) {
+        mediaPolicy.checkCreate(currentUser.getRole(), currentUser.getId(), null, currentUser.getId());
+        if (dto.getBytes() > multipartProperties.getMaxBytes()) {
+            throw new IllegalArgumentException("File is too large for multipart upload: " + dto.getBytes());
+        }
+
+        long partSize = resolvePartSize(dto.getBytes());
+        int partCount = (int) Math.ceilDiv(dto.getBytes(), partSize);
+        String storageKey = generateUniqueStorageKey(dto.getFilename());
+        String uploadId = mediaStorage.createMultipartUpload(storageKey, dto.getMime());
+        int initialParts = Math.min(partCount, Math.max(1, multipartProperties.getPresignBatchSize()));
+        List<Integer> partNumbers = IntStream.rangeClosed(1, initialParts).boxed().toList();
+
+        return MediaMultipartInitResponseDto.builder()
+                .storageKey(storageKey)
+                .uploadId(uploadId)
+                .partSize(partSize)
+                .partCount(partCount)
+                .parts(presignParts(storageKey, uploadId, partNumbers))
+                .build();
+    }
+
+    /**
+     * マルチパートアップロードのパートの署名付きURLを発行。
+     * <p>
+     * 残りのパートの取得・期限切れ後の再開に利用。
+     * </p>
+     *
+     * @param dto         パート情報
+     * @param currentUser 操作ユーザー
+     * @return パートごとの署名付きURL
+     * @throws com.example.backend.exception.AccessDeniedException 権限不足
+     */
+    public MediaMultipartPartsResponseDto createPartUploadUrls(MediaMultipartPartsRequestDto dto,
+            User currentUser) {
+        mediaPolicy.checkCreate(currentUser.getRole(), currentUser.getId(), null, currentUser.getId());
+        return MediaMultipartPartsResponseDto.builder()
+                .parts(presignParts(dto.getStorageKey(), dto.getUploadId(), dto.getPartNumbers()))
                 .build();
     }
 
+    /**
+     * マルチパートアップロードを完了（パートを1つのオブジェクトに結合）。
+     *
+     * @param dto         アップロード済みのパート情報
+     * @param currentUser 操作ユーザー
+     * @throws com.example.backend.exception.AccessDeniedException 権限不足
+     * @throws java.lang.IllegalArgumentException                アップロードが存在しない場合
+     * @throws java.lang.IllegalStateException                   ストレージ連携失敗時（パートの不足・ETag不一致を含む）
+     */
+    public void completeMultipartUpload(MediaMultipartCompleteRequestDto dto, User currentUser) {
+        mediaPolicy.checkCreate(currentUser.getRole(), currentUser.getId(), null, currentUser.getId());
+        // S3 はパート番号の昇順を要求する
+        List<MediaStorage.CompletedPart> parts = dto.getParts().stream()
+                .sorted(Comparator.comparing(MediaMultipartCompleteRequestDto.Part::getPartNumber))
+                .map(part -> new MediaStorage.CompletedPart(part.getPartNumber(), part.getEtag()))
+                .toList();
+        try {
+            mediaStorage.completeMultipartUpload(dto.getStorageKey(), dto.getUploadId(), parts);
+        } catch (UploadNotFoundException e) {
+            throw new IllegalArgumentException("Multipart upload not found: " + dto.getUploadId());
+        } catch (StorageException e) {
+            throw new IllegalStateException("Failed to complete multipart upload", e);
+        }
+    }
+
+    /**
+     * マルチパートアップロードを中止（アップロード済みのパートを削除）。
+     *
+     * @param dto         中止するアップロード
+     * @param currentUser 操作ユーザー
+     * @throws com.example.backend.exception.AccessDeniedException 権限不足
+     */
+    public void abortMultipartUpload(MediaMultipartAbortRequestDto dto, User currentUser) {
+        mediaPolicy.checkCreate(currentUser.getRole(), currentUser.getId(), null, currentUser.getId());
+        mediaStorage.abortMultipartUpload(dto.getStorageKey(), dto.getUploadId());
+    }
+
     /**
      * presign後のメディア情報を登録。
      * <p>
      * RBAC制御あり。ストレージ上の存在検証・重複チェック。
+     * 登録済みのstorageKey（presignで返された既存のオブジェクト）は、同じ SHA-256 を指定した場合のみ共有して登録する。
+     * SHA-256 はストレージが検証した値だけを記録する。
+     * 存在検証はトランザクション外で行い、参照数の確保（行ロック）・重複の再確認・INSERTを短いトランザクションで行う。
      * </p>
      * 
      * @param dto         登録リクエスト情報
      * @param currentUser 操作ユーザー
      * @return 登録済みメディア情報
      * @throws com.example.backend.exception.MediaInUseException storageKey重複時
-     * @throws java.lang.IllegalArgumentException                ストレージ上にオブジェクトが存在しない場合
+     * @throws java.lang.IllegalArgumentException                ストレージ上にオブジェクトが存在しない・SHA-256 が内容と一致しない場合
      * @throws java.lang.IllegalStateException                   ストレージ検証失敗時
      */
-    @Transactional
     public MediaResponseDto register(MediaCreateRequestDto dto, User currentUser) {
         mediaPolicy.checkCreate(currentUser.getRole(), currentUser.getId(), null, currentUser.getId());
+        // 登録済みの場合はストレージ検証の前に拒否（登録のトランザクションで再確認する）
+        checkNotRegistered(dto);
 
-        if (mediaRepository.existsByStorageKey(dto.getStorageKey())) {
-            throw new MediaInUseException("error.media.storageKey.duplicate");
-        }
-
+        // ストレージ上の存在検証はトランザクション外で行い、待つ間DB接続・行ロックを保持しない
+        String verifiedSha256;
         try {
-            mediaStorage.ensureObjectExists(dto.getStorageKey());
+            verifiedSha256 = mediaStorage.findContentSha256(dto.getStorageKey());
         } catch (ObjectNotFoundException e) {
             throw new IllegalArgumentException("Uploaded object not found for storageKey: " + dto.getStorageKey());
         } catch (StorageException e) {
             throw new IllegalStateException("Failed to validate uploaded media", e);
         }
+        if (dto.getContentSha256() != null && verifiedSha256 != null
+                && !dto.getContentSha256().equals(verifiedSha256)) {
+            throw new IllegalArgumentException("contentSha256 does not match the uploaded object");
+        }
 
-        Media media = Media.builder()
-                .filename(dto.getFilename())
-                .storageKey(dto.getStorageKey())
-                .mime(dto.getMime())
-                .bytes(dto.getBytes())
-                .width(dto.getWidth())
-                .height(dto.getHeight())
-                .altText(dto.getAltText())
-                .createdBy(currentUser)
+        return transactionTemplate.execute(status -> {
+            // 参照数の行ロックを先に取り、同じキーの並行した登録と直列化してから重複を確認する。
+            // 削除中（参照数が 0 になった）オブジェクトは登録できない
+            if (!mediaObjectRepository.acquire(dto.getStorageKey())) {
+                throw new IllegalArgumentException(
+                        "Uploaded object not found for storageKey: " + dto.getStorageKey());
+            }
+            checkNotRegistered(dto);
+
+            Media media = toMedia(dto, currentUser);
+            media.setContentSha256(verifiedSha256);
+            Media saved = mediaRepository.save(media);
+            // 縮小版の生成はコミット後に別スレッドで行う（MediaVariantService）
+            eventPublisher.publishEvent(new MediaRegisteredEvent(saved.getId()));
+            return mediaMapper.toResponseDto(saved, buildPublicUrl(saved));
+        });
+    }
+
+    /**
+     * storageKey が登録済みでないことを確認（同じ SHA-256 を指定した共有の登録は許可）。
+     *
+     * @param dto 登録リクエスト情報
+     * @throws com.example.backend.exception.MediaInUseException storageKey重複時
+     */
+    private void checkNotRegistered(MediaCreateRequestDto dto) {
+        if (mediaRepository.existsByStorageKey(dto.getStorageKey()) && (dto.getContentSha256() == null
+                || !mediaRepository.existsByStorageKeyAndContentSha256(dto.getStorageKey(), dto.getContentSha256()))) {
+            throw new MediaInUseException(ERROR_DUPLICATE);
+        }
+    }
+
+    /**
+     * presign後の複数メディア情報をまとめて登録。
+     * <p>
+     * RBAC制御あり。重複チェックは1クエリ、ストレージ上の存在検証は並行して行い（{@link MediaObjectChecker}）、
+     * 検証を通ったものだけを1回のバッチでINSERTする。検証に失敗した項目はエラーコードを返し、他の項目は登録する。
+     * 存在検証はトランザクション外で行い、重複の再確認・参照数の確保・INSERTのみを短いトランザクションで行う。
+     * 登録済みのオブジェクトの共有・SHA-256 の記録は行わない（{@link #register} を使う）。
+     * <ul>
+     * <li>error.media.storageKey.duplicate: 登録済み、またはリクエスト内で重複（2件目以降）</li>
+     * <li>error.media.object.notFound: ストレージ上にオブジェクトが存在しない（削除中を含む）</li>
+     * <li>error.media.storage.unavailable: ストレージ検証失敗</li>
+     * </ul>
+     * </p>
+     *
+     * @param items       登録リクエスト情報
+     * @param currentUser 操作ユーザー
+     * @return 項目ごとの登録結果（リクエストと同じ順序）
+     * @throws com.example.backend.exception.AccessDeniedException 権限不足
+     */
+    public MediaBatchRegisterResponseDto registerBatch(List<MediaCreateRequestDto> items, User currentUser) {
+        mediaPolicy.checkCreate(currentUser.getRole(), currentUser.getId(), null, currentUser.getId());
+
+        String[] errors = new String[items.size()];
+        Set<String> requestedKeys = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (requestedKeys.add(items.get(i).getStorageKey())) {
+                candidates.add(i);
+            } else {
+                errors[i] = ERROR_DUPLICATE;
+            }
+        }
+        // 登録済みのキーはストレージ検証の前に除外（登録のトランザクションで再確認する）
+        candidates = excludeRegistered(items, candidates, errors);
+
+        // ストレージ上の存在検証（最大で件数分のHEAD）はトランザクション外で行い、待つ間DB接続を保持しない
+        Map<String, MediaObjectChecker.Result> checks = mediaObjectChecker
+                .checkAll(candidates.stream().map(i -> items.get(i).getStorageKey()).toList());
+        List<Integer> found = new ArrayList<>();
+        for (int i : candidates) {
+            switch (checks.get(items.get(i).getStorageKey())) {
+                case NOT_FOUND -> errors[i] = ERROR_OBJECT_NOT_FOUND;
+                case FAILED -> errors[i] = ERROR_STORAGE_UNAVAILABLE;
+                case FOUND -> found.add(i);
+            }
+        }
+
+        Media[] registered = new Media[items.size()];
+        Integer inserted = transactionTemplate
+                .execute(status -> insertBatch(items, found, errors, registered, currentUser));
+        int registeredCount = inserted != null ? inserted : 0;
+
+        List<MediaBatchRegisterResponseDto.Item> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(MediaBatchRegisterResponseDto.Item.builder()
+                    .index(i)
+                    .storageKey(items.get(i).getStorageKey())
+                    .media(registered[i] != null
+                            ? mediaMapper.toResponseDto(registered[i], buildPublicUrl(registered[i]))
+                            : null)
+                    .error(errors[i])
+                    .build());
+        }
+        return MediaBatchRegisterResponseDto.builder()
+                .items(results)
+                .registered(registeredCount)
+                .failed(items.size() - registeredCount)
                 .build();
+    }
 
-        Media saved = mediaRepository.save(media);
-        return mediaMapper.toResponseDto(saved, buildPublicUrl(saved));
+    /**
+     * 一括登録のうち、ストレージ検証を通った項目を登録（登録のトランザクション内で呼ぶ）。
+     * <p>
+     * 参照数を先に確保して（行ロック）同じキーの並行した登録と直列化してから、検証中に他のリクエストが登録したキーを
+     * 重複として除外し（確保した参照は戻す）、残りを1回のバッチでINSERTする。
+     * </p>
+     *
+     * @param items       登録リクエスト情報
+     * @param found       ストレージ上に存在した項目の位置
+     * @param errors      項目ごとのエラーコード（登録できなかった項目に設定する）
+     * @param registered  項目ごとの登録結果（登録した項目に設定する）
+     * @param currentUser 操作ユーザー
+     * @return 登録した件数
+     */
+    private int insertBatch(List<MediaCreateRequestDto> items, List<Integer> found, String[] errors,
+            Media[] registered, User currentUser) {
+        boolean[] acquired = mediaObjectRepository.acquireAll(
+                found.stream().map(i -> items.get(i).getStorageKey()).toList());
+        List<Integer> locked = new ArrayList<>();
+        for (int j = 0; j < found.size(); j++) {
+            if (acquired[j]) {
+                locked.add(found.get(j));
+            } else {
+                errors[found.get(j)] = ERROR_OBJECT_NOT_FOUND;
+            }
+        }
+        List<Integer> remaining = excludeRegistered(items, locked, errors);
+        // 重複だった項目の参照は戻す（登録済みのメディアが参照しているため 0 にはならない）
+        locked.stream()
+                .filter(i -> errors[i] != null)
+                .forEach(i -> mediaObjectRepository.release(items.get(i).getStorageKey()));
+
+        List<Media> toInsert = new ArrayList<>();
+        for (int i : remaining) {
+            registered[i] = toMedia(items.get(i), currentUser);
+            toInsert.add(registered[i]);
+        }
+
+        mediaBatchRepository.insertAll(toInsert);
+        // 縮小版の生成はコミット後に別スレッドで行う（MediaVariantService）
+        toInsert.forEach(media -> eventPublisher.publishEvent(new MediaRegisteredEvent(media.getId())));
+        return toInsert.size();
+    }
+
+    /**
+     * 登録済みのキーの項目を重複として除外（1クエリ）。
+     *
+     * @param items   登録リクエスト情報
+     * @param indexes 対象の項目の位置
+     * @param errors  項目ごとのエラーコード（除外した項目に設定する）
+     * @return 未登録の項目の位置
+     */
+    private List<Integer> excludeRegistered(List<MediaCreateRequestDto> items, List<Integer> indexes,
+            String[] errors) {
+        if (indexes.isEmpty()) {
+            return indexes;
+        }
+        Set<String> existingKeys = new HashSet<>(mediaRepository.findExistingStorageKeys(
+                indexes.stream().map(i -> items.get(i).getStorageKey()).toList()));
+        List<Integer> remaining = new ArrayList<>();
+        for (int i : indexes) {
+            if (existingKeys.contains(items.get(i).getStorageKey())) {
+                errors[i] = ERROR_DUPLICATE;
+            } else {
+                remaining.add(i);
+            }
+        }
+        return remaining;
     }
 
     /**
@@ -211,7 +564,8 @@ public class MediaService {
     /**
      * メディアを削除。
      * <p>
-     * RBAC制御あり。投稿で参照されている場合はMediaInUseException。ストレージ削除失敗時は通知。
+     * RBAC制御あり。投稿で参照されている場合はMediaInUseException。
+     * オブジェクトは同じ内容の他のメディアと共有するため、参照するメディアがなくなった場合のみ削除する。ストレージ削除失敗時は通知。
      * </p>
      * 
      * @param id          メディアID
@@ -229,8 +583,16 @@ public class MediaService {
             throw new MediaInUseException("error.media.inUse.cover");
         }
 
+        // 縮小版の行は ON DELETE CASCADE で削除される。オブジェクトは行の削除前にキーを控えて消す
+        List<String> variantKeys = media.getVariants().stream().map(MediaVariant::getStorageKey).toList();
         mediaRepository.delete(media);
+        if (mediaObjectRepository.release(media.getStorageKey()) > 0) {
+            return;
+        }
         try {
+            for (String variantKey : variantKeys) {
+                mediaStorage.deleteObject(variantKey);
+            }
             mediaStorage.deleteObject(media.getStorageKey());
         } catch (StorageException e) {
             // Object deletion failures should not rollback DB deletion, but notify clients.
@@ -250,6 +612,120 @@ public class MediaService {
         return mediaProperties.getPresignTtl() != null ? mediaProperties.getPresignTtl() : Duration.ofMinutes(15);
     }
 
+    private MediaPresignResponseDto toPresignResponse(MediaStorage.PresignedUpload presign) {
+        return MediaPresignResponseDto.builder()
+                .uploadUrl(presign.url())
+                .storageKey(presign.storageKey())
+                .headers(presign.headers())
+                .expiresAt(presign.expiresAt())
+                .build();
+    }
+
+    private MediaPresignResponseDto toDuplicateResponse(Media existing) {
+        return MediaPresignResponseDto.builder()
+                .storageKey(existing.getStorageKey())
+                .duplicate(true)
+                .existingMedia(mediaMapper.toResponseDto(existing, buildPublicUrl(existing)))
+                .build();
+    }
+
+    /**
+     * 内容の SHA-256・サイズが同じで、操作ユーザーが参照できるメディアを探す（全件まとめて1クエリ）。
+     * <p>
+     * AUTHORは自分のメディアのみ（一覧と同じ範囲）。複数ある場合は最初に登録されたもの。
+     * </p>
+     *
+     * @param items       アップロードリクエスト情報
+     * @param currentUser 操作ユーザー
+     * @return 項目ごとの既存メディア（ない場合は null、itemsと同じ順序）
+     */
+    private Media[] findDuplicates(List<MediaPresignRequestDto> items, User currentUser) {
+        Media[] duplicates = new Media[items.size()];
+        Set<String> hashes = new HashSet<>();
+        items.stream().map(MediaPresignRequestDto::getContentSha256).filter(Objects::nonNull).forEach(hashes::add);
+        if (hashes.isEmpty()) {
+            return duplicates;
+        }
+        List<Media> candidates = mediaRepository.findByContentSha256In(hashes).stream()
+                .filter(media -> currentUser.getRole() != User.Role.AUTHOR
+                        || media.getCreatedBy().getId().equals(currentUser.getId()))
+                .sorted(Comparator.comparing(Media::getId))
+                .toList();
+        for (int i = 0; i < items.size(); i++) {
+            MediaPresignRequestDto item = items.get(i);
+            duplicates[i] = candidates.stream()
+                    .filter(media -> media.getContentSha256().equals(item.getContentSha256())
+                            && media.getBytes().equals(item.getBytes()))
+                    .findFirst()
+                    .orElse(null);
+        }
+        return duplicates;
+    }
+
+    private List<MediaMultipartPartDto> presignParts(String storageKey, String uploadId, List<Integer> partNumbers) {
+        return mediaStorage.createPartUploadUrls(storageKey, uploadId, partNumbers, resolveTtl()).stream()
+                .map(part -> MediaMultipartPartDto.builder()
+                        .partNumber(part.partNumber())
+                        .uploadUrl(part.url())
+                        .expiresAt(part.expiresAt())
+                        .build())
+                .toList();
+    }
+
+    // 設定のパートサイズで10000パートを超える場合は、10000パートに収まる最小のサイズ（1MB単位）にする
+    private long resolvePartSize(long bytes) {
+        long partSize = Math.max(MIN_PART_SIZE, multipartProperties.getPartSize());
+        if (Math.ceilDiv(bytes, partSize) > MAX_PARTS) {
+            long mb = 1024L * 1024;
+            partSize = Math.ceilDiv(Math.ceilDiv(bytes, MAX_PARTS), mb) * mb;
+        }
+        return partSize;
+    }
+
+    private Media toMedia(MediaCreateRequestDto dto, User currentUser) {
+        return Media.builder()
+                .filename(dto.getFilename())
+                .storageKey(dto.getStorageKey())
+                .mime(dto.getMime())
+                .bytes(dto.getBytes())
+                .width(dto.getWidth())
+                .height(dto.getHeight())
+                .altText(dto.getAltText())
+                .createdBy(currentUser)
+                .build();
+    }
+
+    /**
+     * 複数ファイルの一意なストレージキーを生成。
+     * <p>
+     * 重複チェックは全件まとめて1クエリ。重複したキーだけを作り直し、5回まで繰り返す。
+     * </p>
+     *
+     * @param filenames 元のファイル名
+     * @return 一意なストレージキー（filenamesと同じ順序）
+     * @throws java.lang.IllegalStateException 5回重複時
+     */
+    private List<String> generateUniqueStorageKeys(List<String> filenames) {
+        List<String> keys = new ArrayList<>(filenames.stream().map(this::buildStorageKey).toList());
+        for (int attempt = 1; ; attempt++) {
+            Set<String> taken = new HashSet<>(mediaRepository.findExistingStorageKeys(keys));
+            Set<String> seen = new HashSet<>();
+            boolean unique = true;
+            for (int i = 0; i < keys.size(); i++) {
+                if (taken.contains(keys.get(i)) || !seen.add(keys.get(i))) {
+                    keys.set(i, buildStorageKey(filenames.get(i)));
+                    unique = false;
+                }
+            }
+            if (unique) {
+                return keys;
+            }
+            if (attempt >= 5) {
+                throw new IllegalStateException("Failed to generate unique storage key");
+            }
+        }
+    }
+
     /**
      * 一意なストレージキーを生成。
      * <p>
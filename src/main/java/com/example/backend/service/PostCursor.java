@@ -0,0 +1,53 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 公開投稿一覧のキーセットページング用カーソル。
+ * <p>
+ * 直前ページ末尾の (publishedAt, id) を保持し、クライアントには不透明な Base64URL 文字列として渡す。
+ * </p>
+ *
+ * @param publishedAt 直前ページ末尾の公開日時
+ * @param id          直前ページ末尾の投稿ID（同一公開日時の順序付け用）
+ */
+public record PostCursor(LocalDateTime publishedAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * クライアントへ返す文字列に変換。
+     *
+     * @return Base64URL（パディングなし）でエンコードしたカーソル
+     */
+    public String encode() {
+        String raw = publishedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * クライアントから受け取った文字列を復元。
+     *
+     * @param cursor エンコード済みカーソル
+     * @return カーソル
+     * @throws InvalidCursorException 形式が不正な場合
+     */
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new PostCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.valueOf(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -7,9 +7,14 @@ import com.example.backend.dto.post.PostMapper;
 import com.example.backend.entity.Post;
 import com.example.backend.entity.Tag;
 import com.example.backend.entity.User;
+import com.example.backend.event.PostChangedEvent;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.security.PostPolicy;
+import com.example.backend.service.counter.PostCounterService;
+import com.example.backend.service.content.TipTapHtmlRenderer;
+import com.example.backend.service.search.PostSearchIndexer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -20,6 +25,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.time.Clock;
 import java.util.Arrays;
 
@@ -30,10 +36,11 @@ import java.util.Arrays;
  * <ul>
  * <li>検索: タイトル・スラッグ・ステータス・著者・カテゴリ・タグ・ページング・RBAC対応</li>
  * <li>詳細: ID指定・RBAC対応</li>
- * <li>作成: RBAC・著者ID必須・タグ付与</li>
- * <li>更新: RBAC・タグ・公開日制御</li>
+ * <li>作成: RBAC・著者ID必須・タグ付与・本文HTML/検索ベクトル生成</li>
+ * <li>更新: RBAC・タグ・公開日制御・本文HTML/検索ベクトル再生成</li>
  * <li>削除: RBAC・存在しない場合は例外</li>
  * </ul>
+ * 作成・更新・削除ではタグ・カテゴリ別投稿数も同じトランザクションで更新する。
  * 
  * @see com.example.backend.repository.PostRepository
  * @see com.example.backend.security.PostPolicy
@@ -46,6 +53,10 @@ public class PostService {
     private final PostMapper postMapper;
     private final PostPolicy postPolicy;
     private final TagService tagService;
+    private final TipTapHtmlRenderer htmlRenderer;
+    private final PostSearchIndexer postSearchIndexer;
+    private final PostCounterService postCounterService;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
 
     /**
@@ -61,7 +72,7 @@ public class PostService {
      */
     @Transactional(readOnly = true)
     public Optional<PostResponseDto> findByIdWithAccessControl(Long id, User user) {
-        Optional<Post> postOpt = postRepository.findById(id);
+        Optional<Post> postOpt = postRepository.findDetailById(id);
         if (postOpt.isEmpty())
             return Optional.empty();
         Post post = postOpt.get();
@@ -133,6 +144,7 @@ public class PostService {
         if (user.getRole() == User.Role.AUTHOR) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("author").get("id"), user.getId()));
         }
+        // 一覧用フェッチプラン（ToOneはJOIN、タグはページ分を一括取得）でN+1を回避
         return postRepository.findAll(spec, pageable).map(postMapper::toResponseDto);
     }
 
@@ -156,6 +168,7 @@ public class PostService {
         postPolicy.checkCreate(user.getRole(), dto.getAuthorId(), null, user.getId());
         Post post = new Post();
         postMapper.applyToEntity(post, dto);
+        renderContentHtml(post);
 
         // 過去の日付が設定されている場合はnullに設定
         if (post.getPublishedAt() != null && post.getPublishedAt().isBefore(LocalDateTime.now(clock))) {
@@ -163,7 +176,11 @@ public class PostService {
         }
 
         applyTags(post, dto.getTags(), dto.getTagIds());
+        postCounterService.track(PostCounterService.State.NONE, post);
         Post saved = postRepository.save(post);
+        postSearchIndexer.index(saved);
+        eventPublisher.publishEvent(
+                new PostChangedEvent(saved.getId(), Set.of(saved.getSlug()), saved.isPublishedCounted()));
         return postMapper.toResponseDto(saved);
     }
 
@@ -187,11 +204,20 @@ public class PostService {
                 throw new com.example.backend.exception.AccessDeniedException("Authors cannot publish posts");
             }
             postPolicy.checkUpdate(user.getRole(), authorId, dto.getAuthorId(), user.getId());
+            String previousSlug = post.getSlug();
+            PostCounterService.State previousCounts = postCounterService.stateOf(post);
             postMapper.applyToEntity(post, dto);
+            renderContentHtml(post);
             applyTags(post, dto.getTags(), dto.getTagIds());
             if ("PUBLISHED".equals(dto.getStatus()) && post.getPublishedAt() == null) {
                 post.setPublishedAt(LocalDateTime.now(clock));
             }
+            // タグのみの変更でも更新日時を進める（公開詳細のETagに使用するため）
+            post.setUpdatedAt(LocalDateTime.now(clock));
+            postCounterService.track(previousCounts, post);
+            postSearchIndexer.index(post);
+            eventPublisher.publishEvent(PostChangedEvent.of(post.getId(), previousSlug, post.getSlug(),
+                    previousCounts.published() || post.isPublishedCounted()));
             return postMapper.toResponseDto(post);
         });
     }
@@ -213,7 +239,10 @@ public class PostService {
                 .orElseThrow(() -> new com.example.backend.exception.PostNotFoundException(id));
         Long authorId = (post.getAuthor() != null) ? post.getAuthor().getId() : null;
         postPolicy.checkDelete(user.getRole(), authorId, null, user.getId());
+        PostCounterService.State previousCounts = postCounterService.stateOf(post);
+        postCounterService.untrack(previousCounts);
         postRepository.deleteById(id);
+        eventPublisher.publishEvent(new PostChangedEvent(id, Set.of(post.getSlug()), previousCounts.published()));
     }
 
     // 投稿のアクセス権判定（RBAC）
@@ -226,6 +255,12 @@ public class PostService {
         return false;
     }
 
+    // 本文JSONからHTMLを生成して保存（閲覧のたびにレンダリングしないため）
+    private void renderContentHtml(Post post) {
+        post.setContentHtml(htmlRenderer.render(post.getContentJson()));
+        post.setContentHtmlVersion(TipTapHtmlRenderer.VERSION);
+    }
+
     private void applyTags(Post post, List<String> tagSlugs, List<Long> tagIds) {
         List<Tag> tags = new ArrayList<>();
         if (tagSlugs != null && !tagSlugs.isEmpty()) {
@@ -236,5 +271,4 @@ public class PostService {
         }
         post.setTags(tags);
     }
-
 }
@@ -3,12 +3,12 @@ package com.example.backend.service;
 import com.example.backend.dto.category.CategoryMapper;
 import com.example.backend.dto.category.CategoryPublicResponseDto;
 import com.example.backend.repository.CategoryRepository;
+import com.example.backend.service.cache.PublicContentVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Clock;
-import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
 
@@ -30,19 +30,31 @@ public class PublicCategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
-    private final Clock clock;
+    private final PublicContentVersion contentVersion;
+
+    /**
+     * 公開カテゴリ一覧のETagを取得。
+     * <p>
+     * コンテンツバージョンから生成するため、トランザクション・DBアクセスは発生しない。
+     * </p>
+     *
+     * @return 引用符付きの強いETag
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getPublicCategoriesEtag() {
+        return contentVersion.listEtag("categories");
+    }
 
     /**
      * 公開投稿に紐づくカテゴリ一覧を取得。
      * <p>
-     * 認証不要。現在時刻で公開状態の投稿に紐づくカテゴリのみ返却。sort_order昇順。
+     * 認証不要。公開状態の投稿に紐づくカテゴリのみ返却。sort_order昇順。
      * </p>
      * 
      * @return 公開カテゴリのリスト（sort_order昇順）
      */
     public List<CategoryPublicResponseDto> getPublicCategories() {
-        LocalDateTime now = LocalDateTime.now(clock);
-        return categoryRepository.findPublicCategories(now).stream()
+        return categoryRepository.findPublicCategories().stream()
                 .map(categoryMapper::toPublicResponseDto)
                 .sorted(Comparator.comparing(CategoryPublicResponseDto::getSortOrder))
                 .toList();
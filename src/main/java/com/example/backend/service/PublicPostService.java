@@ -1,20 +1,32 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.common.CursorSliceResponse;
 import com.example.backend.dto.post.PostMapper;
 import com.example.backend.dto.post.PostPublicDetailResponseDto;
 import com.example.backend.dto.post.PostPublicResponseDto;
 import com.example.backend.entity.Post;
 import com.example.backend.exception.PostNotFoundException;
 import com.example.backend.repository.PostRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.backend.repository.PostViewCountRepository;
+import com.example.backend.service.cache.PublicContentVersion;
+import com.example.backend.service.cache.PublicPostCache;
+import com.example.backend.service.view.PostViewCounter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 公開投稿サービス。
@@ -22,20 +34,91 @@ import java.time.LocalDateTime;
  * 認証不要の公開API向けに、公開済み投稿の一覧・詳細取得を提供。
  * <ul>
  * <li>一覧: 公開状態・公開日時済みの投稿のみ返却、タグ・カテゴリでフィルタ可</li>
- * <li>詳細: スラッグ指定、公開済みのみ返却</li>
+ * <li>カーソル一覧: (publishedAt, id) によるキーセットページング、総件数なし</li>
+ * <li>詳細: スラッグ指定、公開済みのみ返却（閲覧数を記録）</li>
+ * <li>人気: 閲覧数の多い順</li>
  * </ul>
+ * 結果は {@link PublicPostCache} に保持し、キャッシュヒット時はトランザクション（DB接続）を開始しない。
+ * ETagは {@link PublicContentVersion} から生成し、本文を読み込まずに検証できる。
  * 
  * @see com.example.backend.repository.PostRepository
+ * @see com.example.backend.service.cache.PublicPostCache
  */
 @Service
-@RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class PublicPostService {
 
+    /**
+     * カーソルページングの1回あたり最大件数。
+     */
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * 人気投稿の最大件数。
+     */
+    static final int MAX_POPULAR_SIZE = 50;
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+
+    // Fluent Query には @EntityGraph が効かないため、一覧用フェッチプラン（Post.GRAPH_LIST）と同じ関連を指定する
+    private static final String[] LIST_FETCH_PATHS = { "coverMedia", "author", "author.avatarMedia", "category" };
+
     private final PostRepository postRepository;
     private final PostMapper postMapper;
+    private final PublicPostCache publicPostCache;
+    private final PublicContentVersion contentVersion;
+    private final PostViewCounter viewCounter;
+    private final PostViewCountRepository viewCountRepository;
+    private final TransactionTemplate readOnlyTransaction;
     private final Clock clock;
 
+    public PublicPostService(PostRepository postRepository, PostMapper postMapper, PublicPostCache publicPostCache,
+            PublicContentVersion contentVersion, PostViewCounter viewCounter,
+            PostViewCountRepository viewCountRepository, PlatformTransactionManager transactionManager, Clock clock) {
+        this.postRepository = postRepository;
+        this.postMapper = postMapper;
+        this.publicPostCache = publicPostCache;
+        this.contentVersion = contentVersion;
+        this.viewCounter = viewCounter;
+        this.viewCountRepository = viewCountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clock = clock;
+    }
+
+    /**
+     * 公開投稿一覧（ページ・カーソル方式共通）のETagを取得。
+     * <p>
+     * 書き込みのたびに進むコンテンツバージョンから生成するため、DBアクセスは発生しない。
+     * </p>
+     *
+     * @return 引用符付きの強いETag
+     */
+    public String getPublicPostsEtag() {
+        return contentVersion.listEtag("posts");
+    }
+
+    /**
+     * 公開投稿の閲覧を記録し、詳細のETagを取得。
+     * <p>
+     * 投稿ID・更新日時（版情報のみの軽量クエリ）と、タグ・カテゴリ・著者の参照バージョンから生成する。
+     * 条件付きリクエストで304を返す場合も閲覧として数えるため、本文の生成前に記録する。
+     * </p>
+     *
+     * @param slug 投稿スラッグ
+     * @return 引用符付きの強いETag（未公開・存在しない場合は空で、閲覧も記録しない）
+     */
+    public Optional<String> viewPublicPost(String slug) {
+        long reference = contentVersion.currentReference();
+        LocalDateTime now = LocalDateTime.now(clock);
+        Optional<PostRepository.VersionView> found = postRepository.findVersionBySlugAndStatusAndPublishedAtBefore(
+                slug, Post.Status.PUBLISHED, now);
+        found.ifPresent(version -> viewCounter.record(version.getId()));
+        return found.map(version -> "\"post-" + version.getId()
+                        + "-" + version.getUpdatedAt().toEpochSecond(ZoneOffset.UTC)
+                        + "." + version.getUpdatedAt().getNano()
+                        + "-" + reference + "\"");
+    }
+
     /**
      * 公開済み投稿の一覧を取得。
      * <p>
@@ -51,7 +134,69 @@ public class PublicPostService {
     public Page<PostPublicResponseDto> getPublicPosts(Pageable pageable, String tagSlug, String categorySlug,
             String categoriesCsv) {
         LocalDateTime now = LocalDateTime.now(clock);
+        PublicPostCache.ListKey key = PublicPostCache.ListKey.of(pageable, tagSlug, categorySlug, categoriesCsv);
+        return publicPostCache.getList(key, () -> readOnlyTransaction
+                .execute(status -> loadPublicPosts(pageable, tagSlug, categorySlug, categoriesCsv, now)));
+    }
+
+    private Page<PostPublicResponseDto> loadPublicPosts(Pageable pageable, String tagSlug, String categorySlug,
+            String categoriesCsv, LocalDateTime now) {
+        Specification<Post> spec = publicPostsSpec(tagSlug, categorySlug, categoriesCsv, now);
+
+        Page<Post> posts = postRepository.findAll(spec, pageable);
 
+        return posts.map(postMapper::toPublicResponseDto);
+    }
+
+    /**
+     * 公開済み投稿の一覧をカーソル（キーセット）方式で取得。
+     * <p>
+     * (publishedAt DESC, id DESC) の順で、カーソル位置より後ろの投稿を返す。
+     * OFFSET と COUNT を発行しないため、深いページでも一定コストで取得できる。
+     * フィルタは {@link #getPublicPosts} と同じ。
+     * </p>
+     *
+     * @param cursor        直前レスポンスの nextCursor（空の場合は先頭から）
+     * @param size          取得件数（1〜{@value #MAX_CURSOR_PAGE_SIZE} に丸める）
+     * @param tagSlug       タグスラッグ（フィルタ用、null可）
+     * @param categorySlug  カテゴリスラッグ（フィルタ用、null可）
+     * @param categoriesCsv カテゴリスラッグ複数（カンマ区切り, null可）
+     * @return 公開投稿のスライス
+     * @throws com.example.backend.exception.InvalidCursorException カーソルが不正な場合
+     */
+    public CursorSliceResponse<PostPublicResponseDto> getPublicPostsByCursor(String cursor, int size,
+            String tagSlug, String categorySlug, String categoriesCsv) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        PostCursor after = cursor != null && !cursor.isBlank() ? PostCursor.decode(cursor) : null;
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+
+        Specification<Post> spec = publicPostsSpec(tagSlug, categorySlug, categoriesCsv, now);
+        if (after != null) {
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.lessThan(root.get("publishedAt"), after.publishedAt()),
+                    cb.and(cb.equal(root.get("publishedAt"), after.publishedAt()),
+                            cb.lessThan(root.get("id"), after.id()))));
+        }
+        Specification<Post> keysetSpec = spec;
+
+        return readOnlyTransaction.execute(status -> {
+            // 1件多く取得して続きの有無を判定する
+            List<Post> posts = postRepository.findBy(keysetSpec,
+                    q -> q.project(LIST_FETCH_PATHS).sortBy(KEYSET_SORT).limit(limit + 1).all());
+            boolean hasNext = posts.size() > limit;
+            List<Post> content = hasNext ? posts.subList(0, limit) : posts;
+            String nextCursor = null;
+            if (hasNext) {
+                Post last = content.get(content.size() - 1);
+                nextCursor = new PostCursor(last.getPublishedAt(), last.getId()).encode();
+            }
+            return new CursorSliceResponse<>(content.stream().map(postMapper::toPublicResponseDto).toList(),
+                    limit, hasNext, nextCursor);
+        });
+    }
+
+    private Specification<Post> publicPostsSpec(String tagSlug, String categorySlug, String categoriesCsv,
+            LocalDateTime now) {
         Specification<Post> spec = (root, query, cb) -> cb.equal(root.get("status"), Post.Status.PUBLISHED);
         spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("publishedAt"), now));
 
@@ -66,10 +211,7 @@ public class PublicPostService {
         } else if (categorySlug != null && !categorySlug.isBlank()) {
             spec = spec.and((root, query, cb) -> cb.equal(root.join("category").get("slug"), categorySlug));
         }
-
-        Page<Post> posts = postRepository.findAll(spec, pageable);
-
-        return posts.map(postMapper::toPublicResponseDto);
+        return spec;
     }
 
     /**
@@ -84,8 +226,36 @@ public class PublicPostService {
      */
     public PostPublicDetailResponseDto getPublicPostBySlug(String slug) {
         LocalDateTime now = LocalDateTime.now(clock);
-        Post post = postRepository.findBySlugAndStatusAndPublishedAtBefore(slug, Post.Status.PUBLISHED, now)
-                .orElseThrow(() -> new PostNotFoundException("Post not found or not published: " + slug));
-        return postMapper.toPublicDetailResponseDto(post);
+        return publicPostCache.getDetail(slug, () -> readOnlyTransaction.execute(status -> {
+            Post post = postRepository.findBySlugAndStatusAndPublishedAtBefore(slug, Post.Status.PUBLISHED, now)
+                    .orElseThrow(() -> new PostNotFoundException("Post not found or not published: " + slug));
+            return postMapper.toPublicDetailResponseDto(post);
+        }));
+    }
+
+    /**
+     * 閲覧数の多い公開投稿を取得。
+     * <p>
+     * 認証不要。閲覧数は数秒ごとにまとめて反映されるため、直近の閲覧は順位に遅れて反映される。
+     * </p>
+     *
+     * @param size 取得件数（1〜{@value #MAX_POPULAR_SIZE} に丸める）
+     * @return 公開投稿のリスト（閲覧数降順）
+     */
+    public List<PostPublicResponseDto> getPopularPosts(int size) {
+        int limit = Math.clamp(size, 1, MAX_POPULAR_SIZE);
+        LocalDateTime now = LocalDateTime.now(clock);
+        return readOnlyTransaction.execute(status -> {
+            List<Long> ids = viewCountRepository.findPopularPublishedIds(now, limit);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, Post> posts = postRepository.findListByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity()));
+            return ids.stream()
+                    .filter(posts::containsKey)
+                    .map(id -> postMapper.toPublicResponseDto(posts.get(id)))
+                    .toList();
+        });
     }
 }
@@ -0,0 +1,124 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.post.PostMapper;
+import com.example.backend.dto.post.PostSearchResultDto;
+import com.example.backend.entity.Post;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.PostSearchRepository;
+import com.example.backend.service.cache.PublicContentVersion;
+import com.example.backend.service.content.TipTapHtmlRenderer;
+import com.example.backend.service.search.SearchSnippets;
+import com.example.backend.service.search.SearchTokenizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 公開投稿の全文検索サービス。
+ * <p>
+ * 認証不要の公開API向けに、公開済み投稿をタイトル・抜粋・本文から検索する。
+ * <ul>
+ * <li>日本語等のCJK文字はバイグラム、英数字は単語単位で一致（{@link SearchTokenizer}）</li>
+ * <li>空白区切りの複数語はAND検索</li>
+ * <li>ランク（タイトル > 抜粋 > 本文の重み）降順、スニペットに一致箇所をハイライト</li>
+ * <li>タグ・カテゴリで絞り込み可</li>
+ * </ul>
+ * 検索はGINインデックスでIDとランクのみ取得し、表示用の投稿は該当ページ分だけ読み込む。
+ * </p>
+ *
+ * @see com.example.backend.repository.PostSearchRepository
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PublicSearchService {
+
+    /**
+     * 1回の検索で扱う最大語数。
+     */
+    static final int MAX_TERMS = 8;
+
+    /**
+     * 1ページの最大件数。
+     */
+    static final int MAX_PAGE_SIZE = 50;
+
+    private final PostSearchRepository postSearchRepository;
+    private final PostRepository postRepository;
+    private final PostMapper postMapper;
+    private final TipTapHtmlRenderer htmlRenderer;
+    private final PublicContentVersion contentVersion;
+    private final Clock clock;
+
+    /**
+     * 検索結果のETagを取得（DBアクセスなし）。
+     *
+     * @return 引用符付きの強いETag
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getSearchEtag() {
+        return contentVersion.listEtag("search");
+    }
+
+    /**
+     * 公開済み投稿を全文検索。
+     *
+     * @param query        検索語（空白区切りで複数指定可、null可）
+     * @param tagSlug      タグスラッグ（フィルタ用、null可）
+     * @param categorySlug カテゴリスラッグ（フィルタ用、null可）
+     * @param pageable     ページング情報（最大{@value #MAX_PAGE_SIZE}件）
+     * @return 検索結果のページ（検索語が空の場合は空ページ）
+     */
+    public Page<PostSearchResultDto> search(String query, String tagSlug, String categorySlug, Pageable pageable) {
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE));
+        List<String> words = query == null ? List.of()
+                : Arrays.stream(query.strip().split("\\s+"))
+                        .filter(StringUtils::hasText)
+                        .distinct()
+                        .limit(MAX_TERMS)
+                        .toList();
+        List<PostSearchRepository.Term> terms = words.stream()
+                .map(SearchTokenizer::tokenize)
+                .filter(tokens -> !tokens.isEmpty())
+                .map(tokens -> new PostSearchRepository.Term(tokens, SearchTokenizer.needsPrefixMatch(tokens)))
+                .toList();
+        if (terms.isEmpty()) {
+            return Page.empty(page);
+        }
+
+        PostSearchRepository.Criteria criteria = new PostSearchRepository.Criteria(terms,
+                StringUtils.hasText(tagSlug) ? tagSlug : null,
+                StringUtils.hasText(categorySlug) ? categorySlug : null,
+                LocalDateTime.now(clock));
+        List<PostSearchRepository.Hit> hits = postSearchRepository.search(criteria, page.getOffset(),
+                page.getPageSize());
+
+        Map<Long, Post> posts = postRepository.findListByIdIn(hits.stream().map(PostSearchRepository.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<PostSearchResultDto> content = hits.stream()
+                .filter(hit -> posts.containsKey(hit.id()))
+                .map(hit -> {
+                    Post post = posts.get(hit.id());
+                    String body = htmlRenderer.extractText(post.getContentJson());
+                    String snippet = SearchSnippets.highlight(body.isEmpty() ? post.getExcerpt() : body, words);
+                    return postMapper.toSearchResultDto(post, snippet, hit.rank());
+                })
+                .toList();
+        return PageableExecutionUtils.getPage(content, page, () -> postSearchRepository.count(criteria));
+    }
+}
@@ -3,12 +3,12 @@ package com.example.backend.service;
 import com.example.backend.dto.tag.TagMapper;
 import com.example.backend.dto.tag.TagPublicResponseDto;
 import com.example.backend.repository.TagRepository;
+import com.example.backend.service.cache.PublicContentVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Clock;
-import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -28,19 +28,31 @@ public class PublicTagService {
 
     private final TagRepository tagRepository;
     private final TagMapper tagMapper;
-    private final Clock clock;
+    private final PublicContentVersion contentVersion;
+
+    /**
+     * 公開タグ一覧のETagを取得。
+     * <p>
+     * コンテンツバージョンから生成するため、トランザクション・DBアクセスは発生しない。
+     * </p>
+     *
+     * @return 引用符付きの強いETag
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getPublicTagsEtag() {
+        return contentVersion.listEtag("tags");
+    }
 
     /**
      * 公開投稿に紐づくタグ一覧を取得。
      * <p>
-     * 認証不要。現在時刻で公開状態の投稿に紐づくタグのみ返却。
+     * 認証不要。公開状態の投稿に紐づくタグのみ返却。
      * </p>
      * 
      * @return 公開タグのリスト
      */
     public List<TagPublicResponseDto> getPublicTags() {
-        LocalDateTime now = LocalDateTime.now(clock);
-        return tagRepository.findPublicTags(now).stream()
+        return tagRepository.findPublicTags().stream()
                 .map(tagMapper::toPublicResponseDto)
                 .toList();
     }
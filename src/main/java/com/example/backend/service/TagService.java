@@ -3,7 +3,9 @@ package com.example.backend.service;
 import com.example.backend.dto.tag.TagRequestDto;
 import com.example.backend.dto.tag.TagResponseDto;
 import com.example.backend.entity.Tag;
+import com.example.backend.event.TagChangedEvent;
 import com.example.backend.exception.TagNotFoundException;
+import com.example.backend.repository.PostCounterRepository;
 import com.example.backend.repository.TagRepository;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -14,6 +16,7 @@ import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +28,8 @@ public class TagService {
     private final TagRepository tagRepository;
     private final com.example.backend.security.TagPolicy tagPolicy;
     private final com.example.backend.dto.tag.TagMapper tagMapper;
+    private final PostCounterRepository postCounterRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Pattern TAG_PATTERN = Pattern
             .compile(
                     "^[\\w\\u3040-\\u309F\\u30A0-\\u30FF\\u4E00-\\u9FFF\\uAC00-\\uD7AF\\uFF00-\\uFFEF\\s\\p{Punct}/]{1,255}$");
@@ -37,8 +42,12 @@ public class TagService {
      */
     @Transactional(readOnly = true)
     public List<TagResponseDto> findAll() {
-        return tagRepository.findAll(Sort.by(Sort.Direction.ASC, "name")).stream()
-                .map(tagMapper::toResponseDto)
+        List<Tag> tags = tagRepository.findAll(Sort.by(Sort.Direction.ASC, "name"));
+        Map<Long, PostCounterRepository.Counts> counts = postCounterRepository.findAll(
+                PostCounterRepository.Kind.TAG, tags.stream().map(Tag::getId).toList());
+        return tags.stream()
+                .map(tag -> tagMapper.toResponseDto(tag,
+                        counts.getOrDefault(tag.getId(), PostCounterRepository.Counts.ZERO).total()))
                 .toList();
     }
 
@@ -59,6 +68,7 @@ public class TagService {
                 .slug(normalizedSlug)
                 .build();
         Tag saved = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(saved.getId(), Set.of(saved.getSlug())));
         return tagMapper.toResponseDto(saved);
     }
 
@@ -75,8 +85,10 @@ public class TagService {
         Tag tag = tagRepository.findById(id).orElseThrow(() -> new TagNotFoundException(id));
         String normalizedName = normalizeName(request.getName());
         String normalizedSlug = normalizeSlug(request.getSlug());
+        String previousSlug = tag.getSlug();
         tag.setName(normalizedName);
         tag.setSlug(normalizedSlug);
+        eventPublisher.publishEvent(TagChangedEvent.of(tag.getId(), previousSlug, normalizedSlug));
         return tagMapper.toResponseDto(tag);
     }
 
@@ -91,6 +103,7 @@ public class TagService {
         tagPolicy.checkDelete(role, null, null, null);
         Tag tag = tagRepository.findById(id).orElseThrow(() -> new TagNotFoundException(id));
         tagRepository.delete(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(tag.getId(), Set.of(tag.getSlug())));
     }
 
     /**
@@ -9,13 +9,18 @@ import com.example.backend.dto.user.UserUpdateRequestDto;
 import com.example.backend.entity.Media;
 import com.example.backend.entity.User;
 import com.example.backend.entity.UserStatus;
+import com.example.backend.event.UserProfileChangedEvent;
+import com.example.backend.exception.AccountDisabledException;
 import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.exception.DuplicateEmailException;
 import com.example.backend.exception.MediaNotFoundException;
 import com.example.backend.repository.MediaRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.UserPolicy;
+import com.example.backend.service.cache.PrincipalCache;
+import com.example.backend.service.session.TokenEpochService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,20 +35,38 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserService {
 
-    // Jwtから認証ユーザーを取得（コントローラー共通化用）
+    /**
+     * Jwtから認証ユーザーを取得（コントローラー共通化用）
+     * <p>
+     * {@link PrincipalCache} のスナップショットから生成したユーザーを返す（永続化コンテキスト外、認可に必要な項目のみ）。
+     * ACTIVE 以外のユーザーは、発行済みトークンが有効でも拒否する。
+     * </p>
+     *
+     * @param jwt JWT認証情報
+     * @return 認証ユーザー
+     * @throws com.example.backend.exception.AccessDeniedException 未認証・ユーザーが存在しない場合
+     * @throws AccountDisabledException                            ユーザーが ACTIVE でない場合
+     */
     public User getCurrentUser(Jwt jwt) {
         if (jwt == null) {
             throw new com.example.backend.exception.AccessDeniedException("Authentication required");
         }
-        String email = jwt.getSubject();
-        return userRepository.findByEmail(email)
+        PrincipalCache.Principal principal = principalCache
+                .get(jwt.getSubject(), email -> userRepository.findByEmail(email).map(PrincipalCache.Principal::of))
                 .orElseThrow(() -> new com.example.backend.exception.AccessDeniedException("Authentication required"));
+        if (principal.status() != UserStatus.ACTIVE) {
+            throw new AccountDisabledException("Account is disabled. Please contact an administrator.");
+        }
+        return principal.toUser();
     }
 
     private final UserRepository userRepository;
     private final MediaRepository mediaRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserPolicy userPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrincipalCache principalCache;
+    private final TokenEpochService tokenEpochService;
 
     /**
      * ユーザー作成
@@ -119,10 +142,12 @@ public class UserService {
         if (dto.role() == null || !isValidRole(dto.role())) {
             throw new com.example.backend.exception.InvalidRoleException("Invalid role");
         }
+        principalCache.evict(user.getEmail(), dto.email());
         user.setEmail(dto.email());
 
-        // パスワードが空でなければ更新
-        if (dto.password() != null && !dto.password().isBlank()) {
+        // パスワードが空でなければ更新（発行済みトークンは失効）
+        boolean passwordChanged = dto.password() != null && !dto.password().isBlank();
+        if (passwordChanged) {
             user.setPasswordHash(passwordEncoder.encode(dto.password()));
         }
 
@@ -130,6 +155,10 @@ public class UserService {
         user.setRole(User.Role.valueOf(dto.role()));
 
         User updated = userRepository.save(user);
+        if (passwordChanged) {
+            tokenEpochService.revokeAll(updated.getId());
+        }
+        eventPublisher.publishEvent(new UserProfileChangedEvent(updated.getId()));
         return UserMapper.toResponseDto(updated);
     }
 
@@ -159,13 +188,16 @@ public class UserService {
         // メールアドレスが変更されていて、かつ既に存在する場合
         if (dto.email() != null && !user.getEmail().equals(dto.email()) && userRepository.existsByEmail(dto.email())) {
             throw new DuplicateEmailException("Email already exists");
-        } // メールアドレス更新
+        }
+        principalCache.evict(user.getEmail(), dto.email());
+        // メールアドレス更新
         if (dto.email() != null) {
             user.setEmail(dto.email());
         }
 
         // パスワードが空でなければ更新
-        if (dto.password() != null && !dto.password().isBlank()) {
+        boolean passwordChanged = dto.password() != null && !dto.password().isBlank();
+        if (passwordChanged) {
             user.setPasswordHash(passwordEncoder.encode(dto.password()));
         }
 
@@ -201,11 +233,18 @@ public class UserService {
         }
 
         // ステータス更新
+        boolean suspended = dto.status() != null && dto.status() != UserStatus.ACTIVE
+                && user.getStatus() == UserStatus.ACTIVE;
         if (dto.status() != null) {
             user.setStatus(dto.status());
         }
 
         User updated = userRepository.save(user);
+        // パスワード変更・利用停止時は発行済みトークンを失効
+        if (passwordChanged || suspended) {
+            tokenEpochService.revokeAll(updated.getId());
+        }
+        eventPublisher.publishEvent(new UserProfileChangedEvent(updated.getId()));
         return UserMapper.toResponseDto(updated);
     }
 
@@ -219,6 +258,21 @@ public class UserService {
         }
     }
 
+    /**
+     * 自分のユーザー情報取得
+     * <p>
+     * {@link #getCurrentUser(Jwt)} のユーザーは認可に必要な項目のみのため、表示用にDBから全項目を読み直す。
+     * </p>
+     *
+     * @param currentUser
+     * @return
+     */
+    public UserResponseDto getMe(User currentUser) {
+        User user = userRepository.findById(currentUser.getId())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        return UserMapper.toResponseDto(user);
+    }
+
     /**
      * 自分のプロフィール取得
      * 
@@ -247,7 +301,8 @@ public class UserService {
         // 権限チェック（自分自身のプロフィールのみ更新可能）
         userPolicy.checkUpdateProfile(currentUser, user);
 
-        // プロフィール情報の更新
+        // プロフィール情報の更新（表示名もスナップショットに含むため破棄）
+        principalCache.evict(user.getEmail());
         UserMapper.applyProfileUpdate(user, dto);
 
         // アバター画像の設定
@@ -260,6 +315,7 @@ public class UserService {
         }
 
         User updated = userRepository.save(user);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(updated.getId()));
         return UserMapper.toProfileResponseDto(updated);
     }
 
@@ -317,8 +373,14 @@ public class UserService {
         // 権限チェック
         userPolicy.checkChangeUserStatus(currentUser, user);
 
+        principalCache.evict(user.getEmail());
+        boolean suspended = status != UserStatus.ACTIVE && user.getStatus() == UserStatus.ACTIVE;
         user.setStatus(status);
         User updated = userRepository.save(user);
+        // 利用停止時は発行済みトークンを失効
+        if (suspended) {
+            tokenEpochService.revokeAll(updated.getId());
+        }
         return UserMapper.toResponseDto(updated);
     }
 
@@ -338,6 +400,7 @@ public class UserService {
         // 権限チェック
         userPolicy.checkChangeUserRole(currentUser, user);
 
+        principalCache.evict(user.getEmail());
         user.setRole(role);
         User updated = userRepository.save(user);
         return UserMapper.toResponseDto(updated);
@@ -362,6 +425,8 @@ public class UserService {
             throw new IllegalArgumentException("Cannot delete your own account");
         }
 
+        principalCache.evict(user.getEmail());
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
     }
 }
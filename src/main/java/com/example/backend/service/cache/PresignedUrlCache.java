@@ -0,0 +1,160 @@
+package com.example.backend.service.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.config.PresignedUrlCacheProperties;
+import com.example.backend.service.media.CachingMediaStorage;
+import com.example.backend.service.media.MediaStorage;
+import com.example.backend.service.media.MediaStorage.PresignedDownload;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 発行済みの署名付きダウンロードURLのキャッシュ。
+ * <p>
+ * 管理画面のメディア一覧は一度に多数のダウンロードURLを要求するため、同じオブジェクト・同じ有効期間のURLは
+ * 有効期間の {@code reuse-fraction} が過ぎるまで使い回し、署名（SigV4）の計算を省く。
+ * <ul>
+ * <li>キーはストレージキーと有効期間（秒）。有効期間が異なる要求には別のURLを発行する</li>
+ * <li>各エントリは使い回しの期限で破棄し、取得時にも期限を確認する</li>
+ * <li>オブジェクトの削除時に、そのキーのエントリをすべて破棄する</li>
+ * </ul>
+ * {@link MediaStorage} の実装には {@link #decorate} で前段に置く（S3・インメモリのどちらでも同じ）。
+ * </p>
+ *
+ * @see CachingMediaStorage
+ */
+@Component
+public class PresignedUrlCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final double reuseFraction;
+    private final Clock clock;
+    private final Cache<UrlKey, Entry> cache;
+
+    public PresignedUrlCache(PresignedUrlCacheProperties properties, Clock clock) {
+        this.reuseFraction = Math.max(0, Math.min(1, properties.getReuseFraction()));
+        this.enabled = properties.isEnabled() && reuseFraction > 0;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new Expiry<UrlKey, Entry>() {
+                    @Override
+                    public long expireAfterCreate(UrlKey key, Entry entry, long currentTime) {
+                        return remainingNanos(entry);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UrlKey key, Entry entry, long currentTime, long currentDuration) {
+                        return remainingNanos(entry);
+                    }
+
+                    @Override
+                    public long expireAfterRead(UrlKey key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * キャッシュを前段に置いたストレージを返す（無効の場合は {@code storage} をそのまま返す）。
+     *
+     * @param storage ストレージの実装
+     * @return ダウンロードURLをキャッシュするストレージ
+     */
+    public MediaStorage decorate(MediaStorage storage) {
+        return enabled ? new CachingMediaStorage(storage, this) : storage;
+    }
+
+    /**
+     * 使い回せるURLを取得（ない場合は発行して登録）。
+     * <p>
+     * 発行に失敗した場合は {@code presigner} の例外をそのまま送出し、何も登録しない。
+     * </p>
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @param ttl        URL有効期間
+     * @param presigner  URLを発行する関数
+     * @return 署名付きダウンロードURL
+     */
+    public PresignedDownload get(String storageKey, Duration ttl, Supplier<PresignedDownload> presigner) {
+        if (!enabled) {
+            return presigner.get();
+        }
+        UrlKey key = new UrlKey(storageKey, ttl.toSeconds());
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (clock.instant().isBefore(cached.reuseUntil())) {
+                return cached.download();
+            }
+            cache.invalidate(key);
+        }
+        Instant issuedAt = clock.instant();
+        PresignedDownload download = presigner.get();
+        Instant reuseUntil = issuedAt.plusNanos((long) (ttl.toNanos() * reuseFraction));
+        if (download.expiresAt() != null && download.expiresAt().isBefore(reuseUntil)) {
+            reuseUntil = download.expiresAt();
+        }
+        if (reuseUntil.isAfter(issuedAt)) {
+            cache.put(key, new Entry(download, reuseUntil));
+        }
+        return download;
+    }
+
+    /**
+     * 指定キーのエントリをすべて破棄（有効期間ごとのエントリを走査するため、削除時のみ使う）。
+     *
+     * @param storageKey ストレージ内の保存先キー
+     */
+    public void evict(String storageKey) {
+        cache.asMap().keySet().removeIf(key -> key.storageKey().equals(storageKey));
+    }
+
+    /**
+     * 複数キーのエントリをまとめて破棄（一括削除用、走査は1回）。
+     *
+     * @param storageKeys ストレージ内の保存先キー
+     */
+    public void evictAll(Collection<String> storageKeys) {
+        Set<String> keys = new HashSet<>(storageKeys);
+        cache.asMap().keySet().removeIf(key -> keys.contains(key.storageKey()));
+    }
+
+    /**
+     * 全エントリを破棄。
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "presigned-download-url");
+    }
+
+    private long remainingNanos(Entry entry) {
+        return Math.max(0, Duration.between(clock.instant(), entry.reuseUntil()).toNanos());
+    }
+
+    private record UrlKey(String storageKey, long ttlSeconds) {
+    }
+
+    private record Entry(PresignedDownload download, Instant reuseUntil) {
+    }
+}
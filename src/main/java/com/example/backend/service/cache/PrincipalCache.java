@@ -0,0 +1,193 @@
+package com.example.backend.service.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.example.backend.config.PrincipalCacheProperties;
+import com.example.backend.entity.User;
+import com.example.backend.entity.UserStatus;
+import com.example.backend.event.ContentResetEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 認証ユーザー（JWTのsubject = メールアドレス）のキャッシュ。
+ * <p>
+ * ユーザーの認可に必要な項目だけを不変のスナップショットとして保持し、リクエストごとのユーザー検索を省く。
+ * <ul>
+ * <li>件数上限・保持期間付き（{@code app.principal-cache.*}）</li>
+ * <li>同一リクエスト内ではリクエスト属性に保持し、検索は最大1回</li>
+ * <li>ロール・ステータス・メールアドレスの変更や削除時は {@link #evict} で即時に破棄し、トランザクション完了後にも再度破棄する</li>
+ * </ul>
+ * 他ノードでの変更は保持期間内に反映される。
+ * </p>
+ *
+ * @see com.example.backend.service.UserService#getCurrentUser
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = PrincipalCache.class.getName() + ".";
+
+    private final boolean enabled;
+    private final Cache<String, Principal> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(PrincipalCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 認証ユーザーのスナップショット。
+     *
+     * @param id          ユーザーID
+     * @param email       メールアドレス
+     * @param role        ロール
+     * @param status      ステータス
+     * @param displayName 表示名
+     */
+    public record Principal(Long id, String email, User.Role role, UserStatus status, String displayName) {
+
+        public static Principal of(User user) {
+            return new Principal(user.getId(), user.getEmail(), user.getRole(), user.getStatus(),
+                    user.getDisplayName());
+        }
+
+        /**
+         * サービス層に渡すユーザーを生成（呼び出しごとに新しいインスタンス）。
+         * <p>
+         * 永続化コンテキスト外のユーザーで、スナップショットにない項目は未設定。
+         * 最新の全項目が必要な場合はIDで読み直すこと。
+         * </p>
+         *
+         * @return ユーザー
+         */
+        public User toUser() {
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .role(role)
+                    .status(status)
+                    .displayName(displayName)
+                    .build();
+        }
+    }
+
+    /**
+     * subject に対応するユーザーを取得（キャッシュミス時は loader で読み込み、結果を保持）。
+     *
+     * @param subject JWTのsubject
+     * @param loader  DB読み込み処理（存在しない場合は空）
+     * @return ユーザーのスナップショット（存在しない場合は空）
+     */
+    public Optional<Principal> get(String subject, Function<String, Optional<Principal>> loader) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String attribute = REQUEST_ATTRIBUTE_PREFIX + subject;
+        if (request != null && request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST) instanceof Principal p) {
+            return Optional.of(p);
+        }
+        Optional<Principal> principal = enabled ? lookup(subject, loader) : loader.apply(subject);
+        if (request != null) {
+            principal.ifPresent(p -> request.setAttribute(attribute, p, RequestAttributes.SCOPE_REQUEST));
+        }
+        return principal;
+    }
+
+    /**
+     * 指定 subject のエントリを破棄（即時と、トランザクション中であれば完了後にも）。
+     * <p>
+     * コミット前に並行リクエストが旧データを再キャッシュするのを防ぐため、完了後にも破棄する。
+     * 現在のリクエスト内で保持している値も破棄する。
+     * </p>
+     *
+     * @param subjects 破棄する subject（null は無視）
+     */
+    public void evict(String... subjects) {
+        Runnable eviction = () -> {
+            generation.incrementAndGet();
+            for (String subject : subjects) {
+                if (subject != null) {
+                    cache.invalidate(subject);
+                }
+            }
+        };
+        eviction.run();
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            for (String subject : subjects) {
+                if (subject != null) {
+                    request.removeAttribute(REQUEST_ATTRIBUTE_PREFIX + subject, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * 指定ユーザーIDのエントリを破棄（他ノードからのトークン世代の変更通知など、subject が分からない場合に利用）。
+     *
+     * @param userId ユーザーID
+     */
+    public void evictUserId(long userId) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(principal -> principal.id() != null && principal.id() == userId);
+    }
+
+    /**
+     * 全エントリを破棄。
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // デモリセットでユーザーが作り直されるため全破棄
+    @EventListener
+    public void onContentReset(ContentResetEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principal");
+    }
+
+    private Optional<Principal> lookup(String subject, Function<String, Optional<Principal>> loader) {
+        Principal cached = cache.getIfPresent(subject);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long observed = generation.get();
+        Optional<Principal> loaded = loader.apply(subject);
+        // 読み込み中に破棄が走った場合は古い可能性があるため保持しない
+        if (loaded.isPresent() && generation.get() == observed) {
+            cache.put(subject, loaded.get());
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.backend.service.cache;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.config.PublicCacheProperties;
+import com.example.backend.entity.Post;
+import com.example.backend.event.CategoryChangedEvent;
+import com.example.backend.event.ContentResetEvent;
+import com.example.backend.event.MediaVariantsReadyEvent;
+import com.example.backend.event.PostBecameVisibleEvent;
+import com.example.backend.event.PostChangedEvent;
+import com.example.backend.event.PostContentRebuiltEvent;
+import com.example.backend.event.TagChangedEvent;
+import com.example.backend.event.UserProfileChangedEvent;
+import com.example.backend.repository.PgListenerConnectionFactory;
+import com.example.backend.repository.PgNotificationListener;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.PublicContentVersionRepository;
+import com.example.backend.repository.PublicContentVersionRepository.Versions;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 公開コンテンツのバージョン（ETag生成用）。
+ * <p>
+ * 3種類のバージョンを保持する。
+ * <ul>
+ * <li>コンテンツバージョン: 投稿・タグ・カテゴリ・著者プロフィールの変更、予約公開日時の到達、公開中の投稿のカバー画像の縮小版の生成で進む。
+ * 投稿一覧・タグ一覧・カテゴリ一覧のETagに使用。</li>
+ * <li>参照バージョン: タグ・カテゴリ・著者プロフィールの変更、公開中の投稿のカバー画像の縮小版の生成、本文HTMLの再生成（更新日時が変わらない）で進む。
+ * 投稿詳細のETag（投稿ID・更新日時と組み合わせ）に使用。</li>
+ * <li>公開状態のバージョン: 公開中の投稿の変更（公開・非公開化・スラッグ変更・削除を含む）、予約公開日時の到達で進む。
+ * 下書きのみの変更・タグ・カテゴリ・プロフィール・画像では進まない。サイトマップ・フィードのETagと生成済みXMLの再利用に使用。</li>
+ * </ul>
+ * 予約公開日時の到達は {@link PostBecameVisibleEvent}（公開日時ちょうどに発行される）で検知する。
+ * </p>
+ * <p>
+ * ロードバランサ配下の全ノードで同じETagが同じ内容を指すよう、値はDBのシーケンスで採番し、ノード間で共有する。
+ * <ul>
+ * <li>参照はメモリ上の値のみ（リクエストごとのDBアクセスなし）</li>
+ * <li>採番した値は pg_notify で他ノードへ配信し、受信側は {@link PublicPostCache} を破棄してから値を進める
+ * （新しいETagで古いキャッシュの内容を返さないため）</li>
+ * <li>通知の取りこぼしに備えて、LISTEN の接続時と定期的にDBから再同期する</li>
+ * <li>値は増える方向にのみ反映する（通知と再同期の順序が前後しても巻き戻らない）</li>
+ * </ul>
+ * シーケンスは現在時刻（ミリ秒）から始まるため、DBを作り直しても以前のETagと同じ値にはならない。
+ * </p>
+ *
+ * @see PublicContentVersionRepository
+ */
+@Component
+public class PublicContentVersion {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicContentVersion.class);
+
+    private final PublicContentVersionRepository repository;
+    private final PublicPostCache publicPostCache;
+    private final PostRepository postRepository;
+    private final PgListenerConnectionFactory listenerConnectionFactory;
+    private final PublicCacheProperties properties;
+    private final TransactionTemplate requiresNew;
+    // 自ノードが送った通知を受信時に区別するための識別子
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong contentVersion = new AtomicLong();
+    private final AtomicLong referenceVersion = new AtomicLong();
+    private final AtomicLong publicationVersion = new AtomicLong();
+
+    private PgNotificationListener listener;
+
+    public PublicContentVersion(PublicContentVersionRepository repository, PublicPostCache publicPostCache,
+            PostRepository postRepository, PgListenerConnectionFactory listenerConnectionFactory,
+            PublicCacheProperties properties, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.publicPostCache = publicPostCache;
+        this.postRepository = postRepository;
+        this.listenerConnectionFactory = listenerConnectionFactory;
+        this.properties = properties;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 現在のコンテンツバージョンを取得。
+     *
+     * @return コンテンツバージョン
+     */
+    public long current() {
+        return contentVersion.get();
+    }
+
+    /**
+     * 現在の参照バージョンを取得。
+     *
+     * @return 参照バージョン
+     */
+    public long currentReference() {
+        return referenceVersion.get();
+    }
+
+    /**
+     * 現在の公開状態のバージョンを取得。
+     *
+     * @return 公開状態のバージョン
+     */
+    public long currentPublication() {
+        return publicationVersion.get();
+    }
+
+    /**
+     * 一覧系レスポンスの強いETagを生成。
+     *
+     * @param resource リソース種別（posts, tags 等）
+     * @return 引用符付きETag
+     */
+    public String listEtag(String resource) {
+        return "\"" + resource + "-" + current() + "\"";
+    }
+
+    /**
+     * 公開中の投稿のみから作るレスポンス（サイトマップ・フィード）の強いETagを生成。
+     *
+     * @param resource リソース種別（sitemap, feed）
+     * @return 引用符付きETag
+     */
+    public String publicationEtag(String resource) {
+        return "\"" + resource + "-" + currentPublication() + "\"";
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        bumpNowAndAfterCompletion(false, event.published());
+    }
+
+    @EventListener
+    public void onPostContentRebuilt(PostContentRebuiltEvent event) {
+        bumpNowAndAfterCompletion(true, false);
+    }
+
+    @EventListener
+    public void onPostBecameVisible(PostBecameVisibleEvent event) {
+        bumpNowAndAfterCompletion(false, true);
+    }
+
+    @EventListener
+    public void onTagChanged(TagChangedEvent event) {
+        bumpNowAndAfterCompletion(true, false);
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        bumpNowAndAfterCompletion(true, false);
+    }
+
+    @EventListener
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        bumpNowAndAfterCompletion(true, false);
+    }
+
+    @EventListener
+    public void onMediaVariantsReady(MediaVariantsReadyEvent event) {
+        // 公開中の投稿のカバー画像なら srcset が変わるため、一覧・詳細とも再検証させる。
+        // アップロード直後の画像や本文・下書きの画像では公開APIの応答は変わらない
+        if (postRepository.existsByCoverMediaIdAndStatus(event.mediaId(), Post.Status.PUBLISHED)) {
+            bumpNowAndAfterCompletion(true, false);
+        }
+    }
+
+    @EventListener
+    public void onContentReset(ContentResetEvent event) {
+        bumpNowAndAfterCompletion(true, true);
+    }
+
+    /**
+     * DBのバージョンを取り込む（他ノードで進んでいた場合はキャッシュも破棄する）。
+     */
+    @Scheduled(initialDelayString = "${app.public-cache.resync-interval:PT1M}", fixedDelayString = "${app.public-cache.resync-interval:PT1M}")
+    public void resync() {
+        Versions versions = repository.find();
+        if (versions.content() > contentVersion.get() || versions.reference() > referenceVersion.get()
+                || versions.publication() > publicationVersion.get()) {
+            publicPostCache.invalidateAll();
+            raise(versions);
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        raise(repository.find());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startListener() {
+        if (!properties.isListen() || listener != null) {
+            return;
+        }
+        listener = new PgNotificationListener(listenerConnectionFactory,
+                PublicContentVersionRepository.CHANNEL, properties.getReconnectDelay(), this::onListenerConnected,
+                this::onNotification);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        PgNotificationListener current;
+        synchronized (this) {
+            current = listener;
+            listener = null;
+        }
+        if (current != null) {
+            current.stop();
+        }
+    }
+
+    /**
+     * 他ノードからの通知（"ノードID:コンテンツバージョン:参照バージョン:公開状態のバージョン"）を反映。
+     *
+     * @param payload 通知内容
+     */
+    void onNotification(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length != 4) {
+            log.warn("Public content version: ignoring malformed notification '{}'", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            Versions versions = new Versions(Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]));
+            // 他ノードの変更はどのエントリに影響するか分からないため全破棄（値が既に進んでいても破棄する）
+            publicPostCache.invalidateAll();
+            raise(versions);
+        } catch (NumberFormatException e) {
+            log.warn("Public content version: ignoring malformed notification '{}'", payload);
+        }
+    }
+
+    // 接続していなかった間の通知は届かないため、キャッシュを破棄して再同期する
+    private void onListenerConnected() {
+        publicPostCache.invalidateAll();
+        raise(repository.find());
+    }
+
+    /**
+     * 即時に加え、トランザクション中であれば完了後にも再度バージョンを進める。
+     * <p>
+     * コミット前に旧データと新バージョンの組み合わせでETagが発行されても、完了後に無効化されるようにする。
+     * 他ノードへの通知はコミット後に採番した値で行う（他ノードはコミット前の値を見る必要がない）。
+     * </p>
+     */
+    private void bumpNowAndAfterCompletion(boolean reference, boolean publication) {
+        Versions versions = repository.next(reference, publication);
+        raise(versions);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(versions);
+            return;
+        }
+        TransactionSynchronization synchronization = new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    // 完了したトランザクションの接続は使えないため、別のトランザクションで採番・通知する
+                    Versions after = requiresNew.execute(tx -> {
+                        Versions next = repository.next(reference, publication);
+                        publish(next);
+                        return next;
+                    });
+                    if (after != null) {
+                        raise(after);
+                    }
+                } catch (DataAccessException e) {
+                    log.warn("Public content version: failed to bump after completion: {}", e.getMessage());
+                }
+            }
+        };
+        TransactionSynchronizationManager.registerSynchronization(synchronization);
+    }
+
+    private void publish(Versions versions) {
+        repository.publish(nodeId + ":" + versions.content() + ":" + versions.reference() + ":"
+                + versions.publication());
+    }
+
+    private void raise(Versions versions) {
+        contentVersion.accumulateAndGet(versions.content(), Math::max);
+        referenceVersion.accumulateAndGet(versions.reference(), Math::max);
+        publicationVersion.accumulateAndGet(versions.publication(), Math::max);
+    }
+}
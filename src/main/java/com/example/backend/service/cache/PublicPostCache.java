@@ -0,0 +1,342 @@
+package com.example.backend.service.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import com.example.backend.config.PublicCacheProperties;
+import com.example.backend.dto.post.PostCoverMediaSummaryDto;
+import com.example.backend.dto.post.PostPublicDetailResponseDto;
+import com.example.backend.dto.post.PostPublicResponseDto;
+import com.example.backend.dto.post.TagSummaryDto;
+import com.example.backend.event.CategoryChangedEvent;
+import com.example.backend.event.ContentResetEvent;
+import com.example.backend.event.MediaVariantsReadyEvent;
+import com.example.backend.event.PostBecameVisibleEvent;
+import com.example.backend.event.PostChangedEvent;
+import com.example.backend.event.PostContentRebuiltEvent;
+import com.example.backend.event.TagChangedEvent;
+import com.example.backend.event.UserProfileChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 公開投稿API（一覧・詳細）のインプロセスキャッシュ。
+ * <p>
+ * 一覧は正規化したクエリ（page/size/sort/tag/category/categories）、詳細はスラッグをキーに保持する。
+ * 各エントリは参照しているタグ・カテゴリ・著者IDを依存関係として持ち、
+ * サービス層が発行する変更イベントに応じて該当エントリのみを破棄する。
+ * <ul>
+ * <li>投稿変更: 該当スラッグの詳細と全一覧を破棄</li>
+ * <li>タグ/カテゴリ変更: そのID・スラッグに依存するエントリのみ破棄</li>
+ * <li>著者プロフィール変更: その著者の詳細のみ破棄</li>
+ * <li>予約公開の到達: 全一覧と該当スラッグの詳細を破棄</li>
+ * <li>縮小版の生成: その画像をカバーに使うエントリのみ破棄</li>
+ * <li>本文HTMLの再生成: 該当投稿の詳細のみ破棄（一覧は本文を含まない）</li>
+ * </ul>
+ * 破棄はイベント受信時と、トランザクション完了後の2回行う（コミット前の旧データで再キャッシュされるのを防ぐ）。
+ * ヒット/ミス/追い出し件数はMicrometer経由で公開する。
+ * </p>
+ *
+ * @see com.example.backend.service.PublicPostService
+ */
+@Component
+public class PublicPostCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<ListKey, ListEntry> listCache;
+    private final Cache<String, DetailEntry> detailCache;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PublicPostCache(PublicCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.listCache = Caffeine.newBuilder()
+                .maximumSize(properties.getListMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.detailCache = Caffeine.newBuilder()
+                .maximumSize(properties.getDetailMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 一覧キャッシュのキー。
+     * <p>
+     * categories 指定時は category を無視する（サービスの絞り込み仕様に合わせる）。
+     * categories は順序・重複の違いで結果が変わらないため、集合で保持する。
+     * </p>
+     */
+    public record ListKey(int page, int size, String sort, String tag, String category, Set<String> categories) {
+
+        public static ListKey of(Pageable pageable, String tagSlug, String categorySlug, String categoriesCsv) {
+            String tag = StringUtils.hasText(tagSlug) ? tagSlug : null;
+            Set<String> categories = null;
+            String category = null;
+            if (StringUtils.hasText(categoriesCsv)) {
+                categories = Set.copyOf(List.of(categoriesCsv.split(",")));
+            } else if (StringUtils.hasText(categorySlug)) {
+                category = categorySlug;
+            }
+            return new ListKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString(),
+                    tag, category, categories);
+        }
+
+        boolean filtersCategory(Collection<String> slugs) {
+            if (category != null && slugs.contains(category)) {
+                return true;
+            }
+            return categories != null && slugs.stream().anyMatch(categories::contains);
+        }
+    }
+
+    private record ListEntry(Page<PostPublicResponseDto> page, Set<Long> tagIds, Set<Long> categoryIds) {
+    }
+
+    private record DetailEntry(PostPublicDetailResponseDto dto, Long postId, Set<Long> tagIds, Long categoryId,
+            Long authorId) {
+    }
+
+    /**
+     * キャッシュ統計のスナップショット。
+     */
+    public record Stats(long listHits, long listMisses, long detailHits, long detailMisses, long evictions,
+            long invalidations) {
+    }
+
+    /**
+     * 一覧を取得（キャッシュミス時は loader で読み込み、結果を保持）。
+     *
+     * @param key    正規化済みクエリ
+     * @param loader DB読み込み処理
+     * @return 公開投稿のページ
+     */
+    public Page<PostPublicResponseDto> getList(ListKey key, Supplier<Page<PostPublicResponseDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        ListEntry cached = listCache.getIfPresent(key);
+        if (cached != null) {
+            return cached.page();
+        }
+        long observed = generation.get();
+        Page<PostPublicResponseDto> page = loader.get();
+        if (generation.get() == observed) {
+            Set<Long> tagIds = new LinkedHashSet<>();
+            Set<Long> categoryIds = new LinkedHashSet<>();
+            for (PostPublicResponseDto dto : page.getContent()) {
+                collectTagIds(dto.getTags(), tagIds);
+                if (dto.getCategory() != null) {
+                    categoryIds.add(dto.getCategory().getId());
+                }
+            }
+            listCache.put(key, new ListEntry(page, Set.copyOf(tagIds), Set.copyOf(categoryIds)));
+        }
+        return page;
+    }
+
+    /**
+     * 詳細を取得（キャッシュミス時は loader で読み込み、結果を保持）。
+     * <p>
+     * loader が例外（未公開・存在しない等）を投げた場合は何も保持しない。
+     * </p>
+     *
+     * @param slug   投稿スラッグ
+     * @param loader DB読み込み処理
+     * @return 投稿詳細
+     */
+    public PostPublicDetailResponseDto getDetail(String slug, Supplier<PostPublicDetailResponseDto> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        DetailEntry cached = detailCache.getIfPresent(slug);
+        if (cached != null) {
+            return cached.dto();
+        }
+        long observed = generation.get();
+        PostPublicDetailResponseDto dto = loader.get();
+        if (generation.get() == observed) {
+            Set<Long> tagIds = new LinkedHashSet<>();
+            collectTagIds(dto.getTags(), tagIds);
+            detailCache.put(slug, new DetailEntry(dto, dto.getId(), Set.copyOf(tagIds),
+                    dto.getCategory() != null ? dto.getCategory().getId() : null,
+                    dto.getAuthor() != null ? dto.getAuthor().getId() : null));
+        }
+        return dto;
+    }
+
+    /**
+     * 全エントリを破棄。
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.addAndGet(listCache.estimatedSize() + detailCache.estimatedSize());
+        listCache.invalidateAll();
+        detailCache.invalidateAll();
+    }
+
+    /**
+     * 統計情報を取得。
+     *
+     * @return ヒット/ミス/追い出し/イベント破棄件数
+     */
+    public Stats stats() {
+        var list = listCache.stats();
+        var detail = detailCache.stats();
+        return new Stats(list.hitCount(), list.missCount(), detail.hitCount(), detail.missCount(),
+                list.evictionCount() + detail.evictionCount(), invalidations.get());
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        evictNowAndAfterCompletion(() -> {
+            invalidateLists(entry -> true);
+            invalidateDetails((slug, entry) -> event.slugs().contains(slug)
+                    || Objects.equals(entry.postId(), event.postId()));
+        });
+    }
+
+    @EventListener
+    public void onPostContentRebuilt(PostContentRebuiltEvent event) {
+        evictNowAndAfterCompletion(() -> invalidateDetails((slug, entry) -> event.slugs().contains(slug)
+                || event.postIds().contains(entry.postId())));
+    }
+
+    @EventListener
+    public void onTagChanged(TagChangedEvent event) {
+        evictNowAndAfterCompletion(() -> {
+            invalidateLists(key -> key.tag() != null && event.slugs().contains(key.tag()),
+                    entry -> entry.tagIds().contains(event.tagId()));
+            invalidateDetails((slug, entry) -> entry.tagIds().contains(event.tagId()));
+        });
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evictNowAndAfterCompletion(() -> {
+            invalidateLists(key -> key.filtersCategory(event.slugs()),
+                    entry -> entry.categoryIds().contains(event.categoryId()));
+            invalidateDetails((slug, entry) -> Objects.equals(entry.categoryId(), event.categoryId()));
+        });
+    }
+
+    @EventListener
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        evictNowAndAfterCompletion(
+                () -> invalidateDetails((slug, entry) -> Objects.equals(entry.authorId(), event.userId())));
+    }
+
+    @EventListener
+    public void onMediaVariantsReady(MediaVariantsReadyEvent event) {
+        // カバー画像の srcset が変わる。公開URLはストレージキーで終わる
+        String suffix = "/" + event.storageKey();
+        evictNowAndAfterCompletion(() -> {
+            invalidateLists(entry -> entry.page().getContent().stream()
+                    .anyMatch(dto -> coversWith(dto.getCoverMedia(), suffix)));
+            invalidateDetails((slug, entry) -> coversWith(entry.dto().getCoverMedia(), suffix));
+        });
+    }
+
+    @EventListener
+    public void onContentReset(ContentResetEvent event) {
+        evictNowAndAfterCompletion(this::invalidateAll);
+    }
+
+    @EventListener
+    public void onPostBecameVisible(PostBecameVisibleEvent event) {
+        evictNowAndAfterCompletion(() -> {
+            invalidateLists(entry -> true);
+            invalidateDetails((slug, entry) -> slug.equals(event.slug())
+                    || Objects.equals(entry.postId(), event.postId()));
+        });
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, listCache, "public.posts.list");
+        CaffeineCacheMetrics.monitor(registry, detailCache, "public.posts.detail");
+        FunctionCounter.builder("public.posts.cache.invalidations", invalidations, AtomicLong::get)
+                .description("Entries removed by content change events")
+                .register(registry);
+    }
+
+    /**
+     * 即時破棄に加え、トランザクション中であれば完了後にも再度破棄する。
+     * <p>
+     * コミット前に並行リクエストが旧データを再キャッシュするケースを防ぐ。
+     * </p>
+     */
+    private void evictNowAndAfterCompletion(Runnable eviction) {
+        if (!enabled) {
+            return;
+        }
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private void invalidateLists(Predicate<ListEntry> entryPredicate) {
+        invalidateLists(key -> false, entryPredicate);
+    }
+
+    private void invalidateLists(Predicate<ListKey> keyPredicate, Predicate<ListEntry> entryPredicate) {
+        generation.incrementAndGet();
+        listCache.asMap().entrySet().removeIf(e -> {
+            boolean remove = keyPredicate.test(e.getKey()) || entryPredicate.test(e.getValue());
+            if (remove) {
+                invalidations.incrementAndGet();
+            }
+            return remove;
+        });
+    }
+
+    private void invalidateDetails(BiPredicate<String, DetailEntry> predicate) {
+        generation.incrementAndGet();
+        detailCache.asMap().entrySet().removeIf(e -> {
+            boolean remove = predicate.test(e.getKey(), e.getValue());
+            if (remove) {
+                invalidations.incrementAndGet();
+            }
+            return remove;
+        });
+    }
+
+    private static boolean coversWith(PostCoverMediaSummaryDto cover, String urlSuffix) {
+        return cover != null && cover.getUrl() != null && cover.getUrl().endsWith(urlSuffix);
+    }
+
+    private static void collectTagIds(List<TagSummaryDto> tags, Set<Long> target) {
+        if (tags != null) {
+            tags.forEach(tag -> target.add(tag.getId()));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.backend.service.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.config.VerifiedJwtCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 署名・有効期限の検証に成功したJWTのキャッシュ。
+ * <p>
+ * SPA は同じアクセストークンを有効期限まで何度も送るため、検証済みトークンのクレームを保持し、
+ * 2回目以降の解析・署名検証を省く。
+ * <ul>
+ * <li>キーはトークンのSHA-256ダイジェスト（トークン文字列そのものは保持しない）</li>
+ * <li>各エントリはトークンの {@code exp} で破棄し、取得時にも有効期限を確認する</li>
+ * <li>Resource Server の {@code JwtDecoder}（{@link com.example.backend.config.CachingJwtDecoder}）と
+ * {@link com.example.backend.service.JwtTokenService#verify} で共有する</li>
+ * </ul>
+ * トークン世代による失効はキャッシュの後段（{@code SecurityConfig#jwtAuthenticationConverter}）で毎回判定するため、
+ * キャッシュ済みのトークンも即時に拒否できる。
+ * </p>
+ */
+@Component
+public class VerifiedJwtCache implements MeterBinder {
+
+    private static final MessageDigest SHA_256 = sha256();
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final Cache<TokenDigest, Jwt> cache;
+
+    public VerifiedJwtCache(VerifiedJwtCacheProperties properties, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new Expiry<TokenDigest, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(TokenDigest key, Jwt jwt, long currentTime) {
+                        return remainingNanos(jwt);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenDigest key, Jwt jwt, long currentTime,
+                            long currentDuration) {
+                        return remainingNanos(jwt);
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenDigest key, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 検証済みのトークンを取得（未登録の場合は検証して登録）。
+     * <p>
+     * 検証に失敗した場合は {@code verifier} の例外をそのまま送出し、何も登録しない。
+     * </p>
+     *
+     * @param token    トークン文字列
+     * @param verifier 署名・有効期限を検証してデコードする関数
+     * @return デコード済みのトークン
+     */
+    public Jwt get(String token, Function<String, Jwt> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        TokenDigest key = TokenDigest.of(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (isLive(cached)) {
+                return cached;
+            }
+            cache.invalidate(key);
+        }
+        Jwt verified = verifier.apply(token);
+        if (isLive(verified)) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * 全エントリを破棄（署名鍵の変更時など）。
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "verified-jwt");
+    }
+
+    private boolean isLive(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt != null && expiresAt.isAfter(clock.instant());
+    }
+
+    private long remainingNanos(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(clock.instant(), expiresAt).toNanos());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * トークンのSHA-256ダイジェスト（256ビットを long 4つで保持）。
+     */
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest;
+            try {
+                digest = (MessageDigest) SHA_256.clone();
+            } catch (CloneNotSupportedException e) {
+                digest = sha256();
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(bytes.getLong(), bytes.getLong(), bytes.getLong(), bytes.getLong());
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.backend.service.content;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * TipTap(ProseMirror) ドキュメントJSONをHTMLへ変換するレンダラー。
+ * <p>
+ * 許可リスト方式で出力するため、結果はそのまま埋め込み可能なサニタイズ済みHTMLになる。
+ * <ul>
+ * <li>既知のノード・マークのみタグ化し、未知のノードは子要素のみ出力</li>
+ * <li>テキスト・属性値はすべてHTMLエスケープ</li>
+ * <li>リンクは http/https/mailto と相対URLのみ、画像は http/https と相対URLのみ許可</li>
+ * </ul>
+ * 出力仕様を変えた場合は {@link #VERSION} を上げること（保存済みHTMLがバックグラウンドで再生成される）。
+ * </p>
+ *
+ * @see com.example.backend.batch.ContentHtmlRebuildJob
+ */
+@Component
+@RequiredArgsConstructor
+public class TipTapHtmlRenderer {
+
+    /**
+     * レンダラーのバージョン。保存済みHTMLの再生成要否の判定に使用。
+     */
+    public static final int VERSION = 1;
+
+    // 深いネストによるスタックオーバーフロー防止
+    private static final int MAX_DEPTH = 64;
+    private static final Set<String> LINK_SCHEMES = Set.of("http", "https", "mailto");
+    private static final Set<String> IMAGE_SCHEMES = Set.of("http", "https");
+    private static final Pattern CODE_LANGUAGE = Pattern.compile("[A-Za-z0-9_+#-]{1,32}");
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * ドキュメントJSONをHTMLへ変換。
+     * <p>
+     * JSONとして不正な場合や TipTap 形式でない場合は空文字（または解釈できたテキストのみ）を返す。
+     * </p>
+     *
+     * @param contentJson TipTapドキュメントJSON
+     * @return サニタイズ済みHTML
+     */
+    public String render(String contentJson) {
+        if (!StringUtils.hasText(contentJson)) {
+            return "";
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(contentJson);
+        } catch (JsonProcessingException e) {
+            return "";
+        }
+        StringBuilder html = new StringBuilder();
+        renderNode(root, html, 0);
+        return html.toString();
+    }
+
+    /**
+     * ドキュメントJSONからプレーンテキストを抽出（全文検索・スニペット用）。
+     * <p>
+     * ブロック要素の境界は空白で区切る。JSONとして不正な場合は空文字を返す。
+     * </p>
+     *
+     * @param contentJson TipTapドキュメントJSON
+     * @return プレーンテキスト
+     */
+    public String extractText(String contentJson) {
+        if (!StringUtils.hasText(contentJson)) {
+            return "";
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(contentJson);
+        } catch (JsonProcessingException e) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        collectText(root, text, 0);
+        return text.toString().strip();
+    }
+
+    private void collectText(JsonNode node, StringBuilder text, int depth) {
+        if (depth > MAX_DEPTH || !node.isObject()) {
+            return;
+        }
+        if ("text".equals(node.path("type").asText(""))) {
+            text.append(node.path("text").asText(""));
+            return;
+        }
+        JsonNode content = node.path("content");
+        if (content.isArray()) {
+            for (JsonNode child : content) {
+                collectText(child, text, depth + 1);
+            }
+        }
+        text.append(' ');
+    }
+
+    private void renderNode(JsonNode node, StringBuilder html, int depth) {
+        if (depth > MAX_DEPTH || !node.isObject()) {
+            return;
+        }
+        JsonNode attrs = node.path("attrs");
+        switch (node.path("type").asText("")) {
+            case "text" -> renderText(node, html);
+            case "paragraph" -> renderElement("p", "", node, html, depth);
+            case "heading" -> {
+                int level = Math.clamp(attrs.path("level").asInt(1), 1, 6);
+                renderElement("h" + level, "", node, html, depth);
+            }
+            case "bulletList" -> renderElement("ul", "", node, html, depth);
+            case "orderedList" -> {
+                int start = attrs.path("start").asInt(1);
+                renderElement("ol", start != 1 ? " start=\"" + start + "\"" : "", node, html, depth);
+            }
+            case "listItem" -> renderElement("li", "", node, html, depth);
+            case "blockquote" -> renderElement("blockquote", "", node, html, depth);
+            case "codeBlock" -> {
+                String language = attrs.path("language").asText("");
+                String classAttr = CODE_LANGUAGE.matcher(language).matches()
+                        ? " class=\"language-" + language + "\""
+                        : "";
+                html.append("<pre>");
+                renderElement("code", classAttr, node, html, depth);
+                html.append("</pre>");
+            }
+            case "hardBreak" -> html.append("<br>");
+            case "horizontalRule" -> html.append("<hr>");
+            case "image" -> renderImage(attrs, html);
+            case "table" -> renderElement("table", "", node, html, depth);
+            case "tableRow" -> renderElement("tr", "", node, html, depth);
+            case "tableHeader" -> renderElement("th", spanAttributes(attrs), node, html, depth);
+            case "tableCell" -> renderElement("td", spanAttributes(attrs), node, html, depth);
+            // doc および未知のノードはタグを出さず子要素のみ
+            default -> renderChildren(node, html, depth);
+        }
+    }
+
+    private void renderElement(String tag, String attributes, JsonNode node, StringBuilder html, int depth) {
+        html.append('<').append(tag).append(attributes).append('>');
+        renderChildren(node, html, depth);
+        html.append("</").append(tag).append('>');
+    }
+
+    private void renderChildren(JsonNode node, StringBuilder html, int depth) {
+        JsonNode content = node.path("content");
+        if (content.isArray()) {
+            for (JsonNode child : content) {
+                renderNode(child, html, depth + 1);
+            }
+        }
+    }
+
+    private void renderText(JsonNode node, StringBuilder html) {
+        String text = node.path("text").asText("");
+        if (text.isEmpty()) {
+            return;
+        }
+        StringBuilder closing = new StringBuilder();
+        JsonNode marks = node.path("marks");
+        if (marks.isArray()) {
+            for (JsonNode mark : marks) {
+                String tag = openMark(mark, html);
+                if (tag != null) {
+                    closing.insert(0, "</" + tag + ">");
+                }
+            }
+        }
+        html.append(HtmlUtils.htmlEscape(text)).append(closing);
+    }
+
+    // マークの開始タグを出力し、閉じタグ名を返す（出力しない場合はnull）
+    private String openMark(JsonNode mark, StringBuilder html) {
+        String tag = switch (mark.path("type").asText("")) {
+            case "bold" -> "strong";
+            case "italic" -> "em";
+            case "underline" -> "u";
+            case "strike" -> "s";
+            case "code" -> "code";
+            case "subscript" -> "sub";
+            case "superscript" -> "sup";
+            case "highlight" -> "mark";
+            case "link" -> "a";
+            default -> null;
+        };
+        if ("a".equals(tag)) {
+            JsonNode attrs = mark.path("attrs");
+            String href = safeUrl(attrs.path("href").asText(""), LINK_SCHEMES);
+            if (href == null) {
+                return null;
+            }
+            html.append("<a href=\"").append(HtmlUtils.htmlEscape(href)).append('"');
+            if ("_blank".equals(attrs.path("target").asText(""))) {
+                html.append(" target=\"_blank\"");
+            }
+            html.append(" rel=\"noopener noreferrer nofollow\">");
+        } else if (tag != null) {
+            html.append('<').append(tag).append('>');
+        }
+        return tag;
+    }
+
+    private void renderImage(JsonNode attrs, StringBuilder html) {
+        String src = safeUrl(attrs.path("src").asText(""), IMAGE_SCHEMES);
+        if (src == null) {
+            return;
+        }
+        html.append("<img src=\"").append(HtmlUtils.htmlEscape(src)).append('"');
+        html.append(" alt=\"").append(HtmlUtils.htmlEscape(attrs.path("alt").asText(""))).append('"');
+        String title = attrs.path("title").asText("");
+        if (!title.isEmpty()) {
+            html.append(" title=\"").append(HtmlUtils.htmlEscape(title)).append('"');
+        }
+        html.append(" loading=\"lazy\">");
+    }
+
+    private static String spanAttributes(JsonNode attrs) {
+        StringBuilder result = new StringBuilder();
+        int colspan = attrs.path("colspan").asInt(1);
+        int rowspan = attrs.path("rowspan").asInt(1);
+        if (colspan > 1) {
+            result.append(" colspan=\"").append(Math.min(colspan, 1000)).append('"');
+        }
+        if (rowspan > 1) {
+            result.append(" rowspan=\"").append(Math.min(rowspan, 1000)).append('"');
+        }
+        return result.toString();
+    }
+
+    /**
+     * 許可スキームまたは相対URLのみ通す。
+     *
+     * @return 安全なURL（不許可の場合はnull）
+     */
+    static String safeUrl(String url, Set<String> allowedSchemes) {
+        String trimmed = url.strip();
+        if (trimmed.isEmpty() || trimmed.chars().anyMatch(Character::isISOControl)) {
+            return null;
+        }
+        int colon = trimmed.indexOf(':');
+        int firstDelimiter = indexOfAny(trimmed, "/?#");
+        if (colon < 0 || (firstDelimiter >= 0 && firstDelimiter < colon)) {
+            // スキームなし（相対URL）
+            return trimmed;
+        }
+        String scheme = trimmed.substring(0, colon).toLowerCase(Locale.ROOT);
+        return allowedSchemes.contains(scheme) ? trimmed : null;
+    }
+
+    private static int indexOfAny(String value, String chars) {
+        for (int i = 0; i < value.length(); i++) {
+            if (chars.indexOf(value.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
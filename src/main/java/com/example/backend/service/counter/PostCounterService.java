@@ -0,0 +1,155 @@
+package com.example.backend.service.counter;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.entity.Post;
+import com.example.backend.entity.Tag;
+import com.example.backend.event.PostBecameVisibleEvent;
+import com.example.backend.repository.PostCounterRepository;
+import com.example.backend.repository.PostCounterRepository.Delta;
+import com.example.backend.repository.PostCounterRepository.Kind;
+
+/**
+ * タグ・カテゴリ別投稿数（総数・公開数）の維持サービス。
+ * <p>
+ * 投稿の書き込み前後の状態（タグ・カテゴリ・公開数への計上有無）の差分を、書き込みと同じトランザクションで集計表に加算する。
+ * 公開数は「公開済みかつ公開日時到達済み」の投稿数で、予約投稿は {@link PostBecameVisibleEvent} で計上する。
+ * 計上有無は投稿ごとに {@code published_counted} として保持し、減算時の基準にする。
+ * </p>
+ *
+ * @see com.example.backend.batch.PostCounterReconcileJob
+ */
+@Service
+public class PostCounterService {
+
+    private final PostCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public PostCounterService(PostCounterRepository counterRepository, PlatformTransactionManager transactionManager,
+            Clock clock) {
+        this.counterRepository = counterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * 集計上の投稿の状態。
+     *
+     * @param categoryId カテゴリID（null可）
+     * @param tagIds     タグID
+     * @param published  公開数に計上しているか
+     */
+    public record State(Long categoryId, Set<Long> tagIds, boolean published) {
+
+        public static final State NONE = new State(null, Set.of(), false);
+    }
+
+    /**
+     * 投稿の現在の（計上済みの）状態を取得。変更を適用する前に呼ぶこと。
+     *
+     * @param post 投稿
+     * @return 集計上の状態
+     */
+    public State stateOf(Post post) {
+        return new State(post.getCategory() != null ? post.getCategory().getId() : null, tagIds(post),
+                post.isPublishedCounted());
+    }
+
+    /**
+     * 変更後の投稿を集計に反映（呼び出し元のトランザクション内）。
+     * <p>
+     * 公開数への計上有無を現在時刻で判定し、投稿の目印も更新する。
+     * </p>
+     *
+     * @param before 変更前の状態（新規作成時は {@link State#NONE}）
+     * @param post   変更後の投稿
+     */
+    public void track(State before, Post post) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        boolean published = post.getStatus() == Post.Status.PUBLISHED && post.getPublishedAt() != null
+                && !post.getPublishedAt().isAfter(now);
+        post.setPublishedCounted(published);
+        apply(before, new State(post.getCategory() != null ? post.getCategory().getId() : null, tagIds(post),
+                published));
+    }
+
+    /**
+     * 削除する投稿を集計から外す（呼び出し元のトランザクション内）。
+     *
+     * @param before 削除前の状態
+     */
+    public void untrack(State before) {
+        apply(before, State.NONE);
+    }
+
+    /**
+     * 予約投稿の公開を公開数に反映。
+     * <p>
+     * キャッシュ・ETag の更新より先に確定させるため、最優先で実行し独立したトランザクションでコミットする。
+     * </p>
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPostBecameVisible(PostBecameVisibleEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!counterRepository.markPublishedCounted(event.postId(), LocalDateTime.now(clock))) {
+                return;
+            }
+            Set<Long> tagIds = Set.copyOf(counterRepository.findTagIds(event.postId()));
+            Long categoryId = counterRepository.findCategoryId(event.postId()).orElse(null);
+            apply(new State(categoryId, tagIds, false), new State(categoryId, tagIds, true));
+        });
+    }
+
+    private void apply(State before, State after) {
+        counterRepository.add(Kind.TAG, deltas(before.tagIds(), before.published(), after.tagIds(),
+                after.published()));
+        counterRepository.add(Kind.CATEGORY, deltas(idSet(before.categoryId()), before.published(),
+                idSet(after.categoryId()), after.published()));
+    }
+
+    // 差分をID昇順で返す（複数トランザクションが同じ行を更新する際のデッドロック回避）
+    private static List<Delta> deltas(Set<Long> beforeIds, boolean beforePublished, Set<Long> afterIds,
+            boolean afterPublished) {
+        Map<Long, long[]> sums = new TreeMap<>();
+        for (Long id : beforeIds) {
+            long[] sum = sums.computeIfAbsent(id, key -> new long[2]);
+            sum[0]--;
+            sum[1] -= beforePublished ? 1 : 0;
+        }
+        for (Long id : afterIds) {
+            long[] sum = sums.computeIfAbsent(id, key -> new long[2]);
+            sum[0]++;
+            sum[1] += afterPublished ? 1 : 0;
+        }
+        return sums.entrySet().stream()
+                .filter(e -> e.getValue()[0] != 0 || e.getValue()[1] != 0)
+                .map(e -> new Delta(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                .toList();
+    }
+
+    private static Set<Long> idSet(Long id) {
+        return id != null ? Set.of(id) : Set.of();
+    }
+
+    private static Set<Long> tagIds(Post post) {
+        if (post.getTags() == null) {
+            return Set.of();
+        }
+        return post.getTags().stream().map(Tag::getId).collect(Collectors.toUnmodifiableSet());
+    }
+}
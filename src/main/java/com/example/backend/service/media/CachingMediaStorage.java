@@ -0,0 +1,114 @@
+package com.example.backend.service.media;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.example.backend.service.cache.PresignedUrlCache;
+
+/**
+ * 署名付きダウンロードURLのキャッシュを前段に置いた {@link MediaStorage}。
+ * <p>
+ * ダウンロードURLはキャッシュにない（または使い回しの期限を過ぎた）場合だけ委譲先で発行する。
+ * 削除したオブジェクトのURLは、委譲先で削除したあとにキャッシュから破棄する。その他の操作はそのまま委譲する。
+ * </p>
+ *
+ * @see PresignedUrlCache
+ */
+public class CachingMediaStorage implements MediaStorage {
+
+    private final MediaStorage delegate;
+    private final PresignedUrlCache cache;
+
+    public CachingMediaStorage(MediaStorage delegate, PresignedUrlCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public PresignedUpload createUploadUrl(String storageKey, String contentType, long contentLength,
+            String contentSha256, Duration ttl) {
+        return delegate.createUploadUrl(storageKey, contentType, contentLength, contentSha256, ttl);
+    }
+
+    @Override
+    public PresignedDownload createDownloadUrl(String storageKey, Duration ttl) {
+        return cache.get(storageKey, ttl, () -> delegate.createDownloadUrl(storageKey, ttl));
+    }
+
+    @Override
+    public void ensureObjectExists(String storageKey) throws ObjectNotFoundException {
+        delegate.ensureObjectExists(storageKey);
+    }
+
+    @Override
+    public String findContentSha256(String storageKey) throws ObjectNotFoundException {
+        return delegate.findContentSha256(storageKey);
+    }
+
+    @Override
+    public void deleteObject(String storageKey) {
+        try {
+            delegate.deleteObject(storageKey);
+        } finally {
+            cache.evict(storageKey);
+        }
+    }
+
+    @Override
+    public List<String> deleteObjects(List<String> storageKeys) {
+        try {
+            return delegate.deleteObjects(storageKeys);
+        } finally {
+            cache.evictAll(storageKeys);
+        }
+    }
+
+    @Override
+    public byte[] getObject(String storageKey) throws ObjectNotFoundException {
+        return delegate.getObject(storageKey);
+    }
+
+    @Override
+    public void putObject(String storageKey, String contentType, byte[] content) {
+        delegate.putObject(storageKey, contentType, content);
+    }
+
+    @Override
+    public String createMultipartUpload(String storageKey, String contentType) {
+        return delegate.createMultipartUpload(storageKey, contentType);
+    }
+
+    @Override
+    public List<PresignedPart> createPartUploadUrls(String storageKey, String uploadId, List<Integer> partNumbers,
+            Duration ttl) {
+        return delegate.createPartUploadUrls(storageKey, uploadId, partNumbers, ttl);
+    }
+
+    @Override
+    public void completeMultipartUpload(String storageKey, String uploadId, List<CompletedPart> parts)
+            throws UploadNotFoundException {
+        try {
+            delegate.completeMultipartUpload(storageKey, uploadId, parts);
+        } finally {
+            // 同じキーのオブジェクトを置き換えた場合に備える
+            cache.evict(storageKey);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String storageKey, String uploadId) {
+        delegate.abortMultipartUpload(storageKey, uploadId);
+    }
+
+    @Override
+    public List<IncompleteUpload> listIncompleteUploads(Instant initiatedBefore, int limit) {
+        return delegate.listIncompleteUploads(initiatedBefore, limit);
+    }
+
+    @Override
+    public void listObjects(String prefix, Consumer<List<StoredObject>> pageHandler) {
+        delegate.listObjects(prefix, pageHandler);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.service.media;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * メディアの内容の SHA-256（API・DBでは16進小文字、S3 のチェックサムでは Base64）。
+ */
+public final class ContentHash {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("^[0-9a-f]{64}$");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private ContentHash() {
+    }
+
+    /**
+     * 16進小文字64桁の SHA-256 か。
+     *
+     * @param value 値
+     * @return 形式が正しい場合true
+     */
+    public static boolean isSha256Hex(String value) {
+        return value != null && SHA256_HEX.matcher(value).matches();
+    }
+
+    /**
+     * 内容の SHA-256 を計算する。
+     *
+     * @param content 内容
+     * @return SHA-256（16進小文字）
+     */
+    public static String sha256Hex(byte[] content) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 16進の SHA-256 を S3 のチェックサム形式（Base64）に変換する。
+     *
+     * @param sha256Hex SHA-256（16進小文字）
+     * @return Base64
+     */
+    static String toBase64(String sha256Hex) {
+        return Base64.getEncoder().encodeToString(HEX.parseHex(sha256Hex));
+    }
+
+    /**
+     * S3 のチェックサム（Base64）を16進の SHA-256 に変換する。
+     *
+     * @param checksum Base64（パートごとのチェックサムを結合したもの等、内容全体の SHA-256 でない場合は null を返す）
+     * @return SHA-256（16進小文字）、変換できない場合は null
+     */
+    static String fromBase64(String checksum) {
+        if (checksum == null || checksum.contains("-")) {
+            return null;
+        }
+        try {
+            byte[] digest = Base64.getDecoder().decode(checksum);
+            return digest.length == 32 ? HEX.formatHex(digest) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.backend.service.media;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.config.MediaBatchProperties;
+import com.example.backend.service.media.MediaStorage.ObjectNotFoundException;
+import com.example.backend.service.media.MediaStorage.StorageException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * アップロード済みオブジェクトの存在確認をまとめて行うコンポーネント（メディアの一括登録用）。
+ * <p>
+ * 1件ずつ HEAD を待つと件数分の往復時間がかかるため、上限付きのスレッドで並行して確認する。
+ * スレッドと待ち行列は全リクエストで共有し、待ち行列が満杯の場合は呼び出し元のスレッドで確認する
+ * （ストレージへの同時接続数を増やさずに、遅くなるだけにする）。
+ * </p>
+ *
+ * @see com.example.backend.service.MediaService#registerBatch
+ */
+@Component
+public class MediaObjectChecker implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaObjectChecker.class);
+
+    /**
+     * 存在確認の結果。
+     */
+    public enum Result {
+        FOUND, NOT_FOUND, FAILED
+    }
+
+    private final MediaStorage mediaStorage;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public MediaObjectChecker(MediaStorage mediaStorage, MediaBatchProperties properties) {
+        this.mediaStorage = mediaStorage;
+        int threads = Math.max(1, properties.getCheckThreads());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                    Thread thread = new Thread(runnable, "media-object-check-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 複数のオブジェクトの存在を並行して確認する（すべての結果が出るまで待つ）。
+     *
+     * @param storageKeys ストレージ内の保存先キー
+     * @return キーごとの結果（{@code storageKeys} の順序）
+     */
+    public Map<String, Result> checkAll(Collection<String> storageKeys) {
+        Map<String, CompletableFuture<Result>> pending = new LinkedHashMap<>();
+        for (String storageKey : storageKeys) {
+            pending.computeIfAbsent(storageKey,
+                    key -> CompletableFuture.supplyAsync(() -> check(key), executor));
+        }
+        Map<String, Result> results = new LinkedHashMap<>();
+        pending.forEach((key, future) -> results.put(key, future.join()));
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("media.object.checks", checks, LongAdder::sum)
+                .description("Storage existence checks made for batch media registration")
+                .register(registry);
+        FunctionCounter.builder("media.object.check.failures", failures, LongAdder::sum)
+                .description("Storage existence checks that failed with a storage error")
+                .register(registry);
+        Gauge.builder("media.object.check.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Storage existence checks waiting for a thread")
+                .register(registry);
+    }
+
+    private Result check(String storageKey) {
+        checks.increment();
+        try {
+            mediaStorage.ensureObjectExists(storageKey);
+            return Result.FOUND;
+        } catch (ObjectNotFoundException e) {
+            return Result.NOT_FOUND;
+        } catch (StorageException e) {
+            failures.increment();
+            log.warn("Failed to check media object {}: {}", storageKey, e.toString());
+            return Result.FAILED;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.example.backend.service.media;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * メディアファイルのストレージ操作を抽象化するインターフェース。
@@ -36,6 +38,40 @@ public interface MediaStorage {
     record PresignedDownload(String url, Instant expiresAt) {
     }
 
+    /**
+     * マルチパートアップロードの1パート分の署名付きURL。
+     * <ul>
+     * <li>partNumber: パート番号（1〜10000）</li>
+     * <li>url: PUT先の一時URL（応答の ETag ヘッダーを完了時に渡す）</li>
+     * <li>expiresAt: 有効期限（UTC）</li>
+     * </ul>
+     */
+    record PresignedPart(int partNumber, String url, Instant expiresAt) {
+    }
+
+    /**
+     * アップロード済みのパート（完了時に指定）。
+     */
+    record CompletedPart(int partNumber, String etag) {
+    }
+
+    /**
+     * 完了・中止されていないマルチパートアップロード。
+     */
+    record IncompleteUpload(String storageKey, String uploadId, Instant initiatedAt) {
+    }
+
+    /**
+     * ストレージ上のオブジェクト（一覧の1件）。
+     */
+    record StoredObject(String storageKey, Instant lastModified) {
+    }
+
+    /**
+     * 一括削除で1回に指定できるキーの上限（S3 DeleteObjects の上限）。
+     */
+    int MAX_DELETE_BATCH = 1_000;
+
     /**
      * 指定キー・コンテンツタイプ・サイズで署名付きアップロードURLを発行する。
      * <p>
@@ -49,7 +85,28 @@ public interface MediaStorage {
      * @return PresignedUpload情報
      * @throws StorageException ストレージ連携失敗時
      */
-    PresignedUpload createUploadUrl(String storageKey, String contentType, long contentLength, Duration ttl);
+    default PresignedUpload createUploadUrl(String storageKey, String contentType, long contentLength,
+            Duration ttl) {
+        return createUploadUrl(storageKey, contentType, contentLength, null, ttl);
+    }
+
+    /**
+     * 内容の SHA-256 を指定して署名付きアップロードURLを発行する。
+     * <p>
+     * ストレージが対応している場合、内容がハッシュと一致しないアップロードはストレージ側で拒否される
+     * （必要な追加ヘッダは {@link PresignedUpload#headers()} に含まれる）。
+     * </p>
+     *
+     * @param storageKey    ストレージ内の保存先キー
+     * @param contentType   アップロードするファイルのContent-Type
+     * @param contentLength バイト長
+     * @param contentSha256 内容の SHA-256（16進小文字、指定しない場合は null）
+     * @param ttl           URL有効期間
+     * @return PresignedUpload情報
+     * @throws StorageException ストレージ連携失敗時
+     */
+    PresignedUpload createUploadUrl(String storageKey, String contentType, long contentLength, String contentSha256,
+            Duration ttl);
 
     /**
      * 指定キーで署名付きダウンロードURLを発行する。
@@ -76,6 +133,19 @@ public interface MediaStorage {
      */
     void ensureObjectExists(String storageKey) throws ObjectNotFoundException;
 
+    /**
+     * 指定キーのオブジェクトの、ストレージが検証した内容の SHA-256 を取得する。
+     * <p>
+     * 存在確認を兼ねる。SHA-256 を指定してアップロードされていない（マルチパート等）場合は null。
+     * </p>
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @return 内容の SHA-256（16進小文字）、不明な場合は null
+     * @throws ObjectNotFoundException オブジェクトが存在しない場合
+     * @throws StorageException        ストレージ連携失敗時
+     */
+    String findContentSha256(String storageKey) throws ObjectNotFoundException;
+
     /**
      * 指定キーのオブジェクトをストレージから削除する。
      * <p>
@@ -87,6 +157,118 @@ public interface MediaStorage {
      */
     void deleteObject(String storageKey);
 
+    /**
+     * 指定キーのオブジェクトの内容を取得する。
+     * <p>
+     * 主に登録済み画像から縮小版を生成する用途で利用（呼び出し側でサイズを確認してから呼ぶこと）。
+     * </p>
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @return オブジェクトの内容
+     * @throws ObjectNotFoundException オブジェクトが存在しない場合
+     * @throws StorageException        ストレージ連携失敗時
+     */
+    byte[] getObject(String storageKey) throws ObjectNotFoundException;
+
+    /**
+     * サーバー側で生成したオブジェクトを保存する（同じキーがあれば上書き）。
+     * <p>
+     * 主に画像の縮小版の保存に利用。キーごとに内容が変わらないため、長期キャッシュ可能として保存する。
+     * </p>
+     *
+     * @param storageKey  ストレージ内の保存先キー
+     * @param contentType Content-Type
+     * @param content     内容
+     * @throws StorageException ストレージ連携失敗時
+     */
+    void putObject(String storageKey, String contentType, byte[] content);
+
+    /**
+     * マルチパートアップロードを開始する。
+     * <p>
+     * 大きなファイルをパートに分けて並行・再開可能にアップロードする用途で利用。
+     * 完了または中止するまで、アップロード済みのパートはストレージ上に残る。
+     * </p>
+     *
+     * @param storageKey  ストレージ内の保存先キー
+     * @param contentType 完成後のオブジェクトのContent-Type
+     * @return アップロードID
+     * @throws StorageException ストレージ連携失敗時
+     */
+    String createMultipartUpload(String storageKey, String contentType);
+
+    /**
+     * マルチパートアップロードのパートごとの署名付きURLを発行する。
+     *
+     * @param storageKey  ストレージ内の保存先キー
+     * @param uploadId    アップロードID
+     * @param partNumbers パート番号（1〜10000）
+     * @param ttl         URL有効期間
+     * @return パートごとの署名付きURL（partNumbersと同じ順序）
+     * @throws StorageException ストレージ連携失敗時
+     */
+    List<PresignedPart> createPartUploadUrls(String storageKey, String uploadId, List<Integer> partNumbers,
+            Duration ttl);
+
+    /**
+     * マルチパートアップロードを完了し、パートを1つのオブジェクトに結合する。
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @param uploadId   アップロードID
+     * @param parts      アップロード済みのパート（パート番号順）
+     * @throws UploadNotFoundException アップロードが存在しない（完了・中止済み）場合
+     * @throws StorageException        パートの不足・ETag不一致等、ストレージ連携失敗時
+     */
+    void completeMultipartUpload(String storageKey, String uploadId, List<CompletedPart> parts)
+            throws UploadNotFoundException;
+
+    /**
+     * マルチパートアップロードを中止し、アップロード済みのパートを削除する。
+     * <p>
+     * 存在しない場合は例外をスローしない（冪等）。
+     * </p>
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @param uploadId   アップロードID
+     * @throws StorageException ストレージ連携失敗時
+     */
+    void abortMultipartUpload(String storageKey, String uploadId);
+
+    /**
+     * 指定時刻より前に開始され、完了・中止されていないマルチパートアップロードを取得する。
+     *
+     * @param initiatedBefore 開始時刻の上限
+     * @param limit           最大件数
+     * @return 未完了のアップロード
+     * @throws StorageException ストレージ連携失敗時
+     */
+    List<IncompleteUpload> listIncompleteUploads(Instant initiatedBefore, int limit);
+
+    /**
+     * 指定プレフィックス配下のオブジェクトを、キー順に1ページ（最大1000件）ずつ渡す。
+     * <p>
+     * 全件を保持せずに走査する用途（孤立オブジェクトの削除等）で利用。ページは呼び出しスレッドで順に渡される。
+     * </p>
+     *
+     * @param prefix      キーのプレフィックス（空文字列の場合はすべて）
+     * @param pageHandler 1ページごとの処理
+     * @throws StorageException ストレージ連携失敗時
+     */
+    void listObjects(String prefix, Consumer<List<StoredObject>> pageHandler);
+
+    /**
+     * 複数のオブジェクトを1回の要求で削除する。
+     * <p>
+     * 存在しないキーは削除済みとして扱う（冪等）。
+     * </p>
+     *
+     * @param storageKeys ストレージ内の保存先キー（{@link #MAX_DELETE_BATCH} 件まで）
+     * @return 削除できなかったキー
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     * @throws StorageException         ストレージ連携失敗時
+     */
+    List<String> deleteObjects(List<String> storageKeys);
+
     /**
      * ストレージ操作全般の基底例外。
      * <p>
@@ -118,4 +300,17 @@ public interface MediaStorage {
             super("Media object not found for key: " + storageKey);
         }
     }
+
+    /**
+     * 指定のマルチパートアップロードが存在しない（完了・中止済み）場合の例外。
+     */
+    class UploadNotFoundException extends StorageException {
+        public UploadNotFoundException(String uploadId, Throwable cause) {
+            super("Multipart upload not found: " + uploadId, cause);
+        }
+
+        public UploadNotFoundException(String uploadId) {
+            super("Multipart upload not found: " + uploadId);
+        }
+    }
 }
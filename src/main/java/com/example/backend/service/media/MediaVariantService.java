@@ -0,0 +1,396 @@
+package com.example.backend.service.media;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.config.MediaVariantProperties;
+import com.example.backend.entity.Media;
+import com.example.backend.entity.MediaVariant;
+import com.example.backend.event.MediaRegisteredEvent;
+import com.example.backend.event.MediaVariantsReadyEvent;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.repository.MediaVariantRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 画像の縮小版を生成するサービス。
+ * <p>
+ * メディア登録のコミット後に、専用スレッドで元画像を読み込み、設定した幅・形式の縮小版を
+ * {@link MediaStorage} に保存して media_variants に記録する。リクエストスレッドでは何もしない。
+ * <ul>
+ * <li>元画像より大きい幅は生成しない。アニメーションGIF・SVGは対象外</li>
+ * <li>形式はエンコーダー（ImageIO）がある形式のみ。読み込めない形式の元画像は生成しない</li>
+ * <li>生成待ちが上限を超えた場合は生成しない（元画像はそのまま使われる）</li>
+ * <li>バイト数・画素数が上限を超える元画像は展開しない</li>
+ * <li>同じオブジェクトを共有するメディア（内容の重複）に縮小版があれば、生成せずに行を複製する</li>
+ * </ul>
+ * 生成後は {@link MediaVariantsReadyEvent} を発行し、公開キャッシュに srcset を反映させる。
+ * </p>
+ *
+ * @see com.example.backend.dto.post.PostMapper
+ */
+@Service
+public class MediaVariantService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaVariantService.class);
+
+    private static final String JPEG = "image/jpeg";
+
+    private final MediaRepository mediaRepository;
+    private final MediaVariantRepository variantRepository;
+    private final MediaStorage mediaStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MediaVariantProperties properties;
+    private final List<Integer> widths;
+    private final List<String> formats;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public MediaVariantService(MediaRepository mediaRepository, MediaVariantRepository variantRepository,
+            MediaStorage mediaStorage, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager, MediaVariantProperties properties) {
+        this.mediaRepository = mediaRepository;
+        this.variantRepository = variantRepository;
+        this.mediaStorage = mediaStorage;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.widths = properties.getWidths().stream().filter(w -> w != null && w > 0).distinct().sorted().toList();
+        this.formats = properties.getFormats().stream()
+                .map(format -> format.toLowerCase(Locale.ROOT))
+                .distinct()
+                .filter(format -> ImageIO.getImageWritersByMIMEType(format).hasNext())
+                .toList();
+        if (formats.size() < properties.getFormats().size()) {
+            log.info("Media variants: no encoder for some formats, generating {} only (configured {})", formats,
+                    properties.getFormats());
+        }
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                    Thread thread = new Thread(runnable, "media-variants-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 登録のコミット後に生成を予約（ロールバックされた登録では生成しない）
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMediaRegistered(MediaRegisteredEvent event) {
+        if (!properties.isEnabled() || formats.isEmpty() || widths.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> generateSafely(event.mediaId()));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            log.warn("Media variants: queue full, skipping media {}", event.mediaId());
+        }
+    }
+
+    /**
+     * 縮小版を生成する（呼び出しスレッドで実行）。
+     * <p>
+     * 生成済み・対象外のメディアの場合は何もしない。
+     * </p>
+     *
+     * @param mediaId メディアID
+     * @return 生成した縮小版の数
+     * @throws MediaStorage.StorageException ストレージ連携失敗時
+     */
+    public int generate(Long mediaId) {
+        Source source = transactionTemplate.execute(status -> mediaRepository.findById(mediaId)
+                .filter(media -> isResizable(media.getMime()))
+                .filter(media -> media.getBytes() == null || media.getBytes() <= properties.getMaxSourceBytes())
+                .filter(media -> !variantRepository.existsByMediaId(media.getId()))
+                .map(media -> new Source(media.getStorageKey(), media.getMime()))
+                .orElse(null));
+        if (source == null) {
+            skipped.increment();
+            return 0;
+        }
+        Integer copied = transactionTemplate.execute(status -> copySharedVariants(mediaId, source.storageKey()));
+        if (copied != null && copied > 0) {
+            reused.add(copied);
+            eventPublisher.publishEvent(new MediaVariantsReadyEvent(mediaId, source.storageKey()));
+            return copied;
+        }
+        byte[] original = mediaStorage.getObject(source.storageKey());
+        BufferedImage image = original.length <= properties.getMaxSourceBytes() ? decode(original) : null;
+        if (image == null) {
+            skipped.increment();
+            log.debug("Media variants: cannot decode media {} ({})", mediaId, source.mime());
+            return 0;
+        }
+
+        List<MediaVariant> variants = new ArrayList<>();
+        try {
+            for (int width : widths) {
+                if (width >= image.getWidth()) {
+                    break;
+                }
+                int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+                BufferedImage resized = resize(image, width, height);
+                for (String format : formats) {
+                    byte[] encoded = encode(resized, format);
+                    String key = variantKey(source.storageKey(), width, format);
+                    mediaStorage.putObject(key, format, encoded);
+                    variants.add(MediaVariant.builder()
+                            .width(width)
+                            .height(height)
+                            .mime(format)
+                            .storageKey(key)
+                            .bytes((long) encoded.length)
+                            .build());
+                }
+            }
+            if (variants.isEmpty()) {
+                skipped.increment();
+                return 0;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Media media = mediaRepository.getReferenceById(mediaId);
+                variants.forEach(variant -> variant.setMedia(media));
+                variantRepository.saveAll(variants);
+                variantRepository.flush();
+            });
+        } catch (RuntimeException e) {
+            // 記録できなかった縮小版は削除（メディアが削除済み等）。同じオブジェクトを共有するメディアが記録したものは残す
+            variants.stream()
+                    .map(MediaVariant::getStorageKey)
+                    .filter(key -> !variantRepository.existsByStorageKey(key))
+                    .forEach(this::deleteQuietly);
+            throw e;
+        }
+        generated.add(variants.size());
+        eventPublisher.publishEvent(new MediaVariantsReadyEvent(mediaId, source.storageKey()));
+        return variants.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("media.variants.generated", generated, LongAdder::sum)
+                .description("Image variants written to storage")
+                .register(registry);
+        FunctionCounter.builder("media.variants.reused", reused, LongAdder::sum)
+                .description("Image variants copied from media sharing the same storage object")
+                .register(registry);
+        FunctionCounter.builder("media.variants.skipped", skipped, LongAdder::sum)
+                .description("Registered media for which no variants were generated")
+                .register(registry);
+        FunctionCounter.builder("media.variants.failed", failed, LongAdder::sum)
+                .description("Variant generations that failed")
+                .register(registry);
+        FunctionCounter.builder("media.variants.dropped", dropped, LongAdder::sum)
+                .description("Variant generations dropped because the queue was full")
+                .register(registry);
+        Gauge.builder("media.variants.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Media waiting for variant generation")
+                .register(registry);
+    }
+
+    private record Source(String storageKey, String mime) {
+    }
+
+    // 縮小版のキーは元画像のキーから決まるため、同じオブジェクトを共有するメディアの縮小版はそのまま使える
+    private int copySharedVariants(Long mediaId, String storageKey) {
+        Map<String, MediaVariant> shared = new LinkedHashMap<>();
+        variantRepository.findByMediaStorageKeyAndMediaIdNot(storageKey, mediaId)
+                .forEach(variant -> shared.putIfAbsent(variant.getStorageKey(), variant));
+        if (shared.isEmpty()) {
+            return 0;
+        }
+        Media media = mediaRepository.getReferenceById(mediaId);
+        variantRepository.saveAll(shared.values().stream()
+                .map(variant -> MediaVariant.builder()
+                        .media(media)
+                        .width(variant.getWidth())
+                        .height(variant.getHeight())
+                        .mime(variant.getMime())
+                        .storageKey(variant.getStorageKey())
+                        .bytes(variant.getBytes())
+                        .build())
+                .toList());
+        return shared.size();
+    }
+
+    private void generateSafely(Long mediaId) {
+        try {
+            generate(mediaId);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Media variants: failed for media {}: {}", mediaId, e.toString());
+        }
+    }
+
+    private static boolean isResizable(String mime) {
+        if (mime == null) {
+            return false;
+        }
+        String normalized = mime.toLowerCase(Locale.ROOT);
+        // GIF はアニメーション、SVG はベクターのため縮小しない
+        return normalized.startsWith("image/") && !normalized.equals("image/gif")
+                && !normalized.startsWith("image/svg");
+    }
+
+    // 画素数を確認してから展開する（小さなファイルに巨大な画像を詰めたものを展開しない）
+    private BufferedImage decode(byte[] content) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > properties.getMaxSourcePixels()) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // 半分ずつ縮小する（1回で大きく縮小するとバイリニア補間でも粗くなる）
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, String format) {
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType(format).next();
+        // JPEG は透過を持てないため白背景に合成する
+        BufferedImage target = JPEG.equals(format) && image.getColorModel().hasAlpha() ? flatten(image) : image;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (param.getCompressionType() == null && types != null && types.length > 0) {
+                    param.setCompressionType(types[0]);
+                }
+                param.setCompressionQuality(properties.getQuality());
+            }
+            writer.write(null, new IIOImage(target, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode image variant as " + format, e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage flatten(BufferedImage image) {
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * 縮小版のストレージキー（元画像のキーから拡張子を除き、幅と形式を付ける）。
+     * 例: media/2025/01/uuid.png → media/2025/01/uuid-w640.webp
+     */
+    static String variantKey(String storageKey, int width, String format) {
+        int slash = storageKey.lastIndexOf('/');
+        int dot = storageKey.lastIndexOf('.');
+        String base = dot > slash ? storageKey.substring(0, dot) : storageKey;
+        String subtype = format.substring(format.indexOf('/') + 1);
+        String extension = "jpeg".equals(subtype) ? "jpg" : subtype;
+        return base + "-w" + width + "." + extension;
+    }
+
+    private void deleteQuietly(String storageKey) {
+        try {
+            mediaStorage.deleteObject(storageKey);
+        } catch (RuntimeException e) {
+            log.warn("Media variants: failed to delete {}: {}", storageKey, e.toString());
+        }
+    }
+}
@@ -4,7 +4,10 @@ import java.net.URI;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import com.example.backend.config.MediaStorageProperties;
 
@@ -14,19 +17,38 @@ import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ChecksumMode;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.MultipartUpload;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
 import software.amazon.awssdk.services.s3.S3Configuration;
 
 /**
@@ -38,6 +60,7 @@ import software.amazon.awssdk.services.s3.S3Configuration;
  * <ul>
  * <li>管理画面・API経由の画像/ファイルアップロード・ダウンロード用途</li>
  * <li>署名付きURLは有効期限付きで発行</li>
+ * <li>大きなファイルはマルチパートアップロード（パートごとの署名付きURL）</li>
  * <li>MinIO等のS3互換ストレージにも対応</li>
  * </ul>
  * </p>
@@ -45,6 +68,9 @@ import software.amazon.awssdk.services.s3.S3Configuration;
 @RequiredArgsConstructor
 public class S3MediaStorageService implements MediaStorage {
 
+    // サーバー側で生成するオブジェクトはキーごとに内容が変わらない
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
     private final MediaStorageProperties properties;
@@ -56,13 +82,15 @@ public class S3MediaStorageService implements MediaStorage {
      * @param storageKey    ストレージ内の保存先キー
      * @param contentType   Content-Type
      * @param contentLength バイト長
+     * @param contentSha256 内容の SHA-256（指定した場合、一致しない内容のアップロードは S3 が拒否する）
      * @param ttl           URL有効期間
      * @return PresignedUpload情報
      * @throws IllegalArgumentException 引数不正時
      * @throws StorageException         S3連携失敗時
      */
     @Override
-    public PresignedUpload createUploadUrl(String storageKey, String contentType, long contentLength, Duration ttl) {
+    public PresignedUpload createUploadUrl(String storageKey, String contentType, long contentLength,
+            String contentSha256, Duration ttl) {
         if (storageKey == null || storageKey.isBlank()) {
             throw new IllegalArgumentException("storageKey must be provided");
         }
@@ -72,11 +100,16 @@ public class S3MediaStorageService implements MediaStorage {
         if (contentLength <= 0) {
             throw new IllegalArgumentException("contentLength must be greater than 0");
         }
+        if (contentSha256 != null && !ContentHash.isSha256Hex(contentSha256)) {
+            throw new IllegalArgumentException("contentSha256 must be a lowercase hex SHA-256");
+        }
+        String checksum = contentSha256 != null ? ContentHash.toBase64(contentSha256) : null;
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                 .bucket(properties.getBucket())
                 .key(storageKey)
                 .contentType(contentType)
                 .contentLength(contentLength)
+                .checksumSHA256(checksum)
                 .build();
 
         PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
@@ -87,7 +120,10 @@ public class S3MediaStorageService implements MediaStorage {
         try {
             PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(presignRequest);
 
-            Map<String, String> headers = Map.of("Content-Type", contentType);
+            // チェックサムは署名対象のヘッダーのため、クライアントは同じ値を送る必要がある
+            Map<String, String> headers = checksum != null
+                    ? Map.of("Content-Type", contentType, "x-amz-checksum-sha256", checksum)
+                    : Map.of("Content-Type", contentType);
             Instant expiresAt = presigned.expiration() != null ? presigned.expiration() : Instant.now(clock).plus(ttl);
 
             return new PresignedUpload(presigned.url().toExternalForm(), headers, expiresAt, storageKey);
@@ -149,6 +185,34 @@ public class S3MediaStorageService implements MediaStorage {
         }
     }
 
+    /**
+     * 指定キーのオブジェクトの、S3 が検証した SHA-256 を取得する。
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @return 内容の SHA-256（16進小文字）、チェックサムなしでアップロードされた場合は null
+     * @throws ObjectNotFoundException オブジェクトが存在しない場合
+     * @throws StorageException        S3連携失敗時
+     */
+    @Override
+    public String findContentSha256(String storageKey) {
+        try {
+            return ContentHash.fromBase64(s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .checksumMode(ChecksumMode.ENABLED)
+                    .build()).checksumSHA256());
+        } catch (NoSuchKeyException e) {
+            throw new ObjectNotFoundException(storageKey, e);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new ObjectNotFoundException(storageKey, e);
+            }
+            throw new StorageException("Failed to validate uploaded media", e);
+        } catch (SdkClientException e) {
+            throw new StorageException("Failed to communicate with S3", e);
+        }
+    }
+
     /**
      * 指定キーのオブジェクトをS3から削除する。
      * 
@@ -167,6 +231,256 @@ public class S3MediaStorageService implements MediaStorage {
         }
     }
 
+    /**
+     * 指定キーのオブジェクトの内容をS3から取得する。
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @return オブジェクトの内容
+     * @throws ObjectNotFoundException オブジェクトが存在しない場合
+     * @throws StorageException        S3連携失敗時
+     */
+    @Override
+    public byte[] getObject(String storageKey) {
+        try {
+            return s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .build()).asByteArray();
+        } catch (NoSuchKeyException e) {
+            throw new ObjectNotFoundException(storageKey, e);
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to read media object: " + storageKey, e);
+        }
+    }
+
+    /**
+     * サーバー側で生成したオブジェクトをS3に保存する。
+     *
+     * @param storageKey  ストレージ内の保存先キー
+     * @param contentType Content-Type
+     * @param content     内容
+     * @throws StorageException S3連携失敗時
+     */
+    @Override
+    public void putObject(String storageKey, String contentType, byte[] content) {
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .contentType(contentType)
+                    .contentLength((long) content.length)
+                    .cacheControl(IMMUTABLE_CACHE_CONTROL)
+                    .build(), RequestBody.fromBytes(content));
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to store media object: " + storageKey, e);
+        }
+    }
+
+    /**
+     * S3上でマルチパートアップロードを開始する。
+     *
+     * @param storageKey  ストレージ内の保存先キー
+     * @param contentType 完成後のオブジェクトのContent-Type
+     * @return アップロードID
+     * @throws StorageException S3連携失敗時
+     */
+    @Override
+    public String createMultipartUpload(String storageKey, String contentType) {
+        if (storageKey == null || storageKey.isBlank()) {
+            throw new IllegalArgumentException("storageKey must be provided");
+        }
+        try {
+            return s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .contentType(contentType)
+                    .build()).uploadId();
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to create multipart upload: " + storageKey, e);
+        }
+    }
+
+    /**
+     * パートごとの署名付きURLを発行する。
+     * <p>
+     * 署名はローカルの計算のみで、パート数が多いと時間がかかるため並列に発行する。
+     * </p>
+     *
+     * @param storageKey  ストレージ内の保存先キー
+     * @param uploadId    アップロードID
+     * @param partNumbers パート番号
+     * @param ttl         URL有効期間
+     * @return パートごとの署名付きURL（partNumbersと同じ順序）
+     * @throws StorageException S3連携失敗時
+     */
+    @Override
+    public List<PresignedPart> createPartUploadUrls(String storageKey, String uploadId, List<Integer> partNumbers,
+            Duration ttl) {
+        try {
+            return partNumbers.parallelStream()
+                    .map(partNumber -> {
+                        var presigned = s3Presigner.presignUploadPart(UploadPartPresignRequest.builder()
+                                .signatureDuration(ttl)
+                                .uploadPartRequest(UploadPartRequest.builder()
+                                        .bucket(properties.getBucket())
+                                        .key(storageKey)
+                                        .uploadId(uploadId)
+                                        .partNumber(partNumber)
+                                        .build())
+                                .build());
+                        Instant expiresAt = presigned.expiration() != null ? presigned.expiration()
+                                : Instant.now(clock).plus(ttl);
+                        return new PresignedPart(partNumber, presigned.url().toExternalForm(), expiresAt);
+                    })
+                    .toList();
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to create presigned part upload URLs", e);
+        }
+    }
+
+    /**
+     * S3上でマルチパートアップロードを完了する。
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @param uploadId   アップロードID
+     * @param parts      アップロード済みのパート
+     * @throws UploadNotFoundException アップロードが存在しない場合
+     * @throws StorageException        S3連携失敗時（パートの不足・ETag不一致を含む）
+     */
+    @Override
+    public void completeMultipartUpload(String storageKey, String uploadId, List<CompletedPart> parts) {
+        List<software.amazon.awssdk.services.s3.model.CompletedPart> completed = parts.stream()
+                .map(part -> software.amazon.awssdk.services.s3.model.CompletedPart.builder()
+                        .partNumber(part.partNumber())
+                        .eTag(part.etag())
+                        .build())
+                .toList();
+        try {
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+        } catch (NoSuchUploadException e) {
+            throw new UploadNotFoundException(uploadId, e);
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to complete multipart upload: " + storageKey, e);
+        }
+    }
+
+    /**
+     * S3上でマルチパートアップロードを中止する。
+     *
+     * @param storageKey ストレージ内の保存先キー
+     * @param uploadId   アップロードID
+     * @throws StorageException S3連携失敗時
+     */
+    @Override
+    public void abortMultipartUpload(String storageKey, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(properties.getBucket())
+                    .key(storageKey)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (NoSuchUploadException e) {
+            // 完了・中止済み
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to abort multipart upload: " + storageKey, e);
+        }
+    }
+
+    /**
+     * 未完了のマルチパートアップロードを取得する（ListMultipartUploads をページごとに読み、上限件数で打ち切る）。
+     *
+     * @param initiatedBefore 開始時刻の上限
+     * @param limit           最大件数
+     * @return 未完了のアップロード
+     * @throws StorageException S3連携失敗時
+     */
+    @Override
+    public List<IncompleteUpload> listIncompleteUploads(Instant initiatedBefore, int limit) {
+        List<IncompleteUpload> result = new ArrayList<>();
+        try {
+            for (MultipartUpload upload : s3Client.listMultipartUploadsPaginator(ListMultipartUploadsRequest
+                    .builder()
+                    .bucket(properties.getBucket())
+                    .build()).uploads()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (upload.initiated() != null && upload.initiated().isBefore(initiatedBefore)) {
+                    result.add(new IncompleteUpload(upload.key(), upload.uploadId(), upload.initiated()));
+                }
+            }
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to list multipart uploads", e);
+        }
+        return result;
+    }
+
+    /**
+     * プレフィックス配下のオブジェクトを ListObjectsV2 のページ単位で渡す。
+     * <p>
+     * 次のページは前のページの処理が終わってから取得する（保持するのは1ページ分のみ）。
+     * </p>
+     *
+     * @param prefix      キーのプレフィックス
+     * @param pageHandler 1ページごとの処理
+     * @throws StorageException S3連携失敗時
+     */
+    @Override
+    public void listObjects(String prefix, Consumer<List<StoredObject>> pageHandler) {
+        try {
+            for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                    .bucket(properties.getBucket())
+                    .prefix(prefix)
+                    .maxKeys(1_000)
+                    .build())) {
+                if (page.hasContents() && !page.contents().isEmpty()) {
+                    pageHandler.accept(page.contents().stream()
+                            .map(object -> new StoredObject(object.key(), object.lastModified()))
+                            .toList());
+                }
+            }
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to list media objects", e);
+        }
+    }
+
+    /**
+     * DeleteObjects で複数のオブジェクトを削除する（quiet モード、失敗したキーのみ応答に含まれる）。
+     *
+     * @param storageKeys ストレージ内の保存先キー（1000件まで）
+     * @return 削除できなかったキー
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     * @throws StorageException         S3連携失敗時
+     */
+    @Override
+    public List<String> deleteObjects(List<String> storageKeys) {
+        if (storageKeys.size() > MAX_DELETE_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_DELETE_BATCH + " keys can be deleted at once");
+        }
+        if (storageKeys.isEmpty()) {
+            return List.of();
+        }
+        try {
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(properties.getBucket())
+                    .delete(Delete.builder()
+                            .objects(storageKeys.stream()
+                                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                                    .toList())
+                            .quiet(true)
+                            .build())
+                    .build());
+            return response.hasErrors() ? response.errors().stream().map(S3Error::key).toList() : List.of();
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("Failed to delete media objects", e);
+        }
+    }
+
     /**
      * S3ClientをMediaStoragePropertiesから構築するユーティリティ。
      * <ul>
@@ -0,0 +1,179 @@
+package com.example.backend.service.password;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.config.PasswordHashingProperties;
+import com.example.backend.exception.AuthBusyException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * パスワードハッシュの照合を専用スレッドで行うサービス。
+ * <p>
+ * BCrypt の照合は意図的に重いため、リクエストスレッドで実行するとログイン要求の集中（クレデンシャルスタッフィング等）で
+ * CPUを使い切り、公開APIの応答まで遅くなる。照合はCPUコア数のスレッドと上限付きの待ち行列で実行し、超過分は即座に拒否する。
+ * <ul>
+ * <li>待ち行列が満杯: 照合せずに {@link AuthBusyException}（503 + Retry-After）</li>
+ * <li>待ち時間が {@code app.password-hashing.max-queue-wait} を超えた要求: 照合せずに同じく拒否（クライアントが諦めた可能性が高い）</li>
+ * <li>照合に成功し、保存済みハッシュのコストが設定より低い場合は、同じタスク内で再ハッシュした値を返す</li>
+ * </ul>
+ * 待ち時間・照合時間・拒否数はメトリクスとして公開する。
+ * </p>
+ *
+ * @see com.example.backend.service.AuthService#login
+ */
+@Service
+public class PasswordHashingService implements MeterBinder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final TimerStat queueWait = new TimerStat();
+    private final TimerStat hashTime = new TimerStat();
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, PasswordHashingProperties properties) {
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+        int threads = properties.getThreads() > 0 ? properties.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 照合結果。
+     *
+     * @param matched      パスワードが一致したか
+     * @param upgradedHash 再ハッシュした値（不要な場合は null）
+     */
+    public record Verification(boolean matched, String upgradedHash) {
+    }
+
+    /**
+     * パスワードを照合する（呼び出し元は結果が出るまで待つ）。
+     *
+     * @param rawPassword 入力されたパスワード
+     * @param storedHash  保存済みのハッシュ
+     * @return 照合結果
+     * @throws AuthBusyException 待ち行列が満杯、または待ち時間が上限を超えた場合
+     */
+    public Verification verify(String rawPassword, String storedHash) {
+        long submittedAt = System.nanoTime();
+        long maxWaitNanos = properties.getMaxQueueWait().toNanos();
+        Future<Verification> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt);
+                if (startedAt - submittedAt > maxWaitNanos) {
+                    return null;
+                }
+                try {
+                    return match(rawPassword, storedHash);
+                } finally {
+                    hashTime.record(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        Verification verification;
+        try {
+            verification = future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        if (verification == null) {
+            throw busy();
+        }
+        return verification;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionTimer.builder("auth.password.queue.wait", queueWait, TimerStat::count, TimerStat::totalNanos,
+                TimeUnit.NANOSECONDS)
+                .description("Time password verifications spent waiting for a hashing thread")
+                .register(registry);
+        FunctionTimer.builder("auth.password.hash", hashTime, TimerStat::count, TimerStat::totalNanos,
+                TimeUnit.NANOSECONDS)
+                .description("Time spent verifying (and re-hashing) passwords")
+                .register(registry);
+        FunctionCounter.builder("auth.password.rejected", rejected, LongAdder::sum)
+                .description("Password verifications rejected because the hashing executor was saturated")
+                .register(registry);
+        Gauge.builder("auth.password.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Password verifications waiting for a hashing thread")
+                .register(registry);
+    }
+
+    private Verification match(String rawPassword, String storedHash) {
+        if (storedHash == null || !passwordEncoder.matches(rawPassword, storedHash)) {
+            return new Verification(false, null);
+        }
+        // コスト変更後は、平文が手元にあるログイン成功時にだけ再ハッシュできる
+        String upgraded = passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(rawPassword) : null;
+        return new Verification(true, upgraded);
+    }
+
+    private AuthBusyException busy() {
+        rejected.increment();
+        Duration retryAfter = properties.getRetryAfter();
+        return new AuthBusyException("Too many login attempts in progress", retryAfter);
+    }
+
+    private static final class TimerStat {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double totalNanos() {
+            return totalNanos.sum();
+        }
+    }
+}
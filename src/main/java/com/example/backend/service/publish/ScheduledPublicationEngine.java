@@ -0,0 +1,273 @@
+package com.example.backend.service.publish;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.event.ContentResetEvent;
+import com.example.backend.event.PostBecameVisibleEvent;
+import com.example.backend.event.PostChangedEvent;
+import com.example.backend.repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 予約公開エンジン。
+ * <p>
+ * 公開日時が未来の公開済み投稿（予約投稿）をメモリ上のタイムラインに保持し、
+ * 最も早い公開日時にタイマーを1つだけ仕掛ける。公開日時ちょうどに {@link PostBecameVisibleEvent} を発行し、
+ * キャッシュ・ETag・フィード等が書き込みなしに変わる公開範囲へ追従できるようにする。
+ * <ul>
+ * <li>起動時: DBから予約投稿を読み込んでタイムラインを構築</li>
+ * <li>投稿変更: コミット後に該当投稿の予約を読み直す（追加・変更・取り消し）</li>
+ * <li>定期再同期: 他ノードでの変更や取りこぼしに備えてDBから再構築（{@code app.scheduled-publish.resync-interval}）</li>
+ * </ul>
+ * 公開可否の判定自体は従来どおり各クエリの公開日時比較で行う（タイマーの遅延やノード間の時計差があっても
+ * 表示が公開日時より早まることはない）。タイマーは専用スレッドで動かし、他の定期ジョブの影響を受けない。
+ * </p>
+ */
+@Component
+public class ScheduledPublicationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledPublicationEngine.class);
+
+    private static final Comparator<Entry> TIMELINE_ORDER = Comparator.comparing(Entry::publishAt)
+            .thenComparing(Entry::postId);
+
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final ScheduledExecutorService timer;
+
+    // 以下はすべて this で同期
+    private final TreeSet<Entry> timeline = new TreeSet<>(TIMELINE_ORDER);
+    private final Map<Long, Entry> entriesByPost = new HashMap<>();
+    private ScheduledFuture<?> pending;
+    private LocalDateTime pendingAt;
+    // 投稿ごとの最後の読み直し世代（再同期の読み込み中に読み直された投稿を上書きしないため）
+    private final Map<Long, Long> refreshedAt = new HashMap<>();
+    private long generation;
+
+    // 再同期どうしを直列化する（読み直し世代の記録を再同期の完了時に捨てられるように）
+    private final Object resyncLock = new Object();
+
+    public ScheduledPublicationEngine(PostRepository postRepository, ApplicationEventPublisher eventPublisher,
+            Clock clock) {
+        this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduled-publish");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * タイムライン上の予約1件。
+     *
+     * @param postId    投稿ID
+     * @param slug      投稿スラッグ
+     * @param publishAt 公開日時
+     */
+    public record Entry(Long postId, String slug, LocalDateTime publishAt) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        resync();
+    }
+
+    /**
+     * DBの予約投稿でタイムラインを作り直す。
+     * <p>
+     * 読み込みと同じ基準時刻で到達済みの予約を発火させてから差分を反映するため、再同期でイベントが失われることはない。
+     * 読み込み中に {@link #refresh(Long)} で読み直された投稿は、そちらの方が新しいため置き換えない。
+     * </p>
+     */
+    @Scheduled(initialDelayString = "${app.scheduled-publish.resync-interval:PT5M}", fixedDelayString = "${app.scheduled-publish.resync-interval:PT5M}")
+    public void resync() {
+        List<Entry> due;
+        int loadedCount;
+        synchronized (resyncLock) {
+            long startedAt;
+            synchronized (this) {
+                startedAt = generation;
+            }
+            LocalDateTime now = LocalDateTime.now(clock);
+            Map<Long, Entry> loaded = new HashMap<>();
+            postRepository.findScheduledAfter(now)
+                    .forEach(view -> loaded.put(view.getId(), new Entry(view.getId(), view.getSlug(),
+                            view.getPublishedAt())));
+            synchronized (this) {
+                due = pollDue(now);
+                List<Long> postIds = new ArrayList<>(entriesByPost.keySet());
+                postIds.addAll(loaded.keySet());
+                for (Long postId : postIds) {
+                    if (refreshedAt.getOrDefault(postId, startedAt) > startedAt) {
+                        continue;
+                    }
+                    remove(postId);
+                    Entry entry = loaded.get(postId);
+                    if (entry != null) {
+                        add(entry);
+                    }
+                }
+                refreshedAt.clear();
+                rearm();
+            }
+            loadedCount = loaded.size();
+        }
+        publish(due);
+        log.debug("Scheduled publish: {} upcoming posts loaded", loadedCount);
+    }
+
+    /**
+     * 指定投稿の予約をDBから読み直す。
+     *
+     * @param postId 投稿ID
+     */
+    public void refresh(Long postId) {
+        Optional<Entry> loaded = postRepository.findScheduledById(postId, LocalDateTime.now(clock))
+                .map(view -> new Entry(view.getId(), view.getSlug(), view.getPublishedAt()));
+        synchronized (this) {
+            refreshedAt.put(postId, ++generation);
+            remove(postId);
+            loaded.ifPresent(this::add);
+            rearm();
+        }
+    }
+
+    /**
+     * 公開日時に到達した予約を取り出し、イベントを発行する。
+     * <p>
+     * 通常はタイマーから呼ばれる。イベントはロックの外で発行する。
+     * </p>
+     *
+     * @return 発行したイベント数
+     */
+    public int fireDue() {
+        List<Entry> due;
+        synchronized (this) {
+            due = pollDue(LocalDateTime.now(clock));
+            rearm();
+        }
+        publish(due);
+        return due.size();
+    }
+
+    /**
+     * 次の公開日時を取得。
+     *
+     * @return 次の公開日時（予約がなければ空）
+     */
+    public synchronized Optional<LocalDateTime> nextPublishAt() {
+        return timeline.isEmpty() ? Optional.empty() : Optional.of(timeline.first().publishAt());
+    }
+
+    /**
+     * 保持している予約の件数を取得。
+     *
+     * @return 予約件数
+     */
+    public synchronized int size() {
+        return timeline.size();
+    }
+
+    // 投稿の保存・削除はコミット後に反映（トランザクション外の呼び出しは即時）
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        refresh(event.postId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentReset(ContentResetEvent event) {
+        resync();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    // 呼び出し元で this を同期すること
+    private List<Entry> pollDue(LocalDateTime now) {
+        List<Entry> due = new ArrayList<>();
+        while (!timeline.isEmpty() && !timeline.first().publishAt().isAfter(now)) {
+            Entry entry = timeline.pollFirst();
+            entriesByPost.remove(entry.postId());
+            due.add(entry);
+        }
+        return due;
+    }
+
+    private void publish(List<Entry> due) {
+        for (Entry entry : due) {
+            try {
+                eventPublisher.publishEvent(new PostBecameVisibleEvent(entry.postId(), entry.slug(),
+                        entry.publishAt()));
+            } catch (RuntimeException e) {
+                // 1件の失敗で後続の公開通知を止めない
+                log.warn("Scheduled publish: listener failed for post {}: {}", entry.postId(), e.getMessage());
+            }
+        }
+    }
+
+    private void add(Entry entry) {
+        timeline.add(entry);
+        entriesByPost.put(entry.postId(), entry);
+    }
+
+    private void remove(Long postId) {
+        Entry previous = entriesByPost.remove(postId);
+        if (previous != null) {
+            timeline.remove(previous);
+        }
+    }
+
+    // 最も早い公開日時にタイマーを合わせる（変わっていなければ何もしない）
+    private void rearm() {
+        LocalDateTime next = timeline.isEmpty() ? null : timeline.first().publishAt();
+        if (next != null && next.equals(pendingAt) && pending != null && !pending.isDone()) {
+            return;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        pendingAt = next;
+        if (next != null && !timer.isShutdown()) {
+            long delayNanos = Math.max(0, Duration.between(LocalDateTime.now(clock), next).toNanos());
+            pending = timer.schedule(this::onTimer, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 実行中のタイマー自身を破棄済みにしてから発火させる（早着時も次のタイマーを仕掛け直せるように）
+    private void onTimer() {
+        synchronized (this) {
+            pending = null;
+            pendingAt = null;
+        }
+        fireDue();
+    }
+}
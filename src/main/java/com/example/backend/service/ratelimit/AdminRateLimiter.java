@@ -0,0 +1,114 @@
+package com.example.backend.service.ratelimit;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 管理API（/api/admin/**）のユーザー別・コスト付きレート制限。
+ * <p>
+ * 認証済みユーザー（JWT の subject）ごとにバケットを持ち、エンドポイントごとのコスト（{@link RateLimitCost}）分のトークンを消費する。
+ * <ul>
+ * <li>容量: ロール別の {@code app.rate-limit.admin.quotas}（複数ロールの場合は最大のもの）</li>
+ * <li>ロールが変わった場合は別のバケットになる（新しいロールの容量で満タンから始まる）</li>
+ * <li>バケットは {@link RateLimiter} と同じく件数上限・アイドル期限付きのキャッシュに保持する</li>
+ * </ul>
+ * </p>
+ *
+ * @see com.example.backend.config.AdminRateLimitInterceptor
+ */
+@Component
+public class AdminRateLimiter implements MeterBinder {
+
+    private final RateLimitProperties.Admin properties;
+    private final Cache<String, Bucket> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    public AdminRateLimiter(RateLimitProperties properties) {
+        this.properties = properties.getAdmin();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    /**
+     * 判定結果。
+     *
+     * @param allowed       許可されたか
+     * @param limit         期間あたりのトークン数
+     * @param remaining     残りのトークン数
+     * @param nanosToReset  満タンに戻るまでの時間（ナノ秒）
+     * @param nanosToWait   拒否された場合、必要なトークンが貯まるまでの時間（ナノ秒）
+     * @param periodSeconds 補充の期間（秒）
+     */
+    public record Decision(boolean allowed, long limit, long remaining, long nanosToReset, long nanosToWait,
+            long periodSeconds) {
+    }
+
+    /**
+     * 管理APIのレート制限を行うか。
+     *
+     * @return 有効な場合は true
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * ユーザーのバケットからコスト分のトークンを消費する。
+     *
+     * @param subject     JWT の subject
+     * @param authorities ユーザーの権限
+     * @param cost        消費するトークン数
+     * @return 判定結果（ロールに割り当てがない場合は null = 制限しない）
+     */
+    public Decision tryConsume(String subject, Collection<? extends GrantedAuthority> authorities, int cost) {
+        String role = null;
+        long quota = 0;
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            Long roleQuota = properties.getQuotas().get(name.startsWith("ROLE_") ? name.substring(5) : name);
+            if (roleQuota != null && roleQuota > quota) {
+                role = name;
+                quota = roleQuota;
+            }
+        }
+        if (role == null) {
+            return null;
+        }
+        long capacity = quota;
+        Bucket bucket = buckets.get(subject + "|" + role, key -> Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.intervally(capacity, properties.getPeriod())))
+                .build());
+        // 容量を超えるコストは永久に通らないため、容量で頭打ちにする
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(Math.min(Math.max(1, cost), capacity));
+        if (!probe.isConsumed()) {
+            rejected.increment();
+        }
+        return new Decision(probe.isConsumed(), capacity, probe.getRemainingTokens(), probe.getNanosToWaitForReset(),
+                probe.getNanosToWaitForRefill(), properties.getPeriod().toSeconds());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("ratelimit.admin.rejected", rejected, LongAdder::sum)
+                .description("Admin API requests rejected by the per-user rate limiter")
+                .register(registry);
+    }
+}
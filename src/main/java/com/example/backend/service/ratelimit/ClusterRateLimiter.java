@@ -0,0 +1,233 @@
+package com.example.backend.service.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.config.RateLimitProperties;
+import com.example.backend.repository.RateLimitBucketRepository;
+import com.example.backend.repository.RateLimitBucketRepository.Reservation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 複数ノードで共有するレート制限（{@code app.rate-limit.distributed.enabled=true} の場合のみ使用）。
+ * <p>
+ * ノードごとにバケットを持つと、実際の上限がノード数倍になる。共有バケットは PostgreSQL の
+ * rate_limit_buckets に置き、各ノードはそこから {@code prefetch} 個ずつトークンをまとめて確保する。
+ * <ul>
+ * <li>確保済みのトークンが残っている間はDBにアクセスせずに判定する</li>
+ * <li>共有バケットが空の場合は、補充されるまでDBにアクセスせずに拒否する</li>
+ * <li>同じバケットへの確保は同時に1件だけ行い、他のリクエストはその結果を待つ</li>
+ * <li>DBの応答が {@code timeout} を超えた・失敗した場合は {@code null} を返し、呼び出し元はノードごとの制限で判定する。
+ * その後 {@code failure-backoff} の間は共有バケットを使わない</li>
+ * </ul>
+ * 確保済みで使われなかったトークン（最大でノード数 × prefetch）の分だけ、短時間の制限は厳密ではなくなる。
+ * </p>
+ *
+ * @see RateLimiter
+ * @see RateLimitBucketRepository
+ */
+@Component
+public class ClusterRateLimiter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRateLimiter.class);
+
+    // 確保の完了を待ったあと、他のリクエストに取られて再確保する回数の上限
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final RateLimitBucketRepository repository;
+    private final RateLimitProperties.Distributed properties;
+    private final Duration idleTimeout;
+    private final Cache<String, Lease> leases;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder localDecisions = new LongAdder();
+    private final LongAdder reservations = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private volatile long unavailableUntil;
+
+    public ClusterRateLimiter(RateLimitBucketRepository repository, RateLimitProperties properties) {
+        this.repository = repository;
+        this.properties = properties.getDistributed();
+        this.idleTimeout = properties.getIdleTimeout();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        int threads = Math.max(1, this.properties.getThreads());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, this.properties.getQueueCapacity())), runnable -> {
+                    Thread thread = new Thread(runnable, "rate-limit-cluster-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 共有バケットを使うか。
+     *
+     * @return 有効な場合は true
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 共有バケットからトークンを1つ消費する。
+     *
+     * @param bucketKey バケットのキー
+     * @param policy    適用するポリシー
+     * @return 判定結果（共有バケットを使えない場合は null）
+     */
+    public RateLimiter.Decision tryConsume(String bucketKey, RateLimitProperties.Policy policy) {
+        if (System.nanoTime() < unavailableUntil) {
+            fallbacks.increment();
+            return null;
+        }
+        Lease lease = leases.get(bucketKey, key -> new Lease());
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            CompletableFuture<Reservation> pending;
+            synchronized (lease) {
+                long now = System.nanoTime();
+                if (lease.tokens > 0 && now < lease.expiresAt) {
+                    lease.tokens--;
+                    localDecisions.increment();
+                    return new RateLimiter.Decision(true, lease.tokens, 0);
+                }
+                if (now < lease.deniedUntil) {
+                    localDecisions.increment();
+                    return new RateLimiter.Decision(false, 0, lease.deniedUntil - now);
+                }
+                if (lease.inFlight == null || lease.inFlight.isDone()) {
+                    try {
+                        lease.inFlight = reserve(bucketKey, policy, lease);
+                    } catch (RejectedExecutionException e) {
+                        fallbacks.increment();
+                        return null;
+                    }
+                }
+                pending = lease.inFlight;
+            }
+            if (!await(pending)) {
+                fallbacks.increment();
+                return null;
+            }
+        }
+        // 確保した分を他のリクエストに取られ続けた（同じバケットへの集中）。拒否して少し待たせる
+        return new RateLimiter.Decision(false, 0, properties.getLeaseTtl().toNanos());
+    }
+
+    /**
+     * 使われていない共有バケットを削除する。
+     */
+    @Scheduled(initialDelayString = "${app.rate-limit.distributed.cleanup-interval:PT10M}", fixedDelayString = "${app.rate-limit.distributed.cleanup-interval:PT10M}")
+    public void cleanup() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            int deleted = repository.deleteIdle(idleTimeout);
+            log.debug("Rate limit cleanup: {} idle buckets deleted", deleted);
+        } catch (RuntimeException e) {
+            log.warn("Rate limit cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("ratelimit.cluster.local", localDecisions, LongAdder::sum)
+                .description("Cluster rate limit decisions made from locally reserved tokens")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.cluster.reservations", reservations, LongAdder::sum)
+                .description("Token reservations made against the shared bucket table")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.cluster.fallback", fallbacks, LongAdder::sum)
+                .description("Requests decided by the per-node limiter because the shared bucket was unavailable")
+                .register(registry);
+    }
+
+    // 呼び出し元は lease のロックを保持していること
+    private CompletableFuture<Reservation> reserve(String bucketKey, RateLimitProperties.Policy policy,
+            Lease lease) {
+        long capacity = policy.getCapacity();
+        double refillPerSecond = capacity / (policy.getPeriod().toNanos() / 1e9);
+        long requested = Math.max(1, Math.min(properties.getPrefetch(), capacity));
+        // 結果はロック内で lease に反映してから完了させる（待っていたリクエストが反映前の lease を見ないように）。
+        // タイムアウトした後に届いた結果も反映する（確保したトークンを無駄にしない）
+        return CompletableFuture.supplyAsync(() -> {
+            reservations.increment();
+            return repository.reserve(bucketKey, capacity, refillPerSecond, requested);
+        }, executor).whenComplete((reservation, error) -> {
+            synchronized (lease) {
+                if (error != null) {
+                    markUnavailable(error);
+                    return;
+                }
+                long now = System.nanoTime();
+                lease.tokens = reservation.granted();
+                lease.expiresAt = now + properties.getLeaseTtl().toNanos();
+                lease.deniedUntil = reservation.granted() > 0 ? 0
+                        : now + (long) (Math.max(0, 1 - reservation.remaining()) / refillPerSecond * 1e9);
+            }
+        });
+    }
+
+    private boolean await(CompletableFuture<Reservation> pending) {
+        try {
+            pending.get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            markUnavailable(e);
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void markUnavailable(Throwable cause) {
+        long now = System.nanoTime();
+        if (now >= unavailableUntil) {
+            log.warn("Cluster rate limit unavailable, using per-node limits for {}: {}",
+                    properties.getFailureBackoff(), cause.toString());
+        }
+        unavailableUntil = now + properties.getFailureBackoff().toNanos();
+    }
+
+    private static final class Lease {
+
+        // 確保済みで未使用のトークン数
+        private long tokens;
+        private long expiresAt;
+        // 共有バケットが空で、補充されるまで拒否する期限
+        private long deniedUntil;
+        private CompletableFuture<Reservation> inFlight;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.service.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 管理APIのレート制限で、1回の呼び出しが消費するトークン数。
+ * <p>
+ * 付与しないエンドポイントは1トークン。検索・集計などDB負荷の高いエンドポイントに大きな値を付ける。
+ * メソッドに付与したものがクラスに付与したものより優先される。
+ * </p>
+ *
+ * @see AdminRateLimiter
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimitCost {
+
+    /**
+     * 消費するトークン数（1以上）。
+     */
+    int value();
+}
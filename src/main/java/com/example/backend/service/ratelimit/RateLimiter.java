@@ -0,0 +1,139 @@
+package com.example.backend.service.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import com.example.backend.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * パス別ポリシー × クライアントIP のレート制限。
+ * <p>
+ * バケットは件数上限・アイドル期限付きのキャッシュに保持し、多数のIPからのスキャンや偽装ヘッダーでもメモリが際限なく増えないようにする。
+ * <ul>
+ * <li>ポリシー: {@code app.rate-limit.policies}（先に一致したものを適用）</li>
+ * <li>上限: {@code app.rate-limit.max-buckets}（超過時は利用頻度の低いバケットから破棄）</li>
+ * <li>アイドル期限: {@code app.rate-limit.idle-timeout}（破棄されたバケットは満タンで作り直される）</li>
+ * <li>クライアントIP: 信頼するプロキシの段数分だけ X-Forwarded-For を右から辿る</li>
+ * <li>複数ノード: {@code app.rate-limit.distributed.enabled=true} の場合は {@link ClusterRateLimiter} の共有バケットで判定し、
+ * 使えない場合だけノードごとのバケットで判定する</li>
+ * </ul>
+ * </p>
+ *
+ * @see com.example.backend.config.RateLimitFilter
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final int trustedProxyHops;
+    private final List<RateLimitProperties.Policy> policies;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, Bucket> buckets;
+    private final LongAdder rejected = new LongAdder();
+    private final ClusterRateLimiter clusterRateLimiter;
+
+    public RateLimiter(RateLimitProperties properties, ClusterRateLimiter clusterRateLimiter) {
+        this.clusterRateLimiter = clusterRateLimiter;
+        this.enabled = properties.isEnabled();
+        this.trustedProxyHops = properties.getTrustedProxyHops();
+        this.policies = List.copyOf(properties.getPolicies());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    /**
+     * 判定結果。
+     *
+     * @param allowed          許可されたか
+     * @param remaining        残りのリクエスト数
+     * @param nanosToWait      拒否された場合、次に許可されるまでの時間（ナノ秒）
+     */
+    public record Decision(boolean allowed, long remaining, long nanosToWait) {
+    }
+
+    /**
+     * リクエストを1回分消費する。
+     *
+     * @param request リクエスト
+     * @return 判定結果（制限対象外のパスの場合は null）
+     */
+    public Decision tryConsume(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        String path = request.getRequestURI();
+        for (RateLimitProperties.Policy policy : policies) {
+            if (pathMatcher.match(policy.getPattern(), path)) {
+                String bucketKey = policy.getPattern() + "|" + resolveClientIp(request);
+                Decision decision = clusterRateLimiter.isEnabled() ? clusterRateLimiter.tryConsume(bucketKey, policy)
+                        : null;
+                if (decision == null) {
+                    ConsumptionProbe probe = buckets.get(bucketKey, key -> newBucket(policy))
+                            .tryConsumeAndReturnRemaining(1);
+                    decision = new Decision(probe.isConsumed(), probe.getRemainingTokens(),
+                            probe.getNanosToWaitForRefill());
+                }
+                if (!decision.allowed()) {
+                    rejected.increment();
+                }
+                return decision;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * クライアントIPを解決。
+     * <p>
+     * 信頼するプロキシが N 段の場合、X-Forwarded-For の右から N 番目（最も外側の信頼するプロキシが追記した値）を使う。
+     * それより左はクライアントが自由に書けるため使わない。
+     * </p>
+     *
+     * @param request リクエスト
+     * @return クライアントIP
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (trustedProxyHops <= 0 || xForwardedFor == null || xForwardedFor.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        String[] hops = xForwardedFor.split(",");
+        String client = hops[Math.max(0, hops.length - trustedProxyHops)].trim();
+        return client.isEmpty() ? request.getRemoteAddr() : client;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets held in memory")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.rejected", rejected, LongAdder::sum)
+                .description("Requests rejected by the rate limiter")
+                .register(registry);
+    }
+
+    private static Bucket newBucket(RateLimitProperties.Policy policy) {
+        Bandwidth limit = Bandwidth.classic(policy.getCapacity(),
+                Refill.intervally(policy.getCapacity(), policy.getPeriod()));
+        return Bucket.builder().addLimit(limit).build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.backend.service.search;
+
+import org.springframework.stereotype.Component;
+
+import com.example.backend.entity.Post;
+import com.example.backend.repository.PostSearchRepository;
+import com.example.backend.service.content.TipTapHtmlRenderer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 投稿の全文検索ベクトルを更新するコンポーネント。
+ * <p>
+ * タイトル・抜粋・本文（contentJson から抽出したテキスト）を {@link SearchTokenizer} でトークン化して保存する。
+ * 呼び出し元のトランザクション内で実行される。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndexer {
+
+    // tsvector のサイズ上限（1MB）を超えないよう本文を切り詰める
+    static final int MAX_BODY_LENGTH = 100_000;
+
+    private final PostSearchRepository postSearchRepository;
+    private final TipTapHtmlRenderer htmlRenderer;
+
+    /**
+     * 投稿の検索ベクトルを更新（投稿は保存済みでIDを持つこと）。
+     *
+     * @param post 投稿
+     */
+    public void index(Post post) {
+        postSearchRepository.updateSearchVector(post.getId(),
+                SearchTokenizer.tokenize(post.getTitle()),
+                SearchTokenizer.tokenize(post.getExcerpt()),
+                SearchTokenizer.tokenize(bodyText(post)));
+    }
+
+    /**
+     * 検索ベクトルが未作成の場合のみ作成（作成済みの場合は何もしない）。
+     *
+     * @param post 投稿
+     * @return 作成した場合は true
+     */
+    public boolean indexIfMissing(Post post) {
+        return postSearchRepository.fillSearchVector(post.getId(),
+                SearchTokenizer.tokenize(post.getTitle()),
+                SearchTokenizer.tokenize(post.getExcerpt()),
+                SearchTokenizer.tokenize(bodyText(post)));
+    }
+
+    private String bodyText(Post post) {
+        String body = htmlRenderer.extractText(post.getContentJson());
+        return body.length() > MAX_BODY_LENGTH ? body.substring(0, MAX_BODY_LENGTH) : body;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.service.search;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * 検索結果のスニペット生成。
+ * <p>
+ * 本文中で最初に検索語が現れる位置の前後を切り出し、HTMLエスケープした上で一致箇所を {@code <mark>} で囲む。
+ * バイグラム化した索引ではなく元のテキストに対して行うため、日本語でも自然な抜粋になる。
+ * </p>
+ */
+public final class SearchSnippets {
+
+    private static final int BEFORE = 30;
+    private static final int LENGTH = 120;
+
+    private SearchSnippets() {
+    }
+
+    /**
+     * スニペットを生成。
+     *
+     * @param text  対象テキスト（本文など）
+     * @param words 検索語（空白区切りの各語）
+     * @return ハイライト済みのスニペット（HTML）
+     */
+    public static String highlight(String text, List<String> words) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String source = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        String lower = source.toLowerCase(Locale.ROOT);
+        List<String> needles = words.stream()
+                .map(word -> Normalizer.normalize(word, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isBlank())
+                .toList();
+
+        int first = needles.stream().mapToInt(lower::indexOf).filter(i -> i >= 0).min().orElse(0);
+        int start = Math.max(0, first - BEFORE);
+        int end = Math.min(source.length(), start + LENGTH);
+
+        StringBuilder snippet = new StringBuilder();
+        if (start > 0) {
+            snippet.append('…');
+        }
+        int position = start;
+        while (position < end) {
+            int match = -1;
+            String matched = null;
+            for (String needle : needles) {
+                int index = lower.indexOf(needle, position);
+                if (index >= 0 && index < end && (match < 0 || index < match)) {
+                    match = index;
+                    matched = needle;
+                }
+            }
+            if (match < 0) {
+                snippet.append(HtmlUtils.htmlEscape(source.substring(position, end)));
+                break;
+            }
+            int matchEnd = Math.min(end, match + matched.length());
+            snippet.append(HtmlUtils.htmlEscape(source.substring(position, match)))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(source.substring(match, matchEnd)))
+                    .append("</mark>");
+            position = matchEnd;
+        }
+        if (end < source.length()) {
+            snippet.append('…');
+        }
+        return snippet.toString();
+    }
+}
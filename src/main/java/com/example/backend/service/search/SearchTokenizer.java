@@ -0,0 +1,132 @@
+package com.example.backend.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 全文検索用のトークナイザー。
+ * <p>
+ * PostgreSQL の simple 設定は空白区切りでしか単語を分割できないため、
+ * 索引・検索の両方でこのクラスを通してから tsvector / tsquery に渡す。
+ * <ul>
+ * <li>NFKC正規化・小文字化（全角英数字や半角カナの揺れを吸収）</li>
+ * <li>英数字の連続はそのまま1語（{@value #MAX_TOKEN_BYTES} バイトを超える部分は切り捨て）</li>
+ * <li>CJK（漢字・ひらがな・カタカナ・ハングル）の連続は2文字ずつずらしたバイグラムに分割</li>
+ * <li>それ以外の文字は区切りとして扱う</li>
+ * </ul>
+ * </p>
+ */
+public final class SearchTokenizer {
+
+    /**
+     * 1トークンの最大バイト数（UTF-8）。
+     * <p>
+     * PostgreSQL は 2046 バイトを超える語を含む tsvector / tsquery を拒否するため、ハッシュや長いURL等で
+     * 投稿の保存や検索が失敗しないよう十分小さく切り詰める。索引・検索で同じ長さに揃うため一致判定は変わらない。
+     * </p>
+     */
+    static final int MAX_TOKEN_BYTES = 255;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * テキストをトークンに分割。
+     *
+     * @param text 入力テキスト（null可）
+     * @return トークンのリスト（出現順）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjk = new StringBuilder();
+        normalized.codePoints().forEach(cp -> {
+            if (isCjk(cp)) {
+                flushWord(word, tokens);
+                cjk.appendCodePoint(cp);
+            } else if (Character.isLetterOrDigit(cp)) {
+                flushCjk(cjk, tokens);
+                word.appendCodePoint(cp);
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjk, tokens);
+            }
+        });
+        flushWord(word, tokens);
+        flushCjk(cjk, tokens);
+        return tokens;
+    }
+
+    /**
+     * 検索語のトークン列が前方一致検索を要するか判定。
+     * <p>
+     * 1文字のCJK語は索引側のバイグラムと一致しないため、前方一致で検索する。
+     * </p>
+     *
+     * @param tokens 1語分のトークン
+     * @return 前方一致が必要な場合true
+     */
+    public static boolean needsPrefixMatch(List<String> tokens) {
+        if (tokens.size() != 1) {
+            return false;
+        }
+        String token = tokens.get(0);
+        return token.codePointCount(0, token.length()) == 1 && isCjk(token.codePointAt(0));
+    }
+
+    /**
+     * コードポイントがCJK文字（バイグラム対象）か判定。
+     */
+    static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL
+                // 長音符「ー」は COMMON だがカタカナ語の一部として扱う
+                || codePoint == 'ー';
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (!word.isEmpty()) {
+            tokens.add(truncate(word));
+            word.setLength(0);
+        }
+    }
+
+    // コードポイントの途中で切らないよう、UTF-8で MAX_TOKEN_BYTES 以内に収まる位置までを返す
+    private static String truncate(StringBuilder word) {
+        int bytes = 0;
+        int end = 0;
+        while (end < word.length()) {
+            int cp = word.codePointAt(end);
+            bytes += cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            if (bytes > MAX_TOKEN_BYTES) {
+                break;
+            }
+            end += Character.charCount(cp);
+        }
+        return word.substring(0, end);
+    }
+
+    private static void flushCjk(StringBuilder cjk, List<String> tokens) {
+        if (cjk.isEmpty()) {
+            return;
+        }
+        int[] codePoints = cjk.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(new String(codePoints, 0, 1));
+        } else {
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                tokens.add(new String(codePoints, i, 2));
+            }
+        }
+        cjk.setLength(0);
+    }
+}
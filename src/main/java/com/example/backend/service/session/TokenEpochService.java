@@ -0,0 +1,304 @@
+package com.example.backend.service.session;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.backend.config.TokenEpochProperties;
+import com.example.backend.event.ContentResetEvent;
+import com.example.backend.repository.PgListenerConnectionFactory;
+import com.example.backend.repository.PgNotificationListener;
+import com.example.backend.repository.RefreshTokenRepository;
+import com.example.backend.repository.TokenEpochRepository;
+import com.example.backend.service.cache.PrincipalCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * アクセストークンの世代（token epoch）管理。
+ * <p>
+ * アクセストークンには発行時点のユーザーの世代を埋め込み、ログアウト（全端末）・パスワード変更・利用停止で世代を進める。
+ * 認証時はトークンの世代がメモリ上の世代表の値未満であれば拒否するため、有効期限前のトークンもDBを参照せずに即時失効できる。
+ * <ul>
+ * <li>世代表: ユーザーID昇順の {@code long[]} 2本（ID・世代）を不変のスナップショットとして保持し、二分探索で参照。
+ * 世代が0のユーザーは持たない。更新は稀なため、更新時にコピーして差し替える</li>
+ * <li>永続化: users.token_epoch が正。世代を進めるトランザクション内で pg_notify し、コミット時に他ノードへ配信</li>
+ * <li>他ノード: 専用接続で LISTEN して即時反映し、通知の取りこぼしに備えて定期的にDBから再同期</li>
+ * <li>世代は増える方向にのみ反映する（通知と再同期の順序が前後しても巻き戻らない）</li>
+ * </ul>
+ * 世代を進めると、そのユーザーの未失効のリフレッシュトークンもすべて失効させる。
+ * </p>
+ *
+ * @see com.example.backend.config.SecurityConfig#jwtAuthenticationConverter
+ */
+@Component
+public class TokenEpochService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenEpochService.class);
+
+    private static final String RESET_PAYLOAD = "reset";
+
+    private final TokenEpochRepository tokenEpochRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PrincipalCache principalCache;
+    private final PgListenerConnectionFactory listenerConnectionFactory;
+    private final TokenEpochProperties properties;
+    private final Clock clock;
+    private final AtomicReference<EpochTable> table = new AtomicReference<>(EpochTable.EMPTY);
+    private final LongAdder rejected = new LongAdder();
+
+    private PgNotificationListener listener;
+
+    public TokenEpochService(TokenEpochRepository tokenEpochRepository, RefreshTokenRepository refreshTokenRepository,
+            PrincipalCache principalCache, PgListenerConnectionFactory listenerConnectionFactory,
+            TokenEpochProperties properties, Clock clock) {
+        this.tokenEpochRepository = tokenEpochRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.principalCache = principalCache;
+        this.listenerConnectionFactory = listenerConnectionFactory;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * トークンの世代が現在の世代以上か判定（メモリ上の世代表のみ参照）。
+     *
+     * @param userId     ユーザーID
+     * @param tokenEpoch トークンに埋め込まれた世代
+     * @return 有効な場合は true
+     */
+    public boolean isCurrent(long userId, long tokenEpoch) {
+        if (tokenEpoch >= table.get().get(userId)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 世代表上の現在の世代を取得。
+     *
+     * @param userId ユーザーID
+     * @return 世代（未登録の場合は0）
+     */
+    public long currentEpoch(long userId) {
+        return table.get().get(userId);
+    }
+
+    /**
+     * ユーザーの発行済みトークンをすべて失効させる（世代を進め、リフレッシュトークンを失効）。
+     * <p>
+     * 世代表への反映はコミット後（ロールバック時に世代表だけが進んでしまうのを防ぐ）。
+     * </p>
+     *
+     * @param userId ユーザーID
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        OptionalLong bumped = tokenEpochRepository.bump(userId);
+        if (bumped.isEmpty()) {
+            return;
+        }
+        long epoch = bumped.getAsLong();
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now(clock));
+        tokenEpochRepository.publish(userId + ":" + epoch);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    raise(userId, epoch);
+                }
+            });
+        } else {
+            raise(userId, epoch);
+        }
+    }
+
+    /**
+     * DBの世代を世代表に取り込む（増える方向のみ）。
+     */
+    @Scheduled(initialDelayString = "${app.token-epoch.resync-interval:PT1M}", fixedDelayString = "${app.token-epoch.resync-interval:PT1M}")
+    public void resync() {
+        Map<Long, Long> epochs = tokenEpochRepository.findAll();
+        table.updateAndGet(current -> current.raiseAll(epochs));
+    }
+
+    @PostConstruct
+    void load() {
+        table.set(EpochTable.of(tokenEpochRepository.findAll()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startListener() {
+        if (!properties.isListen() || listener != null) {
+            return;
+        }
+        // 接続していなかった間の変更は接続のたびに再同期して取り込む
+        listener = new PgNotificationListener(listenerConnectionFactory, TokenEpochRepository.CHANNEL,
+                properties.getReconnectDelay(), this::resync, this::onNotification);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        PgNotificationListener current;
+        synchronized (this) {
+            current = listener;
+            listener = null;
+        }
+        if (current != null) {
+            current.stop();
+        }
+    }
+
+    // デモリセットでユーザーIDが振り直されるため、DBの内容で世代表を作り直し、他ノードにも作り直させる
+    @EventListener
+    public void onContentReset(ContentResetEvent event) {
+        load();
+        tokenEpochRepository.publish(RESET_PAYLOAD);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("auth.token.epoch.users", table, ref -> ref.get().size())
+                .description("Users with a non-zero token epoch held in memory")
+                .register(registry);
+        FunctionCounter.builder("auth.token.epoch.rejected", rejected, LongAdder::sum)
+                .description("Access tokens rejected because their epoch was revoked")
+                .register(registry);
+    }
+
+    /**
+     * 通知内容（"ユーザーID:世代" または "reset"）を世代表に反映。
+     *
+     * @param payload 通知内容
+     */
+    void onNotification(String payload) {
+        if (RESET_PAYLOAD.equals(payload)) {
+            load();
+            principalCache.invalidateAll();
+            return;
+        }
+        int separator = payload.indexOf(':');
+        if (separator <= 0) {
+            log.warn("Token epoch: ignoring malformed notification '{}'", payload);
+            return;
+        }
+        try {
+            long userId = Long.parseLong(payload, 0, separator, 10);
+            long epoch = Long.parseLong(payload, separator + 1, payload.length(), 10);
+            raise(userId, epoch);
+            // 他ノードでの利用停止等を認証ユーザーキャッシュにも反映
+            principalCache.evictUserId(userId);
+        } catch (NumberFormatException e) {
+            log.warn("Token epoch: ignoring malformed notification '{}'", payload);
+        }
+    }
+
+    private void raise(long userId, long epoch) {
+        table.updateAndGet(current -> current.raise(userId, epoch));
+    }
+
+    /**
+     * ユーザーID → 世代の不変の表（ID昇順の配列2本、世代が0のユーザーは持たない）。
+     */
+    private static final class EpochTable {
+
+        static final EpochTable EMPTY = new EpochTable(new long[0], new long[0]);
+
+        private final long[] userIds;
+        private final long[] epochs;
+
+        private EpochTable(long[] userIds, long[] epochs) {
+            this.userIds = userIds;
+            this.epochs = epochs;
+        }
+
+        static EpochTable of(Map<Long, Long> source) {
+            return EMPTY.raiseAll(source);
+        }
+
+        int size() {
+            return userIds.length;
+        }
+
+        long get(long userId) {
+            int index = Arrays.binarySearch(userIds, userId);
+            return index >= 0 ? epochs[index] : 0;
+        }
+
+        EpochTable raise(long userId, long epoch) {
+            int index = Arrays.binarySearch(userIds, userId);
+            if (index >= 0) {
+                if (epochs[index] >= epoch) {
+                    return this;
+                }
+                long[] nextEpochs = epochs.clone();
+                nextEpochs[index] = epoch;
+                return new EpochTable(userIds, nextEpochs);
+            }
+            if (epoch <= 0) {
+                return this;
+            }
+            int insertAt = -index - 1;
+            long[] nextIds = new long[userIds.length + 1];
+            long[] nextEpochs = new long[epochs.length + 1];
+            System.arraycopy(userIds, 0, nextIds, 0, insertAt);
+            System.arraycopy(epochs, 0, nextEpochs, 0, insertAt);
+            nextIds[insertAt] = userId;
+            nextEpochs[insertAt] = epoch;
+            System.arraycopy(userIds, insertAt, nextIds, insertAt + 1, userIds.length - insertAt);
+            System.arraycopy(epochs, insertAt, nextEpochs, insertAt + 1, epochs.length - insertAt);
+            return new EpochTable(nextIds, nextEpochs);
+        }
+
+        EpochTable raiseAll(Map<Long, Long> source) {
+            TreeMap<Long, Long> merged = new TreeMap<>();
+            for (int i = 0; i < userIds.length; i++) {
+                merged.put(userIds[i], epochs[i]);
+            }
+            boolean changed = false;
+            for (Map.Entry<Long, Long> entry : source.entrySet()) {
+                long epoch = entry.getValue();
+                if (epoch > 0 && epoch > merged.getOrDefault(entry.getKey(), 0L)) {
+                    merged.put(entry.getKey(), epoch);
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                return this;
+            }
+            long[] nextIds = new long[merged.size()];
+            long[] nextEpochs = new long[merged.size()];
+            int i = 0;
+            for (Map.Entry<Long, Long> entry : merged.entrySet()) {
+                nextIds[i] = entry.getKey();
+                nextEpochs[i] = entry.getValue();
+                i++;
+            }
+            return new EpochTable(nextIds, nextEpochs);
+        }
+    }
+}
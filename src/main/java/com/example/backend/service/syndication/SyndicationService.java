@@ -0,0 +1,313 @@
+package com.example.backend.service.syndication;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.springframework.stereotype.Service;
+
+import com.example.backend.config.AppProperties;
+import com.example.backend.config.SyndicationProperties;
+import com.example.backend.dto.post.PostMapper;
+import com.example.backend.repository.PublishedPostStreamRepository;
+import com.example.backend.repository.PublishedPostStreamRepository.Row;
+import com.example.backend.service.cache.PublicContentVersion;
+
+/**
+ * サイトマップ（sitemap.xml）とRSSフィード（feed.xml）の生成サービス。
+ * <p>
+ * 公開済み投稿を前方専用カーソルで1行ずつ読みながらXMLを書き出し、生成結果をバイト列で保持する。
+ * 保持した結果は {@link PublicContentVersion} の公開状態のバージョン（公開中の投稿の変更・公開・非公開化・予約公開の到達で進む）が
+ * 変わるまで再利用する。下書き・タグ・カテゴリ・プロフィール・画像の変更では再生成しない。
+ * <ul>
+ * <li>サイトマップ: ID順に{@code sitemapShardSize}件ごとに分割。1ファイルに収まる場合は sitemap.xml が urlset、
+ * 複数になる場合は sitemap.xml が各ファイル（sitemap-N.xml）を指すインデックスになる</li>
+ * <li>フィード: 公開日時の新しい順に{@code feedSize}件のRSS 2.0</li>
+ * </ul>
+ * URLは {@link PostMapper#toPublicPostUrl(String)}（OGPのURLと同じ形式）で生成する。
+ * </p>
+ */
+@Service
+public class SyndicationService {
+
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final PublishedPostStreamRepository streamRepository;
+    private final PostMapper postMapper;
+    private final PublicContentVersion contentVersion;
+    private final AppProperties appProperties;
+    private final SyndicationProperties properties;
+    private final Clock clock;
+
+    private final AtomicReference<Versioned<Sitemap>> sitemap = new AtomicReference<>();
+    private final AtomicReference<Versioned<byte[]>> feed = new AtomicReference<>();
+
+    public SyndicationService(PublishedPostStreamRepository streamRepository, PostMapper postMapper,
+            PublicContentVersion contentVersion, AppProperties appProperties, SyndicationProperties properties,
+            Clock clock) {
+        this.streamRepository = streamRepository;
+        this.postMapper = postMapper;
+        this.contentVersion = contentVersion;
+        this.appProperties = appProperties;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    private record Versioned<T>(long version, T value) {
+    }
+
+    /**
+     * 生成済みサイトマップ。
+     *
+     * @param root   sitemap.xml の内容（urlset またはインデックス）
+     * @param shards 分割した各 urlset（sitemap-1.xml から順）
+     */
+    private record Sitemap(byte[] root, List<byte[]> shards) {
+    }
+
+    /**
+     * サイトマップのETagを取得（DBアクセスなし）。
+     *
+     * @return 引用符付きの強いETag
+     */
+    public String getSitemapEtag() {
+        return contentVersion.publicationEtag("sitemap");
+    }
+
+    /**
+     * フィードのETagを取得（DBアクセスなし）。
+     *
+     * @return 引用符付きの強いETag
+     */
+    public String getFeedEtag() {
+        return contentVersion.publicationEtag("feed");
+    }
+
+    /**
+     * sitemap.xml の内容を取得。
+     *
+     * @return XMLのバイト列（UTF-8）
+     */
+    public byte[] getSitemap() {
+        return resolve(sitemap, this::buildSitemap).root();
+    }
+
+    /**
+     * 分割したサイトマップを取得。
+     *
+     * @param page ファイル番号（1始まり）
+     * @return XMLのバイト列（UTF-8）、範囲外の場合は空
+     */
+    public Optional<byte[]> getSitemapShard(int page) {
+        List<byte[]> shards = resolve(sitemap, this::buildSitemap).shards();
+        return page >= 1 && page <= shards.size() ? Optional.of(shards.get(page - 1)) : Optional.empty();
+    }
+
+    /**
+     * feed.xml の内容を取得。
+     *
+     * @return XMLのバイト列（UTF-8）
+     */
+    public byte[] getFeed() {
+        return resolve(feed, this::buildFeed);
+    }
+
+    // バージョンが変わっていれば再生成（同時に来た再生成要求は1回にまとめる）
+    private <T> T resolve(AtomicReference<Versioned<T>> holder, LongFunction<T> builder) {
+        long version = contentVersion.currentPublication();
+        Versioned<T> cached = holder.get();
+        if (cached != null && cached.version() == version) {
+            return cached.value();
+        }
+        synchronized (holder) {
+            cached = holder.get();
+            if (cached != null && cached.version() == version) {
+                return cached.value();
+            }
+            T value = builder.apply(version);
+            holder.set(new Versioned<>(version, value));
+            return value;
+        }
+    }
+
+    private Sitemap buildSitemap(long version) {
+        SitemapShardWriter writer = new SitemapShardWriter(properties.getSitemapShardSize());
+        streamRepository.forEachById(LocalDateTime.now(clock), writer::write);
+        List<SitemapShardWriter.Shard> shards = writer.finish();
+        if (shards.size() == 1) {
+            byte[] only = shards.get(0).content();
+            return new Sitemap(only, List.of(only));
+        }
+        return new Sitemap(writeSitemapIndex(shards),
+                shards.stream().map(SitemapShardWriter.Shard::content).toList());
+    }
+
+    private byte[] writeSitemapIndex(List<SitemapShardWriter.Shard> shards) {
+        return writeXml(xml -> {
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            for (int i = 0; i < shards.size(); i++) {
+                xml.writeStartElement("sitemap");
+                writeElement(xml, "loc", appProperties.getBaseUrl() + "/sitemap-" + (i + 1) + ".xml");
+                if (shards.get(i).lastModified() != null) {
+                    writeElement(xml, "lastmod", formatW3c(shards.get(i).lastModified()));
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    private byte[] buildFeed(long version) {
+        return writeXml(xml -> {
+            xml.writeStartElement("rss");
+            xml.writeAttribute("version", "2.0");
+            xml.writeStartElement("channel");
+            writeElement(xml, "title", properties.getFeedTitle());
+            writeElement(xml, "link", appProperties.getBaseUrl());
+            writeElement(xml, "description", properties.getFeedDescription());
+            streamRepository.forEachLatest(LocalDateTime.now(clock), properties.getFeedSize(), row -> {
+                try {
+                    writeFeedItem(xml, row);
+                } catch (XMLStreamException e) {
+                    throw new IllegalStateException("Failed to write feed item", e);
+                }
+            });
+            xml.writeEndElement();
+            xml.writeEndElement();
+        });
+    }
+
+    private void writeFeedItem(XMLStreamWriter xml, Row row) throws XMLStreamException {
+        String url = postMapper.toPublicPostUrl(row.slug());
+        xml.writeStartElement("item");
+        writeElement(xml, "title", row.title());
+        writeElement(xml, "link", url);
+        xml.writeStartElement("guid");
+        xml.writeAttribute("isPermaLink", "true");
+        xml.writeCharacters(url);
+        xml.writeEndElement();
+        writeElement(xml, "pubDate",
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(row.publishedAt().atOffset(ZoneOffset.UTC)));
+        if (row.excerpt() != null && !row.excerpt().isEmpty()) {
+            writeElement(xml, "description", row.excerpt());
+        }
+        xml.writeEndElement();
+    }
+
+    /**
+     * 1行ずつ受け取り、上限件数ごとに urlset を切り替えて書き出す。
+     */
+    private final class SitemapShardWriter {
+
+        private record Shard(byte[] content, LocalDateTime lastModified) {
+        }
+
+        private final int shardSize;
+        private final List<Shard> shards = new ArrayList<>();
+        private ByteArrayOutputStream out;
+        private XMLStreamWriter xml;
+        private int count;
+        private LocalDateTime lastModified;
+
+        SitemapShardWriter(int shardSize) {
+            this.shardSize = shardSize;
+        }
+
+        void write(Row row) {
+            try {
+                if (xml == null) {
+                    open();
+                }
+                xml.writeStartElement("url");
+                writeElement(xml, "loc", postMapper.toPublicPostUrl(row.slug()));
+                writeElement(xml, "lastmod", formatW3c(row.lastModified()));
+                xml.writeEndElement();
+                if (lastModified == null || row.lastModified().isAfter(lastModified)) {
+                    lastModified = row.lastModified();
+                }
+                if (++count == shardSize) {
+                    close();
+                }
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Failed to write sitemap entry", e);
+            }
+        }
+
+        List<Shard> finish() {
+            try {
+                // 投稿が1件もない場合も空の urlset を返す
+                if (xml != null || shards.isEmpty()) {
+                    if (xml == null) {
+                        open();
+                    }
+                    close();
+                }
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Failed to write sitemap", e);
+            }
+            return shards;
+        }
+
+        private void open() throws XMLStreamException {
+            out = new ByteArrayOutputStream();
+            xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("urlset");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+        }
+
+        private void close() throws XMLStreamException {
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+            shards.add(new Shard(out.toByteArray(), lastModified));
+            xml = null;
+            out = null;
+            count = 0;
+            lastModified = null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface XmlBody {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    private static byte[] writeXml(XmlBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            body.write(xml);
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to write XML", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeElement(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text != null ? text : "");
+        xml.writeEndElement();
+    }
+
+    private static String formatW3c(LocalDateTime dateTime) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME
+                .format(dateTime.withNano(0).atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.backend.service.view;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.event.ContentResetEvent;
+import com.example.backend.repository.PostViewCountRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 投稿閲覧数のカウンター。
+ * <p>
+ * 閲覧ごとにDBを更新すると同じ行のロックで直列化されるため、閲覧はメモリ上のバッファ（投稿ID → {@link LongAdder}）に
+ * 加算するだけにし、数秒ごとに投稿ごとの合計を1文のUPSERTで post_view_counts に反映する。
+ * <ul>
+ * <li>バッファは投稿IDで複数のストライプに分け、反映時はストライプごとに新しいマップへ差し替える</li>
+ * <li>加算はストライプの読み取りロック、差し替えは書き込みロックの下で行うため、差し替えた後のマップに加算されることはない（取りこぼさない）</li>
+ * <li>反映に失敗した差分はバッファに戻して次回再試行する</li>
+ * <li>終了時（グレースフルシャットダウン）に残りを反映する</li>
+ * </ul>
+ * 複数ノードはそれぞれの差分を加算するだけなので、ノード間の調整は不要。
+ * </p>
+ *
+ * @see com.example.backend.repository.PostViewCountRepository
+ */
+@Component
+public class PostViewCounter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PostViewCounter.class);
+
+    private final PostViewCountRepository viewCountRepository;
+    private final Clock clock;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongAdder recorded = new LongAdder();
+    private final AtomicLong flushed = new AtomicLong();
+
+    public PostViewCounter(PostViewCountRepository viewCountRepository, Clock clock) {
+        this.viewCountRepository = viewCountRepository;
+        this.clock = clock;
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * ストライプ1つ分のバッファ。
+     * <p>
+     * {@code active} は加算先。加算は読み取りロック（同時に複数可）、差し替えは書き込みロックの下で行う。
+     * </p>
+     */
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private volatile ConcurrentHashMap<Long, LongAdder> active = new ConcurrentHashMap<>();
+
+        void add(Long postId, long delta) {
+            long stamp = lock.readLock();
+            try {
+                active.computeIfAbsent(postId, key -> new LongAdder()).add(delta);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        ConcurrentHashMap<Long, LongAdder> swap() {
+            long stamp = lock.writeLock();
+            try {
+                ConcurrentHashMap<Long, LongAdder> swapped = active;
+                active = new ConcurrentHashMap<>();
+                return swapped;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * 閲覧を1件記録。
+     *
+     * @param postId 投稿ID
+     */
+    public void record(Long postId) {
+        stripeOf(postId).add(postId, 1);
+        recorded.increment();
+    }
+
+    /**
+     * バッファの差分をDBに反映。
+     *
+     * @return 反映した閲覧数の合計
+     */
+    @Scheduled(initialDelayString = "${app.post-views.flush-interval:PT5S}", fixedDelayString = "${app.post-views.flush-interval:PT5S}")
+    public synchronized long flush() {
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        long total = deltas.values().stream().mapToLong(Long::longValue).sum();
+        try {
+            viewCountRepository.addAll(deltas, LocalDateTime.now(clock));
+            flushed.addAndGet(total);
+            return total;
+        } catch (RuntimeException e) {
+            // 次回の反映で再試行（削除済み投稿分はクエリ側で捨てられる）
+            deltas.forEach(this::restore);
+            log.warn("Post views: flush of {} posts failed, retrying later: {}", deltas.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 反映待ちの閲覧数を取得（反映済み・差し替え済みの分は含まない）。
+     *
+     * @param postId 投稿ID
+     * @return 反映待ちの閲覧数
+     */
+    public long pending(Long postId) {
+        LongAdder adder = stripeOf(postId).active.get(postId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // デモリセットで投稿IDが振り直されるため、旧投稿の差分を破棄する
+    @EventListener
+    public synchronized void onContentReset(ContentResetEvent event) {
+        for (Stripe stripe : stripes) {
+            stripe.swap();
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("post.views.recorded", recorded, LongAdder::sum)
+                .description("Post views recorded in memory")
+                .register(registry);
+        FunctionCounter.builder("post.views.flushed", flushed, AtomicLong::get)
+                .description("Post views written to the database")
+                .register(registry);
+        Gauge.builder("post.views.buffered.posts", this, PostViewCounter::bufferedPosts)
+                .description("Posts with views waiting to be flushed")
+                .register(registry);
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (Stripe stripe : stripes) {
+            // 書き込みロックの解放後は差し替えたマップに加算されないため、合計は確定している
+            stripe.swap().forEach((postId, adder) -> {
+                long sum = adder.sum();
+                if (sum > 0) {
+                    deltas.merge(postId, sum, Long::sum);
+                }
+            });
+        }
+        return deltas;
+    }
+
+    private void restore(Long postId, Long delta) {
+        stripeOf(postId).add(postId, delta);
+    }
+
+    private double bufferedPosts() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.active.size();
+        }
+        return total;
+    }
+
+    private Stripe stripeOf(Long postId) {
+        long h = postId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 32) & mask];
+    }
+}
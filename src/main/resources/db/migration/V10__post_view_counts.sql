@@ -0,0 +1,9 @@
+-- 投稿ごとの閲覧数（PostViewCounter がメモリ上で集約した差分を定期的に加算）
+CREATE TABLE post_view_counts (
+    post_id BIGINT PRIMARY KEY REFERENCES posts(id) ON DELETE CASCADE,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- 人気投稿（閲覧数降順）の取得用
+CREATE INDEX idx_post_view_counts_popular ON post_view_counts (view_count DESC, post_id DESC);
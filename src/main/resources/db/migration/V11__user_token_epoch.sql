@@ -0,0 +1,5 @@
+-- ユーザーごとのトークン世代（ログアウト・パスワード変更・利用停止で加算し、発行済みアクセストークンを失効させる）
+ALTER TABLE users ADD COLUMN token_epoch BIGINT NOT NULL DEFAULT 0;
+
+-- 起動時・再同期時に加算済みユーザーだけを読み込むため
+CREATE INDEX idx_users_token_epoch ON users (id, token_epoch) WHERE token_epoch > 0;
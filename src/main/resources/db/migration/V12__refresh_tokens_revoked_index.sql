@@ -0,0 +1,2 @@
+-- 失効済みリフレッシュトークンの定期削除（RefreshTokenPurgeJob）で、猶予期間を過ぎた行を索引で探すため
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens (revoked_at) WHERE revoked_at IS NOT NULL;
@@ -0,0 +1,11 @@
+-- 複数ノードで共有するレート制限のバケット（RateLimitBucketRepository、app.rate-limit.distributed.enabled=true の場合のみ使用）
+-- tokens は最終更新時点の残量。補充は参照時に updated_at からの経過時間で計算する
+CREATE UNLOGGED TABLE rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    last_granted BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- 一定期間使われていないバケットの削除用
+CREATE INDEX idx_rate_limit_buckets_updated_at ON rate_limit_buckets (updated_at);
@@ -0,0 +1,13 @@
+-- 画像の縮小版（MediaVariantService が登録後に非同期で生成）
+CREATE TABLE media_variants (
+    id BIGSERIAL PRIMARY KEY,
+    media_id BIGINT NOT NULL REFERENCES media(id) ON DELETE CASCADE,
+    width INT NOT NULL,
+    height INT NOT NULL,
+    mime VARCHAR(100) NOT NULL,
+    storage_key VARCHAR(255) NOT NULL,
+    bytes BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    CONSTRAINT media_variants_storage_key_unique UNIQUE (storage_key),
+    CONSTRAINT media_variants_media_width_mime_unique UNIQUE (media_id, width, mime)
+);
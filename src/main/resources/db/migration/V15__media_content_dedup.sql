@@ -0,0 +1,22 @@
+-- 同じ内容のファイルを1つのオブジェクトで共有する（内容の SHA-256 で重複を検出）
+-- 共有するため storage_key は一意でなくなる（縮小版も同じキーを共有する）
+ALTER TABLE media DROP CONSTRAINT media_storage_key_unique;
+CREATE INDEX idx_media_storage_key ON media(storage_key);
+
+ALTER TABLE media_variants DROP CONSTRAINT media_variants_storage_key_unique;
+CREATE INDEX idx_media_variants_storage_key ON media_variants(storage_key);
+
+-- ストレージで検証済みの SHA-256（16進小文字）。検証できなかったメディアは NULL
+ALTER TABLE media ADD COLUMN content_sha256 VARCHAR(64);
+CREATE INDEX idx_media_content_sha256 ON media(content_sha256) WHERE content_sha256 IS NOT NULL;
+
+-- オブジェクトごとの参照数（参照するメディアの行数）。0 になったオブジェクトは削除し、行は削除済みの印として残す
+CREATE TABLE media_objects (
+    storage_key VARCHAR(255) PRIMARY KEY,
+    ref_count INT NOT NULL CHECK (ref_count >= 0),
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+INSERT INTO media_objects (storage_key, ref_count)
+SELECT storage_key, COUNT(*) FROM media GROUP BY storage_key;
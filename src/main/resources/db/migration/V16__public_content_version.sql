@@ -0,0 +1,7 @@
+-- 公開コンテンツのバージョン（PublicContentVersion、ETag生成用）。全ノードで同じ値を使うためシーケンスで採番する
+-- DBを作り直しても以前に発行したETagと重ならないよう、現在時刻（ミリ秒）から始める
+CREATE SEQUENCE public_content_version_seq;
+CREATE SEQUENCE public_reference_version_seq;
+
+SELECT setval('public_content_version_seq', (EXTRACT(EPOCH FROM NOW()) * 1000)::BIGINT);
+SELECT setval('public_reference_version_seq', (EXTRACT(EPOCH FROM NOW()) * 1000)::BIGINT);
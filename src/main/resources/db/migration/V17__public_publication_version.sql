@@ -0,0 +1,5 @@
+-- 公開状態のバージョン（PublicContentVersion、サイトマップ・フィードのETagと生成済みXMLの再利用に使用）
+-- 公開中の投稿の変更・公開・非公開化でのみ進める（下書き・タグ・画像等の変更では進めない）
+CREATE SEQUENCE public_publication_version_seq;
+
+SELECT setval('public_publication_version_seq', (EXTRACT(EPOCH FROM NOW()) * 1000)::BIGINT);
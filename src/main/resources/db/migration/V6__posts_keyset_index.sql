@@ -0,0 +1,8 @@
+-- 公開投稿一覧のキーセットページング用（status で絞り、published_at DESC, id DESC で走査）
+CREATE INDEX idx_posts_status_published_id ON posts(status, published_at DESC, id DESC);
+
+-- カテゴリ絞り込み時のキーセットページング用
+CREATE INDEX idx_posts_category_status_published_id ON posts(category_id, status, published_at DESC, id DESC);
+
+-- タグ絞り込み時の結合用（主キーは post_id 先頭のため tag_id 起点の検索に使えない）
+CREATE INDEX idx_post_tags_tag_id ON post_tags(tag_id, post_id);
@@ -0,0 +1,7 @@
+-- contentJson から事前生成したHTML（サーバー側レンダリング結果）
+ALTER TABLE posts
+    ADD COLUMN content_html TEXT,
+    ADD COLUMN content_html_version INT;
+
+-- 再生成対象（未生成・旧バージョン）の抽出用
+CREATE INDEX idx_posts_content_html_version ON posts(content_html_version);
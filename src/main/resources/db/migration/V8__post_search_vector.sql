@@ -0,0 +1,7 @@
+-- 全文検索用ベクトル（アプリ側でCJKバイグラム化したトークンから tsvector を組み立てて格納）
+ALTER TABLE posts ADD COLUMN search_vector tsvector;
+
+CREATE INDEX idx_posts_search_vector ON posts USING GIN (search_vector);
+
+-- 既存投稿・SQLで投入した投稿の検索ベクトルは作成バッチ（PostSearchIndexBackfillJob）が作成する。その対象の検索用
+CREATE INDEX idx_posts_search_vector_missing ON posts (id) WHERE search_vector IS NULL;
@@ -0,0 +1,29 @@
+-- タグ・カテゴリ別の投稿数（総数・公開数）を非正規化して保持
+CREATE TABLE tag_post_counts (
+    tag_id BIGINT PRIMARY KEY REFERENCES tags(id) ON DELETE CASCADE,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    published_count BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE category_post_counts (
+    category_id BIGINT PRIMARY KEY REFERENCES categories(id) ON DELETE CASCADE,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    published_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- 公開数に計上済みか（予約投稿の公開時に二重計上しないための目印）
+ALTER TABLE posts ADD COLUMN published_counted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- 公開日時はUTCで保存している
+UPDATE posts SET published_counted = TRUE
+WHERE status = 'PUBLISHED' AND published_at <= (NOW() AT TIME ZONE 'UTC');
+
+INSERT INTO tag_post_counts (tag_id, total_count, published_count)
+SELECT pt.tag_id, COUNT(*), COUNT(*) FILTER (WHERE p.published_counted)
+FROM post_tags pt JOIN posts p ON p.id = pt.post_id
+GROUP BY pt.tag_id;
+
+INSERT INTO category_post_counts (category_id, total_count, published_count)
+SELECT p.category_id, COUNT(*), COUNT(*) FILTER (WHERE p.published_counted)
+FROM posts p WHERE p.category_id IS NOT NULL
+GROUP BY p.category_id;
@@ -5,6 +5,7 @@ TRUNCATE TABLE refresh_tokens,
 post_tags,
 posts,
 media,
+media_objects,
 tags,
 categories,
 users
@@ -100,6 +101,10 @@ INSERT INTO media (filename, storage_key, mime, width, height, bytes, alt_text,
 SELECT filename, storage_key, mime, width, height, bytes, alt_text, created_by, created_at
 FROM media_seed;
 
+-- サンプル画像を共有するメディアの参照数
+INSERT INTO media_objects (storage_key, ref_count)
+SELECT storage_key, COUNT(*) FROM media GROUP BY storage_key;
+
 -- 投稿（100件）
 WITH post_seed AS (
     SELECT
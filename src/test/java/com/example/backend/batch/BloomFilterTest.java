@@ -0,0 +1,33 @@
+package com.example.backend.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    // 追加したキーは必ず含まれ、含まれないキーの偽陽性率が指定値程度に収まることを確認
+    @Test
+    void mightContain_hasNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("media/2025/01/" + i + ".jpg"));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("media/2025/01/" + i + ".jpg")))
+                .isTrue();
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("media/2025/02/" + i + ".jpg"))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    // 想定件数 0 でも作成でき、何も含まないことを確認
+    @Test
+    void create_withNoInsertions_containsNothing() {
+        BloomFilter filter = BloomFilter.create(0, 0.01);
+
+        assertThat(filter.mightContain("media/a.jpg")).isFalse();
+        assertThat(filter.sizeInBytes()).isPositive();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.config.TestClockConfig;
+import com.example.backend.config.TestDataConfig;
+import com.example.backend.entity.Post;
+import com.example.backend.entity.User;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.cache.PublicContentVersion;
+import com.example.backend.service.content.TipTapHtmlRenderer;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Import({ TestDataConfig.class, TestClockConfig.class })
+@ActiveProfiles("test")
+@Transactional
+class ContentHtmlRebuildJobTest {
+
+    @Autowired
+    private ContentHtmlRebuildJob contentHtmlRebuildJob;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PublicContentVersion contentVersion;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // 未生成・旧バージョンのHTMLが再生成され、更新日時は変わらず、詳細のETagに使う参照バージョンが進むことを確認
+    @Test
+    void rebuildAll_rendersStalePostsWithoutTouchingUpdatedAt() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        Post missing = savePost(author, "rebuild-missing", null, null);
+        Post outdated = savePost(author, "rebuild-outdated", "<p>old</p>", TipTapHtmlRenderer.VERSION - 1);
+        Post current = savePost(author, "rebuild-current", "<p>kept</p>", TipTapHtmlRenderer.VERSION);
+        entityManager.flush();
+        LocalDateTime updatedAt = postRepository.findById(missing.getId()).orElseThrow().getUpdatedAt();
+        entityManager.clear();
+        long reference = contentVersion.currentReference();
+
+        int rebuilt = contentHtmlRebuildJob.rebuildAll();
+
+        entityManager.clear();
+        assertThat(rebuilt).isGreaterThanOrEqualTo(2);
+        assertThat(contentVersion.currentReference()).isGreaterThan(reference);
+        Post reloadedMissing = postRepository.findById(missing.getId()).orElseThrow();
+        assertThat(reloadedMissing.getContentHtml()).isEqualTo("<p>hello</p>");
+        assertThat(reloadedMissing.getContentHtmlVersion()).isEqualTo(TipTapHtmlRenderer.VERSION);
+        assertThat(reloadedMissing.getUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(postRepository.findById(outdated.getId()).orElseThrow().getContentHtml()).isEqualTo("<p>hello</p>");
+        assertThat(postRepository.findById(current.getId()).orElseThrow().getContentHtml()).isEqualTo("<p>kept</p>");
+    }
+
+    private Post savePost(User author, String slug, String html, Integer version) {
+        return postRepository.save(Post.builder()
+                .title(slug)
+                .slug(slug)
+                .status(Post.Status.DRAFT)
+                .contentJson("{\"type\":\"doc\",\"content\":[{\"type\":\"paragraph\",\"content\":[{\"type\":\"text\",\"text\":\"hello\"}]}]}")
+                .contentHtml(html)
+                .contentHtmlVersion(version)
+                .author(author)
+                .build());
+    }
+}
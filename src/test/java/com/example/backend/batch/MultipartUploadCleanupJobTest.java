@@ -0,0 +1,38 @@
+package com.example.backend.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.config.FakeMediaStorageConfig;
+import com.example.backend.config.MediaMultipartProperties;
+
+class MultipartUploadCleanupJobTest {
+
+    static final Instant NOW = Instant.parse("2025-01-02T00:00:00Z");
+
+    // 期限を過ぎた未完了のアップロードが中止され、期限前のものは残ることを確認
+    @Test
+    void abortStale_abortsUploadsOlderThanStaleAfter() {
+        FakeMediaStorageConfig.InMemoryMediaStorage oldStorage = new FakeMediaStorageConfig.InMemoryMediaStorage(
+                Clock.fixed(NOW.minus(Duration.ofHours(25)), ZoneOffset.UTC));
+        String stale = oldStorage.createMultipartUpload("uploads/stale.mp4", "video/mp4");
+        String other = oldStorage.createMultipartUpload("uploads/other.mp4", "video/mp4");
+        MultipartUploadCleanupJob job = new MultipartUploadCleanupJob(oldStorage, new MediaMultipartProperties(),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        MultipartUploadCleanupJob notYet = new MultipartUploadCleanupJob(oldStorage, new MediaMultipartProperties(),
+                Clock.fixed(NOW.minus(Duration.ofHours(2)), ZoneOffset.UTC));
+
+        assertThat(notYet.abortStale()).isZero();
+        assertThat(oldStorage.hasMultipartUpload(stale)).isTrue();
+
+        assertThat(job.abortStale()).isEqualTo(2);
+        assertThat(oldStorage.hasMultipartUpload(stale)).isFalse();
+        assertThat(oldStorage.hasMultipartUpload(other)).isFalse();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.config.FakeMediaStorageConfig;
+import com.example.backend.config.TestClockConfig;
+import com.example.backend.config.TestDataConfig;
+import com.example.backend.dto.media.MediaCreateRequestDto;
+import com.example.backend.entity.User;
+import com.example.backend.repository.MediaObjectRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.MediaService;
+
+@SpringBootTest
+@Import({ TestDataConfig.class, TestClockConfig.class, FakeMediaStorageConfig.class })
+@ActiveProfiles("test")
+@Transactional
+class OrphanMediaObjectCleanupJobTest {
+
+    @Autowired
+    private OrphanMediaObjectCleanupJob job;
+
+    @Autowired
+    private FakeMediaStorageConfig.InMemoryMediaStorage mediaStorage;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Clock clock;
+
+    // 猶予期間を過ぎた未登録のオブジェクトだけが削除され、dry run では何も削除されないことを確認
+    @Test
+    void run_deletesOnlyOldUnreferencedObjectsUnderPrefix() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        Instant old = clock.instant().minus(Duration.ofDays(3));
+        mediaStorage.simulateUpload("media/gc/registered.jpg", old);
+        mediaStorage.simulateUpload("media/gc/orphan.jpg", old);
+        mediaStorage.simulateUpload("media/gc/recent.jpg", clock.instant());
+        mediaStorage.simulateUpload("other/gc/orphan.jpg", old);
+        mediaService.register(MediaCreateRequestDto.builder()
+                .filename("registered.jpg")
+                .storageKey("media/gc/registered.jpg")
+                .mime("image/jpeg")
+                .bytes(1024L)
+                .build(), author);
+
+        OrphanMediaObjectCleanupJob.Report dryRun = job.run(true);
+
+        assertThat(dryRun.orphaned()).isGreaterThanOrEqualTo(1);
+        assertThat(dryRun.deleted()).isZero();
+        assertThat(mediaStorage.contains("media/gc/orphan.jpg")).isTrue();
+
+        OrphanMediaObjectCleanupJob.Report report = job.run(false);
+
+        assertThat(report.deleted()).isGreaterThanOrEqualTo(1);
+        assertThat(report.failed()).isZero();
+        assertThat(mediaStorage.contains("media/gc/orphan.jpg")).isFalse();
+        assertThat(mediaStorage.contains("media/gc/registered.jpg")).isTrue();
+        assertThat(mediaStorage.contains("media/gc/recent.jpg")).isTrue();
+        assertThat(mediaStorage.contains("other/gc/orphan.jpg")).isTrue();
+        // 削除したキーは確保済みのため、あとから登録できない
+        assertThat(mediaObjectRepository.acquire("media/gc/orphan.jpg")).isFalse();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.backend.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.config.TestClockConfig;
+import com.example.backend.config.TestDataConfig;
+import com.example.backend.entity.Post;
+import com.example.backend.entity.User;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.content.TipTapHtmlRenderer;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Import({ TestDataConfig.class, TestClockConfig.class })
+@ActiveProfiles("test")
+@Transactional
+class PostSearchIndexBackfillJobTest {
+
+    @Autowired
+    private PostSearchIndexBackfillJob backfillJob;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // 未作成の検索ベクトルだけが作成され、本文HTMLと作成済みのベクトルには触れないことを確認
+    @Test
+    void backfillAll_indexesOnlyMissingVectors() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        Post missing = savePost(author, "backfill-missing");
+        Post indexed = savePost(author, "backfill-indexed");
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE posts SET search_vector = NULL WHERE id = ?", missing.getId());
+        jdbcTemplate.update("UPDATE posts SET search_vector = 'kept'::tsvector WHERE id = ?", indexed.getId());
+
+        int count = backfillJob.backfillAll();
+
+        assertThat(count).isGreaterThanOrEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT search_vector::text FROM posts WHERE id = ?", String.class,
+                missing.getId())).contains("'hello':");
+        assertThat(jdbcTemplate.queryForObject("SELECT search_vector::text FROM posts WHERE id = ?", String.class,
+                indexed.getId())).isEqualTo("'kept'");
+        assertThat(jdbcTemplate.queryForObject("SELECT content_html FROM posts WHERE id = ?", String.class,
+                missing.getId())).isEqualTo("<p>kept</p>");
+    }
+
+    private Post savePost(User author, String slug) {
+        return postRepository.save(Post.builder()
+                .title(slug)
+                .slug(slug)
+                .status(Post.Status.DRAFT)
+                .contentJson("{\"type\":\"doc\",\"content\":[{\"type\":\"paragraph\",\"content\":[{\"type\":\"text\",\"text\":\"hello\"}]}]}")
+                .contentHtml("<p>kept</p>")
+                .contentHtmlVersion(TipTapHtmlRenderer.VERSION)
+                .author(author)
+                .build());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.backend.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.config.TestClockConfig;
+import com.example.backend.config.TestDataConfig;
+import com.example.backend.entity.User;
+import com.example.backend.repository.RefreshTokenRepository;
+import com.example.backend.repository.UserRepository;
+
+@SpringBootTest
+@Import({ TestDataConfig.class, TestClockConfig.class })
+@ActiveProfiles("test")
+@Transactional
+class RefreshTokenPurgeJobTest {
+
+    @Autowired
+    private RefreshTokenPurgeJob refreshTokenPurgeJob;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    // 期限切れ・猶予期間を過ぎた失効済みトークンだけが削除されることを確認
+    @Test
+    void purge_deletesExpiredAndLongRevokedTokens() {
+        User user = userRepository.findByEmail("author@example.com").orElseThrow();
+        LocalDateTime now = LocalDateTime.now(clock);
+        long expired = insertToken(user, "a", now.minusDays(8), now.minusDays(1), null);
+        long revokedLongAgo = insertToken(user, "b", now.minusDays(3), now.plusDays(4), now.minusDays(2));
+        long revokedRecently = insertToken(user, "c", now.minusHours(2), now.plusDays(6), now.minusHours(1));
+        long active = insertToken(user, "d", now.minusHours(1), now.plusDays(7), null);
+
+        int purged = refreshTokenPurgeJob.purge();
+
+        assertThat(purged).isGreaterThanOrEqualTo(2);
+        assertThat(refreshTokenRepository.existsById(expired)).isFalse();
+        assertThat(refreshTokenRepository.existsById(revokedLongAgo)).isFalse();
+        assertThat(refreshTokenRepository.existsById(revokedRecently)).isTrue();
+        assertThat(refreshTokenRepository.existsById(active)).isTrue();
+    }
+
+    private long insertToken(User user, String hashChar, LocalDateTime issuedAt, LocalDateTime expiresAt,
+            LocalDateTime revokedAt) {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO refresh_tokens (user_id, token_hash, issued_at, expires_at, revoked_at)
+                VALUES (?, ?, ?, ?, ?) RETURNING id
+                """, Long.class, user.getId(), hashChar.repeat(64), issuedAt, expiresAt, revokedAt);
+        return id != null ? id : -1;
+    }
+}
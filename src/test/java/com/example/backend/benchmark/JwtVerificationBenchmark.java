@@ -0,0 +1,97 @@
+package com.example.backend.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import com.example.backend.config.CachingJwtDecoder;
+import com.example.backend.config.JwtProperties;
+import com.example.backend.config.VerifiedJwtCacheProperties;
+import com.example.backend.service.JwtKeyRing;
+import com.example.backend.service.JwtTokenService;
+import com.example.backend.service.cache.VerifiedJwtCache;
+
+/**
+ * 同じアクセストークンを繰り返し検証した場合の、検証済みJWTキャッシュの有無による1リクエストあたりのコスト比較。
+ * <p>
+ * 実行: {@code ./mvnw -P benchmark test-compile exec:exec}
+ * </p>
+ *
+ * @see VerifiedJwtCache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private String token;
+    private JwtDecoder nimbusDecoder;
+    private JwtDecoder cachingDecoder;
+    private JwtTokenService uncachedService;
+    private JwtTokenService cachedService;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        Clock clock = Clock.systemUTC();
+        JwtKeyRing keyRing = new JwtKeyRing(jwtProperties);
+
+        VerifiedJwtCacheProperties disabled = new VerifiedJwtCacheProperties();
+        disabled.setEnabled(false);
+        uncachedService = new JwtTokenService(jwtProperties, clock, new VerifiedJwtCache(disabled, clock),
+                keyRing);
+        VerifiedJwtCache cache = new VerifiedJwtCache(new VerifiedJwtCacheProperties(), clock);
+        cachedService = new JwtTokenService(jwtProperties, clock, cache, keyRing);
+
+        token = uncachedService.issueTokens("editor@example.com", List.of("EDITOR"), 2L, 0).accessToken();
+
+        SecretKey key = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        nimbusDecoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        cachingDecoder = new CachingJwtDecoder(nimbusDecoder, cache);
+    }
+
+    @Benchmark
+    public Jwt resourceServerDecode() {
+        return nimbusDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt resourceServerDecodeCached() {
+        return cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public JwtTokenService.VerifiedToken tokenServiceVerify() {
+        return uncachedService.verify(token);
+    }
+
+    @Benchmark
+    public JwtTokenService.VerifiedToken tokenServiceVerifyCached() {
+        return cachedService.verify(token);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import com.example.backend.exception.RateLimitExceededException;
+import com.example.backend.service.ratelimit.AdminRateLimiter;
+import com.example.backend.service.ratelimit.RateLimitCost;
+
+class AdminRateLimitInterceptorTest {
+
+    AdminRateLimitInterceptor interceptor;
+
+    static class SampleController {
+
+        @RateLimitCost(4)
+        public void search() {
+        }
+
+        public void get() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getAdmin().setPeriod(Duration.ofMinutes(1));
+        properties.getAdmin().setQuotas(Map.of("ADMIN", 10L, "AUTHOR", 5L));
+        interceptor = new AdminRateLimitInterceptor(new AdminRateLimiter(properties));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(String subject, String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(subject, null, roles));
+    }
+
+    private MockHttpServletResponse call(String method) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(new SampleController(),
+                SampleController.class.getMethod(method));
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/admin/posts"), response, handler);
+        return response;
+    }
+
+    // コスト分のトークンが消費され、RateLimit-* ヘッダーが付くことを確認
+    @Test
+    void preHandle_consumesDeclaredCostAndSetsHeaders() throws Exception {
+        authenticate("author@example.com", "ROLE_AUTHOR");
+
+        MockHttpServletResponse response = call("search");
+
+        assertThat(response.getHeader("RateLimit-Limit")).isEqualTo("5");
+        assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("1");
+        assertThat(response.getHeader("RateLimit-Policy")).isEqualTo("5;w=60");
+        assertThat(call("get").getHeader("RateLimit-Remaining")).isEqualTo("0");
+    }
+
+    // 残量がコストに足りない場合は 429（Retry-After 付き）になることを確認
+    @Test
+    void preHandle_rejectsWhenQuotaIsExhausted() throws Exception {
+        authenticate("author@example.com", "ROLE_AUTHOR");
+        call("search");
+
+        assertThatThrownBy(() -> call("search"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfter()).isPositive());
+    }
+
+    // 複数ロールでは最大の割り当てが使われ、ユーザーごとに別のバケットになることを確認
+    @Test
+    void preHandle_usesLargestRoleQuotaPerUser() throws Exception {
+        authenticate("admin@example.com", "ROLE_AUTHOR", "ROLE_ADMIN");
+        assertThat(call("search").getHeader("RateLimit-Limit")).isEqualTo("10");
+
+        authenticate("other@example.com", "ROLE_ADMIN");
+        assertThat(call("search").getHeader("RateLimit-Remaining")).isEqualTo("6");
+    }
+
+    // 割り当てのないロールは制限しないことを確認
+    @Test
+    void preHandle_skipsRolesWithoutQuota() throws Exception {
+        authenticate("viewer@example.com", "ROLE_VIEWER");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(call("search").getHeader("RateLimit-Limit")).isNull();
+        }
+    }
+}
@@ -3,14 +3,19 @@ package com.example.backend.config;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 
+import com.example.backend.service.media.ContentHash;
 import com.example.backend.service.media.MediaStorage;
 
 @TestConfiguration
@@ -26,6 +31,10 @@ public class FakeMediaStorageConfig {
 
         private final Clock clock;
         private final Set<String> uploaded = ConcurrentHashMap.newKeySet();
+        private final Map<String, Instant> lastModified = new ConcurrentHashMap<>();
+        private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+        private final Map<String, String> declaredSha256 = new ConcurrentHashMap<>();
+        private final Map<String, IncompleteUpload> multipartUploads = new ConcurrentHashMap<>();
 
         public InMemoryMediaStorage(Clock clock) {
             this.clock = clock;
@@ -33,7 +42,10 @@ public class FakeMediaStorageConfig {
 
         @Override
         public PresignedUpload createUploadUrl(String storageKey, String contentType, long contentLength,
-                Duration ttl) {
+                String contentSha256, Duration ttl) {
+            if (contentSha256 != null) {
+                declaredSha256.put(storageKey, contentSha256);
+            }
             Instant expiresAt = Instant.now(clock).plus(ttl);
             return new PresignedUpload("http://localhost/upload/" + storageKey,
                     Map.of("Content-Type", contentType), expiresAt, storageKey);
@@ -55,13 +67,124 @@ public class FakeMediaStorageConfig {
             }
         }
 
+        @Override
+        public String findContentSha256(String storageKey) throws ObjectNotFoundException {
+            ensureObjectExists(storageKey);
+            byte[] content = contents.get(storageKey);
+            return content != null ? ContentHash.sha256Hex(content) : declaredSha256.get(storageKey);
+        }
+
         @Override
         public void deleteObject(String storageKey) {
             uploaded.remove(storageKey);
+            lastModified.remove(storageKey);
+            contents.remove(storageKey);
+            declaredSha256.remove(storageKey);
+        }
+
+        @Override
+        public byte[] getObject(String storageKey) throws ObjectNotFoundException {
+            if (!uploaded.contains(storageKey)) {
+                throw new ObjectNotFoundException(storageKey);
+            }
+            return contents.getOrDefault(storageKey, new byte[0]);
+        }
+
+        @Override
+        public void putObject(String storageKey, String contentType, byte[] content) {
+            contents.put(storageKey, content.clone());
+            markUploaded(storageKey, Instant.now(clock));
+        }
+
+        @Override
+        public String createMultipartUpload(String storageKey, String contentType) {
+            String uploadId = UUID.randomUUID().toString();
+            multipartUploads.put(uploadId, new IncompleteUpload(storageKey, uploadId, Instant.now(clock)));
+            return uploadId;
+        }
+
+        @Override
+        public List<PresignedPart> createPartUploadUrls(String storageKey, String uploadId,
+                List<Integer> partNumbers, Duration ttl) {
+            Instant expiresAt = Instant.now(clock).plus(ttl);
+            return partNumbers.stream()
+                    .map(partNumber -> new PresignedPart(partNumber,
+                            "http://localhost/upload/" + storageKey + "?uploadId=" + uploadId + "&partNumber=" + partNumber,
+                            expiresAt))
+                    .toList();
+        }
+
+        @Override
+        public void completeMultipartUpload(String storageKey, String uploadId, List<CompletedPart> parts) {
+            IncompleteUpload upload = multipartUploads.get(uploadId);
+            if (upload == null || !upload.storageKey().equals(storageKey)) {
+                throw new UploadNotFoundException(uploadId);
+            }
+            if (parts.isEmpty()) {
+                throw new StorageException("No parts to complete multipart upload: " + uploadId);
+            }
+            multipartUploads.remove(uploadId);
+            markUploaded(storageKey, Instant.now(clock));
+        }
+
+        @Override
+        public void abortMultipartUpload(String storageKey, String uploadId) {
+            multipartUploads.remove(uploadId);
+        }
+
+        @Override
+        public List<IncompleteUpload> listIncompleteUploads(Instant initiatedBefore, int limit) {
+            return multipartUploads.values().stream()
+                    .filter(upload -> upload.initiatedAt().isBefore(initiatedBefore))
+                    .sorted(Comparator.comparing(IncompleteUpload::initiatedAt))
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public void listObjects(String prefix, Consumer<List<StoredObject>> pageHandler) {
+            List<StoredObject> objects = lastModified.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(entry -> new StoredObject(entry.getKey(), entry.getValue()))
+                    .toList();
+            for (int from = 0; from < objects.size(); from += MAX_DELETE_BATCH) {
+                pageHandler.accept(objects.subList(from, Math.min(objects.size(), from + MAX_DELETE_BATCH)));
+            }
+        }
+
+        @Override
+        public List<String> deleteObjects(List<String> storageKeys) {
+            if (storageKeys.size() > MAX_DELETE_BATCH) {
+                throw new IllegalArgumentException("At most " + MAX_DELETE_BATCH + " keys can be deleted at once");
+            }
+            storageKeys.forEach(this::deleteObject);
+            return List.of();
         }
 
         public void simulateUpload(String storageKey) {
+            markUploaded(storageKey, Instant.now(clock));
+        }
+
+        public void simulateUpload(String storageKey, Instant modifiedAt) {
+            markUploaded(storageKey, modifiedAt);
+        }
+
+        public void simulateUpload(String storageKey, byte[] content) {
+            putObject(storageKey, "application/octet-stream", content);
+        }
+
+        public boolean contains(String storageKey) {
+            return uploaded.contains(storageKey);
+        }
+
+        public boolean hasMultipartUpload(String uploadId) {
+            return multipartUploads.containsKey(uploadId);
+        }
+
+        private void markUploaded(String storageKey, Instant modifiedAt) {
             uploaded.add(storageKey);
+            lastModified.put(storageKey, modifiedAt);
         }
     }
 }
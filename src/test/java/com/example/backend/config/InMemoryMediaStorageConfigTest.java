@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.example.backend.service.cache.PresignedUrlCache;
 import com.example.backend.service.media.MediaStorage;
 import com.example.backend.service.media.MediaStorage.ObjectNotFoundException;
 import com.example.backend.service.media.MediaStorage.PresignedDownload;
@@ -27,7 +28,10 @@ class InMemoryMediaStorageConfigTest {
     void setUp() {
         config = new InMemoryMediaStorageConfig();
         fixedClock = Clock.fixed(Instant.parse("2023-01-01T10:00:00Z"), ZoneOffset.UTC);
-        mediaStorage = config.inMemoryMediaStorage(fixedClock);
+        // 内部状態を直接確認するため、URLキャッシュを前段に置かない
+        PresignedUrlCacheProperties cacheProperties = new PresignedUrlCacheProperties();
+        cacheProperties.setEnabled(false);
+        mediaStorage = config.inMemoryMediaStorage(fixedClock, new PresignedUrlCache(cacheProperties, fixedClock));
     }
 
     // PresignedUploadを返すことを確認
@@ -494,6 +494,36 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.status").value("INACTIVE"));
     }
 
+    // 停止されたユーザーは発行済みトークンでも直ちに403になることを確認（認証ユーザーキャッシュの同期破棄）
+    @Test
+    void updateUserStatus_suspended_user_loses_access_immediately() throws Exception {
+        String adminToken = getAccessToken("admin@example.com", "password123");
+        String email = "suspendtest" + System.currentTimeMillis() + "@example.com";
+        var createReq = new UserRequestDto(email, "password123", "AUTHOR", "Suspend Test", null, null);
+        var createRes = mockMvc.perform(post("/api/admin/users")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createReq)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long userId = Long.valueOf((Integer) JsonPath.read(createRes, "$.id"));
+        createdUserIds.add(userId);
+
+        String userToken = getAccessToken(email, "password123");
+        mockMvc.perform(get("/api/admin/users/me").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/admin/users/" + userId + "/status")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"SUSPENDED\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/users/me").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.messages[0].code").value("error.account.disabled"));
+    }
+
     // 自分自身のステータス変更は403
     @Test
     void updateUserStatus_self_should_return_403() throws Exception {
@@ -916,6 +946,47 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value("admin@example.com"));
     }
 
+    // 自分のユーザー情報は認証用キャッシュの項目に限らず全項目を返す (GET /api/admin/users/me)
+    @Test
+    void getMe_should_return_full_profile() throws Exception {
+        String adminToken = getAccessToken("admin@example.com", "password123");
+
+        Media media = new Media();
+        media.setFilename("me-avatar.png");
+        media.setStorageKey("sk-me-avatar-" + System.currentTimeMillis());
+        media.setMime("image/png");
+        media.setCreatedBy(userRepository.findById(1L).orElseThrow());
+        media = mediaRepository.save(media);
+        createdMediaIds.add(media.getId());
+
+        String uniqueEmail = "meuser" + System.currentTimeMillis() + "@example.com";
+        var createReq = new UserRequestDto(uniqueEmail, "password123", "AUTHOR", "Me User", "My bio",
+                media.getId());
+        var createRes = mockMvc.perform(post("/api/admin/users")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createReq)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long userId = Long.valueOf((Integer) JsonPath.read(createRes, "$.id"));
+        createdUserIds.add(userId);
+
+        // 1回目の取得でキャッシュに載せ、2回目もキャッシュ経由で全項目が返ることを確認
+        String userToken = getAccessToken(uniqueEmail, "password123");
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/admin/users/me")
+                    .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(userId.intValue()))
+                    .andExpect(jsonPath("$.displayName").value("Me User"))
+                    .andExpect(jsonPath("$.bio").value("My bio"))
+                    .andExpect(jsonPath("$.avatarMediaId").value(media.getId().intValue()))
+                    .andExpect(jsonPath("$.lastLoginAt").isNotEmpty())
+                    .andExpect(jsonPath("$.createdAt").isNotEmpty())
+                    .andExpect(jsonPath("$.updatedAt").isNotEmpty());
+        }
+    }
+
     // 自分のプロフィール更新 (PUT /api/admin/users/me)
     @Test
     void updateMyProfile_should_update_displayName_and_bio() throws Exception {
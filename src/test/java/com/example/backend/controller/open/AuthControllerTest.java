@@ -19,6 +19,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Clock;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -183,6 +184,49 @@ class AuthControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    // 全端末ログアウト後は有効期限前のアクセストークン・リフレッシュトークンも401
+    @Test
+    void logoutAll_revokesIssuedTokens() throws Exception {
+        var loginReq = new LoginRequestDto("admin@example.com", "password123");
+        var loginRes = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginReq)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String accessToken = JsonPath.read(loginRes, "$.accessToken");
+        String refreshToken = JsonPath.read(loginRes, "$.refreshToken");
+
+        mockMvc.perform(get("/api/admin/users/me").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/admin/users/me").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequestDto(refreshToken))))
+                .andExpect(status().isUnauthorized());
+
+        // 再ログインすれば新しい世代のトークンで利用できる
+        var reloginRes = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginReq)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String newAccessToken = JsonPath.read(reloginRes, "$.accessToken");
+        mockMvc.perform(get("/api/admin/users/me").header("Authorization", "Bearer " + newAccessToken))
+                .andExpect(status().isOk());
+    }
+
+    // 未認証での全端末ログアウトは401
+    @Test
+    void logoutAll_unauthenticated() throws Exception {
+        mockMvc.perform(post("/api/auth/logout-all"))
+                .andExpect(status().isUnauthorized());
+    }
+
     // ログイン失敗（バリデーションエラー：空のメールアドレス）
     @Test
     void login_validationError_emptyEmail() throws Exception {
@@ -0,0 +1,35 @@
+package com.example.backend.controller.open;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.config.TestClockConfig;
+import com.example.backend.config.TestDataConfig;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import({ TestClockConfig.class, TestDataConfig.class })
+@ActiveProfiles("test")
+class JwksControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    // 認証なしで取得でき、HS256 運用時は公開鍵が空であることを確認
+    @Test
+    void getJwks_publicAndEmptyForHs256() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(jsonPath("$.keys").isArray())
+                .andExpect(jsonPath("$.keys").isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.backend.controller.pub;
 
+import com.example.backend.batch.PostCounterReconcileJob;
 import com.example.backend.entity.Category;
 import com.example.backend.entity.Post;
 import com.example.backend.entity.User;
@@ -36,6 +37,9 @@ class PublicCategoryControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PostCounterReconcileJob postCounterReconcileJob;
+
     private User author;
     private Category category1;
 
@@ -71,6 +75,9 @@ class PublicCategoryControllerTest {
                 .category(category1)
                 .publishedAt(java.time.LocalDateTime.now().minusDays(1))
                 .build());
+        // リポジトリ直接保存のため集計表を再集計
+        postRepository.flush();
+        postCounterReconcileJob.reconcile();
 
         mockMvc.perform(get("/api/public/categories"))
                 .andExpect(status().isOk())
@@ -89,4 +96,17 @@ class PublicCategoryControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
     }
-}
\ No newline at end of file
+
+    // カテゴリ一覧のETagが一致すれば本文なしで304になることのテスト
+    @Test
+    void getCategories_withMatchingEtag_returns304() throws Exception {
+        String etag = mockMvc.perform(get("/api/public/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/public/categories").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
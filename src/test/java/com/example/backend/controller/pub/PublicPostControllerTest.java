@@ -1,5 +1,6 @@
 package com.example.backend.controller.pub;
 
+import com.example.backend.dto.tag.TagRequestDto;
 import com.example.backend.entity.Category;
 import com.example.backend.entity.Post;
 import com.example.backend.entity.Tag;
@@ -8,6 +9,10 @@ import com.example.backend.repository.CategoryRepository;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.TagRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.service.TagService;
+import com.example.backend.service.cache.PublicPostCache;
+import com.example.backend.service.view.PostViewCounter;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +26,7 @@ import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -48,6 +54,15 @@ class PublicPostControllerTest {
     @Autowired
     private Clock clock;
 
+    @Autowired
+    private PublicPostCache publicPostCache;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
     private User author;
     private Category category;
     private Tag tag1;
@@ -55,6 +70,9 @@ class PublicPostControllerTest {
 
     @BeforeEach
     void setUp() {
+        // リポジトリ直接保存はイベントを発行しないため、公開キャッシュを明示的に破棄
+        publicPostCache.invalidateAll();
+
         // テストデータのクリーンアップ（@Transactionalでロールバックされるので完全削除）
         postRepository.deleteAll();
         postRepository.flush(); // 即座に削除を反映
@@ -273,6 +291,7 @@ class PublicPostControllerTest {
                 .andExpect(jsonPath("$.slug").value("test-post"))
                 .andExpect(jsonPath("$.title").value("Test Post"))
                 .andExpect(jsonPath("$.contentJson").exists())
+                .andExpect(jsonPath("$.contentHtml").value("<p>Hello</p>"))
                 .andExpect(jsonPath("$.author").exists())
                 .andExpect(jsonPath("$.category").exists())
                 .andExpect(jsonPath("$.tags").isArray());
@@ -342,4 +361,227 @@ class PublicPostControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(3))
                 .andExpect(jsonPath("$.totalPages").value(2));
     }
+
+    // カーソル方式で全件を重複・欠落なく辿れることのテスト（同一公開日時はidで順序付け）
+    @Test
+    void getPostsByCursor_traversesAllPostsWithoutCount() throws Exception {
+        LocalDateTime sameTime = LocalDateTime.now(clock).minusDays(1).withNano(0);
+        for (int i = 1; i <= 5; i++) {
+            postRepository.save(Post.builder()
+                    .title("Post " + i)
+                    .slug("cursor-post-" + i)
+                    .status(Post.Status.PUBLISHED)
+                    .excerpt("Excerpt " + i)
+                    .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                    .author(author)
+                    .category(category)
+                    .publishedAt(i <= 3 ? sameTime : sameTime.minusDays(i))
+                    .build());
+        }
+
+        String body = mockMvc.perform(get("/api/public/posts?cursor=&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].slug").value("cursor-post-3"))
+                .andExpect(jsonPath("$.content[1].slug").value("cursor-post-2"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(body, "$.nextCursor");
+
+        body = mockMvc.perform(get("/api/public/posts").param("cursor", next).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].slug").value("cursor-post-1"))
+                .andExpect(jsonPath("$.content[1].slug").value("cursor-post-4"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        next = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/api/public/posts").param("cursor", next).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].slug").value("cursor-post-5"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    // カーソル方式でもタグ・カテゴリフィルタが効くことのテスト
+    @Test
+    void getPostsByCursor_withFilters_returnsFilteredPosts() throws Exception {
+        postRepository.save(Post.builder()
+                .title("Java Post")
+                .slug("java-post")
+                .status(Post.Status.PUBLISHED)
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .author(author)
+                .category(category)
+                .tags(List.of(tag1))
+                .publishedAt(LocalDateTime.now(clock).minusDays(1))
+                .build());
+        postRepository.save(Post.builder()
+                .title("Spring Post")
+                .slug("spring-post")
+                .status(Post.Status.PUBLISHED)
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .author(author)
+                .tags(List.of(tag2))
+                .publishedAt(LocalDateTime.now(clock).minusDays(2))
+                .build());
+
+        mockMvc.perform(get("/api/public/posts?cursor=&tag=java"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].slug").value("java-post"));
+
+        mockMvc.perform(get("/api/public/posts?cursor=&categories=technology,news"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].slug").value("java-post"));
+    }
+
+    // 不正なカーソルは400になることのテスト
+    @Test
+    void getPostsByCursor_invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get("/api/public/posts?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages[0].code").value("error.cursor.invalid"));
+    }
+
+    // 一覧のETagが一致すれば304、書き込み後は新しいETagで200になることのテスト
+    @Test
+    void getPosts_withMatchingEtag_returns304UntilContentChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/public/posts"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/public/posts").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/public/posts?cursor=").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        TagRequestDto rename = new TagRequestDto();
+        rename.setName("Java Renamed");
+        rename.setSlug(tag1.getSlug());
+        tagService.update(tag1.getId(), rename, User.Role.ADMIN);
+
+        mockMvc.perform(get("/api/public/posts").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", org.hamcrest.Matchers.not(etag)));
+    }
+
+    // 詳細のETagが一致すれば304、存在しない投稿はETagなしで404になることのテスト
+    @Test
+    void getPostBySlug_withMatchingEtag_returns304() throws Exception {
+        postRepository.save(Post.builder()
+                .title("Etag Post")
+                .slug("etag-post")
+                .status(Post.Status.PUBLISHED)
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .author(author)
+                .publishedAt(LocalDateTime.now(clock).minusDays(1))
+                .build());
+        postRepository.flush();
+
+        String etag = mockMvc.perform(get("/api/public/posts/etag-post"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/public/posts/etag-post").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/public/posts/non-existent").header("If-None-Match", etag))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    // 2回目の取得はキャッシュから返り、タグ更新イベントで破棄されることのテスト
+    @Test
+    void getPostBySlug_cachedUntilTagChanged() throws Exception {
+        postRepository.save(Post.builder()
+                .title("Cached Post")
+                .slug("cached-post")
+                .status(Post.Status.PUBLISHED)
+                .excerpt("Cached excerpt")
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .author(author)
+                .category(category)
+                .tags(List.of(tag1))
+                .publishedAt(LocalDateTime.now(clock).minusDays(1))
+                .build());
+
+        long hitsBefore = publicPostCache.stats().detailHits();
+        mockMvc.perform(get("/api/public/posts/cached-post"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags[0].name").value(tag1.getName()));
+        mockMvc.perform(get("/api/public/posts/cached-post"))
+                .andExpect(status().isOk());
+        assertThat(publicPostCache.stats().detailHits()).isEqualTo(hitsBefore + 1);
+
+        TagRequestDto rename = new TagRequestDto();
+        rename.setName("Java Renamed");
+        rename.setSlug(tag1.getSlug());
+        tagService.update(tag1.getId(), rename, User.Role.ADMIN);
+
+        mockMvc.perform(get("/api/public/posts/cached-post"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags[0].name").value("Java Renamed"));
+    }
+
+    // 詳細の閲覧数（304の再検証を含む）が反映され、人気投稿が閲覧数順（未公開は除外）で返ることのテスト
+    @Test
+    void getPopularPosts_orderedByViews() throws Exception {
+        for (String slug : List.of("popular-a", "popular-b")) {
+            postRepository.save(Post.builder()
+                    .title(slug)
+                    .slug(slug)
+                    .status(Post.Status.PUBLISHED)
+                    .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                    .author(author)
+                    .publishedAt(LocalDateTime.now(clock).minusDays(1))
+                    .build());
+        }
+        Post draft = postRepository.save(Post.builder()
+                .title("popular-draft")
+                .slug("popular-draft")
+                .status(Post.Status.DRAFT)
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .author(author)
+                .build());
+        postRepository.flush();
+
+        mockMvc.perform(get("/api/public/posts/popular-a")).andExpect(status().isOk());
+        String etag = mockMvc.perform(get("/api/public/posts/popular-b"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/public/posts/popular-b").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+        }
+        postViewCounter.record(draft.getId());
+        postViewCounter.flush();
+
+        mockMvc.perform(get("/api/public/popular-posts").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].slug").value("popular-b"))
+                .andExpect(jsonPath("$[1].slug").value("popular-a"));
+    }
+
+    // スラッグが "popular" の投稿も詳細として取得できることのテスト（人気投稿のパスと衝突しない）
+    @Test
+    void getPostBySlug_popularSlugIsNotShadowed() throws Exception {
+        postRepository.saveAndFlush(Post.builder()
+                .title("Popular")
+                .slug("popular")
+                .status(Post.Status.PUBLISHED)
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .author(author)
+                .publishedAt(LocalDateTime.now(clock).minusDays(1))
+                .build());
+
+        mockMvc.perform(get("/api/public/posts/popular"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slug").value("popular"));
+    }
 }
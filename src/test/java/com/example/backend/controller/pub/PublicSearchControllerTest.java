@@ -0,0 +1,207 @@
+package com.example.backend.controller.pub;
+
+import com.example.backend.entity.Category;
+import com.example.backend.entity.Post;
+import com.example.backend.entity.Tag;
+import com.example.backend.entity.User;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.TagRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.search.PostSearchIndexer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class PublicSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PostSearchIndexer postSearchIndexer;
+
+    @Autowired
+    private Clock clock;
+
+    private User author;
+    private Category category;
+    private Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll();
+        postRepository.flush();
+
+        author = userRepository.findAll().stream().findFirst().orElseThrow();
+        category = categoryRepository.save(Category.builder()
+                .name("Search Category")
+                .slug("search-category")
+                .sortOrder(99)
+                .build());
+        tag = tagRepository.save(Tag.builder()
+                .name("Search Tag")
+                .slug("search-tag")
+                .build());
+    }
+
+    // 日本語の部分語でバイグラム一致し、スニペットがハイライトされることを確認
+    @Test
+    void search_japanese_shouldMatchByBigramAndHighlight() throws Exception {
+        createPost("search-ja", "はじめてのブログ", "導入記事", "全文検索エンジンを実装しました。", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).minusDays(1), null, List.of());
+        createPost("search-other", "別の記事", "関係なし", "画像の最適化について。", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).minusDays(1), null, List.of());
+
+        mockMvc.perform(get("/api/public/search").param("q", "検索エンジン"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].slug").value("search-ja"))
+                .andExpect(jsonPath("$.content[0].snippet").value(containsString("<mark>検索エンジン</mark>")))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    // タイトル一致が本文一致より上位になることを確認
+    @Test
+    void search_shouldRankTitleMatchesFirst() throws Exception {
+        createPost("body-match", "Unrelated", "excerpt", "This article mentions kotlin once.", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).minusDays(1), null, List.of());
+        createPost("title-match", "Kotlin coroutines", "excerpt", "Structured concurrency.", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).minusDays(2), null, List.of());
+
+        mockMvc.perform(get("/api/public/search").param("q", "KOTLIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].slug").value("title-match"))
+                .andExpect(jsonPath("$.content[1].slug").value("body-match"));
+    }
+
+    // 下書き・予約投稿は検索されず、複数語はAND条件になることを確認
+    @Test
+    void search_shouldExcludeUnpublishedAndRequireAllWords() throws Exception {
+        createPost("published", "Spring search", "", "Spring Boot guide", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).minusDays(1), null, List.of());
+        createPost("spring-only", "Spring", "", "Spring only", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).minusDays(1), null, List.of());
+        createPost("draft", "Spring search draft", "", "Spring Boot guide", Post.Status.DRAFT, null, null,
+                List.of());
+        createPost("scheduled", "Spring search scheduled", "", "Spring Boot guide", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).plusDays(1), null, List.of());
+
+        mockMvc.perform(get("/api/public/search").param("q", "spring boot"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].slug").value("published"));
+    }
+
+    // タグ・カテゴリで絞り込めることを確認
+    @Test
+    void search_withTagAndCategory_shouldFilter() throws Exception {
+        createPost("tagged", "Caching notes", "", "", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).minusDays(1), category, List.of(tag));
+        createPost("untagged", "Caching basics", "", "", Post.Status.PUBLISHED,
+                LocalDateTime.now(clock).minusDays(1), null, List.of());
+
+        mockMvc.perform(get("/api/public/search").param("q", "caching").param("tag", "search-tag"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].slug").value("tagged"));
+
+        mockMvc.perform(get("/api/public/search").param("q", "caching").param("category", "search-category"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].slug").value("tagged"));
+    }
+
+    // 1文字の日本語は前方一致で検索できることを確認
+    @Test
+    void search_singleCjkChar_shouldUsePrefixMatch() throws Exception {
+        createPost("cat", "猫の写真", "", "", Post.Status.PUBLISHED, LocalDateTime.now(clock).minusDays(1), null,
+                List.of());
+
+        mockMvc.perform(get("/api/public/search").param("q", "猫"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].slug").value("cat"));
+    }
+
+    // 記号のみの検索語は空の結果になることを確認
+    @Test
+    void search_symbolsOnly_shouldReturnEmptyPage() throws Exception {
+        mockMvc.perform(get("/api/public/search").param("q", "!!!"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    // 検索語が未指定の場合は空の結果になることを確認
+    @Test
+    void search_withoutQuery_shouldReturnEmptyPage() throws Exception {
+        mockMvc.perform(get("/api/public/search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    // ETag一致時は304になることを確認
+    @Test
+    void search_withMatchingEtag_shouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/public/search").param("q", "anything"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/public/search").param("q", "anything").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private void createPost(String slug, String title, String excerpt, String text, Post.Status status,
+            LocalDateTime publishedAt, Category postCategory, List<Tag> tags) {
+        String contentJson = text.isEmpty() ? "{\"type\":\"doc\",\"content\":[]}"
+                : "{\"type\":\"doc\",\"content\":[{\"type\":\"paragraph\",\"content\":[{\"type\":\"text\",\"text\":\""
+                        + text + "\"}]}]}";
+        Post post = postRepository.save(Post.builder()
+                .title(title)
+                .slug(slug)
+                .status(status)
+                .excerpt(excerpt)
+                .contentJson(contentJson)
+                .author(author)
+                .category(postCategory)
+                .tags(tags)
+                .publishedAt(publishedAt)
+                .build());
+        // 検索はJDBCで行うため、タグの関連をDBへ反映してから索引する
+        postRepository.flush();
+        postSearchIndexer.index(post);
+    }
+}
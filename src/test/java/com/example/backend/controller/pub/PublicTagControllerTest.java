@@ -1,5 +1,6 @@
 package com.example.backend.controller.pub;
 
+import com.example.backend.batch.PostCounterReconcileJob;
 import com.example.backend.entity.Category;
 import com.example.backend.entity.Post;
 import com.example.backend.entity.Tag;
@@ -43,6 +44,9 @@ class PublicTagControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PostCounterReconcileJob postCounterReconcileJob;
+
     private User author;
     private Category category;
     private Tag tag1;
@@ -95,6 +99,9 @@ class PublicTagControllerTest {
                 .build();
         post.setTags(List.of(tag1, tag2));
         postRepository.save(post);
+        // リポジトリ直接保存のため集計表を再集計
+        postRepository.flush();
+        postCounterReconcileJob.reconcile();
 
         mockMvc.perform(get("/api/public/tags"))
                 .andExpect(status().isOk())
@@ -113,4 +120,17 @@ class PublicTagControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
     }
-}
\ No newline at end of file
+
+    // タグ一覧のETagが一致すれば本文なしで304になることのテスト
+    @Test
+    void getTags_withMatchingEtag_returns304() throws Exception {
+        String etag = mockMvc.perform(get("/api/public/tags"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/public/tags").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.backend.controller.pub;
+
+import com.example.backend.config.AppProperties;
+import com.example.backend.config.SyndicationProperties;
+import com.example.backend.entity.Post;
+import com.example.backend.entity.User;
+import com.example.backend.event.PostChangedEvent;
+import com.example.backend.event.TagChangedEvent;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SyndicationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SyndicationProperties syndicationProperties;
+
+    @Autowired
+    private AppProperties appProperties;
+
+    @Autowired
+    private Clock clock;
+
+    private User author;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll();
+        postRepository.flush();
+        author = userRepository.findAll().stream().findFirst().orElseThrow();
+        baseUrl = appProperties.getBaseUrl();
+        // リポジトリ直接保存はイベントを発行しないため、生成済みXMLを無効化
+        eventPublisher.publishEvent(new PostChangedEvent(0L, Set.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        syndicationProperties.setSitemapShardSize(50_000);
+    }
+
+    // 公開済み投稿のみがサイトマップに含まれることを確認
+    @Test
+    void getSitemap_shouldListPublishedPostsOnly() throws Exception {
+        createPost("published-one", Post.Status.PUBLISHED, LocalDateTime.now(clock).minusDays(1));
+        createPost("draft-one", Post.Status.DRAFT, null);
+        createPost("scheduled-one", Post.Status.PUBLISHED, LocalDateTime.now(clock).plusDays(1));
+        publishChange();
+
+        mockMvc.perform(get("/sitemap.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/xml"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(xpath("/*[local-name()='urlset']/*[local-name()='url']").nodeCount(1))
+                .andExpect(content().string(containsString("<loc>" + baseUrl + "/posts/published-one</loc>")))
+                .andExpect(content().string(not(containsString("draft-one"))))
+                .andExpect(content().string(not(containsString("scheduled-one"))));
+    }
+
+    // 上限件数を超えるとサイトマップインデックスと分割ファイルになることを確認
+    @Test
+    void getSitemap_overShardSize_shouldReturnIndexAndShards() throws Exception {
+        syndicationProperties.setSitemapShardSize(2);
+        for (int i = 1; i <= 3; i++) {
+            createPost("sharded-" + i, Post.Status.PUBLISHED, LocalDateTime.now(clock).minusDays(i));
+        }
+        publishChange();
+
+        mockMvc.perform(get("/sitemap.xml"))
+                .andExpect(status().isOk())
+                .andExpect(xpath("/*[local-name()='sitemapindex']/*[local-name()='sitemap']").nodeCount(2))
+                .andExpect(content().string(containsString("<loc>" + baseUrl + "/sitemap-2.xml</loc>")));
+        mockMvc.perform(get("/sitemap-1.xml"))
+                .andExpect(status().isOk())
+                .andExpect(xpath("/*[local-name()='urlset']/*[local-name()='url']").nodeCount(2));
+        mockMvc.perform(get("/sitemap-2.xml"))
+                .andExpect(status().isOk())
+                .andExpect(xpath("/*[local-name()='urlset']/*[local-name()='url']").nodeCount(1));
+        mockMvc.perform(get("/sitemap-3.xml"))
+                .andExpect(status().isNotFound());
+    }
+
+    // 投稿がない場合は空の urlset を返すことを確認
+    @Test
+    void getSitemap_withoutPosts_shouldReturnEmptyUrlset() throws Exception {
+        mockMvc.perform(get("/sitemap.xml"))
+                .andExpect(status().isOk())
+                .andExpect(xpath("/*[local-name()='urlset']").exists())
+                .andExpect(xpath("/*[local-name()='urlset']/*[local-name()='url']").nodeCount(0));
+    }
+
+    // フィードが新しい順で、特殊文字がエスケープされることを確認
+    @Test
+    void getFeed_shouldListLatestPostsEscaped() throws Exception {
+        createPost("older", Post.Status.PUBLISHED, LocalDateTime.now(clock).minusDays(2));
+        Post newer = createPost("newer", Post.Status.PUBLISHED, LocalDateTime.now(clock).minusDays(1));
+        newer.setTitle("Tom & Jerry <3");
+        postRepository.flush();
+        publishChange();
+
+        mockMvc.perform(get("/feed.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/rss+xml"))
+                .andExpect(xpath("/rss/channel/item").nodeCount(2))
+                .andExpect(xpath("/rss/channel/item[1]/title").string("Tom & Jerry <3"))
+                .andExpect(xpath("/rss/channel/item[1]/link").string(baseUrl + "/posts/newer"))
+                .andExpect(xpath("/rss/channel/item[2]/link").string(baseUrl + "/posts/older"))
+                .andExpect(content().string(containsString("Tom &amp; Jerry &lt;3")));
+    }
+
+    // 生成結果は投稿変更まで再利用され、変更後に再生成されることを確認
+    @Test
+    void getFeed_shouldRebuildOnlyAfterPostChange() throws Exception {
+        createPost("first", Post.Status.PUBLISHED, LocalDateTime.now(clock).minusDays(1));
+        publishChange();
+        mockMvc.perform(get("/feed.xml")).andExpect(xpath("/rss/channel/item").nodeCount(1));
+
+        // イベントなしの直接保存は反映されない（キャッシュを再利用）
+        createPost("second", Post.Status.PUBLISHED, LocalDateTime.now(clock).minusHours(1));
+        mockMvc.perform(get("/feed.xml")).andExpect(xpath("/rss/channel/item").nodeCount(1));
+
+        publishChange();
+        mockMvc.perform(get("/feed.xml")).andExpect(xpath("/rss/channel/item").nodeCount(2));
+    }
+
+    // ETag一致時は304になることを確認
+    @Test
+    void getFeed_withMatchingEtag_shouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/feed.xml"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    // タグ変更・下書きのみの変更ではETagが変わらず、公開中の投稿の変更で変わることを確認
+    @Test
+    void getFeed_etagShouldChangeOnlyOnPublicationChange() throws Exception {
+        String etag = mockMvc.perform(get("/feed.xml"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        eventPublisher.publishEvent(new TagChangedEvent(1L, Set.of("java")));
+        eventPublisher.publishEvent(new PostChangedEvent(1L, Set.of("draft"), false));
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        publishChange();
+        mockMvc.perform(get("/feed.xml").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    private Post createPost(String slug, Post.Status status, LocalDateTime publishedAt) {
+        return postRepository.saveAndFlush(Post.builder()
+                .title("Title " + slug)
+                .slug(slug)
+                .status(status)
+                .excerpt("Excerpt " + slug)
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .author(author)
+                .publishedAt(publishedAt)
+                .build());
+    }
+
+    private void publishChange() {
+        eventPublisher.publishEvent(new PostChangedEvent(0L, Set.of()));
+    }
+}
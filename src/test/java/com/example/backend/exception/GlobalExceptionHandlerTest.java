@@ -57,6 +57,18 @@ class GlobalExceptionHandlerTest {
         assertEquals("Forbidden", response.getBody().error());
     }
 
+    // AuthBusyExceptionの処理が503とRetry-After（秒、切り上げ）を返すことを確認
+    @Test
+    void handleAuthBusyException_returns503WithRetryAfter() {
+        AuthBusyException ex = new AuthBusyException("busy", java.time.Duration.ofMillis(1500));
+        var response = globalExceptionHandler.handleAuthBusyException(ex);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody(), "Response body should not be null");
+        assertEquals("error.auth.busy", response.getBody().messages().get(0).code());
+    }
+
     // InvalidEnum値やJSONパースエラーで400を返すことを確認
     @Test
     void handleInvalidEnum_returns400() {
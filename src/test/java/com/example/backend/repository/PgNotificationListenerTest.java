@@ -0,0 +1,79 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.postgresql.PGConnection;
+
+class PgNotificationListenerTest {
+
+    // 処理側の例外では LISTEN を解除してから接続を閉じ、再接続することを確認
+    @Test
+    void callbackFailure_unlistensBeforeClosing() throws Exception {
+        PgListenerConnectionFactory factory = mock(PgListenerConnectionFactory.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(factory.open()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(mock(PGConnection.class));
+        CountDownLatch connected = new CountDownLatch(2);
+        PgNotificationListener listener = new PgNotificationListener(factory, "test_channel", Duration.ofMillis(10),
+                () -> {
+                    connected.countDown();
+                    throw new IllegalStateException("resync failed");
+                }, payload -> {
+                });
+
+        listener.start();
+        try {
+            assertThat(connected.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            listener.stop();
+        }
+
+        InOrder inOrder = Mockito.inOrder(statement, connection);
+        inOrder.verify(statement).execute("LISTEN test_channel");
+        inOrder.verify(statement).execute("UNLISTEN *");
+        inOrder.verify(connection).close();
+    }
+
+    // 接続の失敗では UNLISTEN を送らずに再接続することを確認
+    @Test
+    void connectionFailure_reconnectsWithoutUnlisten() throws Exception {
+        PgListenerConnectionFactory factory = mock(PgListenerConnectionFactory.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(factory.open()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(Mockito.anyInt())).thenThrow(new SQLException("connection lost"));
+        PgNotificationListener listener = new PgNotificationListener(factory, "test_channel", Duration.ofMillis(10),
+                () -> {
+                }, payload -> {
+                });
+
+        listener.start();
+        try {
+            verify(factory, timeout(5_000).atLeast(2)).open();
+        } finally {
+            listener.stop();
+        }
+
+        verify(statement, never()).execute("UNLISTEN *");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PostSearchRepositoryTest {
+
+    // フィールドごとに重みが付き、フィールド間は位置が空くことを確認（タイトル末尾と抜粋先頭がフレーズで隣接しない）
+    @Test
+    void tsvector_leavesGapBetweenFields() {
+        String vector = PostSearchRepository.tsvector(List.of("ab", "bc"), List.of("cd"), List.of("de"));
+
+        assertThat(vector).isEqualTo("'ab':1A 'bc':2A 'cd':4B 'de':6C");
+    }
+
+    // 空のフィールドは位置を空けないことを確認
+    @Test
+    void tsvector_skipsGapForEmptyFields() {
+        String vector = PostSearchRepository.tsvector(List.of("ab"), List.of(), List.of("cd", "ab"));
+
+        assertThat(vector).isEqualTo("'ab':1A,4C 'cd':3C");
+    }
+
+    // 語内は隣接、語同士はANDで結合されることを確認
+    @Test
+    void tsquery_joinsTokensAsPhrase() {
+        String query = PostSearchRepository.tsquery(List.of(
+                new PostSearchRepository.Term(List.of("ab", "bc"), false),
+                new PostSearchRepository.Term(List.of("x"), true)));
+
+        assertThat(query).isEqualTo("('ab' <-> 'bc') & 'x':*");
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.config.JwtProperties;
+import com.example.backend.dto.auth.AuthResponseDto;
+import com.example.backend.dto.auth.LoginRequestDto;
+import com.example.backend.entity.User;
+import com.example.backend.entity.UserStatus;
+import com.example.backend.exception.AccountDisabledException;
+import com.example.backend.exception.InvalidCredentialsException;
+import com.example.backend.repository.RefreshTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.JwtTokenService.TokenPair;
+import com.example.backend.service.password.PasswordHashingService;
+import com.example.backend.service.password.PasswordHashingService.Verification;
+import com.example.backend.service.session.TokenEpochService;
+
+/**
+ * AuthService のログイン処理の単体テスト。
+ * パスワード照合がトランザクションの外で行われることを重点的に検証。
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthService Unit Tests")
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private JwtTokenService jwtTokenService;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private TokenEpochService tokenEpochService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuthService authService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneId.of("UTC"));
+        authService = new AuthService(userRepository, refreshTokenRepository, jwtTokenService, new JwtProperties(),
+                passwordHashingService, tokenEpochService, transactionManager, clock);
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("author@example.com");
+        user.setRole(User.Role.AUTHOR);
+        user.setPasswordHash("old-hash");
+        user.setStatus(UserStatus.ACTIVE);
+    }
+
+    private User copyOf(User source) {
+        User copy = new User();
+        copy.setId(source.getId());
+        copy.setEmail(source.getEmail());
+        copy.setRole(source.getRole());
+        copy.setPasswordHash(source.getPasswordHash());
+        copy.setStatus(source.getStatus());
+        return copy;
+    }
+
+    @Test
+    @DisplayName("照合はトランザクション開始前に行い、書き込みのみトランザクション内で行う")
+    void login_verifiesOutsideTransaction() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHashingService.verify("password123", "old-hash")).thenReturn(new Verification(true, "new-hash"));
+        User current = copyOf(user);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(current));
+        when(jwtTokenService.issueTokens(eq(user.getEmail()), anyList(), eq(1L), anyLong()))
+                .thenReturn(new TokenPair("access", "refresh"));
+
+        AuthResponseDto response = authService.login(new LoginRequestDto(user.getEmail(), "password123"), "ua",
+                "127.0.0.1");
+
+        assertThat(response.accessToken()).isEqualTo("access");
+        assertThat(current.getPasswordHash()).isEqualTo("new-hash");
+        assertThat(current.getLastLoginAt()).isNotNull();
+        InOrder inOrder = inOrder(userRepository, passwordHashingService, transactionManager, refreshTokenRepository);
+        inOrder.verify(userRepository).findByEmail(user.getEmail());
+        inOrder.verify(passwordHashingService).verify("password123", "old-hash");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).findById(1L);
+        inOrder.verify(refreshTokenRepository).save(any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("照合に失敗した場合はトランザクションを開始しない")
+    void login_wrongPassword_doesNotOpenTransaction() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHashingService.verify("wrong", "old-hash")).thenReturn(new Verification(false, null));
+
+        assertThatThrownBy(() -> authService.login(new LoginRequestDto(user.getEmail(), "wrong"), "ua", "127.0.0.1"))
+                .isInstanceOf(InvalidCredentialsException.class);
+        verifyNoInteractions(transactionManager, refreshTokenRepository);
+    }
+
+    @Test
+    @DisplayName("照合中にパスワードが変更された場合は認証失敗（ハッシュも書き戻さない）")
+    void login_passwordChangedDuringVerification_shouldFail() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHashingService.verify("password123", "old-hash")).thenReturn(new Verification(true, "new-hash"));
+        User current = copyOf(user);
+        current.setPasswordHash("changed-hash");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(
+                () -> authService.login(new LoginRequestDto(user.getEmail(), "password123"), "ua", "127.0.0.1"))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(current.getPasswordHash()).isEqualTo("changed-hash");
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    @DisplayName("照合中に無効化されたユーザーはログインできない")
+    void login_disabledDuringVerification_shouldFail() {
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHashingService.verify("password123", "old-hash")).thenReturn(new Verification(true, null));
+        User current = copyOf(user);
+        current.setStatus(UserStatus.SUSPENDED);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(
+                () -> authService.login(new LoginRequestDto(user.getEmail(), "password123"), "ua", "127.0.0.1"))
+                .isInstanceOf(AccountDisabledException.class);
+        verifyNoInteractions(refreshTokenRepository);
+    }
+}
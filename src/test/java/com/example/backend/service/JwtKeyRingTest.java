@@ -0,0 +1,136 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.config.JwtProperties;
+import com.example.backend.config.VerifiedJwtCacheProperties;
+import com.example.backend.service.cache.VerifiedJwtCache;
+
+import io.jsonwebtoken.Jwts;
+
+class JwtKeyRingTest {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    KeyPair current;
+    KeyPair retired;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        current = generate();
+        retired = generate();
+    }
+
+    // ES256 で発行したトークンに kid が付き、検証できることを確認
+    @Test
+    void es256_issuesTokensWithKid() {
+        JwtProperties props = es256Properties(true);
+        JwtTokenService service = service(props);
+
+        String token = service.issueTokens("editor@example.com", List.of("EDITOR"), 2L, 0).accessToken();
+
+        assertThat(Jwts.parser().verifyWith(current.getPublic()).build().parseSignedClaims(token).getHeader()
+                .getKeyId()).isEqualTo("k2");
+        assertThat(service.verify(token).subject()).isEqualTo("editor@example.com");
+    }
+
+    // 移行期間中は HS256 のトークン、ローテーション前の鍵で署名したトークンも検証できることを確認
+    @Test
+    void es256_acceptsHmacAndRetiredKeyDuringTransition() {
+        JwtProperties hmacProps = new JwtProperties();
+        hmacProps.setSecret(SECRET);
+        String hmacToken = service(hmacProps).generateAccessToken("editor@example.com", List.of("EDITOR"));
+        String retiredToken = Jwts.builder().subject("author@example.com")
+                .expiration(new java.util.Date(System.currentTimeMillis() + 60_000))
+                .header().keyId("k1").and()
+                .signWith(retired.getPrivate(), Jwts.SIG.ES256).compact();
+
+        JwtTokenService service = service(es256Properties(true));
+
+        assertThat(service.verify(hmacToken).subject()).isEqualTo("editor@example.com");
+        assertThat(service.verify(retiredToken).subject()).isEqualTo("author@example.com");
+    }
+
+    // 移行完了後（HS256 を受け付けない設定）は HS256 のトークンを拒否することを確認
+    @Test
+    void es256_rejectsHmacWhenDisabled() {
+        JwtProperties hmacProps = new JwtProperties();
+        hmacProps.setSecret(SECRET);
+        String hmacToken = service(hmacProps).generateAccessToken("editor@example.com", List.of("EDITOR"));
+
+        JwtTokenService service = service(es256Properties(false));
+
+        assertThatThrownBy(() -> service.verify(hmacToken)).isInstanceOf(io.jsonwebtoken.JwtException.class);
+    }
+
+    // JWKS には全鍵の公開鍵のみが含まれることを確認
+    @Test
+    void publicJwks_containsPublicKeysOnly() {
+        JwtKeyRing keyRing = new JwtKeyRing(es256Properties(true));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyRing.publicJwks().get("keys");
+
+        assertThat(keys).extracting(key -> key.get("kid")).containsExactly("k2", "k1");
+        assertThat(keys).allSatisfy(key -> {
+            assertThat(key).containsEntry("kty", "EC").containsEntry("alg", "ES256").containsEntry("use", "sig");
+            assertThat(key).doesNotContainKey("d");
+        });
+    }
+
+    // 秘密鍵と公開鍵の組み合わせ違いは起動時に検出することを確認
+    @Test
+    void mismatchedKeyPairFailsFast() {
+        JwtProperties props = es256Properties(true);
+        props.getKeys().get(0).setPublicKey(encode(retired.getPublic().getEncoded()));
+
+        assertThatThrownBy(() -> new JwtKeyRing(props)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private JwtProperties es256Properties(boolean acceptHmac) {
+        JwtProperties props = new JwtProperties();
+        props.setSecret(SECRET);
+        props.setAcceptHmac(acceptHmac);
+        props.setAlgorithm(JwtProperties.SigningAlgorithm.ES256);
+        props.setActiveKid("k2");
+        JwtProperties.SigningKey active = new JwtProperties.SigningKey();
+        active.setKid("k2");
+        active.setPublicKey("-----BEGIN PUBLIC KEY-----\n" + encode(current.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----");
+        active.setPrivateKey(encode(current.getPrivate().getEncoded()));
+        JwtProperties.SigningKey old = new JwtProperties.SigningKey();
+        old.setKid("k1");
+        old.setPublicKey(encode(retired.getPublic().getEncoded()));
+        props.setKeys(new java.util.ArrayList<>(List.of(active, old)));
+        return props;
+    }
+
+    private static JwtTokenService service(JwtProperties props) {
+        Clock clock = Clock.systemUTC();
+        VerifiedJwtCacheProperties cacheProperties = new VerifiedJwtCacheProperties();
+        cacheProperties.setEnabled(false);
+        return new JwtTokenService(props, clock, new VerifiedJwtCache(cacheProperties, clock), new JwtKeyRing(props));
+    }
+
+    private static KeyPair generate() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getMimeEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.config.MediaMultipartProperties;
+import com.example.backend.config.MediaStorageProperties;
+import com.example.backend.dto.media.MediaBatchRegisterResponseDto;
+import com.example.backend.dto.media.MediaCreateRequestDto;
+import com.example.backend.dto.media.MediaMapper;
+import com.example.backend.entity.User;
+import com.example.backend.repository.MediaBatchRepository;
+import com.example.backend.repository.MediaObjectRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.security.MediaPolicy;
+import com.example.backend.service.media.MediaObjectChecker;
+import com.example.backend.service.media.MediaStorage;
+
+/**
+ * MediaService の一括登録の単体テスト。
+ * ストレージ検証がトランザクションの外で行われることを重点的に検証。
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MediaService registerBatch Unit Tests")
+class MediaServiceRegisterBatchTest {
+
+    @Mock
+    private MediaRepository mediaRepository;
+
+    @Mock
+    private MediaBatchRepository mediaBatchRepository;
+
+    @Mock
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Mock
+    private MediaObjectChecker mediaObjectChecker;
+
+    @Mock
+    private MediaPolicy mediaPolicy;
+
+    @Mock
+    private MediaMapper mediaMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MediaService mediaService;
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        mediaService = new MediaService(mediaRepository, mediaBatchRepository, mediaObjectRepository,
+                mediaObjectChecker, mock(PostRepository.class), mediaPolicy, mock(MediaStorage.class),
+                new MediaStorageProperties(), new MediaMultipartProperties(), Clock.systemUTC(), mediaMapper,
+                eventPublisher, transactionManager);
+        author = new User();
+        author.setId(1L);
+        author.setRole(User.Role.AUTHOR);
+    }
+
+    private static MediaCreateRequestDto item(String storageKey) {
+        return MediaCreateRequestDto.builder()
+                .filename("image.jpg")
+                .storageKey(storageKey)
+                .mime("image/jpeg")
+                .bytes(1024L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("ストレージ検証はトランザクション開始前に行い、参照数の確保・重複の再確認・INSERTのみトランザクション内で行う")
+    void registerBatch_checksStorageOutsideTransaction() {
+        when(mediaRepository.findExistingStorageKeys(anyCollection())).thenReturn(List.of());
+        when(mediaObjectChecker.checkAll(anyCollection())).thenReturn(Map.of(
+                "uploads/a.jpg", MediaObjectChecker.Result.FOUND,
+                "uploads/b.jpg", MediaObjectChecker.Result.NOT_FOUND));
+        when(mediaObjectRepository.acquireAll(List.of("uploads/a.jpg"))).thenReturn(new boolean[] { true });
+
+        MediaBatchRegisterResponseDto response = mediaService.registerBatch(
+                List.of(item("uploads/a.jpg"), item("uploads/b.jpg")), author);
+
+        assertThat(response.getRegistered()).isEqualTo(1);
+        assertThat(response.getItems()).extracting(MediaBatchRegisterResponseDto.Item::getError)
+                .containsExactly(null, "error.media.object.notFound");
+        InOrder inOrder = inOrder(mediaObjectChecker, transactionManager, mediaRepository, mediaObjectRepository,
+                mediaBatchRepository);
+        inOrder.verify(mediaObjectChecker).checkAll(anyCollection());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(mediaObjectRepository).acquireAll(List.of("uploads/a.jpg"));
+        inOrder.verify(mediaRepository).findExistingStorageKeys(anyCollection());
+        inOrder.verify(mediaBatchRepository).insertAll(anyList());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("検証中に他のリクエストが登録したキーは重複として登録せず、確保した参照を戻す")
+    void registerBatch_keyRegisteredDuringCheck_isDuplicate() {
+        when(mediaRepository.findExistingStorageKeys(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("uploads/a.jpg"));
+        when(mediaObjectChecker.checkAll(anyCollection()))
+                .thenReturn(Map.of("uploads/a.jpg", MediaObjectChecker.Result.FOUND));
+        when(mediaObjectRepository.acquireAll(List.of("uploads/a.jpg"))).thenReturn(new boolean[] { true });
+
+        MediaBatchRegisterResponseDto response = mediaService.registerBatch(List.of(item("uploads/a.jpg")), author);
+
+        assertThat(response.getRegistered()).isZero();
+        assertThat(response.getItems().get(0).getError()).isEqualTo("error.media.storageKey.duplicate");
+        verify(mediaObjectRepository).release("uploads/a.jpg");
+        verify(mediaBatchRepository).insertAll(List.of());
+    }
+}
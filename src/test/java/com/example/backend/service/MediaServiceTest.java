@@ -3,6 +3,15 @@ package com.example.backend.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,20 +20,29 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.backend.config.FakeMediaStorageConfig;
 import com.example.backend.config.TestClockConfig;
 import com.example.backend.config.TestDataConfig;
+import com.example.backend.dto.media.MediaBatchPresignResponseDto;
+import com.example.backend.dto.media.MediaBatchRegisterResponseDto;
 import com.example.backend.dto.media.MediaCreateRequestDto;
+import com.example.backend.dto.media.MediaMultipartCompleteRequestDto;
+import com.example.backend.dto.media.MediaMultipartInitRequestDto;
+import com.example.backend.dto.media.MediaMultipartInitResponseDto;
+import com.example.backend.dto.media.MediaMultipartPartsRequestDto;
 import com.example.backend.dto.media.MediaPresignRequestDto;
 import com.example.backend.dto.media.MediaPresignResponseDto;
 import com.example.backend.dto.media.MediaResponseDto;
 import com.example.backend.entity.User;
 import com.example.backend.entity.UserStatus;
+import com.example.backend.exception.MediaInUseException;
 import com.example.backend.repository.MediaRepository;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.service.media.ContentHash;
 
 @SpringBootTest
 @Import({ TestDataConfig.class, TestClockConfig.class, FakeMediaStorageConfig.class })
@@ -44,6 +62,9 @@ class MediaServiceTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private FakeMediaStorageConfig.InMemoryMediaStorage mediaStorage;
+
     @AfterEach
     void tearDown() {
         postRepository.deleteAll();
@@ -199,4 +220,211 @@ class MediaServiceTest {
                 .isInstanceOf(com.example.backend.exception.AccessDeniedException.class)
                 .hasMessage("You do not have permission to access this media");
     }
-}
\ No newline at end of file
+
+    // 一括presignでリクエストと同じ順序・重複しないキーが返ることを確認
+    @Test
+    void requestUploadBatch_returnsUniqueKeysInOrder() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        List<MediaPresignRequestDto> items = List.of(
+                MediaPresignRequestDto.builder().filename("a.png").mime("image/png").bytes(10L).build(),
+                MediaPresignRequestDto.builder().filename("b.jpg").mime("image/jpeg").bytes(20L).build(),
+                MediaPresignRequestDto.builder().filename("c.jpg").mime("image/jpeg").bytes(30L).build());
+
+        MediaBatchPresignResponseDto response = mediaService.requestUploadBatch(items, author);
+
+        assertThat(response.getItems()).hasSize(3);
+        assertThat(response.getItems().get(0).getStorageKey()).endsWith(".png");
+        assertThat(response.getItems().get(1).getStorageKey()).endsWith(".jpg");
+        assertThat(response.getItems()).extracting(MediaPresignResponseDto::getStorageKey).doesNotHaveDuplicates();
+        assertThat(response.getItems()).allSatisfy(item -> assertThat(item.getUploadUrl()).isNotNull());
+    }
+
+    // 一括登録で検証を通った項目だけが登録され、他は項目ごとのエラーになることを確認
+    @Test
+    void registerBatch_returnsPerItemResults() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        mediaStorage.simulateUpload("uploads/batch-1.jpg");
+        mediaStorage.simulateUpload("uploads/batch-2.jpg");
+        mediaStorage.simulateUpload("uploads/batch-existing.jpg");
+        mediaService.register(createDto("uploads/batch-existing.jpg"), author);
+
+        MediaBatchRegisterResponseDto response = mediaService.registerBatch(List.of(
+                createDto("uploads/batch-1.jpg"),
+                createDto("uploads/batch-missing.jpg"),
+                createDto("uploads/batch-existing.jpg"),
+                createDto("uploads/batch-2.jpg"),
+                createDto("uploads/batch-1.jpg")), author);
+
+        assertThat(response.getRegistered()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getItems()).extracting(MediaBatchRegisterResponseDto.Item::getError)
+                .containsExactly(null, "error.media.object.notFound", "error.media.storageKey.duplicate", null,
+                        "error.media.storageKey.duplicate");
+        MediaResponseDto first = response.getItems().get(0).getMedia();
+        assertThat(first.getId()).isNotNull();
+        assertThat(first.getCreatedAt()).isNotNull();
+        assertThat(first.getCreatedBy().getId()).isEqualTo(author.getId());
+        assertThat(mediaRepository.existsByStorageKey("uploads/batch-2.jpg")).isTrue();
+        assertThat(mediaRepository.existsByStorageKey("uploads/batch-missing.jpg")).isFalse();
+    }
+
+    // マルチパートアップロードでパート数が決まり、完了後に通常の登録ができることを確認
+    @Test
+    void multipartUpload_completeThenRegister() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        long bytes = 40L * 1024 * 1024 + 1;
+
+        MediaMultipartInitResponseDto init = mediaService.initiateMultipartUpload(
+                MediaMultipartInitRequestDto.builder().filename("movie.mp4").mime("video/mp4").bytes(bytes).build(),
+                author);
+
+        assertThat(init.getPartSize()).isEqualTo(16L * 1024 * 1024);
+        assertThat(init.getPartCount()).isEqualTo(3);
+        assertThat(init.getParts()).extracting(part -> part.getPartNumber()).containsExactly(1, 2, 3);
+        assertThat(mediaService.createPartUploadUrls(MediaMultipartPartsRequestDto.builder()
+                .storageKey(init.getStorageKey())
+                .uploadId(init.getUploadId())
+                .partNumbers(List.of(2))
+                .build(), author).getParts()).hasSize(1);
+
+        mediaService.completeMultipartUpload(MediaMultipartCompleteRequestDto.builder()
+                .storageKey(init.getStorageKey())
+                .uploadId(init.getUploadId())
+                .parts(List.of(
+                        new MediaMultipartCompleteRequestDto.Part(3, "etag-3"),
+                        new MediaMultipartCompleteRequestDto.Part(1, "etag-1"),
+                        new MediaMultipartCompleteRequestDto.Part(2, "etag-2")))
+                .build(), author);
+
+        assertThat(mediaStorage.hasMultipartUpload(init.getUploadId())).isFalse();
+        MediaResponseDto registered = mediaService.register(MediaCreateRequestDto.builder()
+                .filename("movie.mp4")
+                .storageKey(init.getStorageKey())
+                .mime("video/mp4")
+                .bytes(bytes)
+                .build(), author);
+        assertThat(registered.getId()).isNotNull();
+    }
+
+    // 完了・中止済みのアップロードは完了できないことを確認
+    @Test
+    void completeMultipartUpload_unknownUpload_shouldThrow() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        MediaMultipartCompleteRequestDto dto = MediaMultipartCompleteRequestDto.builder()
+                .storageKey("uploads/unknown.mp4")
+                .uploadId("unknown")
+                .parts(List.of(new MediaMultipartCompleteRequestDto.Part(1, "etag-1")))
+                .build();
+
+        assertThatThrownBy(() -> mediaService.completeMultipartUpload(dto, author))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // 同じ内容のアップロードは既存のメディアが返され、共有したオブジェクトは最後の参照の削除でだけ消えることを確認
+    @Test
+    void contentHash_deduplicatesUploadsAndSharesObject() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        byte[] content = "same image bytes".getBytes(StandardCharsets.UTF_8);
+        String sha256 = ContentHash.sha256Hex(content);
+        MediaPresignRequestDto presign = MediaPresignRequestDto.builder()
+                .filename("photo.jpg")
+                .mime("image/jpeg")
+                .bytes((long) content.length)
+                .contentSha256(sha256)
+                .build();
+
+        MediaPresignResponseDto first = mediaService.requestUpload(presign, author);
+        assertThat(first.isDuplicate()).isFalse();
+        mediaStorage.simulateUpload(first.getStorageKey(), content);
+        MediaResponseDto original = mediaService.register(MediaCreateRequestDto.builder()
+                .filename("photo.jpg")
+                .storageKey(first.getStorageKey())
+                .mime("image/jpeg")
+                .bytes((long) content.length)
+                .contentSha256(sha256)
+                .build(), author);
+        assertThat(original.getContentSha256()).isEqualTo(sha256);
+
+        MediaPresignResponseDto second = mediaService.requestUpload(presign, author);
+        assertThat(second.isDuplicate()).isTrue();
+        assertThat(second.getUploadUrl()).isNull();
+        assertThat(second.getStorageKey()).isEqualTo(first.getStorageKey());
+        assertThat(second.getExistingMedia().getId()).isEqualTo(original.getId());
+
+        // ハッシュを指定しない登録済みキーの再登録は従来どおり重複エラー
+        assertThatThrownBy(() -> mediaService.register(createDto(first.getStorageKey()), author))
+                .isInstanceOf(MediaInUseException.class);
+        MediaResponseDto copy = mediaService.register(MediaCreateRequestDto.builder()
+                .filename("photo-copy.jpg")
+                .storageKey(first.getStorageKey())
+                .mime("image/jpeg")
+                .bytes((long) content.length)
+                .contentSha256(sha256)
+                .build(), author);
+
+        mediaService.delete(original.getId(), author);
+        assertThat(mediaStorage.contains(first.getStorageKey())).isTrue();
+        mediaService.delete(copy.getId(), author);
+        assertThat(mediaStorage.contains(first.getStorageKey())).isFalse();
+    }
+
+    // 内容と異なるハッシュを指定した登録は拒否されることを確認
+    @Test
+    void register_withMismatchedContentHash_shouldThrow() {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        mediaStorage.simulateUpload("uploads/tampered.jpg", new byte[] { 1, 2, 3 });
+        MediaCreateRequestDto dto = createDto("uploads/tampered.jpg");
+        dto.setContentSha256(ContentHash.sha256Hex(new byte[] { 4, 5, 6 }));
+
+        assertThatThrownBy(() -> mediaService.register(dto, author))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(mediaRepository.existsByStorageKey("uploads/tampered.jpg")).isFalse();
+    }
+
+    // 同じキーの並行した登録（SHA-256 なし）は、media_objects の行ロックで直列化され1件だけ登録されることを確認
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void register_concurrentSameKey_registersOnce() throws Exception {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        String storageKey = "uploads/concurrent-" + System.nanoTime() + ".jpg";
+        mediaStorage.simulateUpload(storageKey);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        mediaService.register(createDto(storageKey), author);
+                        return true;
+                    } catch (MediaInUseException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int registered = 0;
+            for (Future<Boolean> result : results) {
+                registered += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+
+            assertThat(registered).isEqualTo(1);
+            assertThat(mediaRepository.findAll())
+                    .filteredOn(media -> storageKey.equals(media.getStorageKey()))
+                    .hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MediaCreateRequestDto createDto(String storageKey) {
+        return MediaCreateRequestDto.builder()
+                .filename(storageKey.substring(storageKey.lastIndexOf('/') + 1))
+                .storageKey(storageKey)
+                .mime("image/jpeg")
+                .bytes(1024L)
+                .build();
+    }
+}
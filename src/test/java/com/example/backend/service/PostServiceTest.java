@@ -4,19 +4,34 @@ import com.example.backend.config.TestClockConfig;
 import com.example.backend.config.TestDataConfig;
 import com.example.backend.dto.post.PostRequestDto;
 import com.example.backend.dto.post.PostResponseDto;
+import com.example.backend.entity.Category;
+import com.example.backend.entity.Media;
+import com.example.backend.entity.Post;
+import com.example.backend.entity.Tag;
 import com.example.backend.entity.User;
 import com.example.backend.exception.AccessDeniedException;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.MediaRepository;
 import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.TagRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.service.content.TipTapHtmlRenderer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -30,12 +45,27 @@ class PostServiceTest {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private PublicPostService publicPostService;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @AfterEach
     void tearDown() {
         postRepository.deleteAll();
@@ -222,4 +252,126 @@ class PostServiceTest {
         // 検証（例外がスローされず、結果が返ることを確認）
         assertThat(result).isNotNull();
     }
-}
\ No newline at end of file
+
+    // 作成・更新時に本文HTMLとレンダラーバージョンが保存されることのテスト
+    @Test
+    void createAndUpdate_shouldStoreRenderedContentHtml() {
+        User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        PostRequestDto dto = PostRequestDto.builder()
+                .title("Html Post")
+                .slug("html-post")
+                .status("DRAFT")
+                .contentJson("{\"type\":\"doc\",\"content\":[{\"type\":\"paragraph\",\"content\":[{\"type\":\"text\",\"text\":\"first\"}]}]}")
+                .authorId(admin.getId())
+                .build();
+        Long id = postService.create(dto, admin).getId();
+        assertThat(postRepository.findById(id).orElseThrow().getContentHtml()).isEqualTo("<p>first</p>");
+
+        dto.setContentJson("{\"type\":\"doc\",\"content\":[{\"type\":\"paragraph\",\"content\":[{\"type\":\"text\",\"text\":\"second\"}]}]}");
+        postService.update(id, dto, admin);
+
+        Post saved = postRepository.findById(id).orElseThrow();
+        assertThat(saved.getContentHtml()).isEqualTo("<p>second</p>");
+        assertThat(saved.getContentHtmlVersion()).isEqualTo(TipTapHtmlRenderer.VERSION);
+    }
+
+    // 管理一覧はフェッチプランにより件数COUNT・本体・タグ一括取得の3文以内で完了することのテスト
+    @Test
+    void searchPosts_usesListFetchPlan_withoutNPlusOne() {
+        User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        createPostsWithAssociations(5);
+
+        Statistics statistics = resetStatistics();
+        var result = postService.searchWithAccessControl(
+                null, null, null, null, null, "plan-a,plan-b",
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "createdAt")),
+                admin);
+
+        // distinctなタグ結合でもページングはSQL側で行われ、総件数も正しいことを確認
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent()).hasSize(3);
+        assertThat(result.getContent()).allSatisfy(dto -> {
+            assertThat(dto.getAuthor().getAvatarUrl()).isNotNull();
+            assertThat(dto.getCoverMedia()).isNotNull();
+            assertThat(dto.getCategory()).isNotNull();
+            assertThat(dto.getTags()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    // 詳細取得は詳細用フェッチプランにより1文で完了することのテスト
+    @Test
+    void findById_usesDetailFetchPlan_inSingleStatement() {
+        User admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        Long id = createPostsWithAssociations(1).get(0).getId();
+
+        Statistics statistics = resetStatistics();
+        var result = postService.findByIdWithAccessControl(id, admin).orElseThrow();
+
+        assertThat(result.getTags()).hasSize(2);
+        assertThat(result.getAuthor().getAvatarUrl()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // 公開一覧のカーソル取得も一覧用フェッチプランにより本体・タグ一括取得の2文以内で完了することのテスト
+    @Test
+    void getPublicPostsByCursor_usesListFetchPlan_withoutNPlusOne() {
+        createPostsWithAssociations(5, Post.Status.PUBLISHED);
+
+        Statistics statistics = resetStatistics();
+        var result = publicPostService.getPublicPostsByCursor(null, 3, null, null, null);
+
+        assertThat(result.content()).hasSize(3);
+        assertThat(result.content()).allSatisfy(dto -> {
+            assertThat(dto.getCoverMedia()).isNotNull();
+            assertThat(dto.getCategory()).isNotNull();
+            assertThat(dto.getTags()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    private List<Post> createPostsWithAssociations(int count) {
+        return createPostsWithAssociations(count, Post.Status.DRAFT);
+    }
+
+    // タグ・カテゴリ・カバー画像・アバター付きの投稿を作成し、永続化コンテキストを空にする
+    private List<Post> createPostsWithAssociations(int count, Post.Status status) {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        Media media = mediaRepository.save(Media.builder()
+                .filename("cover.png")
+                .storageKey("media/plan/cover.png")
+                .mime("image/png")
+                .createdBy(author)
+                .build());
+        author.setAvatarMedia(media);
+        userRepository.save(author);
+        Category category = categoryRepository.save(Category.builder().name("Plan").slug("plan-category").build());
+        Tag tagA = tagRepository.save(Tag.builder().name("Plan A").slug("plan-a").build());
+        Tag tagB = tagRepository.save(Tag.builder().name("Plan B").slug("plan-b").build());
+
+        List<Post> posts = new java.util.ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            posts.add(postRepository.save(Post.builder()
+                    .title("Plan Post " + i)
+                    .slug("plan-post-" + i)
+                    .status(status)
+                    .contentJson("{}")
+                    .author(author)
+                    .coverMedia(media)
+                    .category(category)
+                    .tags(List.of(tagA, tagB))
+                    .publishedAt(LocalDateTime.now().minusDays(i + 1))
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return posts;
+    }
+
+    private Statistics resetStatistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.example.backend.dto.user.UserProfileUpdateRequestDto;
@@ -22,6 +23,8 @@ import com.example.backend.dto.user.UserUpdateRequestDto;
 import com.example.backend.entity.Media;
 import com.example.backend.entity.User;
 import com.example.backend.entity.UserStatus;
+import com.example.backend.event.UserProfileChangedEvent;
+import com.example.backend.exception.AccountDisabledException;
 import com.example.backend.exception.DuplicateEmailException;
 import com.example.backend.exception.InvalidRoleException;
 import com.example.backend.exception.MediaNotFoundException;
@@ -29,6 +32,8 @@ import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.repository.MediaRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.UserPolicy;
+import com.example.backend.service.cache.PrincipalCache;
+import com.example.backend.service.session.TokenEpochService;
 
 /**
  * UserService の単体テスト。
@@ -50,6 +55,15 @@ class UserServiceTest {
     @Mock
     private UserPolicy userPolicy;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenEpochService tokenEpochService;
+
     @InjectMocks
     private UserService userService;
 
@@ -184,6 +198,34 @@ class UserServiceTest {
         verify(userRepository).save(argThat(user -> user.getPasswordHash().equals(originalHash)));
     }
 
+    /**
+     * パスワード変更: 変更時は発行済みトークンを失効
+     */
+    @Test
+    void updateUserByAdmin_passwordChanged_shouldRevokeTokens() {
+        // Arrange
+        UserUpdateRequestDto dto = new UserUpdateRequestDto(
+                null, // email
+                "newPassword123", // password
+                null, // displayName
+                null, // bio
+                null, // avatarMediaId
+                null, // role
+                null // status
+        );
+
+        when(userRepository.findById(normalUser.getId())).thenReturn(Optional.of(normalUser));
+        when(passwordEncoder.encode("newPassword123")).thenReturn("new-hash");
+        when(userRepository.save(any(User.class))).thenReturn(normalUser);
+
+        // Act
+        userService.updateUserByAdmin(normalUser.getId(), dto, adminUser);
+
+        // Assert
+        verify(userRepository).save(argThat(user -> user.getPasswordHash().equals("new-hash")));
+        verify(tokenEpochService).revokeAll(normalUser.getId());
+    }
+
     /**
      * パスワード変更: null パスワードは変更されない
      */
@@ -325,6 +367,8 @@ class UserServiceTest {
         // Assert
         verify(mediaRepository, never()).findById(anyLong());
         verify(userRepository).save(argThat(user -> user.getAvatarMedia() == null));
+        // 公開キャッシュ破棄用のプロフィール変更イベントが発行されることを確認
+        verify(eventPublisher).publishEvent(new UserProfileChangedEvent(normalUser.getId()));
     }
 
     // ========== フェーズ2: ロールとステータスの組み合わせテスト ==========
@@ -366,6 +410,27 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository).save(argThat(user -> user.getStatus() == UserStatus.ACTIVE));
+        // 認証ユーザーキャッシュが同期的に破棄されることを確認
+        verify(principalCache).evict(normalUser.getEmail());
+        // 再開時は発行済みトークンを失効させない
+        verify(tokenEpochService, never()).revokeAll(any());
+    }
+
+    /**
+     * ステータス変更: ACTIVE ユーザーを利用停止すると発行済みトークンを失効
+     */
+    @Test
+    void updateUserStatus_activeToSuspended_shouldRevokeTokens() {
+        // Arrange
+        when(userRepository.findById(normalUser.getId())).thenReturn(Optional.of(normalUser));
+        when(userRepository.save(any(User.class))).thenReturn(normalUser);
+        doNothing().when(userPolicy).checkChangeUserStatus(any(), any());
+
+        // Act
+        userService.updateUserStatus(normalUser.getId(), UserStatus.SUSPENDED, adminUser);
+
+        // Assert
+        verify(tokenEpochService).revokeAll(normalUser.getId());
     }
 
     /**
@@ -397,6 +462,64 @@ class UserServiceTest {
         verify(userPolicy).checkChangeUserStatus(adminUser, normalUser);
         verify(userRepository)
                 .save(argThat(user -> user.getRole() == User.Role.EDITOR && user.getStatus() == UserStatus.SUSPENDED));
+        verify(principalCache).evict(normalUser.getEmail(), null);
+        verify(tokenEpochService).revokeAll(normalUser.getId());
+    }
+
+    /**
+     * 認証ユーザー取得: ACTIVE ならスナップショットからユーザーを返す
+     */
+    @Test
+    void getCurrentUser_activeUser_shouldReturnSnapshot() {
+        // Arrange
+        when(principalCache.get(eq(normalUser.getEmail()), any()))
+                .thenReturn(Optional.of(PrincipalCache.Principal.of(normalUser)));
+
+        // Act
+        User current = userService.getCurrentUser(jwtFor(normalUser.getEmail()));
+
+        // Assert
+        assertThat(current.getId()).isEqualTo(normalUser.getId());
+        assertThat(current.getRole()).isEqualTo(User.Role.AUTHOR);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    /**
+     * 認証ユーザー取得: SUSPENDED ならトークンが有効でも拒否される
+     */
+    @Test
+    void getCurrentUser_suspendedUser_shouldThrowAccountDisabledException() {
+        // Arrange
+        normalUser.setStatus(UserStatus.SUSPENDED);
+        when(principalCache.get(eq(normalUser.getEmail()), any()))
+                .thenReturn(Optional.of(PrincipalCache.Principal.of(normalUser)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.getCurrentUser(jwtFor(normalUser.getEmail())))
+                .isInstanceOf(AccountDisabledException.class);
+    }
+
+    /**
+     * ユーザー削除: 認証ユーザーキャッシュが破棄される
+     */
+    @Test
+    void deleteUser_shouldEvictPrincipal() {
+        // Arrange
+        when(userRepository.findById(normalUser.getId())).thenReturn(Optional.of(normalUser));
+
+        // Act
+        userService.deleteUser(normalUser.getId(), adminUser);
+
+        // Assert
+        verify(principalCache).evict(normalUser.getEmail());
+        verify(userRepository).delete(normalUser);
+    }
+
+    private static org.springframework.security.oauth2.jwt.Jwt jwtFor(String subject) {
+        return org.springframework.security.oauth2.jwt.Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject(subject)
+                .build();
     }
 
     // ========== 追加のエッジケース ==========
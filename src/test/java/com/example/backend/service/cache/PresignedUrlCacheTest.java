@@ -0,0 +1,122 @@
+package com.example.backend.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.config.PresignedUrlCacheProperties;
+import com.example.backend.service.media.MediaStorage;
+import com.example.backend.service.media.MediaStorage.PresignedDownload;
+
+class PresignedUrlCacheTest {
+
+    static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    static final Duration TTL = Duration.ofMinutes(10);
+
+    MovableClock clock;
+    MediaStorage delegate;
+    MediaStorage storage;
+    AtomicInteger presigned;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock();
+        presigned = new AtomicInteger();
+        delegate = mock(MediaStorage.class);
+        when(delegate.createDownloadUrl(anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            Duration ttl = invocation.getArgument(1);
+            return new PresignedDownload("https://example.com/" + invocation.getArgument(0) + "?sig="
+                    + presigned.incrementAndGet(), clock.instant().plus(ttl));
+        });
+        storage = new PresignedUrlCache(new PresignedUrlCacheProperties(), clock).decorate(delegate);
+    }
+
+    // 有効期間の半分までは同じURLを返すことを確認
+    @Test
+    void createDownloadUrl_reusesUntilFractionOfTtl() {
+        PresignedDownload first = storage.createDownloadUrl("media/a.png", TTL);
+        clock.now = NOW.plus(Duration.ofMinutes(4));
+        PresignedDownload second = storage.createDownloadUrl("media/a.png", TTL);
+        clock.now = NOW.plus(Duration.ofMinutes(5));
+        PresignedDownload third = storage.createDownloadUrl("media/a.png", TTL);
+
+        assertThat(second).isSameAs(first);
+        assertThat(third.url()).isNotEqualTo(first.url());
+        assertThat(third.expiresAt()).isEqualTo(clock.now.plus(TTL));
+        assertThat(presigned).hasValue(2);
+    }
+
+    // ストレージキー・有効期間が異なる要求は別々に発行することを確認
+    @Test
+    void createDownloadUrl_keyedByStorageKeyAndTtl() {
+        storage.createDownloadUrl("media/a.png", TTL);
+        storage.createDownloadUrl("media/b.png", TTL);
+        storage.createDownloadUrl("media/a.png", Duration.ofMinutes(1));
+
+        assertThat(presigned).hasValue(3);
+    }
+
+    // 削除したオブジェクトのURLは使い回さないことを確認
+    @Test
+    void deleteObject_evictsAllTtls() {
+        storage.createDownloadUrl("media/a.png", TTL);
+        storage.createDownloadUrl("media/a.png", Duration.ofMinutes(1));
+        storage.createDownloadUrl("media/b.png", TTL);
+
+        storage.deleteObject("media/a.png");
+        storage.createDownloadUrl("media/a.png", TTL);
+        storage.createDownloadUrl("media/a.png", Duration.ofMinutes(1));
+        storage.createDownloadUrl("media/b.png", TTL);
+
+        verify(delegate).deleteObject("media/a.png");
+        assertThat(presigned).hasValue(5);
+    }
+
+    // 無効化した場合は委譲先をそのまま使うことを確認
+    @Test
+    void decorate_disabledReturnsDelegate() {
+        PresignedUrlCacheProperties properties = new PresignedUrlCacheProperties();
+        properties.setEnabled(false);
+        MediaStorage undecorated = new PresignedUrlCache(properties, clock).decorate(delegate);
+
+        undecorated.createDownloadUrl("media/a.png", TTL);
+        undecorated.createDownloadUrl("media/a.png", TTL);
+
+        assertThat(undecorated).isSameAs(delegate);
+        verify(delegate, times(2)).createDownloadUrl("media/a.png", TTL);
+    }
+
+    static final class MovableClock extends Clock {
+
+        Instant now = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.backend.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.backend.config.PrincipalCacheProperties;
+import com.example.backend.entity.User;
+import com.example.backend.entity.UserStatus;
+import com.example.backend.event.ContentResetEvent;
+
+class PrincipalCacheTest {
+
+    PrincipalCache cache;
+    AtomicInteger loads;
+    User.Role role;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(new PrincipalCacheProperties());
+        loads = new AtomicInteger();
+        role = User.Role.EDITOR;
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // 2回目の取得はDBを読まずにキャッシュから返ることを確認
+    @Test
+    void get_secondCallIsHit() {
+        cache.get("editor@example.com", this::load);
+        Optional<PrincipalCache.Principal> second = cache.get("editor@example.com", this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).map(PrincipalCache.Principal::role).contains(User.Role.EDITOR);
+    }
+
+    // 破棄後は最新の値を読み直すことを確認
+    @Test
+    void evict_reloadsLatestSnapshot() {
+        cache.get("editor@example.com", this::load);
+        role = User.Role.AUTHOR;
+        cache.evict("editor@example.com");
+
+        assertThat(cache.get("editor@example.com", this::load)).map(PrincipalCache.Principal::role)
+                .contains(User.Role.AUTHOR);
+        assertThat(loads).hasValue(2);
+    }
+
+    // 読み込み中に破棄された場合は古い可能性がある値を保持しないことを確認
+    @Test
+    void get_doesNotCacheWhenEvictedDuringLoad() {
+        cache.get("editor@example.com", subject -> {
+            cache.evict(subject);
+            return load(subject);
+        });
+        cache.get("editor@example.com", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    // 存在しないユーザーは保持しないことを確認
+    @Test
+    void get_doesNotCacheMissingUser() {
+        cache.get("missing@example.com", subject -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.get("missing@example.com", subject -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    // キャッシュ無効時も同一リクエスト内では1回しか読み込まないことを確認
+    @Test
+    void get_memoizesPerRequestWhenDisabled() {
+        PrincipalCacheProperties properties = new PrincipalCacheProperties();
+        properties.setEnabled(false);
+        cache = new PrincipalCache(properties);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        cache.get("editor@example.com", this::load);
+        cache.get("editor@example.com", this::load);
+        assertThat(loads).hasValue(1);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        cache.get("editor@example.com", this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    // デモリセットで全エントリが破棄されることを確認
+    @Test
+    void onContentReset_invalidatesAll() {
+        cache.get("editor@example.com", this::load);
+        cache.onContentReset(new ContentResetEvent());
+        cache.get("editor@example.com", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    // スナップショットから生成するユーザーは呼び出しごとに別インスタンスであることを確認
+    @Test
+    void toUser_returnsFreshInstance() {
+        PrincipalCache.Principal principal = cache.get("editor@example.com", this::load).orElseThrow();
+        User first = principal.toUser();
+        first.setRole(User.Role.ADMIN);
+
+        assertThat(principal.toUser().getRole()).isEqualTo(User.Role.EDITOR);
+    }
+
+    private Optional<PrincipalCache.Principal> load(String subject) {
+        loads.incrementAndGet();
+        return Optional.of(new PrincipalCache.Principal(10L, subject, role, UserStatus.ACTIVE, "Editor"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.backend.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.config.PublicCacheProperties;
+import com.example.backend.entity.Post;
+import com.example.backend.event.MediaVariantsReadyEvent;
+import com.example.backend.event.PostBecameVisibleEvent;
+import com.example.backend.event.PostChangedEvent;
+import com.example.backend.event.TagChangedEvent;
+import com.example.backend.repository.PgListenerConnectionFactory;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.PublicContentVersionRepository;
+import com.example.backend.repository.PublicContentVersionRepository.Versions;
+
+class PublicContentVersionTest {
+
+    // DBのシーケンスの代わり（全ノードで共有）
+    private final AtomicLong contentSequence = new AtomicLong(1_000);
+    private final AtomicLong referenceSequence = new AtomicLong(1_000);
+    private final AtomicLong publicationSequence = new AtomicLong(1_000);
+    // pg_notify の代わり（送信したノード自身にも届く）
+    private final List<PublicContentVersion> subscribers = new ArrayList<>();
+    private boolean delivering = true;
+
+    PublicContentVersionRepository repository;
+    PostRepository postRepository;
+    PublicPostCache cacheA;
+    PublicPostCache cacheB;
+    PublicContentVersion nodeA;
+    PublicContentVersion nodeB;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PublicContentVersionRepository.class);
+        when(repository.next(anyBoolean(), anyBoolean())).thenAnswer(invocation -> new Versions(
+                contentSequence.incrementAndGet(),
+                invocation.getArgument(0, Boolean.class) ? referenceSequence.incrementAndGet() : 0,
+                invocation.getArgument(1, Boolean.class) ? publicationSequence.incrementAndGet() : 0));
+        when(repository.find()).thenAnswer(invocation -> new Versions(contentSequence.get(), referenceSequence.get(),
+                publicationSequence.get()));
+        doAnswer(invocation -> {
+            if (delivering) {
+                subscribers.forEach(node -> node.onNotification(invocation.getArgument(0)));
+            }
+            return null;
+        }).when(repository).publish(anyString());
+
+        postRepository = mock(PostRepository.class);
+        cacheA = mock(PublicPostCache.class);
+        cacheB = mock(PublicPostCache.class);
+        nodeA = node(cacheA);
+        nodeB = node(cacheB);
+    }
+
+    private PublicContentVersion node(PublicPostCache cache) {
+        PublicContentVersion node = new PublicContentVersion(repository, cache, postRepository,
+                mock(PgListenerConnectionFactory.class), new PublicCacheProperties(), mock(PlatformTransactionManager.class));
+        node.load();
+        subscribers.add(node);
+        return node;
+    }
+
+    // 投稿変更はコンテンツバージョンのみ、タグ変更は参照バージョンも進めることを確認
+    @Test
+    void events_bumpExpectedCounters() {
+        String etag = nodeA.listEtag("posts");
+        long reference = nodeA.currentReference();
+
+        nodeA.onPostChanged(new PostChangedEvent(1L, Set.of("a")));
+        assertThat(nodeA.listEtag("posts")).isNotEqualTo(etag);
+        assertThat(nodeA.currentReference()).isEqualTo(reference);
+
+        nodeA.onTagChanged(new TagChangedEvent(1L, Set.of("java")));
+        assertThat(nodeA.currentReference()).isGreaterThan(reference);
+    }
+
+    // 変更がなければETagは変わらないことを確認
+    @Test
+    void listEtag_stableWithoutChanges() {
+        String etag = nodeA.listEtag("tags");
+
+        assertThat(nodeA.listEtag("tags")).isEqualTo(etag).startsWith("\"tags-").endsWith("\"");
+    }
+
+    // 予約投稿の公開でコンテンツ・公開状態のバージョンが進み、参照バージョンは進まないことを確認
+    @Test
+    void onPostBecameVisible_bumpsContentAndPublicationVersions() {
+        long before = nodeA.current();
+        long reference = nodeA.currentReference();
+        String sitemap = nodeA.publicationEtag("sitemap");
+
+        nodeA.onPostBecameVisible(new PostBecameVisibleEvent(1L, "a", LocalDateTime.of(2025, 1, 1, 12, 0)));
+
+        assertThat(nodeA.current()).isGreaterThan(before);
+        assertThat(nodeA.currentReference()).isEqualTo(reference);
+        assertThat(nodeA.publicationEtag("sitemap")).isNotEqualTo(sitemap);
+    }
+
+    // 下書きのみの変更・タグ変更では公開状態のバージョンが進まず、公開中の投稿の変更では進むことを確認
+    @Test
+    void publicationVersion_bumpsOnlyForPublishedPosts() {
+        long publication = nodeA.currentPublication();
+
+        nodeA.onPostChanged(new PostChangedEvent(1L, Set.of("draft"), false));
+        nodeA.onTagChanged(new TagChangedEvent(1L, Set.of("java")));
+        assertThat(nodeA.currentPublication()).isEqualTo(publication);
+
+        nodeA.onPostChanged(new PostChangedEvent(2L, Set.of("published"), true));
+        assertThat(nodeA.currentPublication()).isGreaterThan(publication);
+        assertThat(nodeB.publicationEtag("feed")).isEqualTo(nodeA.publicationEtag("feed"));
+    }
+
+    // 縮小版の生成は公開中の投稿のカバー画像の場合のみバージョンを進めることを確認
+    @Test
+    void onMediaVariantsReady_bumpsOnlyForPublishedCovers() {
+        when(postRepository.existsByCoverMediaIdAndStatus(2L, Post.Status.PUBLISHED)).thenReturn(true);
+        long before = nodeA.current();
+        long reference = nodeA.currentReference();
+
+        nodeA.onMediaVariantsReady(new MediaVariantsReadyEvent(1L, "uploads/unused.png"));
+        assertThat(nodeA.current()).isEqualTo(before);
+        assertThat(nodeA.currentReference()).isEqualTo(reference);
+
+        nodeA.onMediaVariantsReady(new MediaVariantsReadyEvent(2L, "uploads/cover.png"));
+        assertThat(nodeA.current()).isGreaterThan(before);
+        assertThat(nodeA.currentReference()).isGreaterThan(reference);
+    }
+
+    // 一方のノードでの変更が通知で他方に伝わり、両ノードが同じETagを返し、受信側のキャッシュが破棄されることを確認
+    @Test
+    void twoNodes_shareVersionsThroughNotifications() {
+        assertThat(nodeB.listEtag("posts")).isEqualTo(nodeA.listEtag("posts"));
+        String before = nodeA.listEtag("posts");
+
+        nodeA.onPostChanged(new PostChangedEvent(1L, Set.of("a")));
+        nodeA.onTagChanged(new TagChangedEvent(1L, Set.of("java")));
+
+        assertThat(nodeB.listEtag("posts")).isEqualTo(nodeA.listEtag("posts")).isNotEqualTo(before);
+        assertThat(nodeB.currentReference()).isEqualTo(nodeA.currentReference());
+        verify(cacheB, times(2)).invalidateAll();
+        verify(cacheA, never()).invalidateAll();
+    }
+
+    // 通知を取りこぼしても、再同期で他ノードのバージョンに追いつき、キャッシュが破棄されることを確認
+    @Test
+    void resync_catchesUpWithMissedNotifications() {
+        delivering = false;
+        nodeA.onPostChanged(new PostChangedEvent(1L, Set.of("a")));
+        assertThat(nodeB.listEtag("posts")).isNotEqualTo(nodeA.listEtag("posts"));
+
+        nodeB.resync();
+
+        assertThat(nodeB.listEtag("posts")).isEqualTo(nodeA.listEtag("posts"));
+        verify(cacheB).invalidateAll();
+    }
+
+    // 他ノードが先に進めた後で古い通知が届いてもバージョンは巻き戻らないことを確認
+    @Test
+    void onNotification_neverLowersVersion() {
+        nodeA.onPostChanged(new PostChangedEvent(1L, Set.of("a")));
+        long current = nodeB.current();
+
+        nodeB.onNotification("other-node:1:1:1");
+        nodeB.onNotification("other-node:1:1");
+        nodeB.onNotification("broken");
+
+        assertThat(nodeB.current()).isEqualTo(current);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.backend.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.backend.config.PublicCacheProperties;
+import com.example.backend.dto.post.AuthorSummaryDto;
+import com.example.backend.dto.post.CategorySummaryDto;
+import com.example.backend.dto.post.PostPublicDetailResponseDto;
+import com.example.backend.dto.post.PostPublicResponseDto;
+import com.example.backend.dto.post.TagSummaryDto;
+import com.example.backend.event.CategoryChangedEvent;
+import com.example.backend.event.PostBecameVisibleEvent;
+import com.example.backend.event.PostChangedEvent;
+import com.example.backend.event.TagChangedEvent;
+import com.example.backend.event.UserProfileChangedEvent;
+
+class PublicPostCacheTest {
+
+    PublicPostCache cache;
+    AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublicPostCache(new PublicCacheProperties());
+        loads = new AtomicInteger();
+    }
+
+    // 2回目の取得でキャッシュヒットし、統計に反映されることを確認
+    @Test
+    void getDetail_secondCallIsHit() {
+        cache.getDetail("hello", this::loadDetail);
+        cache.getDetail("hello", this::loadDetail);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().detailHits()).isEqualTo(1);
+        assertThat(cache.stats().detailMisses()).isEqualTo(1);
+    }
+
+    // categories の順序違いは同じキーとして扱うことを確認
+    @Test
+    void listKey_normalizesCategoriesOrder() {
+        var pageable = PageRequest.of(0, 10);
+        assertThat(PublicPostCache.ListKey.of(pageable, null, "ignored", "a,b"))
+                .isEqualTo(PublicPostCache.ListKey.of(pageable, "", null, "b,a,b"));
+    }
+
+    // 投稿変更イベントで該当詳細と一覧が破棄されることを確認
+    @Test
+    void onPostChanged_evictsDetailAndLists() {
+        var key = PublicPostCache.ListKey.of(PageRequest.of(0, 10), null, null, null);
+        cache.getList(key, this::loadList);
+        cache.getDetail("hello", this::loadDetail);
+
+        cache.onPostChanged(PostChangedEvent.of(1L, "hello", "hello-renamed"));
+
+        cache.getList(key, this::loadList);
+        cache.getDetail("hello", this::loadDetail);
+        assertThat(loads).hasValue(4);
+        assertThat(cache.stats().invalidations()).isEqualTo(2);
+    }
+
+    // 無関係なタグ・カテゴリ・著者の変更では破棄されないことを確認
+    @Test
+    void unrelatedEvents_keepEntries() {
+        cache.getDetail("hello", this::loadDetail);
+
+        cache.onTagChanged(new TagChangedEvent(99L, Set.of("other")));
+        cache.onCategoryChanged(new CategoryChangedEvent(99L, Set.of("other")));
+        cache.onUserProfileChanged(new UserProfileChangedEvent(99L));
+        cache.getDetail("hello", this::loadDetail);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    // 依存するタグ・カテゴリ・著者の変更で詳細が破棄されることを確認
+    @Test
+    void relatedEvents_evictDetail() {
+        cache.getDetail("hello", this::loadDetail);
+        cache.onTagChanged(new TagChangedEvent(10L, Set.of("java")));
+        cache.getDetail("hello", this::loadDetail);
+        cache.onCategoryChanged(new CategoryChangedEvent(20L, Set.of("tech")));
+        cache.getDetail("hello", this::loadDetail);
+        cache.onUserProfileChanged(new UserProfileChangedEvent(30L));
+        cache.getDetail("hello", this::loadDetail);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    // スラッグで絞り込んだ一覧は、結果が空でもそのタグの変更で破棄されることを確認
+    @Test
+    void onTagChanged_evictsListFilteredBySlug() {
+        var key = PublicPostCache.ListKey.of(PageRequest.of(0, 10), "java", null, null);
+        cache.getList(key, () -> {
+            loads.incrementAndGet();
+            return Page.empty();
+        });
+
+        cache.onTagChanged(new TagChangedEvent(10L, Set.of("java")));
+
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    // 読み込み中に変更イベントが来た場合、古い結果を保持しないことを確認
+    @Test
+    void getDetail_doesNotCacheWhenInvalidatedDuringLoad() {
+        cache.getDetail("hello", () -> {
+            cache.onPostChanged(PostChangedEvent.of(1L, "hello", "hello"));
+            return loadDetail();
+        });
+        cache.getDetail("hello", this::loadDetail);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    // 予約投稿の公開で一覧が破棄され、無関係な詳細は残ることを確認
+    @Test
+    void onPostBecameVisible_evictsListsOnly() {
+        var key = PublicPostCache.ListKey.of(PageRequest.of(0, 10), null, null, null);
+        cache.getList(key, this::loadList);
+        cache.getDetail("hello", this::loadDetail);
+
+        cache.onPostBecameVisible(new PostBecameVisibleEvent(2L, "scheduled", LocalDateTime.now()));
+
+        cache.getList(key, this::loadList);
+        cache.getDetail("hello", this::loadDetail);
+        assertThat(loads).hasValue(3);
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    // 無効化設定時は毎回読み込むことを確認
+    @Test
+    void disabled_alwaysLoads() {
+        var properties = new PublicCacheProperties();
+        properties.setEnabled(false);
+        var disabled = new PublicPostCache(properties);
+
+        disabled.getDetail("hello", this::loadDetail);
+        disabled.getDetail("hello", this::loadDetail);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private PostPublicDetailResponseDto loadDetail() {
+        loads.incrementAndGet();
+        return PostPublicDetailResponseDto.builder()
+                .id(1L)
+                .slug("hello")
+                .tags(List.of(new TagSummaryDto(10L, "Java", "java")))
+                .category(new CategorySummaryDto(20L, "Tech", "tech"))
+                .author(AuthorSummaryDto.builder().id(30L).build())
+                .build();
+    }
+
+    private Page<PostPublicResponseDto> loadList() {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(PostPublicResponseDto.builder()
+                .id(1L)
+                .slug("hello")
+                .tags(List.of(new TagSummaryDto(10L, "Java", "java")))
+                .category(new CategorySummaryDto(20L, "Tech", "tech"))
+                .build()));
+    }
+}
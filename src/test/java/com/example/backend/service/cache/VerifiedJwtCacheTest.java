@@ -0,0 +1,110 @@
+package com.example.backend.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.example.backend.config.VerifiedJwtCacheProperties;
+
+class VerifiedJwtCacheTest {
+
+    static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    MovableClock clock;
+    VerifiedJwtCache cache;
+    AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock();
+        cache = new VerifiedJwtCache(new VerifiedJwtCacheProperties(), clock);
+        verifications = new AtomicInteger();
+    }
+
+    // 2回目以降は検証せずにキャッシュから返ることを確認
+    @Test
+    void get_secondCallSkipsVerification() {
+        Jwt first = cache.get("token-a", token -> verify(token, NOW.plusSeconds(900)));
+        Jwt second = cache.get("token-a", token -> verify(token, NOW.plusSeconds(900)));
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(1);
+    }
+
+    // 有効期限を過ぎたエントリは使わずに検証し直すことを確認
+    @Test
+    void get_expiredEntryIsVerifiedAgain() {
+        cache.get("token-a", token -> verify(token, NOW.plusSeconds(900)));
+        clock.now = NOW.plusSeconds(901);
+
+        assertThatThrownBy(() -> cache.get("token-a", token -> {
+            throw new BadJwtException("expired");
+        })).isInstanceOf(BadJwtException.class);
+    }
+
+    // 検証に失敗したトークンは登録しないことを確認
+    @Test
+    void get_failedVerificationIsNotCached() {
+        assertThatThrownBy(() -> cache.get("token-b", token -> {
+            verifications.incrementAndGet();
+            throw new BadJwtException("bad signature");
+        })).isInstanceOf(BadJwtException.class);
+
+        cache.get("token-b", token -> verify(token, NOW.plusSeconds(900)));
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    // 無効化した場合は毎回検証することを確認
+    @Test
+    void get_disabledAlwaysVerifies() {
+        VerifiedJwtCacheProperties properties = new VerifiedJwtCacheProperties();
+        properties.setEnabled(false);
+        cache = new VerifiedJwtCache(properties, clock);
+
+        cache.get("token-a", token -> verify(token, NOW.plusSeconds(900)));
+        cache.get("token-a", token -> verify(token, NOW.plusSeconds(900)));
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private Jwt verify(String token, Instant expiresAt) {
+        verifications.incrementAndGet();
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("editor@example.com")
+                .issuedAt(NOW)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    static final class MovableClock extends Clock {
+
+        Instant now = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
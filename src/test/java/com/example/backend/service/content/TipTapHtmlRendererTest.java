@@ -0,0 +1,93 @@
+package com.example.backend.service.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TipTapHtmlRendererTest {
+
+    private final TipTapHtmlRenderer renderer = new TipTapHtmlRenderer(new ObjectMapper());
+
+    // 見出し・段落・リスト・マークが対応するタグに変換されることを確認
+    @Test
+    void render_basicNodesAndMarks() {
+        String json = """
+                {"type":"doc","content":[
+                  {"type":"heading","attrs":{"level":2},"content":[{"type":"text","text":"Title"}]},
+                  {"type":"paragraph","content":[
+                    {"type":"text","text":"Hello "},
+                    {"type":"text","text":"world","marks":[{"type":"bold"},{"type":"italic"}]},
+                    {"type":"hardBreak"}
+                  ]},
+                  {"type":"bulletList","content":[
+                    {"type":"listItem","content":[{"type":"paragraph","content":[{"type":"text","text":"a"}]}]}
+                  ]},
+                  {"type":"codeBlock","attrs":{"language":"java"},"content":[{"type":"text","text":"int x;"}]}
+                ]}
+                """;
+
+        assertThat(renderer.render(json)).isEqualTo(
+                "<h2>Title</h2>"
+                        + "<p>Hello <strong><em>world</em></strong><br></p>"
+                        + "<ul><li><p>a</p></li></ul>"
+                        + "<pre><code class=\"language-java\">int x;</code></pre>");
+    }
+
+    // テキスト・属性値がエスケープされることを確認
+    @Test
+    void render_escapesTextAndAttributes() {
+        String json = """
+                {"type":"doc","content":[{"type":"paragraph","content":[
+                  {"type":"text","text":"<script>alert(1)</script>"},
+                  {"type":"text","text":"link","marks":[{"type":"link","attrs":{"href":"https://example.com/?a=1&b=\\"x"}}]}
+                ]}]}
+                """;
+
+        String html = renderer.render(json);
+
+        assertThat(html).doesNotContain("<script>");
+        assertThat(html).contains("&lt;script&gt;alert(1)&lt;/script&gt;");
+        assertThat(html).contains("href=\"https://example.com/?a=1&amp;b=&quot;x\"");
+        assertThat(html).contains("rel=\"noopener noreferrer nofollow\"");
+    }
+
+    // 危険なスキームのリンク・画像は出力されないことを確認
+    @Test
+    void render_dropsUnsafeUrls() {
+        String json = """
+                {"type":"doc","content":[
+                  {"type":"paragraph","content":[
+                    {"type":"text","text":"click","marks":[{"type":"link","attrs":{"href":" JavaScript:alert(1)"}}]}
+                  ]},
+                  {"type":"image","attrs":{"src":"data:image/svg+xml;base64,AAAA","alt":"x"}},
+                  {"type":"image","attrs":{"src":"/media/a.png","alt":"ok"}}
+                ]}
+                """;
+
+        assertThat(renderer.render(json)).isEqualTo(
+                "<p>click</p><img src=\"/media/a.png\" alt=\"ok\" loading=\"lazy\">");
+    }
+
+    // 未知のノード・マークはタグを出さず内容のみ、不正な属性値は無視されることを確認
+    @Test
+    void render_unknownNodesKeepContentOnly() {
+        String json = """
+                {"type":"doc","content":[
+                  {"type":"customWidget","attrs":{"onclick":"x"},"content":[{"type":"text","text":"inner","marks":[{"type":"unknown"}]}]},
+                  {"type":"codeBlock","attrs":{"language":"\\" onmouseover=\\"x"},"content":[{"type":"text","text":"c"}]}
+                ]}
+                """;
+
+        assertThat(renderer.render(json)).isEqualTo("inner<pre><code>c</code></pre>");
+    }
+
+    // 不正なJSONや空文字は空文字を返すことを確認
+    @Test
+    void render_invalidJson_returnsEmpty() {
+        assertThat(renderer.render("{not json")).isEmpty();
+        assertThat(renderer.render("")).isEmpty();
+        assertThat(renderer.render(null)).isEmpty();
+    }
+}
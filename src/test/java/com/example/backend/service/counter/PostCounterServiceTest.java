@@ -0,0 +1,183 @@
+package com.example.backend.service.counter;
+
+import com.example.backend.batch.PostCounterReconcileJob;
+import com.example.backend.config.TestClockConfig;
+import com.example.backend.config.TestDataConfig;
+import com.example.backend.dto.post.PostRequestDto;
+import com.example.backend.dto.post.PostResponseDto;
+import com.example.backend.entity.Category;
+import com.example.backend.entity.Tag;
+import com.example.backend.entity.User;
+import com.example.backend.event.PostBecameVisibleEvent;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.PostCounterRepository;
+import com.example.backend.repository.PostCounterRepository.Counts;
+import com.example.backend.repository.PostCounterRepository.Kind;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.TagRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import({ TestDataConfig.class, TestClockConfig.class })
+@ActiveProfiles("test")
+@Transactional
+class PostCounterServiceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostCounterService postCounterService;
+
+    @Autowired
+    private PostCounterRepository postCounterRepository;
+
+    @Autowired
+    private PostCounterReconcileJob postCounterReconcileJob;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User admin;
+    private Category category;
+    private Tag java;
+    private Tag spring;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByEmail("admin@example.com").orElseThrow();
+        category = categoryRepository.save(Category.builder().name("Counter").slug("counter-cat").sortOrder(99).build());
+        java = tagRepository.save(Tag.builder().name("CounterJava").slug("counter-java").build());
+        spring = tagRepository.save(Tag.builder().name("CounterSpring").slug("counter-spring").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestClockConfig.setTestClock(Clock.systemUTC());
+    }
+
+    // 作成・公開・タグ変更・削除が同じトランザクションで集計表に反映されることを確認
+    @Test
+    void writesThroughPostService_keepCountersInSync() {
+        PostResponseDto created = postService.create(request("DRAFT", List.of(java.getId()), null), admin);
+        assertThat(counts(Kind.TAG, java)).isEqualTo(new Counts(1, 0));
+        assertThat(counts(Kind.CATEGORY, category)).isEqualTo(new Counts(1, 0));
+
+        postService.update(created.getId(), request("PUBLISHED", List.of(java.getId()), null), admin);
+        assertThat(counts(Kind.TAG, java)).isEqualTo(new Counts(1, 1));
+        assertThat(counts(Kind.CATEGORY, category)).isEqualTo(new Counts(1, 1));
+
+        postService.update(created.getId(), request("PUBLISHED", List.of(spring.getId()), null), admin);
+        assertThat(counts(Kind.TAG, java)).isEqualTo(new Counts(0, 0));
+        assertThat(counts(Kind.TAG, spring)).isEqualTo(new Counts(1, 1));
+
+        postService.delete(created.getId(), admin);
+        assertThat(counts(Kind.TAG, spring)).isEqualTo(new Counts(0, 0));
+        assertThat(counts(Kind.CATEGORY, category)).isEqualTo(new Counts(0, 0));
+        postRepository.flush();
+        assertThat(postCounterReconcileJob.reconcile()).isZero();
+    }
+
+    // 予約投稿は公開日時の到達イベントで1回だけ公開数に計上されることを確認
+    @Test
+    void scheduledPost_isCountedOnceWhenItBecomesVisible() {
+        OffsetDateTime publishAt = OffsetDateTime.now(ZoneOffset.UTC).plusHours(1);
+        PostResponseDto created = postService.create(request("DRAFT", List.of(java.getId()), null), admin);
+        postService.update(created.getId(), request("PUBLISHED", List.of(java.getId()), publishAt), admin);
+        assertThat(counts(Kind.TAG, java)).isEqualTo(new Counts(1, 0));
+
+        TestClockConfig.setOffsetSeconds(Duration.ofHours(2).toSeconds());
+        postRepository.flush();
+        PostBecameVisibleEvent event = new PostBecameVisibleEvent(created.getId(), created.getSlug(),
+                publishAt.toLocalDateTime());
+        postCounterService.onPostBecameVisible(event);
+        postCounterService.onPostBecameVisible(event);
+
+        assertThat(counts(Kind.TAG, java)).isEqualTo(new Counts(1, 1));
+        assertThat(counts(Kind.CATEGORY, category)).isEqualTo(new Counts(1, 1));
+        assertThat(postCounterReconcileJob.reconcile()).isZero();
+    }
+
+    // 照合バッチが集計表のずれと公開済みの目印を修正することを確認
+    @Test
+    void reconcile_repairsDrift() {
+        PostResponseDto created = postService.create(request("DRAFT", List.of(java.getId()), null), admin);
+        postService.update(created.getId(), request("PUBLISHED", List.of(java.getId()), null), admin);
+        postRepository.flush();
+        jdbcTemplate.update("UPDATE tag_post_counts SET total_count = 42, published_count = 7 WHERE tag_id = ?",
+                java.getId());
+        jdbcTemplate.update("DELETE FROM category_post_counts WHERE category_id = ?", category.getId());
+        jdbcTemplate.update("UPDATE posts SET published_counted = FALSE WHERE id = ?", created.getId());
+
+        assertThat(postCounterReconcileJob.reconcile()).isEqualTo(3);
+
+        assertThat(counts(Kind.TAG, java)).isEqualTo(new Counts(1, 1));
+        assertThat(counts(Kind.CATEGORY, category)).isEqualTo(new Counts(1, 1));
+        assertThat(jdbcTemplate.queryForObject("SELECT published_counted FROM posts WHERE id = ?", Boolean.class,
+                created.getId())).isTrue();
+    }
+
+    // 公開タグ一覧が集計表の公開数だけで決まることを確認
+    @Test
+    void publicTags_followPublishedCount() {
+        PostResponseDto created = postService.create(request("DRAFT", List.of(java.getId()), null), admin);
+        postRepository.flush();
+        assertThat(tagRepository.findPublicTags()).extracting(Tag::getId).doesNotContain(java.getId());
+
+        postService.update(created.getId(), request("PUBLISHED", List.of(java.getId()), null), admin);
+        postRepository.flush();
+        assertThat(tagRepository.findPublicTags()).extracting(Tag::getId).contains(java.getId());
+        assertThat(categoryRepository.findPublicCategories()).extracting(Category::getId).contains(category.getId());
+    }
+
+    private PostRequestDto request(String status, List<Long> tagIds, OffsetDateTime publishedAt) {
+        return PostRequestDto.builder()
+                .title("Counter Post")
+                .slug("counter-post")
+                .status(status)
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .authorId(admin.getId())
+                .categoryId(category.getId())
+                .tagIds(tagIds)
+                .publishedAt(publishedAt)
+                .build();
+    }
+
+    private Counts counts(Kind kind, Tag tag) {
+        return postCounterRepository.find(kind, tag.getId());
+    }
+
+    private Counts counts(Kind kind, Category target) {
+        return postCounterRepository.find(kind, target.getId());
+    }
+}
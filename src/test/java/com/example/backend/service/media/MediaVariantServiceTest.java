@@ -0,0 +1,107 @@
+package com.example.backend.service.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.config.FakeMediaStorageConfig;
+import com.example.backend.config.TestClockConfig;
+import com.example.backend.config.TestDataConfig;
+import com.example.backend.entity.Media;
+import com.example.backend.entity.MediaVariant;
+import com.example.backend.entity.User;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.repository.MediaVariantRepository;
+import com.example.backend.repository.UserRepository;
+
+@SpringBootTest
+@Import({ TestDataConfig.class, TestClockConfig.class, FakeMediaStorageConfig.class })
+@ActiveProfiles("test")
+@Transactional
+class MediaVariantServiceTest {
+
+    @Autowired
+    private MediaVariantService mediaVariantService;
+
+    @Autowired
+    private FakeMediaStorageConfig.InMemoryMediaStorage mediaStorage;
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private MediaVariantRepository mediaVariantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 元画像より小さい幅だけ縮小版が生成され、ストレージと media_variants に記録されることを確認
+    @Test
+    void generate_writesVariantsNarrowerThanOriginal() throws IOException {
+        Media media = saveMedia("2025/01/cover.png", png(1000, 500));
+
+        int count = mediaVariantService.generate(media.getId());
+
+        List<MediaVariant> variants = mediaVariantRepository.findByMediaIdOrderByWidthAsc(media.getId());
+        assertThat(count).isEqualTo(variants.size()).isPositive();
+        assertThat(variants).extracting(MediaVariant::getWidth).containsOnly(320, 640);
+        MediaVariant jpeg = variants.stream().filter(v -> v.getMime().equals("image/jpeg")).findFirst()
+                .orElseThrow();
+        assertThat(jpeg.getStorageKey()).isEqualTo("2025/01/cover-w320.jpg");
+        assertThat(jpeg.getHeight()).isEqualTo(160);
+        assertThat(mediaStorage.contains(jpeg.getStorageKey())).isTrue();
+    }
+
+    // 生成済み・縮小不要・画像でないメディアは何もしないことを確認
+    @Test
+    void generate_skipsWhenNothingToDo() throws IOException {
+        Media large = saveMedia("2025/01/large.png", png(800, 600));
+        mediaVariantService.generate(large.getId());
+        Media small = saveMedia("2025/01/small.png", png(200, 100));
+        Media broken = saveMedia("2025/01/broken.png", new byte[] { 1, 2, 3 });
+
+        assertThat(mediaVariantService.generate(large.getId())).isZero();
+        assertThat(mediaVariantService.generate(small.getId())).isZero();
+        assertThat(mediaVariantService.generate(broken.getId())).isZero();
+    }
+
+    // 縮小版のキーは元画像のキーから拡張子を除き、幅と形式を付けることを確認
+    @Test
+    void variantKey_replacesExtension() {
+        assertThat(MediaVariantService.variantKey("media/2025/01/a.png", 640, "image/webp"))
+                .isEqualTo("media/2025/01/a-w640.webp");
+        assertThat(MediaVariantService.variantKey("media/v1.0/noext", 320, "image/jpeg"))
+                .isEqualTo("media/v1.0/noext-w320.jpg");
+    }
+
+    private Media saveMedia(String storageKey, byte[] content) {
+        User author = userRepository.findByEmail("author@example.com").orElseThrow();
+        mediaStorage.simulateUpload(storageKey, content);
+        return mediaRepository.save(Media.builder()
+                .filename(storageKey.substring(storageKey.lastIndexOf('/') + 1))
+                .storageKey(storageKey)
+                .mime("image/png")
+                .bytes((long) content.length)
+                .createdBy(author)
+                .build());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
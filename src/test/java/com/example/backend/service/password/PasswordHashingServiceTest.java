@@ -0,0 +1,106 @@
+package com.example.backend.service.password;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.backend.config.PasswordHashingProperties;
+import com.example.backend.exception.AuthBusyException;
+
+class PasswordHashingServiceTest {
+
+    PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    // 一致・不一致を判定し、コストが設定以上のハッシュは再ハッシュしないことを確認
+    @Test
+    void verify_matchesWithoutUpgrade() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        service = new PasswordHashingService(encoder, properties(1, 4));
+        String hash = encoder.encode("password123");
+
+        assertThat(service.verify("password123", hash)).isEqualTo(new PasswordHashingService.Verification(true, null));
+        assertThat(service.verify("wrong", hash).matched()).isFalse();
+    }
+
+    // 保存済みハッシュのコストが設定より低い場合、照合成功時に再ハッシュした値を返すことを確認
+    @Test
+    void verify_upgradesWeakerHash() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(5);
+        service = new PasswordHashingService(encoder, properties(1, 4));
+
+        PasswordHashingService.Verification verification = service.verify("password123", weakHash);
+
+        assertThat(verification.matched()).isTrue();
+        assertThat(verification.upgradedHash()).startsWith("$2a$05$");
+        assertThat(encoder.matches("password123", verification.upgradedHash())).isTrue();
+        assertThat(service.verify("wrong", weakHash).upgradedHash()).isNull();
+    }
+
+    // スレッドと待ち行列が埋まっている場合、照合せずに即座に拒否することを確認
+    @Test
+    void verify_rejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service = new PasswordHashingService(blockingEncoder(started, release), properties(1, 1));
+
+        CompletableFuture<PasswordHashingService.Verification> running = CompletableFuture
+                .supplyAsync(() -> service.verify("a", "hash"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<PasswordHashingService.Verification> queued = CompletableFuture
+                .supplyAsync(() -> service.verify("b", "hash"));
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> service.verify("c", "hash"))
+                .isInstanceOf(AuthBusyException.class)
+                .satisfies(e -> assertThat(((AuthBusyException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(1)));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).matched()).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS).matched()).isTrue();
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxQueueWait(Duration.ofSeconds(10));
+        return properties;
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.backend.service.publish;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.backend.config.TestClockConfig;
+import com.example.backend.event.PostBecameVisibleEvent;
+import com.example.backend.event.PostChangedEvent;
+import com.example.backend.repository.PostRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledPublicationEngineTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final LocalDateTime NOW_LOCAL = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    PostRepository postRepository;
+
+    List<Object> published;
+    ScheduledPublicationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        TestClockConfig.setTestClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        published = new CopyOnWriteArrayList<>();
+        engine = new ScheduledPublicationEngine(postRepository, published::add, TestClockConfig.getTestClock());
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        TestClockConfig.setTestClock(Clock.systemUTC());
+    }
+
+    // 公開日時に到達した予約のみ、公開日時順にイベントが発行されることを確認
+    @Test
+    void fireDue_publishesReachedEntriesInOrder() {
+        when(postRepository.findScheduledAfter(any())).thenReturn(List.of(
+                view(2L, "second", NOW_LOCAL.plusMinutes(2)),
+                view(1L, "first", NOW_LOCAL.plusMinutes(1)),
+                view(3L, "third", NOW_LOCAL.plusMinutes(10))));
+        engine.resync();
+        assertThat(engine.fireDue()).isZero();
+
+        TestClockConfig.setTestClock(Clock.fixed(NOW.plusSeconds(120), ZoneOffset.UTC));
+
+        assertThat(engine.fireDue()).isEqualTo(2);
+        assertThat(published).containsExactly(
+                new PostBecameVisibleEvent(1L, "first", NOW_LOCAL.plusMinutes(1)),
+                new PostBecameVisibleEvent(2L, "second", NOW_LOCAL.plusMinutes(2)));
+        assertThat(engine.nextPublishAt()).contains(NOW_LOCAL.plusMinutes(10));
+        assertThat(engine.fireDue()).isZero();
+    }
+
+    // 投稿変更で予約の変更・取り消しが反映されることを確認
+    @Test
+    void onPostChanged_reschedulesOrRemovesEntry() {
+        when(postRepository.findScheduledById(eq(1L), any()))
+                .thenReturn(Optional.of(view(1L, "post", NOW_LOCAL.plusMinutes(5))))
+                .thenReturn(Optional.of(view(1L, "post", NOW_LOCAL.plusMinutes(1))))
+                .thenReturn(Optional.empty());
+
+        engine.onPostChanged(new PostChangedEvent(1L, Set.of("post")));
+        assertThat(engine.nextPublishAt()).contains(NOW_LOCAL.plusMinutes(5));
+
+        engine.onPostChanged(new PostChangedEvent(1L, Set.of("post")));
+        assertThat(engine.nextPublishAt()).contains(NOW_LOCAL.plusMinutes(1));
+        assertThat(engine.size()).isEqualTo(1);
+
+        engine.onPostChanged(new PostChangedEvent(1L, Set.of("post")));
+        assertThat(engine.nextPublishAt()).isEmpty();
+    }
+
+    // 再同期前に到達済みの予約を発火させ、イベントを取りこぼさないことを確認
+    @Test
+    void resync_firesReachedEntriesBeforeReplacing() {
+        when(postRepository.findScheduledAfter(any()))
+                .thenReturn(List.of(view(1L, "first", NOW_LOCAL.plusMinutes(1))))
+                .thenReturn(List.of());
+        engine.resync();
+
+        TestClockConfig.setTestClock(Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        engine.resync();
+
+        assertThat(published).containsExactly(new PostBecameVisibleEvent(1L, "first", NOW_LOCAL.plusMinutes(1)));
+        assertThat(engine.size()).isZero();
+    }
+
+    // 読み込み中に時計が進んでも、その間に公開日時を迎えた予約を取りこぼさないことを確認
+    @Test
+    void resync_clockAdvancesDuringLoad_doesNotLoseEntry() {
+        List<PostRepository.ScheduleView> scheduled = List.of(view(1L, "first", NOW_LOCAL.plusMinutes(1)));
+        when(postRepository.findScheduledAfter(any())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            // クエリの実行中に公開日時を過ぎる
+            TestClockConfig.setTestClock(Clock.fixed(NOW.plusSeconds(61), ZoneOffset.UTC));
+            return scheduled.stream().filter(view -> view.getPublishedAt().isAfter(now)).toList();
+        });
+        engine.resync();
+        TestClockConfig.setTestClock(Clock.fixed(NOW.plusSeconds(59), ZoneOffset.UTC));
+
+        engine.resync();
+        engine.fireDue();
+
+        assertThat(published).containsExactly(new PostBecameVisibleEvent(1L, "first", NOW_LOCAL.plusMinutes(1)));
+        assertThat(engine.size()).isZero();
+    }
+
+    // 読み込み中に読み直された投稿は、古い読み込み結果で上書きされないことを確認
+    @Test
+    void resync_keepsEntriesRefreshedDuringLoad() {
+        when(postRepository.findScheduledById(eq(2L), any()))
+                .thenReturn(Optional.of(view(2L, "added", NOW_LOCAL.plusMinutes(2))));
+        when(postRepository.findScheduledById(eq(3L), any())).thenReturn(Optional.empty());
+        when(postRepository.findScheduledAfter(any())).thenAnswer(invocation -> {
+            engine.refresh(2L);
+            engine.refresh(3L);
+            return List.of(view(1L, "first", NOW_LOCAL.plusMinutes(1)),
+                    view(3L, "cancelled", NOW_LOCAL.plusMinutes(3)));
+        });
+
+        engine.resync();
+
+        assertThat(engine.size()).isEqualTo(2);
+        assertThat(engine.nextPublishAt()).contains(NOW_LOCAL.plusMinutes(1));
+        TestClockConfig.setTestClock(Clock.fixed(NOW.plusSeconds(600), ZoneOffset.UTC));
+        engine.fireDue();
+        assertThat(published).containsExactly(
+                new PostBecameVisibleEvent(1L, "first", NOW_LOCAL.plusMinutes(1)),
+                new PostBecameVisibleEvent(2L, "added", NOW_LOCAL.plusMinutes(2)));
+    }
+
+    // タイマーが公開日時に自動で発火することを確認
+    @Test
+    void timer_firesAtPublishTime() throws Exception {
+        TestClockConfig.setTestClock(Clock.systemUTC());
+        CountDownLatch fired = new CountDownLatch(1);
+        engine.shutdown();
+        engine = new ScheduledPublicationEngine(postRepository, event -> fired.countDown(),
+                TestClockConfig.getTestClock());
+        LocalDateTime publishAt = LocalDateTime.now(Clock.systemUTC()).plusNanos(200_000_000);
+        when(postRepository.findScheduledById(eq(1L), any())).thenReturn(Optional.of(view(1L, "soon", publishAt)));
+
+        engine.refresh(1L);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(LocalDateTime.now(Clock.systemUTC())).isAfterOrEqualTo(publishAt);
+        assertThat(engine.size()).isZero();
+    }
+
+    private static PostRepository.ScheduleView view(Long id, String slug, LocalDateTime publishedAt) {
+        return new PostRepository.ScheduleView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getSlug() {
+                return slug;
+            }
+
+            @Override
+            public LocalDateTime getPublishedAt() {
+                return publishedAt;
+            }
+        };
+    }
+}
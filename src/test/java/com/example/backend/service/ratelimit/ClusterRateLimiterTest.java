@@ -0,0 +1,84 @@
+package com.example.backend.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.example.backend.config.RateLimitProperties;
+import com.example.backend.repository.RateLimitBucketRepository;
+import com.example.backend.repository.RateLimitBucketRepository.Reservation;
+
+class ClusterRateLimiterTest {
+
+    RateLimitBucketRepository repository;
+    RateLimitProperties.Policy policy;
+    ClusterRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RateLimitBucketRepository.class);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDistributed().setEnabled(true);
+        properties.getDistributed().setPrefetch(5);
+        properties.getDistributed().setLeaseTtl(Duration.ofMinutes(1));
+        properties.getDistributed().setTimeout(Duration.ofSeconds(1));
+        policy = new RateLimitProperties.Policy("/api/public/**", 100, Duration.ofMinutes(1));
+        limiter = new ClusterRateLimiter(repository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    // まとめて確保した分はDBにアクセスせずに判定し、使い切ったら再確保することを確認
+    @Test
+    void tryConsume_decidesLocallyFromReservedTokens() {
+        when(repository.reserve(eq("k"), eq(100L), anyDouble(), eq(5L))).thenReturn(new Reservation(5, 95));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryConsume("k", policy).allowed()).isTrue();
+        }
+        verify(repository, times(1)).reserve(eq("k"), anyLong(), anyDouble(), anyLong());
+
+        assertThat(limiter.tryConsume("k", policy).allowed()).isTrue();
+        verify(repository, times(2)).reserve(eq("k"), anyLong(), anyDouble(), anyLong());
+    }
+
+    // 共有バケットが空の場合は拒否し、補充されるまで再問い合わせしないことを確認
+    @Test
+    void tryConsume_rejectsUntilRefillWhenSharedBucketIsEmpty() {
+        when(repository.reserve(eq("k"), anyLong(), anyDouble(), anyLong())).thenReturn(new Reservation(0, 0.2));
+
+        RateLimiter.Decision first = limiter.tryConsume("k", policy);
+        RateLimiter.Decision second = limiter.tryConsume("k", policy);
+
+        assertThat(first.allowed()).isFalse();
+        assertThat(first.nanosToWait()).isPositive();
+        assertThat(second.allowed()).isFalse();
+        verify(repository, times(1)).reserve(eq("k"), anyLong(), anyDouble(), anyLong());
+    }
+
+    // DBが失敗した場合は null（ノードごとの制限）を返し、しばらく共有バケットを使わないことを確認
+    @Test
+    void tryConsume_fallsBackWhenDatabaseFails() {
+        when(repository.reserve(eq("k"), anyLong(), anyDouble(), anyLong()))
+                .thenThrow(new QueryTimeoutException("slow"));
+
+        assertThat(limiter.tryConsume("k", policy)).isNull();
+        assertThat(limiter.tryConsume("k", policy)).isNull();
+        verify(repository, times(1)).reserve(eq("k"), anyLong(), anyDouble(), anyLong());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.backend.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.example.backend.config.RateLimitProperties;
+import com.example.backend.repository.RateLimitBucketRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+    private static RateLimiter limiter(int trustedProxyHops, long maxBuckets) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxyHops(trustedProxyHops);
+        properties.setMaxBuckets(maxBuckets);
+        properties.setPolicies(List.of(
+                new RateLimitProperties.Policy("/api/public/search/**", 1, Duration.ofMinutes(1)),
+                new RateLimitProperties.Policy("/api/public/**", 2, Duration.ofMinutes(1))));
+        return new RateLimiter(properties, new ClusterRateLimiter(mock(RateLimitBucketRepository.class), properties));
+    }
+
+    private static MockHttpServletRequest request(String path, String remoteAddr, String xForwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddr);
+        if (xForwardedFor != null) {
+            request.addHeader("X-Forwarded-For", xForwardedFor);
+        }
+        return request;
+    }
+
+    // 先に一致したポリシーの容量が使われ、超過時は待ち時間付きで拒否されることを確認
+    @Test
+    void tryConsume_appliesFirstMatchingPolicy() {
+        RateLimiter limiter = limiter(0, 100);
+
+        assertThat(limiter.tryConsume(request("/api/public/search/q", "10.0.0.1", null)).allowed()).isTrue();
+        RateLimiter.Decision rejected = limiter.tryConsume(request("/api/public/search/q", "10.0.0.1", null));
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.nanosToWait()).isPositive();
+
+        assertThat(limiter.tryConsume(request("/api/public/posts", "10.0.0.1", null)).allowed()).isTrue();
+        assertThat(limiter.tryConsume(request("/api/public/posts", "10.0.0.1", null)).allowed()).isTrue();
+        assertThat(limiter.tryConsume(request("/api/public/posts", "10.0.0.1", null)).allowed()).isFalse();
+    }
+
+    // どのポリシーにも一致しないパスは制限しないことを確認
+    @Test
+    void tryConsume_unmatchedPathIsNotLimited() {
+        assertThat(limiter(0, 100).tryConsume(request("/api/admin/posts", "10.0.0.1", null))).isNull();
+    }
+
+    // 信頼するプロキシがない場合、X-Forwarded-For を偽装しても同じバケットになることを確認
+    @Test
+    void tryConsume_ignoresForwardedForWithoutTrustedProxy() {
+        RateLimiter limiter = limiter(0, 100);
+
+        assertThat(limiter.tryConsume(request("/api/public/search", "10.0.0.1", "1.1.1.1")).allowed()).isTrue();
+        assertThat(limiter.tryConsume(request("/api/public/search", "10.0.0.1", "2.2.2.2")).allowed()).isFalse();
+    }
+
+    // 信頼するプロキシの段数分だけ右から辿り、それより左の値は使わないことを確認
+    @Test
+    void resolveClientIp_usesTrustedHopsFromTheRight() {
+        RateLimiter oneHop = limiter(1, 100);
+        RateLimiter twoHops = limiter(2, 100);
+
+        assertThat(oneHop.resolveClientIp(request("/", "10.0.0.1", "6.6.6.6, 203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(twoHops.resolveClientIp(request("/", "10.0.0.1", "6.6.6.6, 203.0.113.7, 10.0.0.2")))
+                .isEqualTo("203.0.113.7");
+        assertThat(twoHops.resolveClientIp(request("/", "10.0.0.1", "203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(oneHop.resolveClientIp(request("/", "10.0.0.1", null))).isEqualTo("10.0.0.1");
+    }
+
+    // バケット数と拒否数がメトリクスに出ることを確認
+    @Test
+    void bindTo_exposesBucketCountAndRejections() {
+        RateLimiter limiter = limiter(0, 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        limiter.tryConsume(request("/api/public/search", "10.0.0.1", null));
+        limiter.tryConsume(request("/api/public/search", "10.0.0.1", null));
+        limiter.tryConsume(request("/api/public/search", "10.0.0.2", null));
+
+        assertThat(registry.get("ratelimit.buckets").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("ratelimit.rejected").functionCounter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchSnippetsTest {
+
+    // 一致箇所がエスケープされた上でハイライトされることを確認
+    @Test
+    void highlight_shouldEscapeAndMarkMatches() {
+        String snippet = SearchSnippets.highlight("<b>全文検索</b>の説明", List.of("検索"));
+
+        assertThat(snippet).isEqualTo("&lt;b&gt;全文<mark>検索</mark>&lt;/b&gt;の説明");
+    }
+
+    // 大文字小文字を区別せず複数語がハイライトされることを確認
+    @Test
+    void highlight_multipleWords_shouldMarkEachCaseInsensitively() {
+        String snippet = SearchSnippets.highlight("Spring and spring boot", List.of("spring", "BOOT"));
+
+        assertThat(snippet).isEqualTo("<mark>Spring</mark> and <mark>spring</mark> <mark>boot</mark>");
+    }
+
+    // 一致位置が後方の場合は前後を省略記号で切り詰めることを確認
+    @Test
+    void highlight_farMatch_shouldTrimWithEllipsis() {
+        String text = "あ".repeat(100) + "検索" + "い".repeat(200);
+
+        String snippet = SearchSnippets.highlight(text, List.of("検索"));
+
+        assertThat(snippet).startsWith("…").endsWith("…").contains("<mark>検索</mark>");
+        assertThat(snippet.replace("<mark>", "").replace("</mark>", "")).hasSize(122);
+    }
+}
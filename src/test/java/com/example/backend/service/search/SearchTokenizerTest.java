@@ -0,0 +1,61 @@
+package com.example.backend.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    // 日本語はバイグラム、英数字は単語単位で分割されることを確認
+    @Test
+    void tokenize_mixedText_shouldSplitCjkIntoBigramsAndWordsAsIs() {
+        assertThat(SearchTokenizer.tokenize("Spring Bootの全文検索"))
+                .containsExactly("spring", "boot", "の全", "全文", "文検", "検索");
+    }
+
+    // 全角英数字・大文字がNFKC正規化と小文字化で統一されることを確認
+    @Test
+    void tokenize_shouldNormalizeFullWidthAndCase() {
+        assertThat(SearchTokenizer.tokenize("ＪＡＶＡ２１")).containsExactly("java21");
+    }
+
+    // CJK1文字は単独トークンとして残ることを確認
+    @Test
+    void tokenize_singleCjkChar_shouldKeepCharacter() {
+        assertThat(SearchTokenizer.tokenize("猫 と")).containsExactly("猫", "と");
+    }
+
+    // 長い英数字の連続はUTF-8で上限バイト数以内に切り詰められることを確認（PostgreSQLの語長制限対策）
+    @Test
+    void tokenize_longWord_shouldTruncateToMaxBytes() {
+        String hash = "a".repeat(3000);
+        assertThat(SearchTokenizer.tokenize("hash " + hash + " end"))
+                .containsExactly("hash", "a".repeat(SearchTokenizer.MAX_TOKEN_BYTES), "end");
+
+        // 2バイト文字はコードポイントの途中で切らない
+        List<String> tokens = SearchTokenizer.tokenize("é".repeat(3000));
+        assertThat(tokens).containsExactly("é".repeat(SearchTokenizer.MAX_TOKEN_BYTES / 2));
+        assertThat(tokens.get(0).getBytes(StandardCharsets.UTF_8)).hasSizeLessThanOrEqualTo(
+                SearchTokenizer.MAX_TOKEN_BYTES);
+    }
+
+    // 記号や空文字は無視されることを確認
+    @Test
+    void tokenize_symbolsAndNull_shouldReturnEmpty() {
+        assertThat(SearchTokenizer.tokenize("!!! ---")).isEmpty();
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+    }
+
+    // 1文字のCJK語のみ前方一致が必要と判定されることを確認
+    @Test
+    void needsPrefixMatch_shouldBeTrueOnlyForSingleCjkChar() {
+        assertThat(SearchTokenizer.needsPrefixMatch(List.of("猫"))).isTrue();
+        assertThat(SearchTokenizer.needsPrefixMatch(List.of("a"))).isFalse();
+        assertThat(SearchTokenizer.needsPrefixMatch(List.of("全文"))).isFalse();
+        assertThat(SearchTokenizer.needsPrefixMatch(List.of("全文", "文検"))).isFalse();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.example.backend.service.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.config.TokenEpochProperties;
+import com.example.backend.repository.PgListenerConnectionFactory;
+import com.example.backend.repository.RefreshTokenRepository;
+import com.example.backend.repository.TokenEpochRepository;
+import com.example.backend.service.cache.PrincipalCache;
+
+class TokenEpochServiceTest {
+
+    TokenEpochRepository tokenEpochRepository;
+    RefreshTokenRepository refreshTokenRepository;
+    PrincipalCache principalCache;
+    TokenEpochService service;
+
+    @BeforeEach
+    void setUp() {
+        tokenEpochRepository = mock(TokenEpochRepository.class);
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        principalCache = mock(PrincipalCache.class);
+        when(tokenEpochRepository.findAll()).thenReturn(Map.of(5L, 2L));
+        service = new TokenEpochService(tokenEpochRepository, refreshTokenRepository, principalCache,
+                mock(PgListenerConnectionFactory.class), new TokenEpochProperties(),
+                Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+        service.load();
+    }
+
+    // 起動時に読み込んだ世代より古いトークンは拒否、未登録ユーザーは世代0として扱うことを確認
+    @Test
+    void isCurrent_comparesWithLoadedEpoch() {
+        assertThat(service.isCurrent(5L, 1)).isFalse();
+        assertThat(service.isCurrent(5L, 2)).isTrue();
+        assertThat(service.isCurrent(7L, 0)).isTrue();
+    }
+
+    // 世代を進めるとリフレッシュトークンも失効し、他ノードへ通知されることを確認
+    @Test
+    void revokeAll_raisesEpochAndRevokesRefreshTokens() {
+        when(tokenEpochRepository.bump(7L)).thenReturn(OptionalLong.of(1));
+
+        service.revokeAll(7L);
+
+        assertThat(service.isCurrent(7L, 0)).isFalse();
+        assertThat(service.currentEpoch(7L)).isEqualTo(1);
+        verify(refreshTokenRepository).revokeAllByUserId(eq(7L), any());
+        verify(tokenEpochRepository).publish("7:1");
+    }
+
+    // 存在しないユーザーの場合は何もしないことを確認
+    @Test
+    void revokeAll_unknownUserIsNoop() {
+        when(tokenEpochRepository.bump(9L)).thenReturn(OptionalLong.empty());
+
+        service.revokeAll(9L);
+
+        verify(refreshTokenRepository, never()).revokeAllByUserId(any(), any());
+        verify(tokenEpochRepository, never()).publish(any());
+    }
+
+    // 他ノードからの通知は増える方向にのみ反映され、認証ユーザーキャッシュも破棄されることを確認
+    @Test
+    void onNotification_neverLowersEpoch() {
+        service.onNotification("5:4");
+        service.onNotification("5:3");
+        service.onNotification("broken");
+
+        assertThat(service.currentEpoch(5L)).isEqualTo(4);
+        verify(principalCache, atLeastOnce()).evictUserId(5L);
+    }
+}
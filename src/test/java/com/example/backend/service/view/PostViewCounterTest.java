@@ -0,0 +1,183 @@
+package com.example.backend.service.view;
+
+import com.example.backend.entity.Post;
+import com.example.backend.entity.User;
+import com.example.backend.event.ContentResetEvent;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.PostViewCountRepository;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PostViewCounterTest {
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PostViewCountRepository postViewCountRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Post first;
+    private Post second;
+
+    @BeforeEach
+    void setUp() {
+        // 他のテストで記録された閲覧を捨てる
+        postViewCounter.onContentReset(new ContentResetEvent());
+        User author = userRepository.findAll().stream().findFirst().orElseThrow();
+        first = postRepository.save(post("view-first", author));
+        second = postRepository.save(post("view-second", author));
+        postRepository.flush();
+    }
+
+    // 複数スレッドからの同時記録が取りこぼしなく1回の反映で加算されることを確認
+    @Test
+    void concurrentRecords_areFlushedExactly() throws Exception {
+        int threads = 8;
+        int perThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    postViewCounter.record(first.getId());
+                    if (i % 2 == 0) {
+                        postViewCounter.record(second.getId());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(postViewCounter.pending(first.getId())).isEqualTo(threads * perThread);
+        assertThat(postViewCounter.flush()).isEqualTo(threads * perThread + threads * perThread / 2);
+        assertThat(postViewCounter.pending(first.getId())).isZero();
+        assertThat(postViewCountRepository.find(first.getId())).isEqualTo(threads * perThread);
+        assertThat(postViewCountRepository.find(second.getId())).isEqualTo(threads * perThread / 2);
+    }
+
+    // 反映中の同時記録も取りこぼさず、反映した合計が記録数と一致することを確認
+    @Test
+    void recordsDuringFlush_areNotLost() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long offset = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    // 差し替え後のマップに新しい投稿IDが追加される競合を起こすため、2つの投稿を交互に記録
+                    postViewCounter.record((i + offset) % 2 == 0 ? first.getId() : second.getId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        long total = 0;
+        while (!futures.stream().allMatch(Future::isDone)) {
+            total += postViewCounter.flush();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        total += postViewCounter.flush();
+
+        assertThat(total).isEqualTo((long) threads * perThread);
+        assertThat(postViewCountRepository.find(first.getId()) + postViewCountRepository.find(second.getId()))
+                .isEqualTo((long) threads * perThread);
+    }
+
+    // 反映は既存の閲覧数に加算され、差分がなければDBにアクセスしないことを確認
+    @Test
+    void flush_addsToExistingCounts() {
+        postViewCounter.record(first.getId());
+        postViewCounter.flush();
+        postViewCounter.record(first.getId());
+        postViewCounter.record(first.getId());
+        postViewCounter.flush();
+
+        assertThat(postViewCountRepository.find(first.getId())).isEqualTo(3);
+        assertThat(postViewCounter.flush()).isZero();
+    }
+
+    // 削除済み投稿の閲覧は捨てられ、他の投稿の反映を妨げないことを確認
+    @Test
+    void flush_dropsViewsOfDeletedPosts() {
+        postViewCounter.record(Long.MAX_VALUE);
+        postViewCounter.record(second.getId());
+        postViewCounter.flush();
+
+        assertThat(postViewCountRepository.find(Long.MAX_VALUE)).isZero();
+        assertThat(postViewCountRepository.find(second.getId())).isEqualTo(1);
+    }
+
+    // デモリセット時に未反映の閲覧が破棄されることを確認
+    @Test
+    void contentReset_discardsBufferedViews() {
+        postViewCounter.record(first.getId());
+        postViewCounter.onContentReset(new ContentResetEvent());
+
+        assertThat(postViewCounter.flush()).isZero();
+        assertThat(postViewCountRepository.find(first.getId())).isZero();
+    }
+
+    // 人気投稿は公開済みのみ閲覧数順で返ることを確認
+    @Test
+    void findPopularPublishedIds_excludesUnpublished() {
+        second.setStatus(Post.Status.DRAFT);
+        postRepository.flush();
+        postViewCounter.record(first.getId());
+        postViewCounter.record(second.getId());
+        postViewCounter.record(second.getId());
+        postViewCounter.flush();
+
+        assertThat(postViewCountRepository.findPopularPublishedIds(LocalDateTime.now(), 10))
+                .contains(first.getId())
+                .doesNotContain(second.getId());
+    }
+
+    private static Post post(String slug, User author) {
+        return Post.builder()
+                .title(slug)
+                .slug(slug)
+                .status(Post.Status.PUBLISHED)
+                .contentJson("{\"type\":\"doc\",\"content\":[]}")
+                .author(author)
+                .publishedAt(LocalDateTime.now().minusDays(1))
+                .build();
+    }
+}